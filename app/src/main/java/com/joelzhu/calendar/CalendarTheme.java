@@ -0,0 +1,505 @@
+package com.joelzhu.calendar;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.SparseArray;
+
+import java.util.Calendar;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 19:50
+ * 作用：日历控件的主题(颜色、字体大小，以及按它们配置好的画笔、字体度量和文字宽度)
+ * <p>
+ * 主题创建后不再修改，使用同一个主题的所有控件共享画笔，控件绘制时不能修改这些画笔。
+ * 属性全部来自同一个style资源(布局中没有直接写日历属性)的控件，按style资源共享一个主题，
+ * 不再为每个控件读取属性、创建画笔。也可以用{@link Builder}在代码中创建主题，
+ * 并通过{@link JZCalendar#setTheme(CalendarTheme)}在运行时切换(只需要重绘一次)。
+ * 缓存的主题只在主线程中使用；style中引用了随Activity主题变化的属性(?attr)时，请为控件直接设置属性。
+ */
+public final class CalendarTheme {
+    // 农历文字相对于日期文字的大小
+    private static final float LUNAR_TEXT_SCALE = 0.6f;
+    // 按style资源缓存的主题(0为没有任何属性时的默认主题)
+    private static final SparseArray<CalendarTheme> CACHE = new SparseArray<CalendarTheme>();
+    // 是否按style资源共享主题
+    private static boolean sharingEnabled = true;
+
+    // 月份条背景
+    private final int monthBarBackground;
+    // 月份条字体颜色
+    private final int monthBarTextColor;
+    // 月份条字体大小
+    private final float monthBarTextSize;
+    // 日历区域背景
+    private final int dateBackground;
+    // 周始周末字体颜色
+    private final int weekendTextColor;
+    // 日期字体颜色
+    private final int dateTextColor;
+    // 日期字体大小
+    private final float dateTextSize;
+    // 其他月份字体颜色
+    private final int otherTextColor;
+    // 今日字体颜色
+    private final int todayTextColor;
+    // 选中日期字体颜色
+    private final int selectTextColor;
+    // 日期标记颜色
+    private final int markerColor;
+    // 不可选日期字体颜色
+    private final int disabledTextColor;
+
+    // 月份条背景画笔
+    final Paint monthBarBackgroundPaint;
+    // 月份条文字画笔
+    final Paint monthBarTextPaint;
+    // 月份跳转按钮画笔
+    final Paint arrowPaint;
+    // 日历区域背景画笔
+    final Paint dateBackgroundPaint;
+    // 日期文字画笔
+    final Paint dateTextPaint;
+    // 周始周末文字画笔
+    final Paint weekendTextPaint;
+    // 其他月份文字画笔
+    final Paint otherTextPaint;
+    // 今日文字画笔
+    final Paint todayTextPaint;
+    // 选中日期文字画笔
+    final Paint selectTextPaint;
+    // 选中日期背景画笔
+    final Paint selectBackgroundPaint;
+    // 日期标记画笔
+    final Paint markerPaint;
+    // 日期标记加载中的占位画笔
+    final Paint markerPlaceholderPaint;
+    // 农历文字画笔
+    final Paint lunarTextPaint;
+    // 其他月份农历文字画笔
+    final Paint lunarOtherTextPaint;
+    // 选中日期农历文字画笔
+    final Paint lunarSelectTextPaint;
+    // 节日文字画笔
+    final Paint festivalTextPaint;
+    // 不可选日期文字画笔
+    final Paint disabledTextPaint;
+    // 不可选日期农历文字画笔
+    final Paint lunarDisabledTextPaint;
+    // 月份条文字的字体度量
+    final Paint.FontMetricsInt monthBarFontMetrics;
+    // 日期文字的字体度量
+    final Paint.FontMetricsInt dateFontMetrics;
+    // 农历文字的字体度量
+    final Paint.FontMetricsInt lunarFontMetrics;
+    // 日期文字宽度表(按日期数字索引，按字体大小共享)
+    final int[] dayTextWidths;
+
+    // 以下为布局中设置的控件默认行为，只在创建控件时读取，切换主题时不受影响
+    // 是否启用分层缓存
+    final boolean layerCacheEnabled;
+    // 是否启用左右滑动翻页
+    final boolean pagingEnabled;
+    // 显示模式
+    final int displayMode;
+    // 选择模式
+    final int selectionMode;
+    // 一周的第一天
+    final int firstDayOfWeek;
+    // 是否显示农历
+    final boolean lunarEnabled;
+
+    // 创建时的屏幕密度(密度、字体缩放或夜间模式变化时缓存失效)
+    private final float density;
+    // 创建时的字体缩放密度
+    private final float scaledDensity;
+    // 创建时的界面模式
+    private final int uiMode;
+
+    /**
+     * 构造函数
+     *
+     * @param builder 构建器
+     */
+    private CalendarTheme(Builder builder) {
+        monthBarBackground = builder.monthBarBackground;
+        monthBarTextColor = builder.monthBarTextColor;
+        monthBarTextSize = builder.monthBarTextSize;
+        dateBackground = builder.dateBackground;
+        weekendTextColor = builder.weekendTextColor;
+        dateTextColor = builder.dateTextColor;
+        dateTextSize = builder.dateTextSize;
+        otherTextColor = builder.otherTextColor;
+        todayTextColor = builder.todayTextColor;
+        selectTextColor = builder.selectTextColor;
+        markerColor = builder.markerColor;
+        disabledTextColor = builder.disabledTextColor;
+        layerCacheEnabled = builder.layerCacheEnabled;
+        pagingEnabled = builder.pagingEnabled;
+        displayMode = builder.displayMode;
+        selectionMode = builder.selectionMode;
+        firstDayOfWeek = builder.firstDayOfWeek;
+        lunarEnabled = builder.lunarEnabled;
+        density = builder.density;
+        scaledDensity = builder.scaledDensity;
+        uiMode = builder.uiMode;
+
+        monthBarBackgroundPaint = createPaint(monthBarBackground, 0);
+        monthBarTextPaint = createPaint(monthBarTextColor, monthBarTextSize);
+        arrowPaint = createPaint(monthBarTextColor, 0);
+        arrowPaint.setStyle(Paint.Style.STROKE);
+        arrowPaint.setStrokeWidth((int) (3 * density + 0.5f));
+        dateBackgroundPaint = createPaint(dateBackground, 0);
+        dateTextPaint = createPaint(dateTextColor, dateTextSize);
+        weekendTextPaint = createPaint(weekendTextColor, dateTextSize);
+        otherTextPaint = createPaint(otherTextColor, dateTextSize);
+        todayTextPaint = createPaint(todayTextColor, dateTextSize);
+        selectTextPaint = createPaint(selectTextColor, dateTextSize);
+        selectBackgroundPaint = createPaint(todayTextColor, 0);
+        markerPaint = createPaint(markerColor, 0);
+        markerPlaceholderPaint = createPaint(markerColor, 0);
+        markerPlaceholderPaint.setAlpha(Color.alpha(markerColor) / 4);
+        float lunarTextSize = dateTextSize * LUNAR_TEXT_SCALE;
+        lunarTextPaint = createPaint(dateTextColor, lunarTextSize);
+        lunarOtherTextPaint = createPaint(otherTextColor, lunarTextSize);
+        lunarSelectTextPaint = createPaint(selectTextColor, lunarTextSize);
+        festivalTextPaint = createPaint(todayTextColor, lunarTextSize);
+        disabledTextPaint = createPaint(disabledTextColor, dateTextSize);
+        lunarDisabledTextPaint = createPaint(disabledTextColor, lunarTextSize);
+
+        monthBarFontMetrics = monthBarTextPaint.getFontMetricsInt();
+        dateFontMetrics = dateTextPaint.getFontMetricsInt();
+        lunarFontMetrics = lunarTextPaint.getFontMetricsInt();
+        dayTextWidths = LabelWidths.dayWidths(dateTextSize);
+    }
+
+    /**
+     * 获取style资源对应的主题(同一个style资源只读取一次属性)
+     *
+     * @param context  Context
+     * @param styleRes style资源(0为默认主题)
+     * @return 主题
+     */
+    public static CalendarTheme fromStyle(Context context, int styleRes) {
+        Resources resources = context.getResources();
+        CalendarTheme theme = CACHE.get(styleRes);
+        if (theme == null || !theme.matches(resources)) {
+            TypedArray typedArray = context.obtainStyledAttributes(styleRes, R.styleable.JZCalendar);
+            theme = new Builder(context).read(typedArray).build();
+            typedArray.recycle();
+            CACHE.put(styleRes, theme);
+        }
+        return theme;
+    }
+
+    /**
+     * 获取控件的主题
+     * <p>
+     * 布局中没有直接设置日历属性时按style资源共享主题，否则为这个控件单独读取属性。
+     *
+     * @param context Context
+     * @param attrs   属性对象(可以为null)
+     * @return 主题
+     */
+    static CalendarTheme obtain(Context context, AttributeSet attrs) {
+        if (sharingEnabled && !hasInlineAttributes(attrs)) {
+            return fromStyle(context, attrs != null ? attrs.getStyleAttribute() : 0);
+        }
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.JZCalendar);
+        CalendarTheme theme = new Builder(context).read(typedArray).build();
+        typedArray.recycle();
+        return theme;
+    }
+
+    /**
+     * 判断布局中是否直接设置了日历属性
+     *
+     * @param attrs 属性对象
+     * @return 是否直接设置了日历属性
+     */
+    private static boolean hasInlineAttributes(AttributeSet attrs) {
+        if (attrs == null) {
+            return false;
+        }
+        int[] styleable = R.styleable.JZCalendar;
+        for (int i = 0; i < attrs.getAttributeCount(); i++) {
+            int nameResource = attrs.getAttributeNameResource(i);
+            for (int attr : styleable) {
+                if (attr == nameResource) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 设置是否按style资源共享主题(关闭后每个控件都单独读取属性，用于对比创建耗时)
+     *
+     * @param enabled 是否共享
+     */
+    public static void setSharingEnabled(boolean enabled) {
+        sharingEnabled = enabled;
+    }
+
+    public static boolean isSharingEnabled() {
+        return sharingEnabled;
+    }
+
+    /**
+     * 清空按style资源缓存的主题
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * 判断主题是否仍然适用于当前的屏幕配置
+     *
+     * @param resources Resources
+     * @return 是否适用
+     */
+    private boolean matches(Resources resources) {
+        DisplayMetrics displayMetrics = resources.getDisplayMetrics();
+        return density == displayMetrics.density && scaledDensity == displayMetrics.scaledDensity &&
+                uiMode == resources.getConfiguration().uiMode;
+    }
+
+    /**
+     * 创建画笔
+     *
+     * @param color    颜色
+     * @param textSize 字体大小(0表示不需要绘制文字)
+     * @return 画笔
+     */
+    private static Paint createPaint(int color, float textSize) {
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(color);
+        if (textSize > 0) {
+            paint.setTextSize(textSize);
+        }
+        return paint;
+    }
+
+    /**
+     * 以这个主题为基础创建构建器
+     *
+     * @param context Context
+     * @return 构建器
+     */
+    public Builder buildUpon(Context context) {
+        Builder builder = new Builder(context);
+        builder.monthBarBackground = monthBarBackground;
+        builder.monthBarTextColor = monthBarTextColor;
+        builder.monthBarTextSize = monthBarTextSize;
+        builder.dateBackground = dateBackground;
+        builder.weekendTextColor = weekendTextColor;
+        builder.dateTextColor = dateTextColor;
+        builder.dateTextSize = dateTextSize;
+        builder.otherTextColor = otherTextColor;
+        builder.todayTextColor = todayTextColor;
+        builder.selectTextColor = selectTextColor;
+        builder.markerColor = markerColor;
+        builder.disabledTextColor = disabledTextColor;
+        return builder;
+    }
+
+    public int getMonthBarBackground() {
+        return monthBarBackground;
+    }
+
+    public int getMonthBarTextColor() {
+        return monthBarTextColor;
+    }
+
+    public float getMonthBarTextSize() {
+        return monthBarTextSize;
+    }
+
+    public int getDateBackground() {
+        return dateBackground;
+    }
+
+    public int getWeekendTextColor() {
+        return weekendTextColor;
+    }
+
+    public int getDateTextColor() {
+        return dateTextColor;
+    }
+
+    public float getDateTextSize() {
+        return dateTextSize;
+    }
+
+    public float getLunarTextSize() {
+        return dateTextSize * LUNAR_TEXT_SCALE;
+    }
+
+    public int getOtherTextColor() {
+        return otherTextColor;
+    }
+
+    public int getTodayTextColor() {
+        return todayTextColor;
+    }
+
+    public int getSelectTextColor() {
+        return selectTextColor;
+    }
+
+    public int getMarkerColor() {
+        return markerColor;
+    }
+
+    public int getDisabledTextColor() {
+        return disabledTextColor;
+    }
+
+    /**
+     * 主题构建器(未设置的颜色和字体大小与布局属性的默认值相同)
+     */
+    public static final class Builder {
+        private int monthBarBackground = Color.BLACK;
+        private int monthBarTextColor = Color.WHITE;
+        private float monthBarTextSize;
+        private int dateBackground = Color.WHITE;
+        private int weekendTextColor = Color.BLACK;
+        private int dateTextColor = Color.BLACK;
+        private float dateTextSize;
+        private int otherTextColor = Color.BLACK;
+        private int todayTextColor = Color.BLACK;
+        private int selectTextColor = Color.BLACK;
+        private int markerColor = Color.BLACK;
+        private int disabledTextColor = Color.LTGRAY;
+        private boolean layerCacheEnabled;
+        private boolean pagingEnabled = true;
+        private int displayMode = JZCalendar.MODE_MONTH;
+        private int selectionMode = JZCalendar.SELECTION_SINGLE;
+        private int firstDayOfWeek = Calendar.SUNDAY;
+        private boolean lunarEnabled;
+        private final float density;
+        private final float scaledDensity;
+        private final int uiMode;
+
+        /**
+         * 构造函数
+         *
+         * @param context Context(用于换算默认字体大小)
+         */
+        public Builder(Context context) {
+            Resources resources = context.getResources();
+            DisplayMetrics displayMetrics = resources.getDisplayMetrics();
+            density = displayMetrics.density;
+            scaledDensity = displayMetrics.scaledDensity;
+            uiMode = resources.getConfiguration().uiMode;
+            monthBarTextSize = (int) (14 * density + 0.5f);
+            dateTextSize = monthBarTextSize;
+        }
+
+        /**
+         * 读取布局属性(默认值之间的关系与最初的控件相同)
+         *
+         * @param typedArray 属性数组
+         * @return 构建器
+         */
+        Builder read(TypedArray typedArray) {
+            monthBarBackground = typedArray.getColor(R.styleable.JZCalendar_monthBarBackground, Color.BLACK);
+            monthBarTextColor = typedArray.getColor(R.styleable.JZCalendar_monthBarTextColor, Color.WHITE);
+            monthBarTextSize = typedArray.getDimensionPixelSize(R.styleable.JZCalendar_monthBarTextSize,
+                    (int) monthBarTextSize);
+            dateBackground = typedArray.getColor(R.styleable.JZCalendar_dateBackground, monthBarTextColor);
+            dateTextColor = typedArray.getColor(R.styleable.JZCalendar_dateTextColor, monthBarBackground);
+            weekendTextColor = typedArray.getColor(R.styleable.JZCalendar_weekendTextColor, dateTextColor);
+            dateTextSize = typedArray.getDimensionPixelSize(R.styleable.JZCalendar_dateTextSize, (int) dateTextSize);
+            otherTextColor = typedArray.getColor(R.styleable.JZCalendar_otherTextColor, dateTextColor);
+            todayTextColor = typedArray.getColor(R.styleable.JZCalendar_todayTextColor, dateTextColor);
+            selectTextColor = typedArray.getColor(R.styleable.JZCalendar_selectTextColor, dateTextColor);
+            markerColor = typedArray.getColor(R.styleable.JZCalendar_markerColor, todayTextColor);
+            // 不可选日期默认为半透明的其他月份颜色
+            disabledTextColor = typedArray.getColor(R.styleable.JZCalendar_disabledTextColor,
+                    (otherTextColor & 0x00ffffff) | (Color.alpha(otherTextColor) / 2) << 24);
+            layerCacheEnabled = typedArray.getBoolean(R.styleable.JZCalendar_layerCacheEnabled, false);
+            pagingEnabled = typedArray.getBoolean(R.styleable.JZCalendar_pagingEnabled, true);
+            displayMode = typedArray.getInt(R.styleable.JZCalendar_displayMode, JZCalendar.MODE_MONTH);
+            selectionMode = typedArray.getInt(R.styleable.JZCalendar_selectionMode, JZCalendar.SELECTION_SINGLE);
+            firstDayOfWeek = typedArray.getInt(R.styleable.JZCalendar_firstDayOfWeek, Calendar.SUNDAY);
+            lunarEnabled = typedArray.getBoolean(R.styleable.JZCalendar_lunarEnabled, false);
+            return this;
+        }
+
+        public Builder setMonthBarBackground(int color) {
+            monthBarBackground = color;
+            return this;
+        }
+
+        public Builder setMonthBarTextColor(int color) {
+            monthBarTextColor = color;
+            return this;
+        }
+
+        public Builder setMonthBarTextSize(float textSize) {
+            monthBarTextSize = textSize;
+            return this;
+        }
+
+        public Builder setDateBackground(int color) {
+            dateBackground = color;
+            return this;
+        }
+
+        public Builder setWeekendTextColor(int color) {
+            weekendTextColor = color;
+            return this;
+        }
+
+        public Builder setDateTextColor(int color) {
+            dateTextColor = color;
+            return this;
+        }
+
+        public Builder setDateTextSize(float textSize) {
+            dateTextSize = textSize;
+            return this;
+        }
+
+        public Builder setOtherTextColor(int color) {
+            otherTextColor = color;
+            return this;
+        }
+
+        public Builder setTodayTextColor(int color) {
+            todayTextColor = color;
+            return this;
+        }
+
+        public Builder setSelectTextColor(int color) {
+            selectTextColor = color;
+            return this;
+        }
+
+        public Builder setMarkerColor(int color) {
+            markerColor = color;
+            return this;
+        }
+
+        public Builder setDisabledTextColor(int color) {
+            disabledTextColor = color;
+            return this;
+        }
+
+        /**
+         * 创建主题
+         *
+         * @return 主题
+         */
+        public CalendarTheme build() {
+            return new CalendarTheme(this);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.joelzhu.calendar;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import com.joelzhu.calendar.core.RenderTarget;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 23:10
+ * 作用：转发给Canvas的绘制目标
+ * <p>
+ * 画笔角色在主题或热力图颜色变化时映射到真正的画笔，绘制时按下标取出，不分配对象(折线路径复用同一个Path)。
+ */
+final class CanvasRenderTarget implements RenderTarget {
+    // 各个角色的画笔
+    private final Paint[] paints = new Paint[PAINT_COUNT];
+    // 绘制折线使用的Path
+    private final Path path = new Path();
+    // 当前的Canvas
+    private Canvas canvas;
+
+    /**
+     * 设置某个角色的画笔
+     *
+     * @param paint 画笔角色
+     * @param value 画笔
+     */
+    void setPaint(int paint, Paint value) {
+        paints[paint] = value;
+    }
+
+    /**
+     * 开始在Canvas上绘制
+     *
+     * @param canvas Canvas对象
+     * @return 绘制目标本身
+     */
+    RenderTarget begin(Canvas canvas) {
+        this.canvas = canvas;
+        return this;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, int paint) {
+        canvas.drawRect(left, top, right, bottom, paints[paint]);
+    }
+
+    @Override
+    public void drawCircle(float centerX, float centerY, float radius, int paint) {
+        canvas.drawCircle(centerX, centerY, radius, paints[paint]);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, int paint) {
+        canvas.drawText(text, x, y, paints[paint]);
+    }
+
+    @Override
+    public void drawPath(float[] points, int pointCount, int paint) {
+        path.reset();
+        path.moveTo(points[0], points[1]);
+        for (int i = 1; i < pointCount; i++) {
+            path.lineTo(points[i * 2], points[i * 2 + 1]);
+        }
+        canvas.drawPath(path, paints[paint]);
+    }
+
+    @Override
+    public void save() {
+        canvas.save();
+    }
+
+    @Override
+    public void restore() {
+        canvas.restore();
+    }
+
+    @Override
+    public void clipRect(float left, float top, float right, float bottom) {
+        canvas.clipRect(left, top, right, bottom);
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        canvas.translate(dx, dy);
+    }
+}
@@ -0,0 +1,57 @@
+package com.joelzhu.calendar;
+
+import android.graphics.Paint;
+
+import com.joelzhu.calendar.core.RenderTarget;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 21:20
+ * 作用：热力图的颜色表(从最低等级到最高等级线性过渡)
+ * <p>
+ * 每个等级的颜色和画笔在创建时一次性算好，绘制时按等级取出画笔，不再计算颜色，也不修改画笔。
+ */
+final class HeatmapPalette {
+    // 等级数量
+    static final int LEVELS = RenderTarget.HEATMAP_LEVELS;
+
+    // 最低等级的颜色
+    final int lowColor;
+    // 最高等级的颜色
+    final int highColor;
+    // 每个等级的画笔
+    final Paint[] paints = new Paint[LEVELS];
+
+    /**
+     * 构造函数
+     *
+     * @param lowColor  最低等级的颜色
+     * @param highColor 最高等级的颜色
+     */
+    HeatmapPalette(int lowColor, int highColor) {
+        this.lowColor = lowColor;
+        this.highColor = highColor;
+        for (int level = 0; level < LEVELS; level++) {
+            paints[level] = new Paint(Paint.ANTI_ALIAS_FLAG);
+            paints[level].setColor(blend(lowColor, highColor, (float) level / (LEVELS - 1)));
+        }
+    }
+
+    /**
+     * 按比例混合两个颜色(ARGB四个通道分别插值)
+     *
+     * @param from     起始颜色
+     * @param to       结束颜色
+     * @param fraction 比例(0-1)
+     * @return 混合后的颜色
+     */
+    static int blend(int from, int to, float fraction) {
+        int color = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int start = (from >>> shift) & 0xff;
+            int end = (to >>> shift) & 0xff;
+            color |= ((int) (start + (end - start) * fraction + 0.5f) & 0xff) << shift;
+        }
+        return color;
+    }
+}
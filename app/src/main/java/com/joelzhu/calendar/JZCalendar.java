@@ -1,21 +1,49 @@
 package com.joelzhu.calendar;
 
 import android.content.Context;
-import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Path;
 import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
+import android.view.VelocityTracker;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+import android.view.animation.DecelerateInterpolator;
+import android.widget.Scroller;
 
-import java.util.ArrayList;
+import com.joelzhu.calendar.core.CalendarLabels;
+import com.joelzhu.calendar.core.CalendarModel;
+import com.joelzhu.calendar.core.CalendarMetrics;
+import com.joelzhu.calendar.core.CalendarPainter;
+import com.joelzhu.calendar.core.DateSelection;
+import com.joelzhu.calendar.core.DisabledDateProvider;
+import com.joelzhu.calendar.core.DisabledDates;
+import com.joelzhu.calendar.core.EpochDays;
+import com.joelzhu.calendar.core.FrameStats;
+import com.joelzhu.calendar.core.GestureTracker;
+import com.joelzhu.calendar.core.HeatmapSeries;
+import com.joelzhu.calendar.core.HitRegions;
+import com.joelzhu.calendar.core.LunarCalendar;
+import com.joelzhu.calendar.core.MarkerDataSource;
+import com.joelzhu.calendar.core.MonthDataLoader;
+import com.joelzhu.calendar.core.MonthGrid;
+import com.joelzhu.calendar.core.MonthGridCache;
+import com.joelzhu.calendar.core.RenderTarget;
+
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Date;
-import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * 作者：JoelZhu
@@ -23,67 +51,263 @@ import java.util.Locale;
  * 作用：自定义日历控件
  */
 public class JZCalendar extends View {
-    // 画笔对象
-    private Paint paint;
+    // 显示模式：月视图
+    public static final int MODE_MONTH = 0;
+    // 显示模式：年视图
+    public static final int MODE_YEAR = 1;
+    // 选择模式：单选
+    public static final int SELECTION_SINGLE = 0;
+    // 选择模式：区间选择(第一次点击为开始，第二次点击为结束)
+    public static final int SELECTION_RANGE = 1;
+    // 选择模式：多选
+    public static final int SELECTION_MULTIPLE = 2;
+    // 一周的第一天：跟随语言
+    public static final int FIRST_DAY_OF_WEEK_LOCALE = 0;
+
+    // 所有控件共享的月份网格缓存
+    private static final MonthGridCache MONTH_GRID_CACHE = new MonthGridCache();
+    // 预取相邻月份、加载日期数据的后台线程
+    private static Executor backgroundExecutor;
+    // 在主线程中执行加载结果回调的Executor(所有控件共享)
+    private static Executor mainExecutor;
+    // 在调用线程中直接执行的Executor(同步加载日期数据)
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+    // 翻页动画的最长时间(毫秒)
+    private static final int PAGING_DURATION = 300;
+    // 折叠、展开动画的时间(毫秒)
+    private static final int COLLAPSE_DURATION = 250;
+    // 折叠动画中进度的精度(Scroller只支持整数)
+    private static final int COLLAPSE_SCALE = 10000;
+    // 之后创建的控件使用的性能统计(为null时不统计)
+    private static CalendarMetrics defaultMetrics;
+    // 性能统计(创建时确定，为null时每个统计点只有一次判断)
+    private final CalendarMetrics metrics = defaultMetrics;
+
+    // 月视图的布局与绘制(字体度量和文字宽度来自主题)
+    private final CalendarPainter painter = new CalendarPainter();
+    // 转发给Canvas的绘制目标(画笔来自主题，由使用同一主题的控件共享，不能修改)
+    private final CanvasRenderTarget canvasTarget = new CanvasRenderTarget();
     // Rect
     private Rect rect;
-    // Path
-    private Path path;
+    // 月份条文字
+    private String monthText;
+
+    // 是否启用分层缓存(静态图层只在月份、尺寸、样式变化时重新绘制)
+    private boolean layerCacheEnabled;
+    // 静态图层(月份条、星期条、日期文字)
+    private Bitmap layerBitmap;
+    // 静态图层的Canvas
+    private Canvas layerCanvas;
+    // 静态图层是否需要重新绘制
+    private boolean layerDirty = true;
+
+    // 显示模式
+    private int displayMode;
+    // 年视图
+    private YearOverview yearOverview;
+
+    // 是否启用左右滑动翻页
+    private boolean pagingEnabled;
+    // 上个月的日期网格(拖动开始前已经准备好)
+    private MonthGrid previousGrid;
+    // 下个月的日期网格(拖动开始前已经准备好)
+    private MonthGrid nextGrid;
+    // 上个月网格的标记数量
+    private int[] previousMarkerCounts;
+    // 下个月网格的标记数量
+    private int[] nextMarkerCounts;
+    // 相邻月份的网格是否已经准备好
+    private boolean adjacentGridsReady;
+    // 翻页图层(只包含日期区域，依次为上个月、本月、下个月)
+    private Bitmap[] pageBitmaps;
+    // 翻页图层的Canvas(与图层一起创建，重复使用)
+    private Canvas[] pageCanvases;
+    // 翻页图层绘制时的网格(与这一页当前的网格相同时图层仍然有效)
+    private MonthGrid[] pageGrids;
+    // 翻页图层绘制时的标记数量
+    private int[][] pageCounts;
+    // 翻页图层绘制时标记是否正在加载
+    private boolean[] pageLoading;
+    // 翻页图层是否需要全部重新绘制(样式变化后，内容相同也不能使用)
+    private boolean pagesDirty = true;
+    // 日期区域的水平偏移量(正数表示向右拖动，露出上个月)
+    private float pageOffset;
+    // 是否正在拖动翻页
+    private boolean dragging;
+    // 是否正在执行翻页动画
+    private boolean settling;
+    // 翻页动画
+    private Scroller pageScroller;
+    // 拖动速度追踪
+    private VelocityTracker velocityTracker;
+    // 判定为拖动的最小距离
+    private int touchSlop;
+    // 判定为快速滑动的最小速度
+    private int minFlingVelocity;
+    // 翻页动画的帧耗时统计
+    private final FrameStats pagingFrameStats = new FrameStats();
+
+    // 是否为周视图(只显示一周，动画中为动画的目标状态)
+    private boolean weekMode;
+    // 周视图显示的一周的第一天(纪元日)
+    private int weekStartEpochDay = Integer.MIN_VALUE;
+    // 周视图显示的一周在本月网格中的行
+    private int weekRow;
+    // 周视图中上一周在上个网格中的行
+    private int previousWeekRow;
+    // 周视图中下一周在下个网格中的行
+    private int nextWeekRow;
+    // 是否正在执行折叠或展开动画
+    private boolean collapsing;
+    // 折叠进度(0为完整的月份，1为一周)
+    private float collapseProgress;
+    // 折叠动画
+    private Scroller collapseScroller;
+    // 折叠动画中使用的日期图层(动画开始时按完整的月份绘制一次，每帧只裁剪和平移)
+    private Bitmap collapseBitmap;
+    // 折叠动画日期图层的Canvas
+    private Canvas collapseCanvas;
+    // 折叠进度监听器
+    private OnCollapseListener onCollapseListener;
+
+    // 本次绘制的裁剪区域(局部刷新时只绘制与之相交的单元格)
+    private Rect clipBounds;
+    // 上一次绘制中重绘的单元格数量
+    private int lastDrawnCellCount;
 
     // 控件宽度的最小单位
     private float minUnitWidth;
     // 控件高度的最小单位
     private float minUnitHeight;
 
-    // 月份条背景
-    private int monthBarBackground;
-    // 月份条字体颜色
-    private int monthBarTextColor;
-    // 月份条字体大小
-    private float monthBarTextSize;
-    // 日历区域背景
-    private int dateBackground;
-    // 周始周末字体颜色
-    private int weekendTextColor;
-    // 日期字体颜色
-    private int dateTextColor;
-    // 日期字体大小
-    private float dateTextSize;
-    // 其他月份字体颜色
-    private int otherTextColor;
-    // 今日字体颜色
-    private int todayTextColor;
-    // 选中日期字体颜色
-    private int selectTextColor;
-
-    // 本月日期数组
-    private List<Integer> date;
-    // "今日"在数组中的位置
-    private int todayPosition;
+    // 主题(颜色、字体大小和共享的画笔)
+    private CalendarTheme theme;
+
+    // 本月日期网格
+    private MonthGrid monthGrid;
+    // 日期标记加载器
+    private MonthDataLoader markerLoader;
+    // 网格中每个日期的标记数量(切换月份时一次性取出，绘制时直接读取)
+    private int[] markerCounts;
+    // 日期标记是否正在加载
+    private boolean markerLoading;
     // 本月是今年的第几个月
     private int monthOfYear;
     // 今年
     private int thisYear;
     // 现在显示的月份偏差
     private int showMonthOffset;
+    // 今日的年
+    private int todayYear;
+    // 今日的月(0-11)
+    private int todayMonth;
+    // 今日的日
+    private int todayDate;
+    // 今日的纪元日(日期变化时才重新换算年月日)
+    private int todayEpochDay = Integer.MIN_VALUE;
+    // 计算今日使用的时区(附着到窗口时刷新)
+    private TimeZone timeZone = TimeZone.getDefault();
+    // 纪元日换算为年月日的缓冲区(年、月(0-11)、日)
+    private final int[] dateBuffer = new int[3];
     // 当前显示的日期坐标
     private int selectedPosition;
     // 当前显示的日期的月份偏移量
     private int selectedMonthOffset;
-    // 星期条
-    private final String[] weeks = {"日", "一", "二", "三", "四", "五", "六"};
+    // 星期、月份文字表(按语言共享)
+    private CalendarLabels labels;
+    // 农历换算(为null时不显示农历)
+    private LunarCalendar lunarCalendar;
+    // 热力图数据(为null时不绘制热力图)
+    private HeatmapSeries heatmapSeries;
+    // 热力图颜色表
+    private HeatmapPalette heatmapPalette;
+    // 是否设置过热力图颜色(没有设置时跟随主题)
+    private boolean heatmapColorsSet;
+    // 上一次绘制时热力图数据的修改次数
+    private int heatmapVersion;
+    // 设置的一周的第一天(FIRST_DAY_OF_WEEK_LOCALE或Calendar.SUNDAY ~ Calendar.SATURDAY)
+    private int firstDayOfWeekSetting = Calendar.SUNDAY;
+    // 实际使用的一周的第一天
+    private int firstDayOfWeek = Calendar.SUNDAY;
+
+    // 选择模式
+    private int selectionMode;
+    // 区间选择和多选的日期(绑定模型时为模型中的选择)
+    private DateSelection dateSelection;
+    // 控件自己的区间选择和多选的日期(解除绑定模型时恢复)
+    private DateSelection ownSelection;
+    // 区间选择的开始日期(纪元日，等待第二次点击时有效)
+    private int rangeStartEpochDay = Integer.MIN_VALUE;
+    // 选择变化监听器
+    private OnSelectionChangeListener onSelectionChangeListener;
+    // 不可选的日期(最早、最晚日期和业务规则，每个网格的结果按位缓存)
+    private final DisabledDates disabledDates = new DisabledDates();
+    // 绑定的共享模型(为null时控件自己保存显示的月份和选中日期)
+    private CalendarModel model;
+    // 上一次与模型同步时区间选择、多选的修改次数
+    private int syncedSelectionModCount;
+
+    // 共享模型的变化监听器(每帧最多回调一次)
+    private final CalendarModel.Listener modelListener = new CalendarModel.Listener() {
+        @Override
+        public void onModelChanged(CalendarModel changedModel, int changes) {
+            applyModel(changes);
+        }
+    };
 
     // 日期点击事件监听器
     private OnDateClickListener onDateClickListener;
     // 日期长按事件监听器
     private OnDateLongClickListener onDateLongClickListener;
-    // 上一次Down触发的时点
-    private long lastDownAt;
+    // 点击和长按的手势状态机
+    private GestureTracker gestureTracker;
+    // 点击区域表
+    private HitRegions hitRegions;
     // 上一次Down的X坐标
     private float lastDownX;
     // 上一次Down的Y坐标
     private float lastDownY;
 
+    // 手势回调
+    private final GestureTracker.Callback gestureCallback = new GestureTracker.Callback() {
+        @Override
+        public void onTap(float x, float y) {
+            performGesture(x, y, false);
+        }
+
+        @Override
+        public void onLongPress(float x, float y) {
+            performGesture(x, y, true);
+        }
+    };
+    // 长按的定时回调(按下时安排，手指仍然按着时触发长按)
+    private final Runnable longPressRunnable = new Runnable() {
+        @Override
+        public void run() {
+            gestureTracker.onLongPressTimeout(SystemClock.uptimeMillis());
+        }
+    };
+
+    // 日期标记加载完成的回调(在主线程中执行)
+    private final MonthDataLoader.Callback markerLoadCallback = new MonthDataLoader.Callback() {
+        @Override
+        public void onMonthDataLoaded(int firstEpochDay, int[] counts) {
+            // 加载期间用户可能已经切换了月份
+            if (firstEpochDay != monthGrid.getFirstEpochDay()) {
+                return;
+            }
+            System.arraycopy(counts, 0, markerCounts, 0, markerCounts.length);
+            markerLoading = false;
+            invalidateStaticLayer();
+            invalidate();
+        }
+    };
+
     /**
      * 构造函数
      *
@@ -131,6 +355,7 @@ public class JZCalendar extends View {
      */
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
         // 获取高度和宽度的指定模式
         int widthMode = MeasureSpec.getMode(widthMeasureSpec);
         int heightMode = MeasureSpec.getMode(heightMeasureSpec);
@@ -162,12 +387,75 @@ public class JZCalendar extends View {
         } else {
             // 计算控件高度的最小单位(宽的四分之三)
             minUnitHeight = dp2Px(36);
-            // 以每个日期48dp作为最小单位
-            height = dp2Px(324);
+            // 以每个日期48dp作为最小单位(周视图只保留月份条、星期条和一行日期)
+            height = isCollapsed() ? dp2Px(144) : dp2Px(324);
         }
 
         // 构建高宽指定的控件
         setMeasuredDimension(width, height);
+        // 按新的尺寸计算绘制的布局(同时计算月份跳转按钮)
+        painter.setSize(width, minUnitWidth, minUnitHeight);
+
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_MEASURE, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * OnSizeChanged
+     *
+     * @param w    新的宽度
+     * @param h    新的高度
+     * @param oldw 旧的宽度
+     * @param oldh 旧的高度
+     */
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        // 尺寸变化后静态图层需要按新的尺寸重新创建
+        releaseLayerCache();
+        // 重新计算年视图的布局
+        yearOverview.layout(w, minUnitHeight * 1.5f, h, theme.getDateTextSize());
+        // 重新计算点击区域表，移动超过最小单元单位的一半时不再判定为点击
+        applyWeekLayout();
+        gestureTracker.setSlop(minUnitWidth / 2, minUnitHeight / 2);
+    }
+
+    /**
+     * OnAttachedToWindow
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        // 时区可能在离开窗口期间被修改
+        timeZone = TimeZone.getDefault();
+        todayEpochDay = Integer.MIN_VALUE;
+        // 离开窗口期间模型的变化没有收到，重新同步
+        if (model != null) {
+            model.addListener(modelListener);
+            syncedSelectionModCount = -1;
+            applyModel(CalendarModel.CHANGE_ALL);
+        }
+    }
+
+    /**
+     * OnDetachedFromWindow
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        // 取消还没有触发的长按
+        removeCallbacks(longPressRunnable);
+        // 不在窗口中时不接收模型的变化(模型不持有控件)
+        if (model != null) {
+            model.removeListener(modelListener);
+        }
+        gestureTracker.onCancel();
+        // 释放静态图层
+        releaseLayerCache();
     }
 
     /**
@@ -177,14 +465,115 @@ public class JZCalendar extends View {
      */
     @Override
     protected void onDraw(Canvas canvas) {
-        // 绘制月份条
-        drawMonthBar(canvas);
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        // 获取本次需要重绘的区域
+        if (!canvas.getClipBounds(clipBounds)) {
+            clipBounds.set(0, 0, getWidth(), getHeight());
+        }
+        painter.setClip(clipBounds.left, clipBounds.top, clipBounds.right, clipBounds.bottom);
+        painter.resetDrawnCellCount();
+        // 热力图数据变化后静态图层失效
+        if (heatmapSeries != null && heatmapSeries.getVersion() != heatmapVersion) {
+            heatmapVersion = heatmapSeries.getVersion();
+            invalidateLayerCache();
+        }
 
-        // 绘制星期条
-        drawWeekBar(canvas);
+        // 年视图只有月份条和12个迷你月份
+        if (displayMode == MODE_YEAR) {
+            drawMonthBar(canvas);
+            yearOverview.draw(canvas);
+        }
+        // 折叠、展开动画中，日期区域裁剪和平移动画开始时绘制的图层
+        else if (collapsing) {
+            drawCollapsing(canvas);
+        }
+        // 拖动或翻页动画中，日期区域按偏移量绘制三个月份(周视图为三周)
+        else if (dragging || settling) {
+            pagingFrameStats.onFrame(System.nanoTime());
+            drawPaging(canvas);
+        }
+        // 启用分层缓存时，只合成静态图层并绘制今日和选中日期(周视图只有7个单元格，直接绘制)
+        else if (layerCacheEnabled && !weekMode && getWidth() > 0 && getHeight() > 0) {
+            drawLayerCache(canvas);
+            final long overlayNanos = metrics != null ? System.nanoTime() : 0;
+            drawDateOverlay(canvas);
+            if (metrics != null) {
+                metrics.record(CalendarMetrics.SECTION_DRAW_DATES, System.nanoTime() - overlayNanos);
+            }
+        } else {
+            // 绘制月份条
+            if (painter.isMonthBarInClip()) {
+                drawMonthBar(canvas);
+            }
+
+            // 绘制星期条
+            if (painter.isWeekBarInClip()) {
+                drawWeekBar(canvas);
+            }
+
+            // 绘制日期
+            drawDateItem(canvas);
+        }
+        lastDrawnCellCount = painter.getDrawnCellCount();
+
+        if (metrics != null) {
+            metrics.increment(CalendarMetrics.COUNTER_CELLS_DRAWN, lastDrawnCellCount);
+            metrics.record(CalendarMetrics.SECTION_DRAW, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Invalidate(统计刷新请求)
+     */
+    @Override
+    public void invalidate() {
+        if (metrics != null) {
+            metrics.increment(CalendarMetrics.COUNTER_INVALIDATIONS, 1);
+        }
+        super.invalidate();
+    }
+
+    /**
+     * Invalidate(统计局部刷新请求)
+     *
+     * @param l 左
+     * @param t 上
+     * @param r 右
+     * @param b 下
+     */
+    @Override
+    public void invalidate(int l, int t, int r, int b) {
+        if (metrics != null) {
+            metrics.increment(CalendarMetrics.COUNTER_INVALIDATIONS, 1);
+        }
+        super.invalidate(l, t, r, b);
+    }
 
-        // 绘制日期
-        drawDateItem(canvas);
+    /**
+     * ComputeScroll
+     */
+    @Override
+    public void computeScroll() {
+        // 折叠动画进行中，更新进度并继续下一帧(不重新布局)
+        if (collapsing) {
+            if (collapseScroller.computeScrollOffset()) {
+                collapseProgress = (float) collapseScroller.getCurrX() / COLLAPSE_SCALE;
+                dispatchCollapse();
+                invalidate();
+            } else {
+                finishCollapse();
+            }
+        }
+        if (!settling) {
+            return;
+        }
+        // 翻页动画进行中，更新偏移量并继续下一帧
+        if (pageScroller.computeScrollOffset()) {
+            pageOffset = pageScroller.getCurrX();
+            invalidate();
+        } else {
+            finishPaging();
+        }
     }
 
     /**
@@ -195,45 +584,117 @@ public class JZCalendar extends View {
      */
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        switch (event.getAction()) {
+        if (metrics == null) {
+            return handleTouchEvent(event);
+        }
+        final long startNanos = System.nanoTime();
+        boolean handled = handleTouchEvent(event);
+        metrics.record(CalendarMetrics.SECTION_TOUCH, System.nanoTime() - startNanos);
+        return handled;
+    }
+
+    /**
+     * 处理触摸事件
+     *
+     * @param event Touch事件
+     * @return 是否消费这个事件
+     */
+    private boolean handleTouchEvent(MotionEvent event) {
+        if (pagingEnabled) {
+            if (velocityTracker == null) {
+                velocityTracker = VelocityTracker.obtain();
+            }
+            velocityTracker.addMovement(event);
+        }
+
+        switch (event.getActionMasked()) {
             // 按下事件
             case MotionEvent.ACTION_DOWN:
-                // 记录这次Down触发的时点
-                lastDownAt = new Date().getTime();
                 // 记录这次Down的X和Y的坐标
                 lastDownX = event.getX();
                 lastDownY = event.getY();
+                // 开始一次手势，有长按监听器时安排长按的定时回调(没有时按住多久都在抬起时作为点击)
+                gestureTracker.onDown(lastDownX, lastDownY, event.getEventTime());
+                removeCallbacks(longPressRunnable);
+                if (gestureTracker.isLongPressEnabled()) {
+                    postDelayed(longPressRunnable, gestureTracker.getLongPressTimeout());
+                }
+                // 折叠动画中按下时，立即结束动画
+                if (collapsing) {
+                    collapseScroller.abortAnimation();
+                    finishCollapse();
+                }
+                // 翻页动画中再次按下时，立即结束动画
+                if (settling) {
+                    pageScroller.abortAnimation();
+                    pageOffset = pageScroller.getFinalX();
+                    finishPaging();
+                }
+                // 在拖动开始之前准备好相邻月份的图层
+                if (pagingEnabled && displayMode == MODE_MONTH) {
+                    preparePages();
+                }
+                return true;
+
+            // 第二根手指按下，不再是点击或长按
+            case MotionEvent.ACTION_POINTER_DOWN:
+                gestureTracker.onPointerDown();
+                removeCallbacks(longPressRunnable);
                 return true;
 
             // 弹起事件
             case MotionEvent.ACTION_UP:
-                // 判断上一次点击时点是否为0，如果为0，说明点击事件已经被移动取消了
-                if (lastDownAt != 0) {
-                    // 比较Up的时点和Down相差是否超过0.5秒
-                    if (new Date().getTime() - lastDownAt <= 500) {
-                        // 小于1秒，判定为点击事件，触发点击事件处理
-                        calculateClickPosition(lastDownX, lastDownY);
-                    } else {
-                        // 大于1秒，判定为长按事件，触发长按事件处理
-                        calculateLongClickPosition(lastDownX, lastDownY);
-                    }
+                removeCallbacks(longPressRunnable);
+                // 拖动结束，根据距离和速度决定翻页方向
+                if (dragging) {
+                    gestureTracker.onCancel();
+                    velocityTracker.computeCurrentVelocity(1000);
+                    endDrag(velocityTracker.getXVelocity());
+                    recycleVelocityTracker();
+                    return true;
                 }
+                recycleVelocityTracker();
+                // 没有被取消、也没有触发过长按时，判定为点击(定时回调被延迟时判定为长按)
+                gestureTracker.onUp(event.getEventTime());
                 return true;
 
             // 移动事件
             case MotionEvent.ACTION_MOVE:
-                // 判断上一次点击时点是否为0，如果为0，说明点击事件已经被取消了
-                if (lastDownAt != 0) {
-                    // 获取这次Up的X和Y的坐标
-                    float nowUpX = event.getX();
-                    float nowUpY = event.getY();
-                    // 判断移动区域是否超过最小单元单位的一半
-                    if (Math.abs(lastDownX - nowUpX) >= minUnitWidth / 2 ||
-                            Math.abs(lastDownY - nowUpY) >= minUnitHeight / 2) {
-                        // 如果超过最小单元单位的一半，判定为移动
-                        lastDownAt = 0;
+                // 水平移动超过最小距离时开始拖动翻页
+                float moveX = event.getX() - lastDownX;
+                if (pagingEnabled && displayMode == MODE_MONTH && !dragging && event.getPointerCount() == 1 &&
+                        Math.abs(moveX) >= touchSlop && Math.abs(moveX) > Math.abs(event.getY() - lastDownY)) {
+                    dragging = true;
+                    gestureTracker.cancel();
+                    removeCallbacks(longPressRunnable);
+                    // 拖动期间不让父布局拦截事件
+                    ViewParent parent = getParent();
+                    if (parent != null) {
+                        parent.requestDisallowInterceptTouchEvent(true);
                     }
                 }
+                if (dragging) {
+                    // 超出最早、最晚日期的方向不能拖动
+                    pageOffset = Math.max(canMove(1) ? -getWidth() : 0, Math.min(canMove(-1) ? getWidth() : 0, moveX));
+                    invalidate();
+                    return true;
+                }
+                // 移动超过容差时取消这一次点击
+                gestureTracker.onMove(event.getX(), event.getY(), event.getEventTime());
+                if (gestureTracker.getState() != GestureTracker.STATE_PRESSED) {
+                    removeCallbacks(longPressRunnable);
+                }
+                return true;
+
+            // 取消事件
+            case MotionEvent.ACTION_CANCEL:
+                removeCallbacks(longPressRunnable);
+                gestureTracker.onCancel();
+                // 拖动被取消时回到当前月份
+                if (dragging) {
+                    endDrag(0);
+                }
+                recycleVelocityTracker();
                 return true;
         }
 
@@ -244,6 +705,7 @@ public class JZCalendar extends View {
      * 构建控件
      */
     private void initCalendar(Context context, AttributeSet attrs) {
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
         // 执行绘图函数
         setWillNotDraw(false);
 
@@ -252,6 +714,24 @@ public class JZCalendar extends View {
 
         // 初始化数据
         getCalendarMonth(0);
+
+        // 记录创建耗时(可以用CalendarTheme.setSharingEnabled对比共享主题前后的差异)
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_INFLATE, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * 按当前的选择模式和热力图开始在Canvas上绘制
+     *
+     * @param canvas Canvas对象
+     * @return 绘制目标
+     */
+    private RenderTarget beginDraw(Canvas canvas) {
+        painter.setSelectionStyle(selectionMode != SELECTION_SINGLE,
+                selectionMode == SELECTION_SINGLE && selectedPosition == 0);
+        painter.setHeatmapEnabled(heatmapSeries != null);
+        return canvasTarget.begin(canvas);
     }
 
     /**
@@ -260,50 +740,14 @@ public class JZCalendar extends View {
      * @param canvas Canvas对象
      */
     private void drawMonthBar(Canvas canvas) {
-        // 设置月份条背景样式
-        paint.reset();
-        paint.setAntiAlias(true);
-        paint.setColor(monthBarBackground);
-        // 绘制月份条背景
-        canvas.drawRect(0, 0, getMeasuredWidth(), minUnitHeight * 1.5f, paint);
-
-        // 设置月份条文字样式
-        paint.reset();
-        paint.setAntiAlias(true);
-        paint.setColor(monthBarTextColor);
-        paint.setTextSize(monthBarTextSize);
-        // 月份条文字
-        String formatString = "%d年%02d月";
-        String monthText = String.format(Locale.getDefault(), formatString, thisYear, monthOfYear + 1);
-        Paint.FontMetricsInt fontMetrics = paint.getFontMetricsInt();
-        final float heightPosition = (minUnitHeight * 1.5f - fontMetrics.bottom + fontMetrics.top) / 2 -
-                fontMetrics.top;
-        paint.getTextBounds(monthText, 0, monthText.length(), rect);
-        // 绘制月份条显示内容
-        canvas.drawText(monthText, getWidth() / 2 - rect.width() / 2, heightPosition, paint);
-
-        // 设置月份条月份跳转按钮样式
-        paint.reset();
-        paint.setAntiAlias(true);
-        paint.setStyle(Paint.Style.STROKE);
-        paint.setColor(monthBarTextColor);
-        paint.setStrokeWidth(dp2Px(3));
-        // 计算月份条按钮八等分单位(由于是1.5倍最小单位，(*3/2)/8)
-        float minUnit = minUnitHeight * 3 / 16;
-        // 计算右箭头X轴偏移量
-        float offsetX = getMeasuredWidth() - minUnitHeight * 1.5f;
-        // 左箭头
-        path.reset();
-        path.moveTo(minUnit * 5, minUnit * 3);
-        path.lineTo(minUnit * 4, minUnit * 4);
-        path.lineTo(minUnit * 5, minUnit * 5);
-        canvas.drawPath(path, paint);
-        // 右箭头
-        path.reset();
-        path.moveTo(offsetX + minUnit * 4, minUnit * 3);
-        path.lineTo(offsetX + minUnit * 5, minUnit * 4);
-        path.lineTo(offsetX + minUnit * 4, minUnit * 5);
-        canvas.drawPath(path, paint);
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        // 超出最早、最晚日期的方向不显示跳转按钮
+        painter.setArrowsVisible(canMove(-1), canMove(1));
+        painter.drawMonthBar(beginDraw(canvas));
+
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_DRAW_MONTH_BAR, System.nanoTime() - startNanos);
+        }
     }
 
     /**
@@ -312,25 +756,11 @@ public class JZCalendar extends View {
      * @param canvas Canvas对象
      */
     private void drawWeekBar(Canvas canvas) {
-        // 绘制日期背景
-        paint.reset();
-        paint.setAntiAlias(true);
-        paint.setColor(dateBackground);
-        canvas.drawRect(0, minUnitHeight * 1.5f, getMeasuredWidth(), minUnitHeight * 3, paint);
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        painter.drawWeekBar(beginDraw(canvas), monthGrid);
 
-        for (int i = 0; i < 7; i++) {
-            // 绘制星期条文字
-            paint.reset();
-            paint.setAntiAlias(true);
-            paint.setTextSize(dateTextSize);
-            // 设置文字颜色
-            paint.setColor(i == 0 || i == 6 ? weekendTextColor : dateTextColor);
-            paint.getTextBounds(weeks[i], 0, 1, rect);
-            Paint.FontMetricsInt fontMetrics = paint.getFontMetricsInt();
-            final float width = (minUnitWidth - rect.width()) / 2 + (minUnitWidth * i);
-            final float height = (minUnitHeight * 1.5f - fontMetrics.bottom + fontMetrics.top) / 2 -
-                    fontMetrics.top;
-            canvas.drawText(weeks[i], width, height + minUnitHeight * 1.5f, paint);
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_DRAW_WEEK_BAR, System.nanoTime() - startNanos);
         }
     }
 
@@ -340,402 +770,1896 @@ public class JZCalendar extends View {
      * @param canvas Canvas对象
      */
     private void drawDateItem(Canvas canvas) {
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        RenderTarget target = beginDraw(canvas);
         // 绘制日期背景
-        paint.reset();
-        paint.setAntiAlias(true);
-        paint.setColor(dateBackground);
-        canvas.drawRect(0, minUnitHeight * 3, getMeasuredWidth(), getMeasuredHeight(), paint);
-
-        for (int position = 0; position < 42; position++) {
-            float leftPosition = (position % 7) * minUnitWidth;
-            float topPosition = minUnitHeight * 3 + minUnitHeight * (position / 7);
-
-            // 判断当前日期是否是选中日期(默认今日)
-            if ((selectedPosition != 0 && position == selectedPosition && selectedMonthOffset == showMonthOffset) ||
-                    (showMonthOffset == 0 && position == todayPosition && selectedPosition == 0)) {
-                // 绘制当前选中日期的背景
-                paint.reset();
-                paint.setAntiAlias(true);
-                paint.setColor(todayTextColor);
-                float radius = minUnitWidth <= minUnitHeight ?
-                        minUnitWidth * 2 / 5 : minUnitHeight * 2 / 5;
-                canvas.drawCircle(leftPosition + minUnitWidth / 2, topPosition + minUnitHeight / 2,
-                        radius, paint);
-
-                // 绘制日期文字
-                paint.reset();
-                paint.setAntiAlias(true);
-                paint.setTextSize(dateTextSize);
-                paint.setColor(selectTextColor);
-
-                String dateString = date.get(position) + "";
-                paint.getTextBounds(dateString, 0, dateString.length(), rect);
-                Paint.FontMetricsInt fontMetrics = paint.getFontMetricsInt();
-                final float width = (minUnitWidth - rect.width()) / 2 + (minUnitWidth *
-                        ((position % 7)));
-                final float height = (minUnitHeight - fontMetrics.bottom + fontMetrics.top) / 2 -
-                        fontMetrics.top + minUnitHeight * ((position / 7) + 3);
-                canvas.drawText(dateString, width, height, paint);
-            } else {
-                // 绘制日期文字
-                paint.reset();
-                paint.setAntiAlias(true);
-                paint.setTextSize(dateTextSize);
-                // 设置今日的字体颜色
-                if (position == todayPosition && showMonthOffset == 0)
-                    paint.setColor(todayTextColor);
-                // 设置其他月份的字体颜色
-                else if (isPreviousMonth(position) || isNextMonth(position))
-                    paint.setColor(otherTextColor);
-                // 设置周末的字体颜色
-                else if (position % 7 == 0 || position % 7 == 6)
-                    paint.setColor(weekendTextColor);
-                // 设置正常日期的字体颜色
-                else
-                    paint.setColor(dateTextColor);
-
-                String dateString = date.get(position) + "";
-                paint.getTextBounds(dateString, 0, dateString.length(), rect);
-                Paint.FontMetricsInt fontMetrics = paint.getFontMetricsInt();
-                final float width = (minUnitWidth - rect.width()) / 2 + (minUnitWidth *
-                        ((position % 7)));
-                final float height = (minUnitHeight - fontMetrics.bottom + fontMetrics.top) / 2 -
-                        fontMetrics.top + minUnitHeight * ((position / 7) + 3);
-                canvas.drawText(dateString, width, height, paint);
-            }
+        painter.drawDateBackground(target, getMeasuredHeight());
+        // 周视图只绘制显示的一行，其他行裁剪掉
+        int firstPosition = 0;
+        int endPosition = MonthGrid.SIZE;
+        target.save();
+        if (weekMode) {
+            target.clipRect(0, minUnitHeight * 3, getWidth(), minUnitHeight * 4);
+            firstPosition = weekRow * MonthGrid.DAYS_OF_WEEK;
+            endPosition = firstPosition + MonthGrid.DAYS_OF_WEEK;
         }
-    }
-
-    /**
-     * 初始化之前的处理
-     */
-    private void doBeforeInit(Context context, AttributeSet attrs) {
-        // 初始化数组
-        date = new ArrayList<>();
-        // 初始化月份偏差
-        showMonthOffset = 0;
+        // 绘制连续选中日期的区间带
+        painter.drawSelectionBands(target, monthGrid);
+        loadHeatLevels(monthGrid);
+        // 跳过不在重绘区域内的单元格
+        painter.drawDateCells(target, monthGrid, markerCounts, markerLoading, firstPosition, endPosition);
+        target.restore();
 
-        // 初始化画笔
-        paint = new Paint();
-        // 初始化Rect
-        rect = new Rect();
-        // 初始化Path
-        path = new Path();
-
-        // 读取控件属性
-        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.JZCalendar);
-        // 判断控件属性是否为空
-        if (typedArray != null) {
-            // 月份条背景
-            monthBarBackground = typedArray.getColor(R.styleable.JZCalendar_monthBarBackground, Color.BLACK);
-            // 月份条字体颜色
-            monthBarTextColor = typedArray.getColor(R.styleable.JZCalendar_monthBarTextColor, Color.WHITE);
-            // 月份条字体大小
-            monthBarTextSize = typedArray.getDimensionPixelSize(R.styleable.JZCalendar_monthBarTextSize, dp2Px(14));
-            // 日历区域背景
-            dateBackground = typedArray.getColor(R.styleable.JZCalendar_dateBackground, monthBarTextColor);
-            // 日期字体颜色
-            dateTextColor = typedArray.getColor(R.styleable.JZCalendar_dateTextColor, monthBarBackground);
-            // 周始周末字体颜色
-            weekendTextColor = typedArray.getColor(R.styleable.JZCalendar_weekendTextColor, dateTextColor);
-            // 日期字体大小
-            dateTextSize = typedArray.getDimensionPixelSize(R.styleable.JZCalendar_dateTextSize, dp2Px(14));
-            // 其他月份字体颜色
-            otherTextColor = typedArray.getColor(R.styleable.JZCalendar_otherTextColor, dateTextColor);
-            // 今日字体颜色
-            todayTextColor = typedArray.getColor(R.styleable.JZCalendar_todayTextColor, dateTextColor);
-            // 选中日期字体颜色
-            selectTextColor = typedArray.getColor(R.styleable.JZCalendar_selectTextColor, dateTextColor);
-            // 回收属性数组
-            typedArray.recycle();
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_DRAW_DATES, System.nanoTime() - startNanos);
         }
     }
 
     /**
-     * 获取本月需要显示的日期
+     * 绘制静态图层中的日期(不包含今日和选中状态)
      *
-     * @param dateSelected 点击事件选择的日期
+     * @param canvas Canvas对象
      */
-    private void getCalendarMonth(int dateSelected) {
-        // 初始化数组
-        date.clear();
-        // 获取日历类实例
-        Calendar calendar = Calendar.getInstance();
-        // 设置今日在本月中是第几天
-        todayPosition = calendar.get(Calendar.DAY_OF_MONTH) - 1;
-        // 设置日历类到本月的1号
-        calendar.set(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + showMonthOffset, 1);
-        // 得到本月1号是周几
-        int dateOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
-        // 得到本月是第几个月
-        monthOfYear = calendar.get(Calendar.MONTH);
-        // 得到今年
-        thisYear = calendar.get(Calendar.YEAR);
-
-        // 判断本月1号是否是周日
-        if (dateOfWeek == 1) {
-            // 如果本月1号是周日，添加上上个月的月末
-            dateOfWeek = 8;
-        }
-
-        // 变化为显示的第一周周日的日期
-        calendar.add(Calendar.DATE, -dateOfWeek);
-        // 添加上个月需要显示的日期
-        addLastMonth(calendar.get(Calendar.DATE), dateOfWeek);
-
-        // 重置日历类
-        calendar.add(Calendar.DATE, dateOfWeek);
-        // 遍历当前月份需要显示的日期
-        int maxDate = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-        for (int i = 1; i <= maxDate; i++) {
-            // 判断当前选择日是否为空
-            if (i == dateSelected) {
-                // 计算出选择的日期在数组中的位置
-                selectedPosition = (i + dateOfWeek - 1) - 1;
+    private void drawStaticDateItem(Canvas canvas) {
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        RenderTarget target = beginDraw(canvas);
+        // 绘制日期背景
+        painter.drawDateBackground(target, getMeasuredHeight());
+        loadHeatLevels(monthGrid);
+
+        for (int position = 0; position < MonthGrid.SIZE; position++) {
+            int flags = monthGrid.getFlags(position);
+            // 今日的文字颜色不同，交给覆盖层绘制
+            if ((flags & MonthGrid.FLAG_TODAY) == 0) {
+                painter.drawDateCell(target, monthGrid, markerCounts, markerLoading, position,
+                        flags & ~MonthGrid.FLAG_SELECTED);
             }
-            date.add(i);
         }
 
-        // 添加下个月需要显示的日期(补充满42天)
-        for (int nextMonth = 1; date.size() < 42; nextMonth++) {
-            date.add(nextMonth);
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_DRAW_DATES, System.nanoTime() - startNanos);
         }
     }
 
     /**
-     * 在日历中添加上个月需要显示的日期
+     * 在静态图层之上绘制今日和选中日期
      *
-     * @param sundayDate 周日日期
-     * @param dateOfWeek 1号是本周的第几天
+     * @param canvas Canvas对象
      */
-    private void addLastMonth(int sundayDate, int dateOfWeek) {
-        // 从周日日期遍历到1号
-        for (int i = 1; i < dateOfWeek; i++) {
-            date.add(sundayDate + i);
-            // 修正今日在数组中的位置
-            todayPosition++;
-        }
+    private void drawDateOverlay(Canvas canvas) {
+        RenderTarget target = beginDraw(canvas);
+        loadHeatLevels(monthGrid);
+        painter.drawDateOverlay(target, monthGrid, markerCounts, markerLoading);
     }
 
     /**
-     * 判断数组中的某一天是否属于上一个月
+     * 一次取出网格中每个日期的热力图等级(没有热力图时不做任何事)
      *
-     * @param position 数组中的某一天
-     * @return 该天是否属于上一个月
+     * @param grid 日期网格
      */
-    private boolean isPreviousMonth(int position) {
-        return position <= 13 && date.get(position) > 13;
+    private void loadHeatLevels(MonthGrid grid) {
+        if (heatmapSeries != null) {
+            heatmapSeries.getLevels(grid.getFirstEpochDay(), MonthGrid.SIZE, HeatmapPalette.LEVELS,
+                    painter.getHeatLevels());
+        }
     }
 
     /**
-     * 判断数组中的某一天是否属于下一个月
-     *
-     * @param position 数组中的某一天
-     * @return 该天是否属于下一个月
+     * 局部刷新绘制中合并的单元格区域(没有时不做任何事)
      */
-    private boolean isNextMonth(int position) {
-        return position > 28 && date.get(position) <= 21;
+    private void invalidateDirtyCells() {
+        if (painter.hasDirtyRect()) {
+            int[] rect = painter.getDirtyRect();
+            invalidate(rect[0], rect[1], rect[2], rect[3]);
+        }
     }
 
     /**
-     * 点击事件判定
+     * 绘制一整页日期(日期背景和42个单元格，坐标从日期区域的顶端开始)
      *
-     * @param clickX 点击的X坐标
-     * @param clickY 点击的Y坐标
+     * @param canvas  Canvas对象
+     * @param grid    日期网格
+     * @param counts  网格的标记数量
+     * @param loading 标记是否正在加载
      */
-    private void calculateClickPosition(float clickX, float clickY) {
-        // 点击的是前一个月按钮
-        if (clickX > 0 && clickX < minUnitHeight * 1.5f && clickY > 0 && clickY < minUnitHeight * 1.5f) {
-            // 修改月份偏移量
-            showMonthOffset--;
-            // 获取前一个月的日历
-            getCalendarMonth(0);
-            // 刷新控件
-            invalidate();
-        }
-        // 点击的是后一个月按钮
-        else if (clickX > getMeasuredWidth() - minUnitHeight * 1.5f && clickX < getMeasuredWidth() &&
-                clickY > 0 && clickY < minUnitHeight * 1.5f) {
-            // 修改偏移量
-            showMonthOffset++;
-            // 获取后一个月的日历
-            getCalendarMonth(0);
-            // 刷新控件
-            invalidate();
+    private void drawDatePage(Canvas canvas, MonthGrid grid, int[] counts, boolean loading) {
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        RenderTarget target = beginDraw(canvas);
+        loadHeatLevels(grid);
+        painter.drawDatePage(target, grid, counts, loading);
+
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_DRAW_DATES, System.nanoTime() - startNanos);
         }
-        // 点击的是日期区域
-        else if (clickY > minUnitHeight * 3 && clickY < getMeasuredHeight()) {
-            // 计算出X和Y的整数位置
-            int xPosition = (int) (clickX / minUnitWidth);
-            int yPosition = (int) ((clickY - minUnitHeight * 3) / minUnitHeight);
-            // 计算出点击的区域在数组中的位置
-            selectedPosition = yPosition * 7 + xPosition;
-            selectedMonthOffset = 0;
-
-            // 计算是否含有月份点击偏移量
-            int monthOffset = 0;
-            if (isPreviousMonth(selectedPosition)) {
-                // 点击了上个月显示的日期
-                monthOffset = -1;
-            } else if (isNextMonth(selectedPosition)) {
-                // 点击了下个月显示的日期
-                monthOffset = 1;
-            }
+    }
 
-            // 获取月份
-            int monthInt = monthOfYear + monthOffset + 1;
-            // 判断点击的月份是否为12月(去年的12月)
-            if (monthInt == 0) {
-                // 修正年份偏移量
-                thisYear--;
-                monthInt = 12;
-            }
-            // 判断点击的月份是否为1月(明年的1月)
-            else if (monthInt == 13) {
-                // 修正年份偏移量
-                thisYear++;
-                monthInt = 1;
-            }
+    /**
+     * 绘制拖动或翻页动画中的控件
+     *
+     * @param canvas Canvas对象
+     */
+    private void drawPaging(Canvas canvas) {
+        // 月份条和星期条不随拖动移动
+        if (layerCacheEnabled && layerBitmap != null && !layerDirty) {
+            canvas.save();
+            canvas.clipRect(0, 0, getWidth(), minUnitHeight * 3);
+            canvas.drawBitmap(layerBitmap, 0, 0, null);
+            canvas.restore();
+        } else {
+            drawMonthBar(canvas);
+            drawWeekBar(canvas);
+        }
 
-            // 响应点击事件
-            if (onDateClickListener != null) {
-                onDateClickListener.OnDateClick(thisYear, monthInt, date.get(selectedPosition));
+        // 日期区域按偏移量依次绘制上个月、本月、下个月(周视图为上一周、本周、下一周)
+        canvas.save();
+        canvas.clipRect(0, minUnitHeight * 3, getWidth(), weekMode ? minUnitHeight * 4 : getHeight());
+        for (int page = 0; page < 3; page++) {
+            float left = pageOffset + (page - 1) * getWidth();
+            // 完全不可见的页不绘制
+            if (left <= -getWidth() || left >= getWidth()) {
+                continue;
             }
-
-            // 如果点击的日期不为当前显示月的日期，修正显示月份
-            showMonthOffset = showMonthOffset + monthOffset;
-            selectedMonthOffset = showMonthOffset;
-            // 判断月份偏移量是否为空
-            if (monthOffset != 0) {
-                // 重新计算日历，并且传入点击的日期
-                getCalendarMonth(date.get(selectedPosition));
+            if (!weekMode && !pagesDirty && isPageCached(page, page)) {
+                canvas.drawBitmap(pageBitmaps[page], left, minUnitHeight * 3, null);
             } else {
-                // 重新计算日历
-                getCalendarMonth(0);
+                canvas.save();
+                canvas.translate(left, 0);
+                drawPage(canvas, page);
+                canvas.restore();
             }
-            invalidate();
         }
+        canvas.restore();
     }
 
     /**
-     * 长按事件判定
+     * 绘制折叠、展开动画中的控件
+     * <p>
+     * 日期区域使用动画开始时绘制的图层：显示的一周从原来的行平移到第一行，
+     * 可见的高度从6行收缩到1行，其余部分裁剪掉，每一帧都不重新绘制单元格，也不重新布局。
      *
-     * @param clickX 点击的X坐标
-     * @param clickY 点击的Y坐标
+     * @param canvas Canvas对象
      */
-    private void calculateLongClickPosition(float clickX, float clickY) {
-        // 判断长按事件是否为空
-        if (onDateLongClickListener == null) {
-            // 作为点击事件处理
-            calculateClickPosition(clickX, clickY);
+    private void drawCollapsing(Canvas canvas) {
+        drawMonthBar(canvas);
+        drawWeekBar(canvas);
+
+        float dateTop = minUnitHeight * 3;
+        canvas.save();
+        canvas.clipRect(0, dateTop, getWidth(), dateTop + minUnitHeight * (6 - 5 * collapseProgress));
+        float offset = -weekRow * minUnitHeight * collapseProgress;
+        if (collapseBitmap != null) {
+            canvas.drawBitmap(collapseBitmap, 0, dateTop + offset, null);
+        } else {
+            canvas.translate(0, offset);
+            drawDatePage(canvas, monthGrid, markerCounts, markerLoading);
         }
-        // 长按事件不为空，继续处理
-        else {
-            // 点击的是前一个月按钮
-            if (clickX > 0 && clickX < minUnitHeight * 1.5f && clickY > 0 && clickY < minUnitHeight * 1.5f) {
-                // 修改月份偏移量
-                showMonthOffset--;
-                // 获取前一个月的日历
-                getCalendarMonth(0);
-                // 刷新控件
-                invalidate();
-            }
-            // 点击的是后一个月按钮
-            else if (clickX > getMeasuredWidth() - minUnitHeight * 1.5f && clickX < getMeasuredWidth() &&
-                    clickY > 0 && clickY < minUnitHeight * 1.5f) {
-                // 修改偏移量
-                showMonthOffset++;
-                // 获取后一个月的日历
-                getCalendarMonth(0);
-                // 刷新控件
-                invalidate();
+        canvas.restore();
+    }
+
+    /**
+     * 按完整的月份绘制折叠动画使用的日期图层(动画开始时调用一次)
+     */
+    private void prepareCollapseBitmap() {
+        int pageHeight = (int) Math.ceil(minUnitHeight * (MonthGrid.SIZE / MonthGrid.DAYS_OF_WEEK));
+        if (getWidth() <= 0 || pageHeight <= 0) {
+            return;
+        }
+        if (collapseBitmap == null || collapseBitmap.getWidth() != getWidth() ||
+                collapseBitmap.getHeight() != pageHeight) {
+            if (collapseBitmap != null) {
+                collapseBitmap.recycle();
             }
-            // 点击的是日期区域
-            else if (clickY > minUnitHeight * 3 && clickY < getMeasuredHeight()) {
-                // 计算出X和Y的整数位置
-                int xPosition = (int) (clickX / minUnitWidth);
-                int yPosition = (int) ((clickY - minUnitHeight * 3) / minUnitHeight);
-                // 计算出点击的区域在数组中的位置
-                selectedPosition = yPosition * 7 + xPosition;
-                selectedMonthOffset = 0;
-
-                // 计算是否含有月份点击偏移量
-                int monthOffset = 0;
-                if (isPreviousMonth(selectedPosition)) {
-                    // 点击了上个月显示的日期
-                    monthOffset = -1;
-                } else if (isNextMonth(selectedPosition)) {
-                    // 点击了下个月显示的日期
-                    monthOffset = 1;
-                }
+            collapseBitmap = Bitmap.createBitmap(getWidth(), pageHeight, Bitmap.Config.ARGB_8888);
+            collapseCanvas = new Canvas(collapseBitmap);
+        }
+        collapseBitmap.eraseColor(Color.TRANSPARENT);
+        collapseCanvas.save();
+        collapseCanvas.translate(0, -minUnitHeight * 3);
+        drawDatePage(collapseCanvas, monthGrid, markerCounts, markerLoading);
+        collapseCanvas.restore();
+    }
 
-                // 获取月份
-                int monthInt = monthOfYear + monthOffset + 1;
-                // 判断点击的月份是否为12月(去年的12月)
-                if (monthInt == 0) {
-                    // 修正年份偏移量
-                    thisYear--;
-                    monthInt = 12;
-                }
-                // 判断点击的月份是否为1月(明年的1月)
-                else if (monthInt == 13) {
-                    // 修正年份偏移量
-                    thisYear++;
-                    monthInt = 1;
-                }
+    /**
+     * 折叠动画结束(折叠后只重新布局一次，展开时在动画开始前已经恢复了完整的高度)
+     */
+    private void finishCollapse() {
+        collapsing = false;
+        collapseProgress = weekMode ? 1 : 0;
+        applyWeekLayout();
+        if (weekMode) {
+            requestLayout();
+        }
+        invalidateStaticLayer();
+        dispatchCollapse();
+        invalidate();
+    }
 
-                // 响应点击事件
-                if (onDateLongClickListener != null) {
-                    onDateLongClickListener.OnDateLongClick(thisYear, monthInt, date.get(selectedPosition));
-                }
-            }
+    /**
+     * 通知折叠进度
+     */
+    private void dispatchCollapse() {
+        if (onCollapseListener != null) {
+            onCollapseListener.OnCollapse(collapseProgress,
+                    (int) Math.ceil(minUnitHeight * (9 - 5 * collapseProgress)));
         }
     }
 
     /**
-     * 日期点击Interface
+     * 是否已经完全折叠为周视图
+     *
+     * @return 是否完全折叠
      */
-    public interface OnDateClickListener {
-        /**
-         * 日期点击事件
-         *
-         * @param clickYear  点击的年
-         * @param clickMonth 点击的月
-         * @param clickDate  点击的日
-         */
-        void OnDateClick(int clickYear, int clickMonth, int clickDate);
+    private boolean isCollapsed() {
+        return weekMode && !collapsing;
     }
 
     /**
-     * 设置日期点击监听事件
+     * 按折叠状态更新绘制的行偏移和点击区域表(完全折叠后只有一行单元格)
+     */
+    private void applyWeekLayout() {
+        boolean collapsed = isCollapsed();
+        painter.setRowOffset(collapsed ? weekRow : 0);
+        painter.setVisibleRowCount(collapsed ? 1 : MonthGrid.SIZE / MonthGrid.DAYS_OF_WEEK);
+        hitRegions.layout(getWidth(), getHeight(), minUnitHeight * 1.5f, minUnitHeight * 1.5f, minUnitWidth,
+                minUnitHeight, collapsed ? 1 : MonthGrid.SIZE / MonthGrid.DAYS_OF_WEEK);
+    }
+
+    /**
+     * 计算周视图显示的一周在本月网格中的行
+     * <p>
+     * 显示的一周不在网格中时(例如一周的第一天变化后)，改为显示选中日期、今日或本月1日所在的一周。
+     */
+    private void updateWeekRow() {
+        int offset = weekStartEpochDay - monthGrid.getFirstEpochDay();
+        if (weekStartEpochDay == Integer.MIN_VALUE || offset < 0 || offset >= MonthGrid.SIZE || offset % 7 != 0) {
+            offset = anchorPosition() / 7 * 7;
+            weekStartEpochDay = monthGrid.getFirstEpochDay() + offset;
+        }
+        weekRow = offset / 7;
+        applyWeekLayout();
+    }
+
+    /**
+     * 计算折叠时保留的日期(本月中的选中日期，其次是今日，最后是本月1日)
      *
-     * @param listener 日期点击监听事件
+     * @return 单元格位置
      */
-    public void setOnDateClickListener(OnDateClickListener listener) {
-        this.onDateClickListener = listener;
+    private int anchorPosition() {
+        int position = monthGrid.getSelectedPosition();
+        if (position < 0 || (monthGrid.getFlags(position) & MonthGrid.FLAG_CURRENT_MONTH) == 0) {
+            position = monthGrid.getTodayPosition();
+        }
+        if (position < 0 || (monthGrid.getFlags(position) & MonthGrid.FLAG_CURRENT_MONTH) == 0) {
+            position = monthGrid.positionOf(1);
+        }
+        return position;
     }
 
     /**
-     * 日期长按Interface
+     * 绘制翻页中的某一页
+     *
+     * @param canvas Canvas对象
+     * @param page   0:上个月，1:本月，2:下个月
      */
-    public interface OnDateLongClickListener {
-        /**
-         * 日期长按事件
-         *
-         * @param clickYear  长按的年
-         * @param clickMonth 长按的月
-         * @param clickDate  长按的日
-         */
-        void OnDateLongClick(int clickYear, int clickMonth, int clickDate);
+    private void drawPage(Canvas canvas, int page) {
+        if (weekMode) {
+            drawWeekPage(canvas, page);
+        } else if (page == 0) {
+            drawDatePage(canvas, previousGrid, previousMarkerCounts, false);
+        } else if (page == 1) {
+            drawDatePage(canvas, monthGrid, markerCounts, markerLoading);
+        } else {
+            drawDatePage(canvas, nextGrid, nextMarkerCounts, false);
+        }
     }
 
     /**
-     * 设置日期长按监听事件
+     * 绘制周视图翻页中的某一页(只绘制一行，画在日期区域的第一行)
      *
-     * @param listener 日期长按监听事件
+     * @param canvas Canvas对象
+     * @param page   0:上一周，1:本周，2:下一周
      */
-    public void setOnDateLongClickListener(OnDateLongClickListener listener) {
-        this.onDateLongClickListener = listener;
+    private void drawWeekPage(Canvas canvas, int page) {
+        MonthGrid grid = page == 0 ? previousGrid : page == 1 ? monthGrid : nextGrid;
+        int[] counts = page == 0 ? previousMarkerCounts : page == 1 ? markerCounts : nextMarkerCounts;
+        int row = page == 0 ? previousWeekRow : page == 1 ? weekRow : nextWeekRow;
+        RenderTarget target = beginDraw(canvas);
+        painter.drawDateBackground(target, minUnitHeight * 4);
+        painter.setRowOffset(row);
+        painter.drawSelectionBands(target, grid);
+        loadHeatLevels(grid);
+        for (int position = row * 7; position < row * 7 + 7; position++) {
+            painter.drawDateCell(target, grid, counts, page == 1 && markerLoading, position, grid.getFlags(position));
+        }
+        painter.setRowOffset(weekRow);
+    }
+
+    /**
+     * 准备翻页需要的相邻月份数据和图层(在拖动开始之前调用)
+     */
+    private void preparePages() {
+        // 周视图的相邻页是上一周和下一周
+        if (weekMode) {
+            previousWeekRow = prepareWeekPage(previousGrid, previousMarkerCounts, weekStartEpochDay - 7);
+            nextWeekRow = prepareWeekPage(nextGrid, nextMarkerCounts, weekStartEpochDay + 7);
+            // 相邻网格已经换成了相邻周所在的月份，回到月视图时重新准备
+            adjacentGridsReady = false;
+            return;
+        }
+        // 相邻月份的网格从缓存中取出(切换月份时已经在后台预取)
+        if (!adjacentGridsReady) {
+            previousGrid.copyFrom(MONTH_GRID_CACHE.get(thisYear, monthOfYear - 1, monthGrid.getFirstDayOfWeek()));
+            previousGrid.markToday(todayYear, todayMonth, todayDate);
+            markDisabled(previousGrid);
+            nextGrid.copyFrom(MONTH_GRID_CACHE.get(thisYear, monthOfYear + 1, monthGrid.getFirstDayOfWeek()));
+            nextGrid.markToday(todayYear, todayMonth, todayDate);
+            markDisabled(nextGrid);
+            adjacentGridsReady = true;
+        }
+        markSelection(previousGrid, showMonthOffset - 1);
+        markSelection(nextGrid, showMonthOffset + 1);
+
+        // 相邻月份的标记从加载器的缓存中读取(切换月份时已经预取)
+        if (markerLoader == null || !markerLoader.peek(previousGrid.getFirstEpochDay(), previousMarkerCounts)) {
+            Arrays.fill(previousMarkerCounts, 0);
+        }
+        if (markerLoader == null || !markerLoader.peek(nextGrid.getFirstEpochDay(), nextMarkerCounts)) {
+            Arrays.fill(nextMarkerCounts, 0);
+        }
+
+        // 未启用分层缓存时，翻页中直接绘制
+        if (!layerCacheEnabled || getWidth() <= 0 || getHeight() <= minUnitHeight * 3) {
+            return;
+        }
+        // 只重新绘制内容变化了的页(翻到相邻的月份后，已经绘制的相邻页交换过来直接使用)
+        for (int page = 0; page < 3; page++) {
+            if (pagesDirty || (!isPageCached(page, page) && !swapCachedPage(page))) {
+                renderPage(page);
+            }
+        }
+        pagesDirty = false;
+    }
+
+    /**
+     * 判断某个翻页图层中绘制的内容是否就是某一页当前的内容
+     *
+     * @param slot 图层
+     * @param page 页(0:上个月，1:本月，2:下个月)
+     * @return 是否相同
+     */
+    private boolean isPageCached(int slot, int page) {
+        return pageBitmaps[slot] != null && pageLoading[slot] == (page == 1 && markerLoading) &&
+                pageGrids[slot].contentEquals(pageGrid(page)) &&
+                Arrays.equals(pageCounts[slot], pageMarkerCounts(page));
+    }
+
+    /**
+     * 在其他图层中查找已经绘制了这一页的图层，找到时交换两个图层
+     *
+     * @param page 页
+     * @return 是否找到
+     */
+    private boolean swapCachedPage(int page) {
+        for (int slot = 0; slot < 3; slot++) {
+            if (slot != page && isPageCached(slot, page)) {
+                swap(pageBitmaps, page, slot);
+                swap(pageCanvases, page, slot);
+                swap(pageGrids, page, slot);
+                swap(pageCounts, page, slot);
+                boolean loading = pageLoading[page];
+                pageLoading[page] = pageLoading[slot];
+                pageLoading[slot] = loading;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 交换数组中的两个元素
+     */
+    private static <T> void swap(T[] array, int i, int j) {
+        T item = array[i];
+        array[i] = array[j];
+        array[j] = item;
+    }
+
+    /**
+     * 把某一页绘制到它的图层中，并记录绘制的内容
+     *
+     * @param page 页
+     */
+    private void renderPage(int page) {
+        if (pageBitmaps[page] == null) {
+            int pageHeight = (int) Math.ceil(getHeight() - minUnitHeight * 3);
+            pageBitmaps[page] = Bitmap.createBitmap(getWidth(), pageHeight, Bitmap.Config.ARGB_8888);
+            pageCanvases[page] = new Canvas(pageBitmaps[page]);
+        }
+        pageBitmaps[page].eraseColor(Color.TRANSPARENT);
+        Canvas pageCanvas = pageCanvases[page];
+        pageCanvas.save();
+        pageCanvas.translate(0, -minUnitHeight * 3);
+        drawPage(pageCanvas, page);
+        pageCanvas.restore();
+        pageGrids[page].copyFrom(pageGrid(page));
+        System.arraycopy(pageMarkerCounts(page), 0, pageCounts[page], 0, MonthGrid.SIZE);
+        pageLoading[page] = page == 1 && markerLoading;
+    }
+
+    /**
+     * 获取某一页的网格
+     *
+     * @param page 页(0:上个月，1:本月，2:下个月)
+     * @return 网格
+     */
+    private MonthGrid pageGrid(int page) {
+        return page == 0 ? previousGrid : page == 1 ? monthGrid : nextGrid;
+    }
+
+    /**
+     * 获取某一页的标记数量
+     *
+     * @param page 页(0:上个月，1:本月，2:下个月)
+     * @return 标记数量
+     */
+    private int[] pageMarkerCounts(int page) {
+        return page == 0 ? previousMarkerCounts : page == 1 ? markerCounts : nextMarkerCounts;
+    }
+
+    /**
+     * 准备周视图翻页中相邻一周的网格和标记
+     *
+     * @param grid      网格
+     * @param counts    网格的标记数量
+     * @param weekStart 这一周的第一天
+     * @return 这一周在网格中的行
+     */
+    private int prepareWeekPage(MonthGrid grid, int[] counts, int weekStart) {
+        int monthOffset = monthOffsetOfWeek(weekStart);
+        grid.copyFrom(MONTH_GRID_CACHE.get(todayYear, todayMonth + monthOffset, firstDayOfWeek));
+        grid.markToday(todayYear, todayMonth, todayDate);
+        markDisabled(grid);
+        markSelection(grid, monthOffset);
+        if (markerLoader == null || !markerLoader.peek(grid.getFirstEpochDay(), counts)) {
+            Arrays.fill(counts, 0);
+        }
+        return (weekStart - grid.getFirstEpochDay()) / 7;
+    }
+
+    /**
+     * 计算一周所属的月份(这一周最后一天所在的月，即包含某月1日的一周属于该月)
+     *
+     * @param weekStart 这一周的第一天
+     * @return 相对于今日所在月份的月份偏移量
+     */
+    private int monthOffsetOfWeek(int weekStart) {
+        EpochDays.toDate(weekStart + 6, dateBuffer);
+        return (dateBuffer[0] - todayYear) * 12 + dateBuffer[1] - todayMonth;
+    }
+
+    /**
+     * 周视图切换到另一周(所在的月份同时成为显示的月份)
+     *
+     * @param weekStart 这一周的第一天
+     */
+    private void showWeek(int weekStart) {
+        weekStartEpochDay = weekStart;
+        showMonthOffset = monthOffsetOfWeek(weekStart);
+        getCalendarMonth(0);
+        invalidate();
+    }
+
+    /**
+     * 结束拖动，开始回弹或翻页动画
+     *
+     * @param velocityX 水平速度(像素/秒)
+     */
+    private void endDrag(float velocityX) {
+        dragging = false;
+        int width = getWidth();
+        // 拖动超过三分之一或快速滑动时翻页，否则回到当前月份
+        int target = 0;
+        if (pageOffset > width / 3 || (velocityX > minFlingVelocity && pageOffset > 0)) {
+            target = width;
+        } else if (pageOffset < -width / 3 || (velocityX < -minFlingVelocity && pageOffset < 0)) {
+            target = -width;
+        }
+        int distance = target - (int) pageOffset;
+        int duration = width == 0 ? 0 : Math.max(1, PAGING_DURATION * Math.abs(distance) / width);
+        pageScroller.startScroll((int) pageOffset, 0, distance, 0, duration);
+        settling = true;
+        invalidate();
+    }
+
+    /**
+     * 翻页动画结束，切换到目标月份
+     */
+    private void finishPaging() {
+        settling = false;
+        pagingFrameStats.onAnimationEnd();
+        int monthOffset = pageOffset >= getWidth() && getWidth() > 0 ? -1 :
+                pageOffset <= -getWidth() && getWidth() > 0 ? 1 : 0;
+        pageOffset = 0;
+        if (monthOffset != 0 && weekMode) {
+            showWeek(weekStartEpochDay + monthOffset * 7);
+        } else if (monthOffset != 0) {
+            showMonthOffset += monthOffset;
+            getCalendarMonth(0);
+        }
+        invalidate();
+    }
+
+    /**
+     * 回收速度追踪
+     */
+    private void recycleVelocityTracker() {
+        if (velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    /**
+     * 合成静态图层，图层失效时先重新绘制
+     *
+     * @param canvas Canvas对象
+     */
+    private void drawLayerCache(Canvas canvas) {
+        // 按当前尺寸创建图层
+        if (layerBitmap == null) {
+            layerBitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+            layerCanvas = new Canvas(layerBitmap);
+            layerDirty = true;
+        }
+        // 重新绘制静态图层
+        if (layerDirty) {
+            layerBitmap.eraseColor(Color.TRANSPARENT);
+            drawMonthBar(layerCanvas);
+            drawWeekBar(layerCanvas);
+            drawStaticDateItem(layerCanvas);
+            layerDirty = false;
+        }
+        canvas.drawBitmap(layerBitmap, 0, 0, null);
+    }
+
+    /**
+     * 标记静态图层和所有翻页图层失效(样式变化时调用)
+     */
+    private void invalidateLayerCache() {
+        layerDirty = true;
+        pagesDirty = true;
+    }
+
+    /**
+     * 只标记静态图层失效(月份、今日、标记或不可选日期变化时调用，翻页图层在翻页前按内容比较)
+     */
+    private void invalidateStaticLayer() {
+        layerDirty = true;
+    }
+
+    /**
+     * 释放静态图层
+     */
+    private void releaseLayerCache() {
+        if (collapseBitmap != null) {
+            collapseBitmap.recycle();
+            collapseBitmap = null;
+            collapseCanvas = null;
+        }
+        if (layerBitmap != null) {
+            layerBitmap.recycle();
+            layerBitmap = null;
+            layerCanvas = null;
+        }
+        for (int page = 0; page < pageBitmaps.length; page++) {
+            if (pageBitmaps[page] != null) {
+                pageBitmaps[page].recycle();
+                pageBitmaps[page] = null;
+                pageCanvases[page] = null;
+            }
+        }
+        layerDirty = true;
+        pagesDirty = true;
+    }
+
+    /**
+     * 初始化之前的处理
+     */
+    private void doBeforeInit(Context context, AttributeSet attrs) {
+        // 初始化区间选择和多选
+        ownSelection = new DateSelection();
+        dateSelection = ownSelection;
+        // 初始化手势
+        gestureTracker = new GestureTracker(gestureCallback, ViewConfiguration.getLongPressTimeout());
+        // 设置长按监听器之前不识别长按
+        gestureTracker.setLongPressEnabled(false);
+        hitRegions = new HitRegions();
+        // 初始化年视图
+        yearOverview = new YearOverview();
+        // 初始化日期网格
+        monthGrid = new MonthGrid();
+        markerCounts = new int[MonthGrid.SIZE];
+        previousGrid = new MonthGrid();
+        nextGrid = new MonthGrid();
+        previousMarkerCounts = new int[MonthGrid.SIZE];
+        nextMarkerCounts = new int[MonthGrid.SIZE];
+        pageBitmaps = new Bitmap[3];
+        pageCanvases = new Canvas[3];
+        pageGrids = new MonthGrid[3];
+        pageCounts = new int[3][MonthGrid.SIZE];
+        pageLoading = new boolean[3];
+        for (int page = 0; page < 3; page++) {
+            pageGrids[page] = new MonthGrid();
+        }
+        // 初始化翻页和折叠动画
+        pageScroller = new Scroller(context, new DecelerateInterpolator());
+        collapseScroller = new Scroller(context, new DecelerateInterpolator());
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        // 初始化月份偏差
+        showMonthOffset = 0;
+
+        // 初始化Rect
+        rect = new Rect();
+        clipBounds = new Rect();
+
+        // 读取主题(属性全部来自style资源时共享)，以及布局中设置的控件默认行为
+        theme = CalendarTheme.obtain(context, attrs);
+        layerCacheEnabled = theme.layerCacheEnabled;
+        pagingEnabled = theme.pagingEnabled;
+        displayMode = theme.displayMode;
+        selectionMode = theme.selectionMode;
+        firstDayOfWeekSetting = theme.firstDayOfWeek;
+        if (theme.lunarEnabled) {
+            lunarCalendar = new LunarCalendar();
+        }
+
+        // 初始化文字表(跟随系统语言)
+        labels = CalendarLabels.of(Locale.getDefault());
+        firstDayOfWeek = resolveFirstDayOfWeek();
+        yearOverview.setLabels(labels);
+
+        // 应用主题的画笔
+        applyTheme();
+    }
+
+    /**
+     * 取出主题中各个角色的画笔和预先测量的文字(绘制时不再重置画笔和测量文字)
+     */
+    private void applyTheme() {
+        canvasTarget.setPaint(RenderTarget.PAINT_MONTH_BAR_BACKGROUND, theme.monthBarBackgroundPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_MONTH_BAR_TEXT, theme.monthBarTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_ARROW, theme.arrowPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_DATE_BACKGROUND, theme.dateBackgroundPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_DATE_TEXT, theme.dateTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_WEEKEND_TEXT, theme.weekendTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_OTHER_TEXT, theme.otherTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_TODAY_TEXT, theme.todayTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_SELECT_TEXT, theme.selectTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_SELECT_BACKGROUND, theme.selectBackgroundPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_MARKER, theme.markerPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_MARKER_PLACEHOLDER, theme.markerPlaceholderPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_LUNAR_TEXT, theme.lunarTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_LUNAR_OTHER_TEXT, theme.lunarOtherTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_LUNAR_SELECT_TEXT, theme.lunarSelectTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_FESTIVAL_TEXT, theme.festivalTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_DISABLED_TEXT, theme.disabledTextPaint);
+        canvasTarget.setPaint(RenderTarget.PAINT_LUNAR_DISABLED_TEXT, theme.lunarDisabledTextPaint);
+        yearOverview.setColors(theme.getDateTextColor(), theme.getWeekendTextColor(), theme.getTodayTextColor(),
+                theme.getDateTextColor());
+
+        // 缓存字体度量
+        painter.setFontMetrics(theme.monthBarFontMetrics.top, theme.monthBarFontMetrics.bottom,
+                theme.dateFontMetrics.top, theme.dateFontMetrics.bottom,
+                theme.lunarFontMetrics.top, theme.lunarFontMetrics.bottom);
+        // 日期、星期条文字宽度(所有日期画笔的字体大小相同)
+        painter.setDayTextWidths(theme.dayTextWidths);
+        painter.setLabels(labels, LabelWidths.weekdayWidths(labels, theme.getDateTextSize()));
+        painter.setLunar(lunarCalendar,
+                lunarCalendar != null ? LabelWidths.lunarWidths(theme.getLunarTextSize()) : null);
+        // 没有设置热力图颜色时跟随主题
+        if (heatmapSeries != null && !heatmapColorsSet) {
+            applyHeatmapPalette(defaultHeatmapPalette());
+        }
+
+        // 样式变化后静态图层失效
+        invalidateLayerCache();
+    }
+
+    /**
+     * 测量文字的宽度
+     *
+     * @param paint 画笔
+     * @param text  文字
+     * @return 文字宽度
+     */
+    private int measureTextWidth(Paint paint, String text) {
+        paint.getTextBounds(text, 0, text.length(), rect);
+        return rect.width();
+    }
+
+    /**
+     * 更新月份条文字(只在显示月份变化时格式化和测量)
+     */
+    private void updateMonthText() {
+        if (displayMode == MODE_YEAR) {
+            monthText = labels.formatYearTitle(thisYear);
+        } else {
+            monthText = labels.formatMonthTitle(thisYear, monthOfYear);
+        }
+        painter.setMonthText(monthText, measureTextWidth(theme.monthBarTextPaint, monthText));
+    }
+
+    /**
+     * 获取本月需要显示的日期
+     *
+     * @param dateSelected 点击事件选择的日期
+     */
+    private void getCalendarMonth(int dateSelected) {
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        // 计算今日的纪元日，日期变化时才换算年月日
+        int epochDay = EpochDays.fromMillis(System.currentTimeMillis(), timeZone);
+        if (epochDay != todayEpochDay) {
+            todayEpochDay = epochDay;
+            EpochDays.toDate(epochDay, dateBuffer);
+            todayYear = dateBuffer[0];
+            todayMonth = dateBuffer[1];
+            todayDate = dateBuffer[2];
+            // 只在本控件发现日期变化时写入模型，不会与其他控件来回覆盖
+            if (model != null) {
+                model.setToday(epochDay);
+            }
+        }
+        // 从缓存中取出显示月份的网格(月份偏差溢出时由网格修正年份)
+        int lastTodayPosition = monthGrid.getTodayPosition();
+        final long missCount = metrics != null ? MONTH_GRID_CACHE.getMissCount() : 0;
+        monthGrid.copyFrom(MONTH_GRID_CACHE.get(todayYear, todayMonth + showMonthOffset, firstDayOfWeek));
+        if (metrics != null) {
+            boolean missed = MONTH_GRID_CACHE.getMissCount() != missCount;
+            metrics.increment(missed ? CalendarMetrics.COUNTER_CACHE_MISSES : CalendarMetrics.COUNTER_CACHE_HITS, 1);
+        }
+        monthGrid.markToday(todayYear, todayMonth, todayDate);
+        markDisabled(monthGrid);
+
+        // 显示的月份发生变化时，在后台预取相邻的月份，并更新月份条文字
+        boolean monthChanged = monthText == null ||
+                thisYear != monthGrid.getYear() || monthOfYear != monthGrid.getMonth();
+        if (monthChanged) {
+            MONTH_GRID_CACHE.prefetchNeighbours(monthGrid.getYear(), monthGrid.getMonth(), firstDayOfWeek,
+                    getBackgroundExecutor());
+        }
+        // 得到本月是第几个月
+        monthOfYear = monthGrid.getMonth();
+        // 得到今年
+        thisYear = monthGrid.getYear();
+        if (monthChanged) {
+            updateMonthText();
+            loadMarkerCounts();
+            // 相邻月份的网格在下一次按下时从缓存中取出(届时后台预取已经完成)
+            adjacentGridsReady = false;
+        }
+        // 月份或今日变化后静态图层失效
+        if (monthChanged || lastTodayPosition != monthGrid.getTodayPosition()) {
+            invalidateStaticLayer();
+        }
+
+        // 判断当前选择日是否为空
+        if (dateSelected != 0) {
+            // 计算出选择的日期在数组中的位置
+            selectedPosition = monthGrid.positionOf(dateSelected);
+        }
+        // 标记选中日期(翻页图层在翻页前按内容比较，选中状态没有变化的页不重新绘制)
+        markSelection(monthGrid, showMonthOffset);
+
+        // 周视图显示的一周可能换了行
+        if (weekMode) {
+            updateWeekRow();
+        }
+
+        // 年视图一次性构建一整年的网格
+        if (displayMode == MODE_YEAR) {
+            yearOverview.build(thisYear, monthGrid.getFirstDayOfWeek(), MONTH_GRID_CACHE,
+                    todayYear, todayMonth, todayDate);
+        }
+
+        // 显示的月份和选中日期同步到模型
+        publishToModel();
+
+        if (metrics != null) {
+            metrics.record(CalendarMetrics.SECTION_BUILD_MONTH, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * 在网格中标记选中日期
+     *
+     * @param grid        日期网格
+     * @param monthOffset 网格的月份偏移量
+     */
+    private void markSelection(MonthGrid grid, int monthOffset) {
+        if (selectionMode == SELECTION_SINGLE) {
+            // 单选的日期只在它所在的月份显示
+            grid.setSelectedPosition(selectedPosition != 0 && selectedMonthOffset == monthOffset ?
+                    selectedPosition : -1);
+        } else {
+            // 一次查询得到整个网格的选中位
+            grid.setSelectedMask(dateSelection.bitsOf(grid.getFirstEpochDay(), MonthGrid.SIZE));
+        }
+    }
+
+    /**
+     * 在网格中标记不可选的日期(每个网格只计算一次掩码)
+     *
+     * @param grid 日期网格
+     */
+    private void markDisabled(MonthGrid grid) {
+        if (disabledDates.hasConstraints()) {
+            grid.setDisabledMask(disabledDates.maskOf(grid.getFirstEpochDay()));
+        }
+    }
+
+    /**
+     * 把显示的月份和选中日期写入绑定的模型(值没有变化时模型不会通知)
+     */
+    private void publishToModel() {
+        if (model == null) {
+            return;
+        }
+        model.setVisibleMonth(thisYear, monthOfYear);
+        // 区间选择、多选时不覆盖其他控件的单选日期
+        if (selectionMode == SELECTION_SINGLE) {
+            model.setSelectedDate(selectedEpochDay());
+        }
+        model.notifySelectionChanged();
+        syncedSelectionModCount = dateSelection.getModCount();
+    }
+
+    /**
+     * 采用模型的变化(与控件当前的状态相同时不重新计算，也不重绘，本控件写入的变化不会重复处理)
+     *
+     * @param changes 变化(CalendarModel.CHANGE_*的组合)
+     */
+    private void applyModel(int changes) {
+        boolean changed = false;
+        if ((changes & CalendarModel.CHANGE_VISIBLE_MONTH) != 0) {
+            int monthDelta = model.getVisibleYear() * 12 + model.getVisibleMonth() - (thisYear * 12 + monthOfYear);
+            if (monthDelta != 0) {
+                showMonthOffset += monthDelta;
+                changed = true;
+            }
+        }
+        if ((changes & CalendarModel.CHANGE_SELECTION) != 0) {
+            if (selectionMode == SELECTION_SINGLE) {
+                int epochDay = model.getSelectedDate();
+                if (epochDay != selectedEpochDay()) {
+                    selectEpochDay(epochDay);
+                    changed = true;
+                }
+            } else if (dateSelection.getModCount() != syncedSelectionModCount) {
+                // 其他控件修改了选择，等待中的区间开始日期失效
+                rangeStartEpochDay = Integer.MIN_VALUE;
+                changed = true;
+            }
+        }
+        // 其他控件先发现了日期变化
+        if ((changes & CalendarModel.CHANGE_TODAY) != 0 && model.getToday() != todayEpochDay) {
+            changed = true;
+        }
+        if (changed) {
+            getCalendarMonth(0);
+            invalidate();
+        }
+    }
+
+    /**
+     * 获取单选的日期
+     *
+     * @return 纪元日(没有选中时为CalendarModel.NO_SELECTION)
+     */
+    private int selectedEpochDay() {
+        if (selectedPosition == 0) {
+            return CalendarModel.NO_SELECTION;
+        }
+        return MonthGrid.firstEpochDayOf(todayYear, todayMonth + selectedMonthOffset, firstDayOfWeek) +
+                selectedPosition;
+    }
+
+    /**
+     * 设置单选的日期(选中所在月份网格中的位置)
+     *
+     * @param epochDay 纪元日(CalendarModel.NO_SELECTION为取消选中)
+     */
+    private void selectEpochDay(int epochDay) {
+        if (epochDay == CalendarModel.NO_SELECTION) {
+            selectedPosition = 0;
+            return;
+        }
+        EpochDays.toDate(epochDay, dateBuffer);
+        selectedMonthOffset = (dateBuffer[0] - todayYear) * 12 + dateBuffer[1] - todayMonth;
+        selectedPosition = epochDay - MonthGrid.firstEpochDayOf(dateBuffer[0], dateBuffer[1], firstDayOfWeek);
+    }
+
+    /**
+     * 判断能否翻到前一页或后一页(月视图为一个月，年视图为一年，周视图为一周)
+     *
+     * @param direction -1:前一页，1:后一页
+     * @return 那一页是否与可选日期的范围相交
+     */
+    private boolean canMove(int direction) {
+        int first;
+        int last;
+        if (displayMode == MODE_YEAR) {
+            first = EpochDays.of(thisYear + direction, 0, 1);
+            last = EpochDays.of(thisYear + direction + 1, 0, 1) - 1;
+        } else if (weekMode) {
+            first = weekStartEpochDay + direction * 7;
+            last = first + 6;
+        } else {
+            first = EpochDays.of(thisYear, monthOfYear + direction, 1);
+            last = EpochDays.of(thisYear, monthOfYear + direction + 1, 1) - 1;
+        }
+        return disabledDates.overlapsBounds(first, last);
+    }
+
+    /**
+     * 点击和长按的统一处理
+     *
+     * @param x         按下的X坐标
+     * @param y         按下的Y坐标
+     * @param longPress 是否为长按
+     */
+    private void performGesture(float x, float y, boolean longPress) {
+        int region = hitRegions.regionAt(x, y);
+        // 年视图中按钮每次跳转一年，长按也作为点击处理
+        int step = displayMode == MODE_YEAR ? 12 : 1;
+        // 周视图中只有一行单元格，换算成它在网格中的位置
+        if (weekMode && HitRegions.isCell(region)) {
+            region += weekRow * MonthGrid.DAYS_OF_WEEK;
+        }
+        switch (region) {
+            // 点击的是前一个月按钮(周视图为前一周，超出最早日期时不响应)
+            case HitRegions.REGION_PREVIOUS:
+                if (!canMove(-1)) {
+                    break;
+                }
+                if (weekMode) {
+                    showWeek(weekStartEpochDay - 7);
+                    break;
+                }
+                showMonthOffset -= step;
+                getCalendarMonth(0);
+                invalidate();
+                break;
+
+            // 点击的是后一个月按钮(周视图为后一周，超出最晚日期时不响应)
+            case HitRegions.REGION_NEXT:
+                if (!canMove(1)) {
+                    break;
+                }
+                if (weekMode) {
+                    showWeek(weekStartEpochDay + 7);
+                    break;
+                }
+                showMonthOffset += step;
+                getCalendarMonth(0);
+                invalidate();
+                break;
+
+            default:
+                if (displayMode == MODE_YEAR) {
+                    performYearClick(x, y);
+                } else if (HitRegions.isCell(region) && !monthGrid.isDisabled(region)) {
+                    // 不可选的日期不响应点击和长按
+                    if (longPress && onDateLongClickListener != null) {
+                        performDateLongClick(region);
+                    } else if (selectionMode != SELECTION_SINGLE) {
+                        performSelectionClick(region);
+                    } else {
+                        performDateClick(region);
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * 日期点击
+     *
+     * @param position 点击的单元格位置
+     */
+    private void performDateClick(int position) {
+        // 记录点击前的选中日期和今日，用于局部刷新
+        int lastSelectedPosition = monthGrid.getSelectedPosition();
+        int lastTodayPosition = monthGrid.getTodayPosition();
+        selectedPosition = position;
+
+        // 计算是否含有月份点击偏移量(-1:上个月，0:本月，1:下个月)
+        int monthOffset = monthGrid.monthOffsetOf(position);
+        int day = monthGrid.getDay(position);
+
+        // 响应点击事件
+        if (onDateClickListener != null) {
+            EpochDays.toDate(monthGrid.epochDayOf(position), dateBuffer);
+            onDateClickListener.OnDateClick(dateBuffer[0], dateBuffer[1] + 1, day);
+        }
+
+        // 如果点击的日期不为当前显示月的日期，修正显示月份
+        showMonthOffset = showMonthOffset + monthOffset;
+        selectedMonthOffset = showMonthOffset;
+        // 判断月份偏移量是否为空
+        if (monthOffset != 0) {
+            // 重新计算日历，并且传入点击的日期
+            getCalendarMonth(day);
+            // 月份变化，刷新整个控件
+            invalidate();
+        } else {
+            // 重新计算日历
+            getCalendarMonth(0);
+            // 同一个月内只刷新状态变化的单元格(没有选中日期时今日显示为选中状态，周视图中不显示的行不刷新)
+            painter.clearDirtyRect();
+            painter.addDirtyCell(lastSelectedPosition);
+            painter.addDirtyCell(lastTodayPosition);
+            painter.addDirtyCell(monthGrid.getSelectedPosition());
+            painter.addDirtyCell(monthGrid.getTodayPosition());
+            invalidateDirtyCells();
+        }
+    }
+
+    /**
+     * 区间选择和多选模式下的日期点击(不切换显示的月份)
+     *
+     * @param position 点击的单元格位置
+     */
+    private void performSelectionClick(int position) {
+        int epochDay = monthGrid.epochDayOf(position);
+        if (onDateClickListener != null) {
+            EpochDays.toDate(epochDay, dateBuffer);
+            onDateClickListener.OnDateClick(dateBuffer[0], dateBuffer[1] + 1, dateBuffer[2]);
+        }
+
+        if (selectionMode == SELECTION_MULTIPLE) {
+            dateSelection.toggle(epochDay);
+        } else if (rangeStartEpochDay == Integer.MIN_VALUE) {
+            // 第一次点击，重新开始一个区间
+            dateSelection.clear();
+            dateSelection.add(epochDay);
+            rangeStartEpochDay = epochDay;
+        } else {
+            // 第二次点击，选中整个区间
+            dateSelection.addRange(rangeStartEpochDay, epochDay);
+            rangeStartEpochDay = Integer.MIN_VALUE;
+        }
+        dispatchSelectionChanged();
+    }
+
+    /**
+     * 选择变化后重新标记网格、刷新控件，并通知监听器(每次操作只通知一次)
+     */
+    private void dispatchSelectionChanged() {
+        markSelection(monthGrid, showMonthOffset);
+        invalidate();
+        if (onSelectionChangeListener != null) {
+            onSelectionChangeListener.OnSelectionChange(dateSelection);
+        }
+        publishToModel();
+    }
+
+    /**
+     * 日期长按(不改变选中日期)
+     *
+     * @param position 长按的单元格位置
+     */
+    private void performDateLongClick(int position) {
+        EpochDays.toDate(monthGrid.epochDayOf(position), dateBuffer);
+        onDateLongClickListener.OnDateLongClick(dateBuffer[0], dateBuffer[1] + 1, dateBuffer[2]);
+    }
+
+    /**
+     * 年视图中点击迷你月份，切换到该月的月视图
+     *
+     * @param x 点击的X坐标
+     * @param y 点击的Y坐标
+     */
+    private void performYearClick(float x, float y) {
+        int month = yearOverview.hitTest(x, y);
+        if (month >= 0) {
+            showMonthOffset = (thisYear - todayYear) * 12 + month - todayMonth;
+            getCalendarMonth(0);
+            setDisplayMode(MODE_MONTH);
+        }
+    }
+
+    /**
+     * 日期点击Interface
+     */
+    public interface OnDateClickListener {
+        /**
+         * 日期点击事件
+         *
+         * @param clickYear  点击的年
+         * @param clickMonth 点击的月
+         * @param clickDate  点击的日
+         */
+        void OnDateClick(int clickYear, int clickMonth, int clickDate);
+    }
+
+    /**
+     * 设置日期点击监听事件
+     *
+     * @param listener 日期点击监听事件
+     */
+    public void setOnDateClickListener(OnDateClickListener listener) {
+        this.onDateClickListener = listener;
+    }
+
+    /**
+     * 选择变化Interface
+     */
+    public interface OnSelectionChangeListener {
+        /**
+         * 选择变化事件(一次点击或一次设置只通知一次)
+         *
+         * @param selection 当前选中的日期(以纪元日为键)
+         */
+        void OnSelectionChange(DateSelection selection);
+    }
+
+    /**
+     * 设置选择变化监听事件
+     *
+     * @param listener 选择变化监听事件
+     */
+    public void setOnSelectionChangeListener(OnSelectionChangeListener listener) {
+        this.onSelectionChangeListener = listener;
+    }
+
+    /**
+     * 设置选择模式(切换时清空已有的选择)
+     *
+     * @param mode {@link #SELECTION_SINGLE}、{@link #SELECTION_RANGE}或{@link #SELECTION_MULTIPLE}
+     */
+    public void setSelectionMode(int mode) {
+        if (selectionMode == mode) {
+            return;
+        }
+        selectionMode = mode;
+        selectedPosition = 0;
+        rangeStartEpochDay = Integer.MIN_VALUE;
+        dateSelection.clear();
+        markSelection(monthGrid, showMonthOffset);
+        invalidate();
+        publishToModel();
+    }
+
+    /**
+     * 获取选择模式
+     *
+     * @return 选择模式
+     */
+    public int getSelectionMode() {
+        return selectionMode;
+    }
+
+    /**
+     * 获取区间选择和多选的日期(只读使用，修改请通过控件的方法)
+     *
+     * @return 选中的日期
+     */
+    public DateSelection getSelection() {
+        return dateSelection;
+    }
+
+    /**
+     * 选中一段连续的日期(替换已有的选择，只通知一次)
+     *
+     * @param startYear  开始的年
+     * @param startMonth 开始的月(1-12)
+     * @param startDate  开始的日
+     * @param endYear    结束的年
+     * @param endMonth   结束的月(1-12)
+     * @param endDate    结束的日
+     */
+    public void selectRange(int startYear, int startMonth, int startDate, int endYear, int endMonth, int endDate) {
+        dateSelection.clear();
+        dateSelection.addRange(EpochDays.of(startYear, startMonth - 1, startDate),
+                EpochDays.of(endYear, endMonth - 1, endDate));
+        rangeStartEpochDay = Integer.MIN_VALUE;
+        dispatchSelectionChanged();
+    }
+
+    /**
+     * 清空区间选择和多选的日期
+     */
+    public void clearSelection() {
+        dateSelection.clear();
+        rangeStartEpochDay = Integer.MIN_VALUE;
+        dispatchSelectionChanged();
+    }
+
+    /**
+     * 设置最早可选的日期(之前的日期显示为不可选，不响应点击，也不能翻到更早的月份)
+     *
+     * @param year  年
+     * @param month 月(1-12)
+     * @param date  日
+     */
+    public void setMinDate(int year, int month, int date) {
+        disabledDates.setBounds(EpochDays.of(year, month - 1, date), disabledDates.getMaxEpochDay());
+        applyDisabledDates();
+    }
+
+    /**
+     * 设置最晚可选的日期(之后的日期显示为不可选，不响应点击，也不能翻到更晚的月份)
+     *
+     * @param year  年
+     * @param month 月(1-12)
+     * @param date  日
+     */
+    public void setMaxDate(int year, int month, int date) {
+        disabledDates.setBounds(disabledDates.getMinEpochDay(), EpochDays.of(year, month - 1, date));
+        applyDisabledDates();
+    }
+
+    /**
+     * 取消最早、最晚日期的限制
+     */
+    public void clearDateBounds() {
+        disabledDates.setBounds(DisabledDates.NO_MIN, DisabledDates.NO_MAX);
+        applyDisabledDates();
+    }
+
+    /**
+     * 设置不可选日期的业务规则
+     * <p>
+     * 每个网格中的每一天只判断一次，结果按网格缓存为位掩码，绘制和点击时不再调用。
+     * 规则的数据变化后调用{@link #notifyDisabledDatesChanged()}。
+     *
+     * @param provider 业务规则(为null时取消)
+     */
+    public void setDisabledDateProvider(DisabledDateProvider provider) {
+        disabledDates.setProvider(provider);
+        applyDisabledDates();
+    }
+
+    /**
+     * 不可选日期的业务规则的数据变化后刷新控件
+     */
+    public void notifyDisabledDatesChanged() {
+        disabledDates.invalidate();
+        applyDisabledDates();
+    }
+
+    /**
+     * 判断某一天是否不可选
+     *
+     * @param year  年
+     * @param month 月(1-12)
+     * @param date  日
+     * @return 是否不可选
+     */
+    public boolean isDateDisabled(int year, int month, int date) {
+        return disabledDates.isDisabled(EpochDays.of(year, month - 1, date));
+    }
+
+    /**
+     * 不可选的日期变化后重新标记网格(显示的月份完全超出范围时，切换到最近的可选月份)
+     */
+    private void applyDisabledDates() {
+        int first = EpochDays.of(thisYear, monthOfYear, 1);
+        int last = EpochDays.of(thisYear, monthOfYear + 1, 1) - 1;
+        if (!disabledDates.overlapsBounds(first, last)) {
+            EpochDays.toDate(last < disabledDates.getMinEpochDay() ? disabledDates.getMinEpochDay() :
+                    disabledDates.getMaxEpochDay(), dateBuffer);
+            showMonthOffset = (dateBuffer[0] - todayYear) * 12 + dateBuffer[1] - todayMonth;
+            weekStartEpochDay = Integer.MIN_VALUE;
+        }
+        adjacentGridsReady = false;
+        getCalendarMonth(0);
+        invalidateStaticLayer();
+        invalidate();
+    }
+
+    /**
+     * 日期长按Interface
+     */
+    public interface OnDateLongClickListener {
+        /**
+         * 日期长按事件
+         *
+         * @param clickYear  长按的年
+         * @param clickMonth 长按的月
+         * @param clickDate  长按的日
+         */
+        void OnDateLongClick(int clickYear, int clickMonth, int clickDate);
+    }
+
+    /**
+     * 设置日期长按监听事件
+     *
+     * @param listener 日期长按监听事件
+     */
+    public void setOnDateLongClickListener(OnDateLongClickListener listener) {
+        this.onDateLongClickListener = listener;
+        // 没有长按监听器时不安排长按的定时回调，按住日期或按钮不会在抬起前响应
+        gestureTracker.setLongPressEnabled(listener != null);
+    }
+
+    /**
+     * 折叠进度Interface
+     */
+    public interface OnCollapseListener {
+        /**
+         * 折叠进度变化事件(动画中每一帧和动画结束时通知)
+         *
+         * @param progress      折叠进度(0为完整的月份，1为一周)
+         * @param visibleHeight 控件可见部分的高度
+         */
+        void OnCollapse(float progress, int visibleHeight);
+    }
+
+    /**
+     * 设置折叠进度监听事件
+     *
+     * @param listener 折叠进度监听事件
+     */
+    public void setOnCollapseListener(OnCollapseListener listener) {
+        this.onCollapseListener = listener;
+    }
+
+    /**
+     * 绑定共享的日历模型(多个控件显示同一个月份和选中日期)
+     * <p>
+     * 绑定后显示的月份、选中日期和今日以模型为准，区间选择和多选直接使用模型中的日期。
+     * 任何一个控件的修改写入模型，同一帧内的修改合并为一次通知，其他控件每帧最多重绘一次。
+     *
+     * @param model 模型(为null时解除绑定，恢复控件自己的区间选择和多选)
+     */
+    public void setModel(CalendarModel model) {
+        if (this.model == model) {
+            return;
+        }
+        if (this.model != null) {
+            this.model.removeListener(modelListener);
+            dateSelection = ownSelection;
+        }
+        this.model = model;
+        if (model != null) {
+            dateSelection = model.getSelection();
+            model.addListener(modelListener);
+            syncedSelectionModCount = -1;
+            applyModel(CalendarModel.CHANGE_ALL);
+        } else {
+            getCalendarMonth(0);
+            invalidate();
+        }
+    }
+
+    /**
+     * 获取绑定的日历模型
+     *
+     * @return 模型(没有绑定时为null)
+     */
+    public CalendarModel getModel() {
+        return model;
+    }
+
+    /**
+     * 请求当前网格的标记数量，并预取相邻月份(已加载过的窗口直接复制)
+     */
+    private void loadMarkerCounts() {
+        Arrays.fill(markerCounts, 0);
+        if (markerLoader == null) {
+            markerLoading = false;
+            return;
+        }
+        int previousEpochDay = MonthGrid.firstEpochDayOf(thisYear, monthOfYear - 1, monthGrid.getFirstDayOfWeek());
+        int nextEpochDay = MonthGrid.firstEpochDayOf(thisYear, monthOfYear + 1, monthGrid.getFirstDayOfWeek());
+        // 同步加载时，结果会在request返回之前回调
+        markerLoading = true;
+        if (markerLoader.request(monthGrid.getFirstEpochDay(), previousEpochDay, nextEpochDay, markerCounts)) {
+            markerLoading = false;
+        }
+    }
+
+    /**
+     * 设置日期标记数据源(在主线程中同步读取，适合内存中的数据)
+     *
+     * @param dataSource 日期标记数据源(为空时不显示标记)
+     */
+    public void setMarkerDataSource(MarkerDataSource dataSource) {
+        setMarkerDataSource(dataSource, false);
+    }
+
+    /**
+     * 设置日期标记数据源
+     * <p>
+     * 异步加载时，切换月份只提交后台加载并显示占位圆点，已经不可见的加载会被取消，
+     * 加载完成后只刷新一次控件。
+     *
+     * @param dataSource 日期标记数据源(为空时不显示标记)
+     * @param async      是否在后台线程中加载
+     */
+    public void setMarkerDataSource(MarkerDataSource dataSource, boolean async) {
+        if (markerLoader != null) {
+            markerLoader.clear();
+        }
+        if (dataSource == null) {
+            markerLoader = null;
+        } else if (async) {
+            markerLoader = new MonthDataLoader(dataSource, getBackgroundExecutor(), getMainExecutor(),
+                    markerLoadCallback);
+        } else {
+            markerLoader = new MonthDataLoader(dataSource, DIRECT_EXECUTOR, DIRECT_EXECUTOR, markerLoadCallback);
+        }
+        notifyMarkersChanged();
+    }
+
+    /**
+     * 通知日期标记数据发生了变化，重新读取当前网格的标记
+     */
+    public void notifyMarkersChanged() {
+        if (markerLoader != null) {
+            markerLoader.clear();
+        }
+        loadMarkerCounts();
+        invalidateStaticLayer();
+        invalidate();
+    }
+
+    /**
+     * 日期标记是否正在加载
+     *
+     * @return 是否正在加载
+     */
+    public boolean isMarkerLoading() {
+        return markerLoading;
+    }
+
+    /**
+     * 设置是否启用分层缓存
+     * <p>
+     * 启用后月份条、星期条和日期文字绘制到一张缓存图层中，只在月份、尺寸、样式变化时重新绘制，
+     * 每一帧只合成图层并绘制今日和选中日期，选中日期的变化几乎没有绘制开销。
+     * 选中日期的背景需要是不透明的颜色，才能覆盖图层中原有的文字。
+     *
+     * @param enabled 是否启用
+     */
+    public void setLayerCacheEnabled(boolean enabled) {
+        if (layerCacheEnabled != enabled) {
+            layerCacheEnabled = enabled;
+            if (!enabled) {
+                releaseLayerCache();
+            }
+            invalidate();
+        }
+    }
+
+    /**
+     * 是否启用了分层缓存
+     *
+     * @return 是否启用
+     */
+    public boolean isLayerCacheEnabled() {
+        return layerCacheEnabled;
+    }
+
+    /**
+     * 获取上一次绘制中重绘的单元格数量
+     * <p>
+     * 开启硬件加速时系统会忽略局部刷新的区域，每次都会重绘全部单元格。
+     *
+     * @return 重绘的单元格数量
+     */
+    public int getLastDrawnCellCount() {
+        return lastDrawnCellCount;
+    }
+
+    /**
+     * 设置是否在日期下方显示农历、节气和节日(支持1900年1月31日 ~ 2100年12月31日)
+     *
+     * @param enabled 是否显示
+     */
+    public void setLunarEnabled(boolean enabled) {
+        if (enabled == (lunarCalendar != null)) {
+            return;
+        }
+        if (enabled) {
+            lunarCalendar = new LunarCalendar();
+            painter.setLunar(lunarCalendar, LabelWidths.lunarWidths(theme.getLunarTextSize()));
+        } else {
+            lunarCalendar = null;
+            painter.setLunar(null, null);
+        }
+        invalidateLayerCache();
+        invalidate();
+    }
+
+    /**
+     * 设置热力图数据(按每天的数值给日期单元格着色，月视图和年视图都会显示)
+     * <p>
+     * 数值按序列当前的最小值、最大值等分为{@link HeatmapPalette#LEVELS}个等级，没有数据的日期不着色。
+     * 之后修改序列时调用{@link #notifyHeatmapChanged()}刷新。
+     *
+     * @param series 热力图数据(为null时关闭热力图)
+     */
+    public void setHeatmap(HeatmapSeries series) {
+        heatmapSeries = series;
+        if (series != null) {
+            heatmapVersion = series.getVersion();
+            if (heatmapPalette == null) {
+                heatmapPalette = defaultHeatmapPalette();
+                setHeatmapPaints(heatmapPalette);
+            }
+        }
+        yearOverview.setHeatmap(series, heatmapPalette);
+        invalidateLayerCache();
+        invalidate();
+    }
+
+    /**
+     * 获取热力图数据
+     *
+     * @return 热力图数据
+     */
+    public HeatmapSeries getHeatmap() {
+        return heatmapSeries;
+    }
+
+    /**
+     * 设置热力图的颜色(最低等级到最高等级之间线性过渡)
+     *
+     * @param lowColor  最低等级的颜色
+     * @param highColor 最高等级的颜色
+     */
+    public void setHeatmapColors(int lowColor, int highColor) {
+        heatmapColorsSet = true;
+        applyHeatmapPalette(new HeatmapPalette(lowColor, highColor));
+    }
+
+    /**
+     * 热力图数据修改后刷新控件
+     */
+    public void notifyHeatmapChanged() {
+        invalidate();
+    }
+
+    /**
+     * 生成跟随主题的热力图颜色表(今日颜色从浅到深)
+     *
+     * @return 颜色表
+     */
+    private HeatmapPalette defaultHeatmapPalette() {
+        int color = theme.getTodayTextColor();
+        return new HeatmapPalette((color & 0x00ffffff) | (Color.alpha(color) / 6) << 24, color);
+    }
+
+    /**
+     * 使用新的热力图颜色表
+     *
+     * @param palette 颜色表
+     */
+    private void applyHeatmapPalette(HeatmapPalette palette) {
+        heatmapPalette = palette;
+        setHeatmapPaints(palette);
+        yearOverview.setHeatmap(heatmapSeries, palette);
+        invalidateLayerCache();
+        invalidate();
+    }
+
+    /**
+     * 把热力图各个等级的画笔交给绘制目标
+     *
+     * @param palette 颜色表
+     */
+    private void setHeatmapPaints(HeatmapPalette palette) {
+        for (int level = 0; level < HeatmapPalette.LEVELS; level++) {
+            canvasTarget.setPaint(RenderTarget.PAINT_HEATMAP + level, palette.paints[level]);
+        }
+    }
+
+    /**
+     * 是否显示农历
+     *
+     * @return 是否显示
+     */
+    public boolean isLunarEnabled() {
+        return lunarCalendar != null;
+    }
+
+    /**
+     * 设置显示模式
+     *
+     * @param mode {@link #MODE_MONTH}或{@link #MODE_YEAR}
+     */
+    public void setDisplayMode(int mode) {
+        if (displayMode == mode) {
+            return;
+        }
+        // 年视图需要完整的高度
+        if (mode == MODE_YEAR) {
+            setWeekMode(false, false);
+        }
+        displayMode = mode;
+        getCalendarMonth(0);
+        updateMonthText();
+        yearOverview.layout(getWidth(), minUnitHeight * 1.5f, getHeight(), theme.getDateTextSize());
+        invalidateLayerCache();
+        invalidate();
+    }
+
+    /**
+     * 折叠为周视图或展开为完整的月份
+     * <p>
+     * 折叠时保留本月中的选中日期(其次是今日、本月1日)所在的一周，周视图中左右滑动和跳转按钮按周翻页。
+     * 动画中每一帧只裁剪和平移动画开始时绘制好的日期图层，不重新布局：折叠在动画结束时重新布局一次，
+     * 展开在动画开始前重新布局一次。需要让下方的内容跟随动画移动时，
+     * 可以在{@link OnCollapseListener}中按可见高度平移它们。高度为精确值时控件的高度不变。
+     *
+     * @param weekMode 是否为周视图
+     * @param animate  是否执行动画
+     */
+    public void setWeekMode(boolean weekMode, boolean animate) {
+        if (this.weekMode == weekMode) {
+            return;
+        }
+        // 周视图只在月视图中使用
+        if (weekMode && displayMode == MODE_YEAR) {
+            setDisplayMode(MODE_MONTH);
+        }
+        // 结束进行中的翻页
+        if (settling) {
+            pageScroller.abortAnimation();
+            pageOffset = pageScroller.getFinalX();
+            finishPaging();
+        }
+        dragging = false;
+        pageOffset = 0;
+
+        this.weekMode = weekMode;
+        float from = collapsing ? collapseProgress : weekMode ? 0 : 1;
+        if (weekMode && !collapsing) {
+            // 从完整的月份开始折叠时重新选择保留的一周
+            weekStartEpochDay = Integer.MIN_VALUE;
+            updateWeekRow();
+        }
+        if (!weekMode) {
+            // 展开前恢复完整的高度
+            requestLayout();
+        }
+        if (animate && getWidth() > 0 && getHeight() > 0) {
+            float to = weekMode ? 1 : 0;
+            boolean started = !collapsing;
+            collapsing = true;
+            collapseProgress = from;
+            applyWeekLayout();
+            if (started) {
+                // 图层按完整的月份绘制(行偏移已经恢复为0)
+                prepareCollapseBitmap();
+            }
+            collapseScroller.startScroll((int) (from * COLLAPSE_SCALE), 0,
+                    (int) ((to - from) * COLLAPSE_SCALE), 0, (int) (COLLAPSE_DURATION * Math.abs(to - from)));
+            invalidate();
+        } else {
+            collapseScroller.abortAnimation();
+            finishCollapse();
+        }
+    }
+
+    /**
+     * 是否为周视图(动画中为动画的目标状态)
+     *
+     * @return 是否为周视图
+     */
+    public boolean isWeekMode() {
+        return weekMode;
+    }
+
+    /**
+     * 获取折叠进度
+     *
+     * @return 0为完整的月份，1为一周
+     */
+    public float getCollapseProgress() {
+        return collapseProgress;
+    }
+
+    /**
+     * 设置一周的第一天
+     *
+     * @param firstDayOfWeek {@link #FIRST_DAY_OF_WEEK_LOCALE}或Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    public void setFirstDayOfWeek(int firstDayOfWeek) {
+        if (firstDayOfWeek < FIRST_DAY_OF_WEEK_LOCALE || firstDayOfWeek > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("firstDayOfWeek out of range: " + firstDayOfWeek);
+        }
+        firstDayOfWeekSetting = firstDayOfWeek;
+        applyFirstDayOfWeek();
+    }
+
+    /**
+     * 获取实际使用的一周的第一天
+     *
+     * @return Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    /**
+     * 设置星期、月份文字使用的语言(默认跟随系统语言)
+     *
+     * @param locale 语言
+     */
+    public void setLocale(Locale locale) {
+        labels = CalendarLabels.of(locale);
+        painter.setLabels(labels, LabelWidths.weekdayWidths(labels, theme.getDateTextSize()));
+        yearOverview.setLabels(labels);
+        updateMonthText();
+        applyFirstDayOfWeek();
+        invalidateLayerCache();
+        invalidate();
+    }
+
+    /**
+     * 一周的第一天变化后重新计算网格
+     */
+    private void applyFirstDayOfWeek() {
+        int resolved = resolveFirstDayOfWeek();
+        if (resolved == firstDayOfWeek) {
+            return;
+        }
+        // 单选的日期以单元格位置保存，换算到新的网格中
+        if (selectedPosition != 0) {
+            int year = todayYear;
+            int month = todayMonth + selectedMonthOffset;
+            selectedPosition += MonthGrid.firstEpochDayOf(year, month, firstDayOfWeek) -
+                    MonthGrid.firstEpochDayOf(year, month, resolved);
+        }
+        firstDayOfWeek = resolved;
+        getCalendarMonth(0);
+        invalidateLayerCache();
+        invalidate();
+    }
+
+    /**
+     * 计算实际使用的一周的第一天
+     *
+     * @return Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    private int resolveFirstDayOfWeek() {
+        return firstDayOfWeekSetting == FIRST_DAY_OF_WEEK_LOCALE ? labels.getFirstDayOfWeek() : firstDayOfWeekSetting;
+    }
+
+    /**
+     * 切换主题(画笔和文字宽度直接换成主题中的，只需要重绘一次)
+     *
+     * @param theme 主题
+     */
+    public void setTheme(CalendarTheme theme) {
+        if (theme == null) {
+            throw new IllegalArgumentException("theme == null");
+        }
+        if (this.theme == theme) {
+            return;
+        }
+        boolean textSizeChanged = this.theme.getDateTextSize() != theme.getDateTextSize();
+        this.theme = theme;
+        applyTheme();
+        updateMonthText();
+        if (textSizeChanged) {
+            yearOverview.layout(getWidth(), minUnitHeight * 1.5f, getHeight(), theme.getDateTextSize());
+        }
+        invalidate();
+    }
+
+    /**
+     * 获取当前的主题
+     *
+     * @return 主题
+     */
+    public CalendarTheme getTheme() {
+        return theme;
+    }
+
+    /**
+     * 获取显示模式
+     *
+     * @return {@link #MODE_MONTH}或{@link #MODE_YEAR}
+     */
+    public int getDisplayMode() {
+        return displayMode;
+    }
+
+    /**
+     * 设置是否启用左右滑动翻页
+     *
+     * @param enabled 是否启用
+     */
+    public void setPagingEnabled(boolean enabled) {
+        this.pagingEnabled = enabled;
+    }
+
+    /**
+     * 是否启用了左右滑动翻页
+     *
+     * @return 是否启用
+     */
+    public boolean isPagingEnabled() {
+        return pagingEnabled;
+    }
+
+    /**
+     * 获取翻页动画(拖动和回弹)的帧耗时统计
+     *
+     * @return 帧耗时统计
+     */
+    public FrameStats getPagingFrameStats() {
+        return pagingFrameStats;
+    }
+
+    /**
+     * 设置之后创建的控件使用的性能统计(已经创建的控件不受影响)
+     *
+     * @param metrics 性能统计(为null时不统计)
+     */
+    public static void setDefaultMetrics(CalendarMetrics metrics) {
+        defaultMetrics = metrics;
+    }
+
+    /**
+     * 获取控件的性能统计
+     *
+     * @return 性能统计(没有启用时为null)
+     */
+    public CalendarMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 获取所有控件共享的月份网格缓存(可以读取命中、未命中和淘汰次数，或者调整容量)
+     *
+     * @return 月份网格缓存
+     */
+    public static MonthGridCache getMonthGridCache() {
+        return MONTH_GRID_CACHE;
+    }
+
+    /**
+     * 获取预取相邻月份、加载日期数据的后台线程
+     *
+     * @return 后台线程
+     */
+    private static synchronized Executor getBackgroundExecutor() {
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "JZCalendar-background");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return backgroundExecutor;
+    }
+
+    /**
+     * 获取在主线程中执行回调的Executor(第一次使用时创建，之后所有控件共享)
+     *
+     * @return 主线程Executor
+     */
+    private static synchronized Executor getMainExecutor() {
+        if (mainExecutor == null) {
+            final Handler handler = new Handler(Looper.getMainLooper());
+            mainExecutor = new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    handler.post(command);
+                }
+            };
+        }
+        return mainExecutor;
     }
 
     /**
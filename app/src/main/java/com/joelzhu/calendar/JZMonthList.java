@@ -0,0 +1,572 @@
+package com.joelzhu.calendar;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+import android.widget.Scroller;
+
+import com.joelzhu.calendar.core.CalendarLabels;
+import com.joelzhu.calendar.core.EpochDays;
+import com.joelzhu.calendar.core.MonthGrid;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 16:40
+ * 作用：可以上下滚动的月份列表(预订日期选择器等场景)
+ * <p>
+ * 列表只持有覆盖一屏所需的少量{@link MonthRenderer}，月份滚入屏幕时复用离开屏幕的渲染器并重新绑定，
+ * 所有渲染器共享同一个{@link MonthStyle}，网格来自{@link JZCalendar#getMonthGridCache()}。
+ * 因此无论月份范围是12个月还是1200个月，占用的内存都不变。
+ */
+public class JZMonthList extends View {
+    // 默认的月份范围(今日前后各100年)
+    private static final int DEFAULT_MONTH_RANGE = 1200;
+    // 没有选中日期
+    private static final int NO_SELECTION = Integer.MIN_VALUE;
+
+    // 共享的样式
+    private MonthStyle style;
+    // 月份渲染器池
+    private MonthRenderer[] renderers = new MonthRenderer[0];
+    // 滚动动画
+    private Scroller scroller;
+    // 速度追踪
+    private VelocityTracker velocityTracker;
+    // 开始拖动的最小距离
+    private int touchSlop;
+    // 触发惯性滚动的最小速度
+    private int minFlingVelocity;
+    // 触发惯性滚动的最大速度
+    private int maxFlingVelocity;
+
+    // 第一个月份的序号(年 * 12 + 月)
+    private int firstMonthIndex;
+    // 月份数量
+    private int monthCount;
+    // 一周的第一天
+    private int firstDayOfWeek = Calendar.SUNDAY;
+    // 设置的一周的第一天(可以跟随语言)
+    private int firstDayOfWeekSetting = Calendar.SUNDAY;
+    // 滚动距离(相对于第一个月份的顶端)
+    private int scrollOffset;
+    // 滚动到的月份(尺寸确定之前记录下来，确定之后再换算成滚动距离)
+    private int pendingMonthIndex = MonthRenderer.UNBOUND;
+    // 选中日期的纪元日
+    private int selectedEpochDay = NO_SELECTION;
+    // 今日
+    private int todayYear;
+    private int todayMonth;
+    private int todayDate;
+    // 纪元日换算为年月日的缓冲区
+    private final int[] dateBuffer = new int[3];
+
+    // 单元格宽度
+    private float unitWidth;
+    // 单元格高度
+    private float unitHeight;
+    // 星期条和月份标题的高度
+    private float titleHeight;
+    // 每个月份的高度(标题加6行日期)
+    private int monthHeight;
+
+    // 上一次Down或Move的Y坐标
+    private float lastTouchY;
+    // 这次Down的X和Y坐标
+    private float downX;
+    private float downY;
+    // 是否正在拖动
+    private boolean dragging;
+
+    // 日期点击事件
+    private JZCalendar.OnDateClickListener onDateClickListener;
+
+    /**
+     * 构造函数
+     *
+     * @param context 上下文
+     */
+    public JZMonthList(Context context) {
+        this(context, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param context 上下文
+     * @param attrs   属性
+     */
+    public JZMonthList(Context context, AttributeSet attrs) {
+        super(context, attrs);
+
+        setWillNotDraw(false);
+        scroller = new Scroller(context);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+
+        // 读取主题(与JZCalendar共用属性，属性全部来自style资源时共享)
+        CalendarTheme theme = CalendarTheme.obtain(context, attrs);
+        firstDayOfWeekSetting = theme.firstDayOfWeek;
+        style = new MonthStyle(theme, CalendarLabels.of(Locale.getDefault()));
+        firstDayOfWeek = resolveFirstDayOfWeek();
+
+        // 默认显示今日前后各100年，并滚动到本月
+        updateToday();
+        int todayIndex = todayYear * 12 + todayMonth;
+        firstMonthIndex = todayIndex - DEFAULT_MONTH_RANGE;
+        monthCount = DEFAULT_MONTH_RANGE * 2 + 1;
+        pendingMonthIndex = todayIndex;
+    }
+
+    /**
+     * OnMeasure
+     *
+     * @param widthMeasureSpec  宽度
+     * @param heightMeasureSpec 高度
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.EXACTLY ?
+                MeasureSpec.getSize(widthMeasureSpec) : dp2Px(336);
+        int height = MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.EXACTLY ?
+                MeasureSpec.getSize(heightMeasureSpec) : dp2Px(480);
+        setMeasuredDimension(width, height);
+    }
+
+    /**
+     * OnSizeChanged
+     *
+     * @param w    新的宽度
+     * @param h    新的高度
+     * @param oldw 旧的宽度
+     * @param oldh 旧的高度
+     */
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        // 记录尺寸变化前显示的月份，变化后继续显示该月份
+        if (pendingMonthIndex == MonthRenderer.UNBOUND && monthHeight > 0) {
+            pendingMonthIndex = firstMonthIndex + scrollOffset / monthHeight;
+        }
+
+        unitWidth = (float) w / MonthGrid.DAYS_OF_WEEK;
+        unitHeight = unitWidth * 3 / 4;
+        titleHeight = unitHeight * 1.5f;
+        monthHeight = (int) Math.ceil(titleHeight + unitHeight * 6);
+
+        // 渲染器的数量只取决于一屏能显示几个月份
+        int poolSize = monthHeight > 0 ? (h - (int) titleHeight) / monthHeight + 2 : 0;
+        if (poolSize != renderers.length) {
+            renderers = new MonthRenderer[poolSize];
+            for (int i = 0; i < poolSize; i++) {
+                renderers[i] = new MonthRenderer();
+            }
+        }
+
+        if (pendingMonthIndex != MonthRenderer.UNBOUND) {
+            scrollToMonthIndex(pendingMonthIndex);
+        } else {
+            setScrollOffset(scrollOffset);
+        }
+    }
+
+    /**
+     * OnDraw
+     *
+     * @param canvas Canvas
+     */
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (monthHeight <= 0 || renderers.length == 0) {
+            return;
+        }
+        final int width = getWidth();
+
+        // 月份区域
+        int saveCount = canvas.save();
+        canvas.clipRect(0, titleHeight, width, getHeight());
+        int first = scrollOffset / monthHeight;
+        float top = titleHeight - scrollOffset % monthHeight;
+        for (int index = first; index < monthCount && top < getHeight(); index++) {
+            MonthRenderer renderer = obtainRenderer(firstMonthIndex + index, first);
+            canvas.save();
+            canvas.translate(0, top);
+            renderer.draw(canvas, style, width, titleHeight, unitWidth, unitHeight, selectedEpochDay);
+            canvas.restore();
+            top += monthHeight;
+        }
+        canvas.restoreToCount(saveCount);
+
+        // 固定在顶端的星期条
+        drawWeekBar(canvas, width);
+    }
+
+    /**
+     * ComputeScroll
+     */
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            setScrollOffset(scroller.getCurrY());
+            invalidate();
+        }
+    }
+
+    /**
+     * OnDetachedFromWindow
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        scroller.abortAnimation();
+        recycleVelocityTracker();
+    }
+
+    /**
+     * OnTouch
+     *
+     * @param event Touch事件
+     * @return 是否消费这个事件
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (velocityTracker == null) {
+            velocityTracker = VelocityTracker.obtain();
+        }
+        velocityTracker.addMovement(event);
+
+        switch (event.getAction()) {
+            // 按下事件
+            case MotionEvent.ACTION_DOWN:
+                // 滚动中再次按下时停止滚动
+                if (!scroller.isFinished()) {
+                    scroller.abortAnimation();
+                    dragging = true;
+                }
+                downX = event.getX();
+                downY = event.getY();
+                lastTouchY = downY;
+                return true;
+
+            // 移动事件
+            case MotionEvent.ACTION_MOVE:
+                float y = event.getY();
+                if (!dragging && Math.abs(y - downY) >= touchSlop) {
+                    dragging = true;
+                    // 拖动期间不让父布局拦截事件
+                    ViewParent parent = getParent();
+                    if (parent != null) {
+                        parent.requestDisallowInterceptTouchEvent(true);
+                    }
+                }
+                if (dragging) {
+                    setScrollOffset(scrollOffset + (int) (lastTouchY - y));
+                    lastTouchY = y;
+                }
+                return true;
+
+            // 弹起事件
+            case MotionEvent.ACTION_UP:
+                if (dragging) {
+                    velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+                    int velocityY = (int) velocityTracker.getYVelocity();
+                    if (Math.abs(velocityY) >= minFlingVelocity) {
+                        scroller.fling(0, scrollOffset, 0, -velocityY, 0, 0, 0, getMaxScrollOffset());
+                        invalidate();
+                    }
+                } else {
+                    performDateClick(downX, downY);
+                }
+                dragging = false;
+                recycleVelocityTracker();
+                return true;
+
+            // 取消事件
+            case MotionEvent.ACTION_CANCEL:
+                dragging = false;
+                recycleVelocityTracker();
+                return true;
+        }
+
+        return super.onTouchEvent(event);
+    }
+
+    /**
+     * 设置月份范围
+     *
+     * @param startYear  第一个月份的年
+     * @param startMonth 第一个月份的月(1-12)
+     * @param count      月份数量
+     */
+    public void setMonthRange(int startYear, int startMonth, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count <= 0");
+        }
+        int currentIndex = monthHeight > 0 ? firstMonthIndex + scrollOffset / monthHeight : pendingMonthIndex;
+        firstMonthIndex = startYear * 12 + startMonth - 1;
+        monthCount = count;
+        unbindRenderers();
+        scrollToMonthIndex(currentIndex);
+    }
+
+    /**
+     * 滚动到指定的月份
+     *
+     * @param year  年
+     * @param month 月(1-12)
+     */
+    public void scrollToMonth(int year, int month) {
+        scroller.abortAnimation();
+        scrollToMonthIndex(year * 12 + month - 1);
+    }
+
+    /**
+     * 设置一周的第一天
+     *
+     * @param firstDayOfWeek {@link JZCalendar#FIRST_DAY_OF_WEEK_LOCALE}或Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    public void setFirstDayOfWeek(int firstDayOfWeek) {
+        if (firstDayOfWeek < JZCalendar.FIRST_DAY_OF_WEEK_LOCALE || firstDayOfWeek > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("firstDayOfWeek out of range: " + firstDayOfWeek);
+        }
+        firstDayOfWeekSetting = firstDayOfWeek;
+        this.firstDayOfWeek = resolveFirstDayOfWeek();
+        invalidate();
+    }
+
+    /**
+     * 获取实际使用的一周的第一天
+     *
+     * @return Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    /**
+     * 设置星期、月份文字使用的语言(默认跟随系统语言)
+     *
+     * @param locale 语言
+     */
+    public void setLocale(Locale locale) {
+        style = style.withLabels(CalendarLabels.of(locale));
+        firstDayOfWeek = resolveFirstDayOfWeek();
+        // 月份标题需要重新生成
+        unbindRenderers();
+        invalidate();
+    }
+
+    /**
+     * 切换主题(只需要重绘一次)
+     *
+     * @param theme 主题
+     */
+    public void setTheme(CalendarTheme theme) {
+        if (theme == null) {
+            throw new IllegalArgumentException("theme == null");
+        }
+        style = style.withTheme(theme);
+        // 月份标题的宽度需要重新测量
+        unbindRenderers();
+        invalidate();
+    }
+
+    /**
+     * 获取当前的主题
+     *
+     * @return 主题
+     */
+    public CalendarTheme getTheme() {
+        return style.theme;
+    }
+
+    /**
+     * 计算实际使用的一周的第一天
+     *
+     * @return Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    private int resolveFirstDayOfWeek() {
+        return firstDayOfWeekSetting == JZCalendar.FIRST_DAY_OF_WEEK_LOCALE ?
+                style.labels.getFirstDayOfWeek() : firstDayOfWeekSetting;
+    }
+
+    /**
+     * 设置日期点击监听事件
+     *
+     * @param listener 日期点击监听事件
+     */
+    public void setOnDateClickListener(JZCalendar.OnDateClickListener listener) {
+        this.onDateClickListener = listener;
+    }
+
+    /**
+     * 获取渲染器池的大小(只取决于控件高度，与月份范围无关)
+     *
+     * @return 渲染器数量
+     */
+    public int getRendererCount() {
+        return renderers.length;
+    }
+
+    /**
+     * 获取绑定到指定月份的渲染器，没有时复用一个不在屏幕上的渲染器
+     *
+     * @param monthIndex 月份序号
+     * @param firstIndex 屏幕上第一个月份相对于范围起点的位置
+     * @return 渲染器
+     */
+    private MonthRenderer obtainRenderer(int monthIndex, int firstIndex) {
+        MonthRenderer free = null;
+        int firstVisible = firstMonthIndex + firstIndex;
+        for (MonthRenderer renderer : renderers) {
+            int bound = renderer.getMonthIndex();
+            if (bound == monthIndex) {
+                free = renderer;
+                break;
+            }
+            // 绑定的月份已经滚出屏幕(或没有绑定)的渲染器可以复用
+            if (free == null && (bound == MonthRenderer.UNBOUND || bound < firstVisible ||
+                    bound >= firstVisible + renderers.length)) {
+                free = renderer;
+            }
+        }
+        free.bind(monthIndex, firstDayOfWeek, JZCalendar.getMonthGridCache(), style,
+                todayYear, todayMonth, todayDate);
+        return free;
+    }
+
+    /**
+     * 绘制星期条
+     *
+     * @param canvas Canvas对象
+     * @param width  宽度
+     */
+    private void drawWeekBar(Canvas canvas, int width) {
+        canvas.drawRect(0, 0, width, titleHeight, style.dateBackgroundPaint);
+        final Paint.FontMetricsInt metrics = style.dateFontMetrics;
+        final float height = (titleHeight - metrics.bottom + metrics.top) / 2 - metrics.top;
+        for (int i = 0; i < MonthGrid.DAYS_OF_WEEK; i++) {
+            int dayOfWeek = (firstDayOfWeek - 1 + i) % MonthGrid.DAYS_OF_WEEK + 1;
+            boolean weekend = dayOfWeek == Calendar.SUNDAY || dayOfWeek == Calendar.SATURDAY;
+            canvas.drawText(style.labels.getWeekdayLabel(dayOfWeek),
+                    (unitWidth - style.weekTextWidths[dayOfWeek]) / 2 + unitWidth * i,
+                    height, weekend ? style.weekendTextPaint : style.dateTextPaint);
+        }
+    }
+
+    /**
+     * 日期点击判定
+     *
+     * @param x 点击的X坐标
+     * @param y 点击的Y坐标
+     */
+    private void performDateClick(float x, float y) {
+        if (monthHeight <= 0 || y < titleHeight) {
+            return;
+        }
+        int offset = scrollOffset + (int) (y - titleHeight);
+        int index = offset / monthHeight;
+        if (index >= monthCount) {
+            return;
+        }
+        MonthRenderer renderer = obtainRenderer(firstMonthIndex + index, scrollOffset / monthHeight);
+        int epochDay = renderer.epochDayAt(x, offset - index * monthHeight, titleHeight, unitWidth, unitHeight);
+        if (epochDay == Integer.MIN_VALUE) {
+            return;
+        }
+        selectedEpochDay = epochDay;
+        if (onDateClickListener != null) {
+            onDateClickListener.OnDateClick(renderer.getYear(), renderer.getMonth() + 1, renderer.dayOf(epochDay));
+        }
+        invalidate();
+    }
+
+    /**
+     * 滚动到指定的月份(尺寸确定之前先记录下来)
+     *
+     * @param monthIndex 月份序号
+     */
+    private void scrollToMonthIndex(int monthIndex) {
+        if (monthHeight <= 0) {
+            pendingMonthIndex = monthIndex;
+            return;
+        }
+        pendingMonthIndex = MonthRenderer.UNBOUND;
+        setScrollOffset((monthIndex - firstMonthIndex) * monthHeight);
+    }
+
+    /**
+     * 设置滚动距离(限制在范围之内)
+     *
+     * @param offset 滚动距离
+     */
+    private void setScrollOffset(int offset) {
+        int clamped = Math.max(0, Math.min(getMaxScrollOffset(), offset));
+        if (clamped != scrollOffset) {
+            scrollOffset = clamped;
+            invalidate();
+        }
+    }
+
+    /**
+     * 获取最大滚动距离
+     *
+     * @return 最大滚动距离
+     */
+    private int getMaxScrollOffset() {
+        return Math.max(0, monthCount * monthHeight - (getHeight() - (int) titleHeight));
+    }
+
+    /**
+     * 解除所有渲染器的绑定
+     */
+    private void unbindRenderers() {
+        for (MonthRenderer renderer : renderers) {
+            renderer.unbind();
+        }
+    }
+
+    /**
+     * 读取今日
+     */
+    private void updateToday() {
+        EpochDays.toDate(EpochDays.fromMillis(System.currentTimeMillis(), TimeZone.getDefault()), dateBuffer);
+        todayYear = dateBuffer[0];
+        todayMonth = dateBuffer[1];
+        todayDate = dateBuffer[2];
+    }
+
+    /**
+     * 回收速度追踪
+     */
+    private void recycleVelocityTracker() {
+        if (velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    /**
+     * 将DP单位的值转成为PX单位的值
+     *
+     * @param dpValue 换算前的DP值
+     * @return 换算后的PX值
+     */
+    private int dp2Px(float dpValue) {
+        final float scale = getContext().getResources().getDisplayMetrics().density;
+        return (int) (dpValue * scale + 0.5f);
+    }
+}
@@ -0,0 +1,116 @@
+package com.joelzhu.calendar;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import com.joelzhu.calendar.core.CalendarLabels;
+import com.joelzhu.calendar.core.CalendarPainter;
+import com.joelzhu.calendar.core.LunarCalendar;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 19:30
+ * 作用：按字体大小预先测量的日期、星期、农历文字宽度表
+ * <p>
+ * 所有画笔都使用默认字体，文字宽度只取决于字体大小，因此同样大小的控件共享同一张表。
+ * 返回的数组不能修改。
+ */
+final class LabelWidths {
+    // 日期文字宽度表(键为字体大小)
+    private static final Map<Float, int[]> DAY_WIDTHS = new HashMap<Float, int[]>();
+    // 星期文字宽度表(键为文字表，再按字体大小)
+    private static final Map<CalendarLabels, Map<Float, int[]>> WEEKDAY_WIDTHS =
+            new HashMap<CalendarLabels, Map<Float, int[]>>();
+    // 农历文字宽度表(键为字体大小)
+    private static final Map<Float, int[]> LUNAR_WIDTHS = new HashMap<Float, int[]>();
+    // 测量用的画笔
+    private static final Paint PAINT = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // 测量用的Rect
+    private static final Rect RECT = new Rect();
+
+    private LabelWidths() {
+    }
+
+    /**
+     * 获取日期文字宽度表
+     *
+     * @param textSize 字体大小
+     * @return 宽度表(按日期数字索引)
+     */
+    static int[] dayWidths(float textSize) {
+        synchronized (PAINT) {
+            int[] widths = DAY_WIDTHS.get(textSize);
+            if (widths == null) {
+                PAINT.setTextSize(textSize);
+                widths = new int[CalendarPainter.getDayLabelCount()];
+                for (int i = 1; i < widths.length; i++) {
+                    widths[i] = measure(CalendarPainter.getDayLabel(i));
+                }
+                DAY_WIDTHS.put(textSize, widths);
+            }
+            return widths;
+        }
+    }
+
+    /**
+     * 获取星期文字宽度表
+     *
+     * @param labels   文字表
+     * @param textSize 字体大小
+     * @return 宽度表(按Calendar.SUNDAY ~ Calendar.SATURDAY索引)
+     */
+    static int[] weekdayWidths(CalendarLabels labels, float textSize) {
+        synchronized (PAINT) {
+            Map<Float, int[]> bySize = WEEKDAY_WIDTHS.get(labels);
+            if (bySize == null) {
+                bySize = new HashMap<Float, int[]>();
+                WEEKDAY_WIDTHS.put(labels, bySize);
+            }
+            int[] widths = bySize.get(textSize);
+            if (widths == null) {
+                PAINT.setTextSize(textSize);
+                widths = new int[8];
+                for (int day = 1; day < widths.length; day++) {
+                    widths[day] = measure(labels.getWeekdayLabel(day));
+                }
+                bySize.put(textSize, widths);
+            }
+            return widths;
+        }
+    }
+
+    /**
+     * 获取农历文字宽度表
+     *
+     * @param textSize 字体大小
+     * @return 宽度表(按LunarCalendar的文字下标索引)
+     */
+    static int[] lunarWidths(float textSize) {
+        synchronized (PAINT) {
+            int[] widths = LUNAR_WIDTHS.get(textSize);
+            if (widths == null) {
+                PAINT.setTextSize(textSize);
+                widths = new int[LunarCalendar.getLabelCount()];
+                for (int i = 0; i < widths.length; i++) {
+                    widths[i] = measure(LunarCalendar.getLabel(i));
+                }
+                LUNAR_WIDTHS.put(textSize, widths);
+            }
+            return widths;
+        }
+    }
+
+    /**
+     * 测量文字的宽度(调用前持有PAINT的锁)
+     *
+     * @param text 文字
+     * @return 文字宽度
+     */
+    private static int measure(String text) {
+        PAINT.getTextBounds(text, 0, text.length(), RECT);
+        return RECT.width();
+    }
+}
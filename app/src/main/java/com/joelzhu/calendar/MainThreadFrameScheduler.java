@@ -0,0 +1,133 @@
+package com.joelzhu.calendar;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.joelzhu.calendar.core.CalendarModel;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 00:25
+ * 作用：在主线程的下一帧执行回调的调度器(共享日历模型使用)
+ * <p>
+ * 同一帧内安排的所有回调放在一个数组中，每帧只注册一次帧回调(Android 4.1以下改为延迟一帧的Handler消息)，
+ * 帧回调在绘制之前执行，回调中请求的重绘在同一帧完成。安排回调不分配对象(数组只在容量不足时扩大)。
+ * 只在主线程中使用。
+ */
+public final class MainThreadFrameScheduler implements CalendarModel.FrameScheduler {
+    // 没有帧回调时的延迟(毫秒，约一帧)
+    private static final long FRAME_DELAY = 16;
+    // 共享的实例
+    private static MainThreadFrameScheduler instance;
+
+    // 等待下一帧执行的回调
+    private Runnable[] pending = new Runnable[4];
+    // 等待的数量
+    private int pendingCount;
+    // 正在执行的回调(执行期间新安排的回调进入下一帧)
+    private Runnable[] running = new Runnable[4];
+    // 是否已经注册了下一帧的回调
+    private boolean posted;
+    // 帧回调(Android 4.1及以上)
+    private final FramePoster framePoster;
+    // 主线程Handler(Android 4.1以下)
+    private final Handler handler;
+
+    // 执行这一帧的回调
+    private final Runnable frameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            runFrame();
+        }
+    };
+
+    /**
+     * 构造函数
+     */
+    private MainThreadFrameScheduler() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            framePoster = new FramePoster(frameRunnable);
+            handler = null;
+        } else {
+            framePoster = null;
+            handler = new Handler(Looper.getMainLooper());
+        }
+    }
+
+    /**
+     * 获取共享的实例
+     *
+     * @return 调度器
+     */
+    public static MainThreadFrameScheduler getInstance() {
+        if (instance == null) {
+            instance = new MainThreadFrameScheduler();
+        }
+        return instance;
+    }
+
+    @Override
+    public void scheduleFrame(Runnable callback) {
+        if (pendingCount == pending.length) {
+            Runnable[] newPending = new Runnable[pendingCount * 2];
+            System.arraycopy(pending, 0, newPending, 0, pendingCount);
+            pending = newPending;
+        }
+        pending[pendingCount++] = callback;
+        if (!posted) {
+            posted = true;
+            if (framePoster != null) {
+                framePoster.post();
+            } else {
+                handler.postDelayed(frameRunnable, FRAME_DELAY);
+            }
+        }
+    }
+
+    /**
+     * 执行这一帧之前安排的所有回调
+     */
+    private void runFrame() {
+        posted = false;
+        int count = pendingCount;
+        if (running.length < count) {
+            running = new Runnable[pending.length];
+        }
+        System.arraycopy(pending, 0, running, 0, count);
+        for (int i = 0; i < count; i++) {
+            pending[i] = null;
+        }
+        pendingCount = 0;
+        for (int i = 0; i < count; i++) {
+            Runnable callback = running[i];
+            running[i] = null;
+            callback.run();
+        }
+    }
+
+    /**
+     * Choreographer的帧回调(单独的类，Android 4.1以下不会加载)
+     */
+    private static final class FramePoster implements Choreographer.FrameCallback {
+        // 帧回调中执行的任务
+        private final Runnable task;
+
+        FramePoster(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+         * 注册下一帧的回调
+         */
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.joelzhu.calendar;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import com.joelzhu.calendar.core.CalendarPainter;
+import com.joelzhu.calendar.core.MonthGrid;
+import com.joelzhu.calendar.core.MonthGridCache;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 16:20
+ * 作用：列表中的一个月份渲染器
+ * <p>
+ * 渲染器只持有一个可复用的{@link MonthGrid}和月份标题，滚动时被重新绑定到新的月份，
+ * 画笔和文字宽度来自共享的{@link MonthStyle}。月份之外的单元格留空。
+ */
+final class MonthRenderer {
+    // 未绑定时的月份序号
+    static final int UNBOUND = Integer.MIN_VALUE;
+
+    // 日期网格
+    private final MonthGrid grid = new MonthGrid();
+    // 绑定的月份序号(年 * 12 + 月)
+    private int monthIndex = UNBOUND;
+    // 月份标题
+    private String titleText;
+    // 月份标题宽度
+    private int titleWidth;
+
+    /**
+     * 绑定到一个月份(已经绑定到该月份时只更新今日)
+     *
+     * @param monthIndex     月份序号(年 * 12 + 月，不能为负数)
+     * @param firstDayOfWeek 一周的第一天
+     * @param cache          月份网格缓存
+     * @param style          样式
+     * @param todayYear      今日的年
+     * @param todayMonth     今日的月(0-11)
+     * @param todayDate      今日的日
+     */
+    void bind(int monthIndex, int firstDayOfWeek, MonthGridCache cache, MonthStyle style,
+              int todayYear, int todayMonth, int todayDate) {
+        if (this.monthIndex != monthIndex || grid.getFirstDayOfWeek() != firstDayOfWeek) {
+            this.monthIndex = monthIndex;
+            grid.copyFrom(cache.get(monthIndex / 12, monthIndex % 12, firstDayOfWeek));
+            titleText = style.labels.formatMonthTitle(grid.getYear(), grid.getMonth());
+            titleWidth = style.measureTitleWidth(titleText);
+        }
+        grid.markToday(todayYear, todayMonth, todayDate);
+    }
+
+    /**
+     * 解除绑定
+     */
+    void unbind() {
+        monthIndex = UNBOUND;
+    }
+
+    /**
+     * 绘制月份(坐标从月份的左上角开始)
+     *
+     * @param canvas           Canvas对象
+     * @param style            样式
+     * @param width            宽度
+     * @param titleHeight      月份标题的高度
+     * @param unitWidth        单元格宽度
+     * @param unitHeight       单元格高度
+     * @param selectedEpochDay 选中日期的纪元日(没有选中时为Integer.MIN_VALUE)
+     */
+    void draw(Canvas canvas, MonthStyle style, float width, float titleHeight, float unitWidth, float unitHeight,
+              int selectedEpochDay) {
+        // 月份标题
+        canvas.drawRect(0, 0, width, titleHeight, style.titleBackgroundPaint);
+        final Paint.FontMetricsInt titleMetrics = style.titleFontMetrics;
+        canvas.drawText(titleText, (width - titleWidth) / 2,
+                (titleHeight - titleMetrics.bottom + titleMetrics.top) / 2 - titleMetrics.top,
+                style.titleTextPaint);
+
+        // 日期背景
+        canvas.drawRect(0, titleHeight, width, titleHeight + unitHeight * 6, style.dateBackgroundPaint);
+
+        // 只绘制本月的日期
+        final Paint.FontMetricsInt dateMetrics = style.dateFontMetrics;
+        final float baseline = (unitHeight - dateMetrics.bottom + dateMetrics.top) / 2 - dateMetrics.top;
+        final float radius = Math.min(unitWidth, unitHeight) * 2 / 5;
+        int first = grid.getFirstPosition();
+        int last = first + grid.getDaysInMonth();
+        for (int position = first; position < last; position++) {
+            int flags = grid.getFlags(position);
+            float left = (position % MonthGrid.DAYS_OF_WEEK) * unitWidth;
+            float top = titleHeight + (position / MonthGrid.DAYS_OF_WEEK) * unitHeight;
+            Paint textPaint;
+            if (grid.epochDayOf(position) == selectedEpochDay) {
+                canvas.drawCircle(left + unitWidth / 2, top + unitHeight / 2, radius, style.selectBackgroundPaint);
+                textPaint = style.selectTextPaint;
+            } else if ((flags & MonthGrid.FLAG_TODAY) != 0) {
+                textPaint = style.todayTextPaint;
+            } else if ((flags & MonthGrid.FLAG_WEEKEND) != 0) {
+                textPaint = style.weekendTextPaint;
+            } else {
+                textPaint = style.dateTextPaint;
+            }
+            int day = grid.getDay(position);
+            canvas.drawText(CalendarPainter.getDayLabel(day), left + (unitWidth - style.dayTextWidths[day]) / 2,
+                    top + baseline, textPaint);
+        }
+    }
+
+    /**
+     * 获取点击位置的纪元日
+     *
+     * @param x           相对于月份左边的X坐标
+     * @param y           相对于月份上边的Y坐标
+     * @param titleHeight 月份标题的高度
+     * @param unitWidth   单元格宽度
+     * @param unitHeight  单元格高度
+     * @return 纪元日(没有点中本月日期时为Integer.MIN_VALUE)
+     */
+    int epochDayAt(float x, float y, float titleHeight, float unitWidth, float unitHeight) {
+        if (y < titleHeight || x < 0) {
+            return Integer.MIN_VALUE;
+        }
+        int column = (int) (x / unitWidth);
+        int row = (int) ((y - titleHeight) / unitHeight);
+        if (column >= MonthGrid.DAYS_OF_WEEK || row >= 6) {
+            return Integer.MIN_VALUE;
+        }
+        int position = row * MonthGrid.DAYS_OF_WEEK + column;
+        if ((grid.getFlags(position) & MonthGrid.FLAG_CURRENT_MONTH) == 0) {
+            return Integer.MIN_VALUE;
+        }
+        return grid.epochDayOf(position);
+    }
+
+    /**
+     * 获取单元格的日期
+     *
+     * @param epochDay 纪元日
+     * @return 日期(不在本月时为0)
+     */
+    int dayOf(int epochDay) {
+        int position = epochDay - grid.getFirstEpochDay();
+        return position >= 0 && position < MonthGrid.SIZE ? grid.getDay(position) : 0;
+    }
+
+    int getMonthIndex() {
+        return monthIndex;
+    }
+
+    int getYear() {
+        return grid.getYear();
+    }
+
+    int getMonth() {
+        return grid.getMonth();
+    }
+}
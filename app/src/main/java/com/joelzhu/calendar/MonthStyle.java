@@ -0,0 +1,102 @@
+package com.joelzhu.calendar;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import com.joelzhu.calendar.core.CalendarLabels;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 16:10
+ * 作用：月份绘制用的样式(画笔、字体度量、文字表和文字宽度)
+ * <p>
+ * 创建后不再修改，由同一个列表中的所有{@link MonthRenderer}共享，渲染器本身不持有任何画笔。
+ * 画笔和字体度量直接取自{@link CalendarTheme}，与使用同一主题的其他控件共享。
+ */
+final class MonthStyle {
+    // 主题
+    final CalendarTheme theme;
+    // 月份标题背景画笔
+    final Paint titleBackgroundPaint;
+    // 月份标题文字画笔
+    final Paint titleTextPaint;
+    // 日历区域背景画笔
+    final Paint dateBackgroundPaint;
+    // 日期文字画笔
+    final Paint dateTextPaint;
+    // 周始周末文字画笔
+    final Paint weekendTextPaint;
+    // 今日文字画笔
+    final Paint todayTextPaint;
+    // 选中日期文字画笔
+    final Paint selectTextPaint;
+    // 选中日期背景画笔
+    final Paint selectBackgroundPaint;
+    // 月份标题文字的字体度量
+    final Paint.FontMetricsInt titleFontMetrics;
+    // 日期文字的字体度量
+    final Paint.FontMetricsInt dateFontMetrics;
+    // 星期、月份文字表
+    final CalendarLabels labels;
+    // 日期文字宽度表(按日期数字索引)
+    final int[] dayTextWidths;
+    // 星期条文字宽度表(按Calendar.SUNDAY ~ Calendar.SATURDAY索引)
+    final int[] weekTextWidths;
+
+    /**
+     * 构造函数
+     *
+     * @param theme  主题
+     * @param labels 文字表
+     */
+    MonthStyle(CalendarTheme theme, CalendarLabels labels) {
+        this.theme = theme;
+        this.labels = labels;
+        titleBackgroundPaint = theme.monthBarBackgroundPaint;
+        titleTextPaint = theme.monthBarTextPaint;
+        dateBackgroundPaint = theme.dateBackgroundPaint;
+        dateTextPaint = theme.dateTextPaint;
+        weekendTextPaint = theme.weekendTextPaint;
+        todayTextPaint = theme.todayTextPaint;
+        selectTextPaint = theme.selectTextPaint;
+        selectBackgroundPaint = theme.selectBackgroundPaint;
+
+        titleFontMetrics = theme.monthBarFontMetrics;
+        dateFontMetrics = theme.dateFontMetrics;
+        // 取出共享的文字宽度(所有日期画笔的字体大小相同)
+        dayTextWidths = theme.dayTextWidths;
+        weekTextWidths = LabelWidths.weekdayWidths(labels, theme.getDateTextSize());
+    }
+
+    /**
+     * 生成使用另一个文字表的样式
+     *
+     * @param labels 文字表
+     * @return 新的样式
+     */
+    MonthStyle withLabels(CalendarLabels labels) {
+        return labels == this.labels ? this : new MonthStyle(theme, labels);
+    }
+
+    /**
+     * 生成使用另一个主题的样式
+     *
+     * @param theme 主题
+     * @return 新的样式
+     */
+    MonthStyle withTheme(CalendarTheme theme) {
+        return theme == this.theme ? this : new MonthStyle(theme, labels);
+    }
+
+    /**
+     * 测量月份标题文字的宽度
+     *
+     * @param text 文字
+     * @return 文字宽度
+     */
+    int measureTitleWidth(String text) {
+        Rect rect = new Rect();
+        titleTextPaint.getTextBounds(text, 0, text.length(), rect);
+        return rect.width();
+    }
+}
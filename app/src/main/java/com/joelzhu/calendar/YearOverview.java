@@ -0,0 +1,166 @@
+package com.joelzhu.calendar;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import com.joelzhu.calendar.core.CalendarLabels;
+import com.joelzhu.calendar.core.HeatmapSeries;
+import com.joelzhu.calendar.core.MonthGridCache;
+import com.joelzhu.calendar.core.RenderTarget;
+import com.joelzhu.calendar.core.YearPainter;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 15:30
+ * 作用：年视图(3列4行共12个迷你月份)的画笔与文字测量
+ * <p>
+ * 布局和按角色分批的绘制在{@link YearPainter}中完成，这里只持有迷你月份的画笔，
+ * 把它们映射到年视图自己的绘制目标上，文字宽度只在字体大小变化时重新测量。
+ */
+final class YearOverview {
+    // 布局与绘制
+    private final YearPainter painter = new YearPainter();
+    // 转发给Canvas的绘制目标(画笔为迷你月份的画笔)
+    private final CanvasRenderTarget target = new CanvasRenderTarget();
+    // 普通日期画笔
+    private final Paint dateTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // 周末日期画笔
+    private final Paint weekendTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // 今日画笔
+    private final Paint todayTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // 月份标题画笔
+    private final Paint titlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // 测量用的Rect
+    private final Rect rect = new Rect();
+    // 月份标题(来自文字表)
+    private final String[] titles = new String[YearPainter.MONTHS];
+    // 已测量的日期字体大小
+    private float measuredTextSize;
+
+    /**
+     * 构造函数
+     */
+    YearOverview() {
+        target.setPaint(RenderTarget.PAINT_MONTH_BAR_TEXT, titlePaint);
+        target.setPaint(RenderTarget.PAINT_DATE_TEXT, dateTextPaint);
+        target.setPaint(RenderTarget.PAINT_WEEKEND_TEXT, weekendTextPaint);
+        target.setPaint(RenderTarget.PAINT_TODAY_TEXT, todayTextPaint);
+    }
+
+    /**
+     * 设置颜色
+     *
+     * @param dateTextColor    日期颜色
+     * @param weekendTextColor 周末颜色
+     * @param todayTextColor   今日颜色
+     * @param titleTextColor   月份标题颜色
+     */
+    void setColors(int dateTextColor, int weekendTextColor, int todayTextColor, int titleTextColor) {
+        dateTextPaint.setColor(dateTextColor);
+        weekendTextPaint.setColor(weekendTextColor);
+        todayTextPaint.setColor(todayTextColor);
+        titlePaint.setColor(titleTextColor);
+    }
+
+    /**
+     * 设置文字表(月份标题使用语言的月份简称)
+     *
+     * @param labels 文字表
+     */
+    void setLabels(CalendarLabels labels) {
+        for (int month = 0; month < YearPainter.MONTHS; month++) {
+            titles[month] = labels.getShortMonthLabel(month);
+        }
+        measureTitles();
+    }
+
+    /**
+     * 设置热力图
+     *
+     * @param series  热力图数据(为null时不绘制)
+     * @param palette 颜色表
+     */
+    void setHeatmap(HeatmapSeries series, HeatmapPalette palette) {
+        painter.setHeatmap(series);
+        if (palette != null) {
+            for (int level = 0; level < HeatmapPalette.LEVELS; level++) {
+                target.setPaint(RenderTarget.PAINT_HEATMAP + level, palette.paints[level]);
+            }
+        }
+    }
+
+    /**
+     * 一次性构建一整年的月份网格(年份不变时不重新构建)
+     *
+     * @param year           年
+     * @param firstDayOfWeek 一周的第一天
+     * @param cache          月份网格缓存
+     * @param todayYear      今日的年
+     * @param todayMonth     今日的月(0-11)
+     * @param todayDate      今日的日
+     */
+    void build(int year, int firstDayOfWeek, MonthGridCache cache, int todayYear, int todayMonth, int todayDate) {
+        painter.build(year, firstDayOfWeek, cache, todayYear, todayMonth, todayDate);
+    }
+
+    /**
+     * 计算布局
+     *
+     * @param width       控件宽度
+     * @param top         年视图区域的顶端
+     * @param bottom      年视图区域的底端
+     * @param maxTextSize 日期字体的最大值
+     */
+    void layout(float width, float top, float bottom, float maxTextSize) {
+        painter.layout(width, top, bottom);
+
+        // 字体大小变化时重新测量文字
+        float textSize = Math.min(maxTextSize, painter.getCellHeight() * 0.7f);
+        if (textSize != measuredTextSize) {
+            measuredTextSize = textSize;
+            dateTextPaint.setTextSize(textSize);
+            weekendTextPaint.setTextSize(textSize);
+            todayTextPaint.setTextSize(textSize);
+            titlePaint.setTextSize(Math.min(maxTextSize, painter.getTitleHeight() * 0.7f));
+            Paint.FontMetricsInt dateFontMetrics = dateTextPaint.getFontMetricsInt();
+            Paint.FontMetricsInt titleFontMetrics = titlePaint.getFontMetricsInt();
+            painter.setFontMetrics(dateFontMetrics.top, dateFontMetrics.bottom, titleFontMetrics.top,
+                    titleFontMetrics.bottom);
+            painter.setDayTextWidths(LabelWidths.dayWidths(textSize));
+            measureTitles();
+        }
+    }
+
+    /**
+     * 绘制年视图(按角色分批绘制)
+     *
+     * @param canvas Canvas对象
+     */
+    void draw(Canvas canvas) {
+        painter.draw(target.begin(canvas));
+    }
+
+    /**
+     * 判断点击了哪个迷你月份
+     *
+     * @param x 点击的X坐标
+     * @param y 点击的Y坐标
+     * @return 月份(0-11)，没有点中时为-1
+     */
+    int hitTest(float x, float y) {
+        return painter.hitTest(x, y);
+    }
+
+    /**
+     * 按当前的标题字体测量月份标题
+     */
+    private void measureTitles() {
+        for (int month = 0; month < YearPainter.MONTHS; month++) {
+            if (titles[month] != null) {
+                titlePaint.getTextBounds(titles[month], 0, titles[month].length(), rect);
+                painter.setTitle(month, titles[month], rect.width());
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.joelzhu.calendar.core;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 19:20
+ * 作用：按语言生成的星期、月份文字表
+ * <p>
+ * 每种语言只生成一次，生成后不再修改，由所有控件共享。绘制时只按下标取文字，
+ * 月份标题只在显示的月份变化时拼接一次。
+ */
+public final class CalendarLabels {
+    // 已生成的文字表
+    private static final Map<Locale, CalendarLabels> CACHE = new HashMap<Locale, CalendarLabels>();
+
+    // 语言
+    private final Locale locale;
+    // 星期文字(按Calendar.SUNDAY ~ Calendar.SATURDAY索引，第0个为空)
+    private final String[] weekdays = new String[8];
+    // 月份标题中的月份部分(按月0-11索引)
+    private final String[] monthTitles = new String[12];
+    // 年视图中的月份简称(按月0-11索引)
+    private final String[] shortMonths = new String[12];
+    // 年份之后的文字(例如"年")
+    private final String yearSuffix;
+    // 月份标题是否年份在前
+    private final boolean yearFirst;
+    // 该语言默认的一周的第一天
+    private final int firstDayOfWeek;
+
+    /**
+     * 获取某种语言的文字表(第一次使用时生成)
+     *
+     * @param locale 语言
+     * @return 文字表
+     */
+    public static CalendarLabels of(Locale locale) {
+        synchronized (CACHE) {
+            CalendarLabels labels = CACHE.get(locale);
+            if (labels == null) {
+                labels = new CalendarLabels(locale);
+                CACHE.put(locale, labels);
+            }
+            return labels;
+        }
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param locale 语言
+     */
+    private CalendarLabels(Locale locale) {
+        this.locale = locale;
+        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+
+        // 去掉所有星期共有的前缀(例如"周日"、"周一"中的"周")
+        String[] shortWeekdays = symbols.getShortWeekdays();
+        int prefix = commonPrefixLength(shortWeekdays);
+        weekdays[0] = "";
+        for (int day = Calendar.SUNDAY; day <= Calendar.SATURDAY; day++) {
+            weekdays[day] = shortWeekdays[day].substring(prefix);
+        }
+
+        // 中日韩的月份标题为"2026年10月"，其他语言为"October 2026"
+        String language = locale.getLanguage();
+        String[] months = symbols.getMonths();
+        String[] abbreviations = symbols.getShortMonths();
+        if ("zh".equals(language) || "ja".equals(language) || "ko".equals(language)) {
+            boolean korean = "ko".equals(language);
+            yearSuffix = korean ? "년" : "年";
+            yearFirst = true;
+            for (int month = 0; month < 12; month++) {
+                String number = String.valueOf(month + 1);
+                if (korean) {
+                    monthTitles[month] = " " + number + "월";
+                    shortMonths[month] = number + "월";
+                } else {
+                    monthTitles[month] = (month < 9 ? "0" : "") + number + "月";
+                    shortMonths[month] = number + "月";
+                }
+            }
+        } else {
+            yearSuffix = "";
+            yearFirst = false;
+            for (int month = 0; month < 12; month++) {
+                monthTitles[month] = months[month] + " ";
+                shortMonths[month] = abbreviations[month];
+            }
+        }
+
+        firstDayOfWeek = Calendar.getInstance(locale).getFirstDayOfWeek();
+    }
+
+    /**
+     * 计算所有星期文字共有的前缀长度(至少保留一个字)
+     *
+     * @param shortWeekdays 星期文字(按Calendar.SUNDAY ~ Calendar.SATURDAY索引)
+     * @return 前缀长度
+     */
+    private static int commonPrefixLength(String[] shortWeekdays) {
+        String first = shortWeekdays[Calendar.SUNDAY];
+        int length = first.length() - 1;
+        for (int day = Calendar.MONDAY; day <= Calendar.SATURDAY; day++) {
+            String weekday = shortWeekdays[day];
+            int common = 0;
+            while (common < length && common < weekday.length() - 1 &&
+                    weekday.charAt(common) == first.charAt(common)) {
+                common++;
+            }
+            length = common;
+        }
+        return length < 0 ? 0 : length;
+    }
+
+    /**
+     * 生成月份标题
+     *
+     * @param year  年
+     * @param month 月(0-11)
+     * @return 月份标题
+     */
+    public String formatMonthTitle(int year, int month) {
+        StringBuilder builder = new StringBuilder(16);
+        if (yearFirst) {
+            builder.append(year).append(yearSuffix).append(monthTitles[month]);
+        } else {
+            builder.append(monthTitles[month]).append(year);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 生成年份标题
+     *
+     * @param year 年
+     * @return 年份标题
+     */
+    public String formatYearTitle(int year) {
+        return year + yearSuffix;
+    }
+
+    /**
+     * 获取星期文字
+     *
+     * @param dayOfWeek 星期几(Calendar.SUNDAY ~ Calendar.SATURDAY)
+     * @return 星期文字
+     */
+    public String getWeekdayLabel(int dayOfWeek) {
+        return weekdays[dayOfWeek];
+    }
+
+    /**
+     * 获取月份简称
+     *
+     * @param month 月(0-11)
+     * @return 月份简称
+     */
+    public String getShortMonthLabel(int month) {
+        return shortMonths[month];
+    }
+
+    /**
+     * 获取该语言默认的一周的第一天
+     *
+     * @return Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+}
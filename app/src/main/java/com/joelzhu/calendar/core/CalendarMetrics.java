@@ -0,0 +1,252 @@
+package com.joelzhu.calendar.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 18:20
+ * 作用：日历控件的性能统计(耗时直方图和计数器)
+ * <p>
+ * 每个统计区间使用固定的对数桶(以微秒为单位按2的幂划分)，记录时只做数组运算，不分配对象。
+ * 控件只在启用统计时持有实例，未启用时每个统计点只有一次对final字段的判断。
+ * 记录只在主线程中进行；{@link #snapshot()}复制出纯数据，可以交给自己的上报系统。
+ */
+public final class CalendarMetrics {
+    // 区间：onMeasure
+    public static final int SECTION_MEASURE = 0;
+    // 区间：onDraw(整体)
+    public static final int SECTION_DRAW = 1;
+    // 区间：绘制月份条
+    public static final int SECTION_DRAW_MONTH_BAR = 2;
+    // 区间：绘制星期条
+    public static final int SECTION_DRAW_WEEK_BAR = 3;
+    // 区间：绘制日期
+    public static final int SECTION_DRAW_DATES = 4;
+    // 区间：计算显示的月份(getCalendarMonth)
+    public static final int SECTION_BUILD_MONTH = 5;
+    // 区间：触摸事件处理
+    public static final int SECTION_TOUCH = 6;
+    // 区间：创建控件(读取主题、初始化数据)
+    public static final int SECTION_INFLATE = 7;
+    // 区间的数量
+    public static final int SECTION_COUNT = 8;
+
+    // 计数器：刷新请求
+    public static final int COUNTER_INVALIDATIONS = 0;
+    // 计数器：绘制的单元格
+    public static final int COUNTER_CELLS_DRAWN = 1;
+    // 计数器：月份网格缓存命中
+    public static final int COUNTER_CACHE_HITS = 2;
+    // 计数器：月份网格缓存未命中
+    public static final int COUNTER_CACHE_MISSES = 3;
+    // 计数器的数量
+    public static final int COUNTER_COUNT = 4;
+
+    // 直方图桶的数量(第0个桶为1微秒以下，第i个桶为[2^(i-1), 2^i)微秒，最后一个桶包含所有更长的耗时)
+    public static final int BUCKET_COUNT = 24;
+
+    // 区间名称(导出时使用)
+    private static final String[] SECTION_NAMES = {
+            "measure", "draw", "draw.monthBar", "draw.weekBar", "draw.dates", "buildMonth", "touch", "inflate"};
+    // 计数器名称(导出时使用)
+    private static final String[] COUNTER_NAMES = {
+            "invalidations", "cellsDrawn", "cacheHits", "cacheMisses"};
+
+    // 每个区间的直方图
+    private final long[][] buckets = new long[SECTION_COUNT][BUCKET_COUNT];
+    // 每个区间的次数
+    private final long[] counts = new long[SECTION_COUNT];
+    // 每个区间的耗时总和(纳秒)
+    private final long[] totalNanos = new long[SECTION_COUNT];
+    // 每个区间的最长耗时(纳秒)
+    private final long[] maxNanos = new long[SECTION_COUNT];
+    // 计数器
+    private final long[] counters = new long[COUNTER_COUNT];
+
+    /**
+     * 记录一次耗时
+     *
+     * @param section 区间(SECTION_*)
+     * @param nanos   耗时(纳秒)
+     */
+    public void record(int section, long nanos) {
+        buckets[section][bucketOf(nanos)]++;
+        counts[section]++;
+        totalNanos[section] += nanos;
+        if (nanos > maxNanos[section]) {
+            maxNanos[section] = nanos;
+        }
+    }
+
+    /**
+     * 增加计数器
+     *
+     * @param counter 计数器(COUNTER_*)
+     * @param delta   增加量
+     */
+    public void increment(int counter, long delta) {
+        counters[counter] += delta;
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public void reset() {
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                buckets[section][bucket] = 0;
+            }
+            counts[section] = 0;
+            totalNanos[section] = 0;
+            maxNanos[section] = 0;
+        }
+        for (int counter = 0; counter < COUNTER_COUNT; counter++) {
+            counters[counter] = 0;
+        }
+    }
+
+    /**
+     * 复制当前的统计
+     *
+     * @return 统计快照
+     */
+    public Snapshot snapshot() {
+        long[][] bucketsCopy = new long[SECTION_COUNT][];
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            bucketsCopy[section] = buckets[section].clone();
+        }
+        return new Snapshot(bucketsCopy, counts.clone(), totalNanos.clone(), maxNanos.clone(), counters.clone());
+    }
+
+    /**
+     * 计算耗时所在的桶
+     *
+     * @param nanos 耗时(纳秒)
+     * @return 桶
+     */
+    static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = micros <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        return bucket < BUCKET_COUNT ? bucket : BUCKET_COUNT - 1;
+    }
+
+    /**
+     * 获取桶的上限
+     *
+     * @param bucket 桶
+     * @return 上限(纳秒，最后一个桶为Long.MAX_VALUE)
+     */
+    public static long bucketUpperBoundNanos(int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000;
+    }
+
+    /**
+     * 获取区间名称
+     *
+     * @param section 区间
+     * @return 名称
+     */
+    public static String sectionName(int section) {
+        return SECTION_NAMES[section];
+    }
+
+    /**
+     * 获取计数器名称
+     *
+     * @param counter 计数器
+     * @return 名称
+     */
+    public static String counterName(int counter) {
+        return COUNTER_NAMES[counter];
+    }
+
+    /**
+     * 统计快照(纯数据，不再随控件变化)
+     */
+    public static final class Snapshot {
+        // 每个区间的直方图
+        private final long[][] buckets;
+        // 每个区间的次数
+        private final long[] counts;
+        // 每个区间的耗时总和(纳秒)
+        private final long[] totalNanos;
+        // 每个区间的最长耗时(纳秒)
+        private final long[] maxNanos;
+        // 计数器
+        private final long[] counters;
+
+        private Snapshot(long[][] buckets, long[] counts, long[] totalNanos, long[] maxNanos, long[] counters) {
+            this.buckets = buckets;
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.counters = counters;
+        }
+
+        public long getCount(int section) {
+            return counts[section];
+        }
+
+        public long getTotalNanos(int section) {
+            return totalNanos[section];
+        }
+
+        public long getMaxNanos(int section) {
+            return maxNanos[section];
+        }
+
+        public long getBucketCount(int section, int bucket) {
+            return buckets[section][bucket];
+        }
+
+        public long getCounter(int counter) {
+            return counters[counter];
+        }
+
+        /**
+         * 估算百分位耗时(返回所在桶的上限，最后一个桶返回最长耗时)
+         *
+         * @param section    区间
+         * @param percentile 百分位(0-100)
+         * @return 耗时(纳秒)
+         */
+        public long getPercentileNanos(int section, double percentile) {
+            long count = counts[section];
+            if (count == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                seen += buckets[section][bucket];
+                if (seen >= target && seen > 0) {
+                    return Math.min(bucketUpperBoundNanos(bucket), maxNanos[section]);
+                }
+            }
+            return maxNanos[section];
+        }
+
+        /**
+         * 展开为以名称为键的数值表，便于上报
+         *
+         * @return 有序的表
+         */
+        public Map<String, Long> toMap() {
+            Map<String, Long> map = new LinkedHashMap<String, Long>();
+            for (int section = 0; section < SECTION_COUNT; section++) {
+                String name = SECTION_NAMES[section];
+                map.put(name + ".count", counts[section]);
+                map.put(name + ".totalNanos", totalNanos[section]);
+                map.put(name + ".maxNanos", maxNanos[section]);
+                map.put(name + ".p50Nanos", getPercentileNanos(section, 50));
+                map.put(name + ".p90Nanos", getPercentileNanos(section, 90));
+                map.put(name + ".p99Nanos", getPercentileNanos(section, 99));
+            }
+            for (int counter = 0; counter < COUNTER_COUNT; counter++) {
+                map.put(COUNTER_NAMES[counter], counters[counter]);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.joelzhu.calendar.core;
+
+import java.util.TimeZone;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 00:10
+ * 作用：多个控件共享的日历状态(显示的月份、选中日期和今日)
+ * <p>
+ * 同一时刻在多个地方显示同一个日期状态时(月视图、周条、标题)，各个控件绑定同一个模型，不再各自保存。
+ * 修改只记录在一个变化位掩码中，第一次修改时通过{@link FrameScheduler}安排一次分发，
+ * 同一帧内的连续修改(快速点击、程序批量修改区间)合并为一次通知，每个监听器每帧最多收到一次回调。
+ * 监听器保存在修改时才复制的数组中，分发时直接遍历，不分配对象。只在主线程中使用。
+ */
+public final class CalendarModel {
+    // 变化：显示的月份
+    public static final int CHANGE_VISIBLE_MONTH = 1;
+    // 变化：选中日期(单选的日期或区间选择、多选的日期)
+    public static final int CHANGE_SELECTION = 1 << 1;
+    // 变化：今日
+    public static final int CHANGE_TODAY = 1 << 2;
+    // 所有变化
+    public static final int CHANGE_ALL = CHANGE_VISIBLE_MONTH | CHANGE_SELECTION | CHANGE_TODAY;
+    // 没有选中日期
+    public static final int NO_SELECTION = Integer.MIN_VALUE;
+
+    // 没有监听器
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+
+    /**
+     * 模型变化监听器
+     */
+    public interface Listener {
+        /**
+         * 模型变化(同一帧内的所有变化合并为一次回调)
+         *
+         * @param model   模型
+         * @param changes 变化(CHANGE_*的组合)
+         */
+        void onModelChanged(CalendarModel model, int changes);
+    }
+
+    /**
+     * 安排在下一帧执行回调的调度器(控件中为主线程的帧回调)
+     */
+    public interface FrameScheduler {
+        /**
+         * 在下一帧执行回调(每帧之前最多调用一次)
+         *
+         * @param callback 回调
+         */
+        void scheduleFrame(Runnable callback);
+    }
+
+    // 安排分发的调度器(为null时每次修改立即分发)
+    private final FrameScheduler scheduler;
+    // 区间选择和多选的日期
+    private final DateSelection selection = new DateSelection();
+    // 监听器(添加、删除时复制，分发时遍历当时的数组)
+    private Listener[] listeners = NO_LISTENERS;
+    // 显示的月份(年 * 12 + 月)
+    private int visibleMonthIndex;
+    // 单选的日期(纪元日)
+    private int selectedEpochDay = NO_SELECTION;
+    // 今日(纪元日)
+    private int todayEpochDay;
+    // 上一次记录的区间选择、多选的修改次数
+    private int selectionModCount;
+    // 还没有分发的变化
+    private int pendingChanges;
+    // 分发的次数
+    private int dispatchCount;
+
+    // 分发变化(由调度器在下一帧调用)
+    private final Runnable dispatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dispatchPendingChanges();
+        }
+    };
+
+    /**
+     * 构造函数(显示今日所在的月份)
+     *
+     * @param scheduler 安排分发的调度器(为null时每次修改立即分发，不合并)
+     */
+    public CalendarModel(FrameScheduler scheduler) {
+        this.scheduler = scheduler;
+        todayEpochDay = EpochDays.fromMillis(System.currentTimeMillis(), TimeZone.getDefault());
+        visibleMonthIndex = EpochDays.monthIndexOf(todayEpochDay);
+    }
+
+    /**
+     * 添加监听器(已经添加过时不做任何事)
+     *
+     * @param listener 监听器
+     */
+    public void addListener(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener == null");
+        }
+        if (indexOf(listener) >= 0) {
+            return;
+        }
+        Listener[] newListeners = new Listener[listeners.length + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * 删除监听器(分发中删除时，本次分发仍然按原来的数组进行)
+     *
+     * @param listener 监听器
+     */
+    public void removeListener(Listener listener) {
+        int index = indexOf(listener);
+        if (index < 0) {
+            return;
+        }
+        if (listeners.length == 1) {
+            listeners = NO_LISTENERS;
+            return;
+        }
+        Listener[] newListeners = new Listener[listeners.length - 1];
+        System.arraycopy(listeners, 0, newListeners, 0, index);
+        System.arraycopy(listeners, index + 1, newListeners, index, newListeners.length - index);
+        listeners = newListeners;
+    }
+
+    /**
+     * 查找监听器的位置
+     *
+     * @param listener 监听器
+     * @return 位置(没有时为-1)
+     */
+    private int indexOf(Listener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 设置显示的月份
+     *
+     * @param year  年
+     * @param month 月(0-11，超出范围时自动进位到相邻的年)
+     */
+    public void setVisibleMonth(int year, int month) {
+        int monthIndex = year * 12 + month;
+        if (monthIndex != visibleMonthIndex) {
+            visibleMonthIndex = monthIndex;
+            markChanged(CHANGE_VISIBLE_MONTH);
+        }
+    }
+
+    /**
+     * 显示的月份前后移动
+     *
+     * @param months 移动的月数(负数为向前)
+     */
+    public void moveVisibleMonth(int months) {
+        if (months != 0) {
+            visibleMonthIndex += months;
+            markChanged(CHANGE_VISIBLE_MONTH);
+        }
+    }
+
+    /**
+     * 设置单选的日期
+     *
+     * @param epochDay 纪元日(NO_SELECTION为取消选中)
+     */
+    public void setSelectedDate(int epochDay) {
+        if (epochDay != selectedEpochDay) {
+            selectedEpochDay = epochDay;
+            markChanged(CHANGE_SELECTION);
+        }
+    }
+
+    /**
+     * 区间选择、多选的日期修改后调用(没有实际变化时不通知)
+     */
+    public void notifySelectionChanged() {
+        if (selection.getModCount() != selectionModCount) {
+            selectionModCount = selection.getModCount();
+            markChanged(CHANGE_SELECTION);
+        }
+    }
+
+    /**
+     * 选中一段连续的日期(替换已有的选择，与已有的选择相同时不通知)
+     *
+     * @param fromEpochDay 开始的纪元日
+     * @param toEpochDay   结束的纪元日
+     */
+    public void selectRange(int fromEpochDay, int toEpochDay) {
+        int first = Math.min(fromEpochDay, toEpochDay);
+        int last = Math.max(fromEpochDay, toEpochDay);
+        if (selection.size() == last - first + 1 && selection.getFirst() == first && selection.getLast() == last) {
+            return;
+        }
+        selection.clear();
+        selection.addRange(fromEpochDay, toEpochDay);
+        notifySelectionChanged();
+    }
+
+    /**
+     * 取消所有选中的日期(单选的日期和区间选择、多选的日期)
+     */
+    public void clearSelection() {
+        setSelectedDate(NO_SELECTION);
+        selection.clear();
+        notifySelectionChanged();
+    }
+
+    /**
+     * 设置今日
+     *
+     * @param epochDay 纪元日
+     */
+    public void setToday(int epochDay) {
+        if (epochDay != todayEpochDay) {
+            todayEpochDay = epochDay;
+            markChanged(CHANGE_TODAY);
+        }
+    }
+
+    /**
+     * 记录变化，并在这一帧第一次变化时安排分发
+     *
+     * @param change 变化(CHANGE_*)
+     */
+    private void markChanged(int change) {
+        boolean scheduled = pendingChanges != 0;
+        pendingChanges |= change;
+        if (scheduler == null) {
+            dispatchPendingChanges();
+        } else if (!scheduled) {
+            scheduler.scheduleFrame(dispatchRunnable);
+        }
+    }
+
+    /**
+     * 立即分发还没有分发的变化(通常由调度器调用，没有变化时不做任何事)
+     * <p>
+     * 监听器中再次修改模型时，新的变化在下一帧分发(没有调度器时立即分发)。
+     */
+    public void dispatchPendingChanges() {
+        int changes = pendingChanges;
+        if (changes == 0) {
+            return;
+        }
+        pendingChanges = 0;
+        dispatchCount++;
+        Listener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].onModelChanged(this, changes);
+        }
+    }
+
+    /**
+     * 获取区间选择和多选的日期(修改后调用{@link #notifySelectionChanged()})
+     *
+     * @return 选中的日期
+     */
+    public DateSelection getSelection() {
+        return selection;
+    }
+
+    /**
+     * 获取显示的年
+     *
+     * @return 年
+     */
+    public int getVisibleYear() {
+        return EpochDays.floorDiv(visibleMonthIndex, 12);
+    }
+
+    /**
+     * 获取显示的月
+     *
+     * @return 月(0-11)
+     */
+    public int getVisibleMonth() {
+        return EpochDays.floorMod(visibleMonthIndex, 12);
+    }
+
+    /**
+     * 获取单选的日期
+     *
+     * @return 纪元日(没有选中时为NO_SELECTION)
+     */
+    public int getSelectedDate() {
+        return selectedEpochDay;
+    }
+
+    /**
+     * 获取今日
+     *
+     * @return 纪元日
+     */
+    public int getToday() {
+        return todayEpochDay;
+    }
+
+    /**
+     * 获取还没有分发的变化
+     *
+     * @return 变化(CHANGE_*的组合)
+     */
+    public int getPendingChanges() {
+        return pendingChanges;
+    }
+
+    /**
+     * 获取分发的次数(合并后的通知次数)
+     *
+     * @return 次数
+     */
+    public int getDispatchCount() {
+        return dispatchCount;
+    }
+}
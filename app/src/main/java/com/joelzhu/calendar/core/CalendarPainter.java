@@ -0,0 +1,700 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 23:00
+ * 作用：月视图(月份条、星期条、日期单元格)的布局与绘制
+ * <p>
+ * 绘制只通过{@link RenderTarget}输出，画笔以角色下标表示，字体度量和文字宽度由控件测量后传入，
+ * 因此整个布局和绘制过程不依赖Android，可以在JVM上用{@link RecordingRenderTarget}统计绘制操作。
+ * 控件只负责图层缓存和动画，单元格的坐标、颜色角色、文字位置，以及局部刷新的区域和
+ * 裁剪区域内需要重绘的单元格全部在这里计算，选中日期变化时的绘制操作也可以在JVM上统计。
+ * 一个实例只在一个线程中使用。
+ */
+public final class CalendarPainter {
+    // 每个日期最多绘制的标记圆点数量
+    private static final int MAX_MARKER_DOTS = 3;
+    // 日期文字表("1"~"31"，按日期数字索引，绘制时不再拼接字符串)
+    private static final String[] DAY_LABELS = new String[32];
+
+    static {
+        DAY_LABELS[0] = "";
+        for (int i = 1; i < DAY_LABELS.length; i++) {
+            DAY_LABELS[i] = String.valueOf(i);
+        }
+    }
+
+    // 控件宽度
+    private float width;
+    // 单元格宽度(控件宽度的七分之一)
+    private float unitWidth;
+    // 单元格高度(月份条为1.5个单元格高，星期条同样)
+    private float unitHeight;
+    // 绘制时单元格的行偏移(周视图完全折叠后为显示的行，使它画在日期区域的第一行)
+    private int rowOffset;
+    // 显示的行数(周视图完全折叠后为1)
+    private int visibleRowCount = MonthGrid.SIZE / MonthGrid.DAYS_OF_WEEK;
+    // 本次绘制的裁剪区域(只绘制与它相交的单元格)
+    private float clipLeft = -Float.MAX_VALUE;
+    private float clipTop = -Float.MAX_VALUE;
+    private float clipRight = Float.MAX_VALUE;
+    private float clipBottom = Float.MAX_VALUE;
+    // 等待局部刷新的区域(左、上、右、下，合并了所有变化的单元格，右边不大于左边时为空)
+    private final int[] dirtyRect = new int[4];
+    // 前一个月按钮的顶点
+    private final float[] previousArrow = new float[6];
+    // 后一个月按钮的顶点
+    private final float[] nextArrow = new float[6];
+
+    // 月份条文字的字体度量(基线以上为负数)
+    private int monthBarTop;
+    private int monthBarBottom;
+    // 日期文字的字体度量
+    private int dateTop;
+    private int dateBottom;
+    // 农历文字的字体度量
+    private int lunarTop;
+    private int lunarBottom;
+    // 日期文字宽度表(按日期数字索引)
+    private int[] dayTextWidths;
+    // 星期条文字宽度表(按Calendar.SUNDAY ~ Calendar.SATURDAY索引)
+    private int[] weekTextWidths;
+    // 农历文字宽度表(按LunarCalendar的文字下标索引)
+    private int[] lunarTextWidths;
+    // 星期文字表
+    private CalendarLabels labels;
+    // 月份条文字
+    private String monthText = "";
+    // 月份条文字宽度
+    private int monthTextWidth;
+
+    // 农历换算(为null时不显示农历)
+    private LunarCalendar lunarCalendar;
+    // 是否绘制热力图
+    private boolean heatmapEnabled;
+    // 正在绘制的网格中每个日期的热力图等级(-1为没有数据)
+    private final int[] heatLevels = new int[MonthGrid.SIZE];
+    // 是否绘制连续选中日期之间的区间带(区间选择、多选)
+    private boolean selectionBands;
+    // 没有选中日期时是否把今日画成选中的样式(单选)
+    private boolean highlightToday;
+    // 是否绘制前一个月按钮(超出最早日期时隐藏)
+    private boolean previousArrowVisible = true;
+    // 是否绘制后一个月按钮(超出最晚日期时隐藏)
+    private boolean nextArrowVisible = true;
+    // 绘制的单元格数量(由控件清零)
+    private int drawnCellCount;
+
+    /**
+     * 获取日期文字
+     *
+     * @param day 日期(1-31，0为空字符串)
+     * @return 文字
+     */
+    public static String getDayLabel(int day) {
+        return DAY_LABELS[day];
+    }
+
+    /**
+     * 获取日期文字的数量(日期为0 ~ 数量-1)
+     *
+     * @return 数量
+     */
+    public static int getDayLabelCount() {
+        return DAY_LABELS.length;
+    }
+
+    /**
+     * 设置尺寸(同时计算月份跳转按钮的位置)
+     *
+     * @param width      控件宽度
+     * @param unitWidth  单元格宽度
+     * @param unitHeight 单元格高度
+     */
+    public void setSize(float width, float unitWidth, float unitHeight) {
+        this.width = width;
+        this.unitWidth = unitWidth;
+        this.unitHeight = unitHeight;
+
+        // 月份条按钮八等分单位(由于是1.5倍单元格高度，(*3/2)/8)
+        float unit = unitHeight * 3 / 16;
+        // 右箭头X轴偏移量
+        float offsetX = width - unitHeight * 1.5f;
+        setArrow(previousArrow, unit * 5, unit * 4, unit * 5, unit);
+        setArrow(nextArrow, offsetX + unit * 4, offsetX + unit * 5, offsetX + unit * 4, unit);
+    }
+
+    /**
+     * 设置箭头的三个顶点(上、中、下)
+     */
+    private static void setArrow(float[] arrow, float topX, float middleX, float bottomX, float unit) {
+        arrow[0] = topX;
+        arrow[1] = unit * 3;
+        arrow[2] = middleX;
+        arrow[3] = unit * 4;
+        arrow[4] = bottomX;
+        arrow[5] = unit * 5;
+    }
+
+    /**
+     * 设置字体度量(FontMetricsInt的top和bottom)
+     *
+     * @param monthBarTop    月份条文字的top
+     * @param monthBarBottom 月份条文字的bottom
+     * @param dateTop        日期文字的top
+     * @param dateBottom     日期文字的bottom
+     * @param lunarTop       农历文字的top
+     * @param lunarBottom    农历文字的bottom
+     */
+    public void setFontMetrics(int monthBarTop, int monthBarBottom, int dateTop, int dateBottom,
+                               int lunarTop, int lunarBottom) {
+        this.monthBarTop = monthBarTop;
+        this.monthBarBottom = monthBarBottom;
+        this.dateTop = dateTop;
+        this.dateBottom = dateBottom;
+        this.lunarTop = lunarTop;
+        this.lunarBottom = lunarBottom;
+    }
+
+    /**
+     * 设置日期文字宽度表
+     *
+     * @param dayTextWidths 宽度表(按日期数字索引)
+     */
+    public void setDayTextWidths(int[] dayTextWidths) {
+        this.dayTextWidths = dayTextWidths;
+    }
+
+    /**
+     * 设置星期文字表
+     *
+     * @param labels         文字表
+     * @param weekTextWidths 星期文字宽度表(按Calendar.SUNDAY ~ Calendar.SATURDAY索引)
+     */
+    public void setLabels(CalendarLabels labels, int[] weekTextWidths) {
+        this.labels = labels;
+        this.weekTextWidths = weekTextWidths;
+    }
+
+    /**
+     * 设置月份条文字
+     *
+     * @param text  文字
+     * @param width 文字宽度
+     */
+    public void setMonthText(String text, int width) {
+        monthText = text;
+        monthTextWidth = width;
+    }
+
+    /**
+     * 设置农历
+     *
+     * @param lunarCalendar   农历换算(为null时不显示农历)
+     * @param lunarTextWidths 农历文字宽度表
+     */
+    public void setLunar(LunarCalendar lunarCalendar, int[] lunarTextWidths) {
+        this.lunarCalendar = lunarCalendar;
+        this.lunarTextWidths = lunarTextWidths;
+    }
+
+    /**
+     * 设置选择的样式
+     *
+     * @param selectionBands 是否绘制连续选中日期之间的区间带
+     * @param highlightToday 没有选中日期时是否把今日画成选中的样式
+     */
+    public void setSelectionStyle(boolean selectionBands, boolean highlightToday) {
+        this.selectionBands = selectionBands;
+        this.highlightToday = highlightToday;
+    }
+
+    /**
+     * 设置是否绘制月份跳转按钮
+     *
+     * @param previous 是否绘制前一个月按钮
+     * @param next     是否绘制后一个月按钮
+     */
+    public void setArrowsVisible(boolean previous, boolean next) {
+        previousArrowVisible = previous;
+        nextArrowVisible = next;
+    }
+
+    /**
+     * 设置是否绘制热力图(等级由{@link #getHeatLevels()}返回的数组提供)
+     *
+     * @param enabled 是否绘制
+     */
+    public void setHeatmapEnabled(boolean enabled) {
+        heatmapEnabled = enabled;
+    }
+
+    /**
+     * 获取热力图等级数组(绘制每个网格之前由控件填入，-1为没有数据)
+     *
+     * @return 等级数组
+     */
+    public int[] getHeatLevels() {
+        return heatLevels;
+    }
+
+    /**
+     * 设置单元格的行偏移
+     *
+     * @param rowOffset 行偏移
+     */
+    public void setRowOffset(int rowOffset) {
+        this.rowOffset = rowOffset;
+    }
+
+    public int getRowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * 设置显示的行数(不显示的行不需要局部刷新)
+     *
+     * @param visibleRowCount 行数
+     */
+    public void setVisibleRowCount(int visibleRowCount) {
+        this.visibleRowCount = visibleRowCount;
+    }
+
+    /**
+     * 设置本次绘制的裁剪区域(每次绘制开始时调用)
+     *
+     * @param left   左边
+     * @param top    上边
+     * @param right  右边
+     * @param bottom 下边
+     */
+    public void setClip(float left, float top, float right, float bottom) {
+        clipLeft = left;
+        clipTop = top;
+        clipRight = right;
+        clipBottom = bottom;
+    }
+
+    /**
+     * 取消裁剪区域(所有单元格都绘制)
+     */
+    public void clearClip() {
+        setClip(-Float.MAX_VALUE, -Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE);
+    }
+
+    /**
+     * 判断月份条是否与裁剪区域相交
+     *
+     * @return 是否相交
+     */
+    public boolean isMonthBarInClip() {
+        return clipTop < unitHeight * 1.5f;
+    }
+
+    /**
+     * 判断星期条是否与裁剪区域相交
+     *
+     * @return 是否相交
+     */
+    public boolean isWeekBarInClip() {
+        return clipTop < unitHeight * 3 && clipBottom > unitHeight * 1.5f;
+    }
+
+    /**
+     * 判断单元格是否与裁剪区域相交
+     *
+     * @param position 单元格位置
+     * @return 是否相交
+     */
+    public boolean isCellInClip(int position) {
+        float left = cellLeft(position);
+        float top = cellTop(position);
+        return left < clipRight && left + unitWidth > clipLeft && top < clipBottom && top + unitHeight > clipTop;
+    }
+
+    /**
+     * 清空等待局部刷新的区域
+     */
+    public void clearDirtyRect() {
+        dirtyRect[0] = 0;
+        dirtyRect[1] = 0;
+        dirtyRect[2] = 0;
+        dirtyRect[3] = 0;
+    }
+
+    /**
+     * 把一个单元格合并到等待局部刷新的区域(位置为-1或者所在的行不显示时忽略)
+     *
+     * @param position 单元格位置
+     */
+    public void addDirtyCell(int position) {
+        int row = position / MonthGrid.DAYS_OF_WEEK - rowOffset;
+        if (position < 0 || row < 0 || row >= visibleRowCount) {
+            return;
+        }
+        float left = cellLeft(position);
+        float top = cellTop(position);
+        int right = (int) Math.ceil(left + unitWidth);
+        int bottom = (int) Math.ceil(top + unitHeight);
+        if (!hasDirtyRect()) {
+            dirtyRect[0] = (int) left;
+            dirtyRect[1] = (int) top;
+            dirtyRect[2] = right;
+            dirtyRect[3] = bottom;
+        } else {
+            dirtyRect[0] = Math.min(dirtyRect[0], (int) left);
+            dirtyRect[1] = Math.min(dirtyRect[1], (int) top);
+            dirtyRect[2] = Math.max(dirtyRect[2], right);
+            dirtyRect[3] = Math.max(dirtyRect[3], bottom);
+        }
+    }
+
+    /**
+     * 是否有等待局部刷新的区域
+     *
+     * @return 是否有
+     */
+    public boolean hasDirtyRect() {
+        return dirtyRect[2] > dirtyRect[0];
+    }
+
+    /**
+     * 获取等待局部刷新的区域(左、上、右、下)
+     *
+     * @return 区域(只读使用)
+     */
+    public int[] getDirtyRect() {
+        return dirtyRect;
+    }
+
+    /**
+     * 获取绘制的单元格数量
+     *
+     * @return 数量
+     */
+    public int getDrawnCellCount() {
+        return drawnCellCount;
+    }
+
+    /**
+     * 单元格数量清零(每次绘制开始时调用)
+     */
+    public void resetDrawnCellCount() {
+        drawnCellCount = 0;
+    }
+
+    /**
+     * 计算单元格的左边
+     *
+     * @param position 单元格位置
+     * @return 左边的X坐标
+     */
+    public float cellLeft(int position) {
+        return (position % MonthGrid.DAYS_OF_WEEK) * unitWidth;
+    }
+
+    /**
+     * 计算单元格的上边(周视图完全折叠后，显示的行画在日期区域的第一行)
+     *
+     * @param position 单元格位置
+     * @return 上边的Y坐标
+     */
+    public float cellTop(int position) {
+        return unitHeight * 3 + unitHeight * (position / MonthGrid.DAYS_OF_WEEK - rowOffset);
+    }
+
+    /**
+     * 绘制月份条
+     *
+     * @param target 绘制目标
+     */
+    public void drawMonthBar(RenderTarget target) {
+        // 绘制月份条背景
+        target.drawRect(0, 0, width, unitHeight * 1.5f, RenderTarget.PAINT_MONTH_BAR_BACKGROUND);
+
+        // 绘制月份条显示内容
+        final float heightPosition = (unitHeight * 1.5f - monthBarBottom + monthBarTop) / 2 - monthBarTop;
+        target.drawText(monthText, (int) width / 2 - monthTextWidth / 2, heightPosition,
+                RenderTarget.PAINT_MONTH_BAR_TEXT);
+
+        // 绘制月份条月份跳转按钮
+        if (previousArrowVisible) {
+            target.drawPath(previousArrow, 3, RenderTarget.PAINT_ARROW);
+        }
+        if (nextArrowVisible) {
+            target.drawPath(nextArrow, 3, RenderTarget.PAINT_ARROW);
+        }
+    }
+
+    /**
+     * 绘制星期条
+     *
+     * @param target 绘制目标
+     * @param grid   日期网格(决定一周的第一天和周末的列)
+     */
+    public void drawWeekBar(RenderTarget target, MonthGrid grid) {
+        // 绘制日期背景
+        target.drawRect(0, unitHeight * 1.5f, width, unitHeight * 3, RenderTarget.PAINT_DATE_BACKGROUND);
+
+        final float textHeight = (unitHeight * 1.5f - dateBottom + dateTop) / 2 - dateTop;
+        final int firstDayOfWeek = grid.getFirstDayOfWeek();
+        for (int i = 0; i < MonthGrid.DAYS_OF_WEEK; i++) {
+            // 绘制星期条文字(从一周的第一天开始，周末跟随网格的设置)
+            int dayOfWeek = (firstDayOfWeek - 1 + i) % 7 + 1;
+            final float textWidth = (unitWidth - weekTextWidths[dayOfWeek]) / 2 + (unitWidth * i);
+            target.drawText(labels.getWeekdayLabel(dayOfWeek), textWidth, textHeight + unitHeight * 1.5f,
+                    grid.isWeekendColumn(i) ? RenderTarget.PAINT_WEEKEND_TEXT : RenderTarget.PAINT_DATE_TEXT);
+        }
+    }
+
+    /**
+     * 绘制日期区域的背景(从日期区域的顶端到指定的下边)
+     *
+     * @param target 绘制目标
+     * @param bottom 下边
+     */
+    public void drawDateBackground(RenderTarget target, float bottom) {
+        target.drawRect(0, unitHeight * 3, width, bottom, RenderTarget.PAINT_DATE_BACKGROUND);
+    }
+
+    /**
+     * 绘制一整页日期(日期背景、区间带和42个单元格)
+     *
+     * @param target  绘制目标
+     * @param grid    日期网格
+     * @param counts  网格的标记数量
+     * @param loading 标记是否正在加载
+     */
+    public void drawDatePage(RenderTarget target, MonthGrid grid, int[] counts, boolean loading) {
+        drawDateBackground(target, unitHeight * 9);
+        drawSelectionBands(target, grid);
+        for (int position = 0; position < MonthGrid.SIZE; position++) {
+            drawDateCell(target, grid, counts, loading, position, grid.getFlags(position));
+        }
+    }
+
+    /**
+     * 绘制一整页的月视图(月份条、星期条和一整页日期)
+     *
+     * @param target  绘制目标
+     * @param grid    日期网格
+     * @param counts  网格的标记数量
+     * @param loading 标记是否正在加载
+     */
+    public void drawMonth(RenderTarget target, MonthGrid grid, int[] counts, boolean loading) {
+        drawMonthBar(target);
+        drawWeekBar(target, grid);
+        drawDatePage(target, grid, counts, loading);
+    }
+
+    /**
+     * 绘制与裁剪区域相交的日期单元格
+     *
+     * @param target        绘制目标
+     * @param grid          日期网格
+     * @param counts        网格的标记数量
+     * @param loading       标记是否正在加载
+     * @param firstPosition 第一个单元格位置
+     * @param endPosition   最后一个单元格之后的位置
+     */
+    public void drawDateCells(RenderTarget target, MonthGrid grid, int[] counts, boolean loading, int firstPosition,
+                              int endPosition) {
+        for (int position = firstPosition; position < endPosition; position++) {
+            // 跳过不在重绘区域内的单元格
+            if (isCellInClip(position)) {
+                drawDateCell(target, grid, counts, loading, position, grid.getFlags(position));
+            }
+        }
+    }
+
+    /**
+     * 在静态图层之上绘制与裁剪区域相交的今日和选中日期(静态图层中不包含它们的状态)
+     *
+     * @param target  绘制目标
+     * @param grid    日期网格
+     * @param counts  网格的标记数量
+     * @param loading 标记是否正在加载
+     */
+    public void drawDateOverlay(RenderTarget target, MonthGrid grid, int[] counts, boolean loading) {
+        int todayPosition = grid.getTodayPosition();
+        if (todayPosition >= 0 && isCellInClip(todayPosition)) {
+            drawDateCell(target, grid, counts, loading, todayPosition, grid.getFlags(todayPosition));
+        }
+        // 选中日期的背景和区间带会覆盖静态图层中的文字
+        if (grid.getSelectedPosition() < 0) {
+            return;
+        }
+        drawSelectionBands(target, grid);
+        for (int position = grid.getSelectedPosition(); position < MonthGrid.SIZE; position++) {
+            int flags = grid.getFlags(position);
+            if ((flags & MonthGrid.FLAG_SELECTED) != 0 && position != todayPosition && isCellInClip(position)) {
+                drawDateCell(target, grid, counts, loading, position, flags);
+            }
+        }
+    }
+
+    /**
+     * 绘制同一行中连续选中日期之间的区间带(不分配对象)
+     *
+     * @param target 绘制目标
+     * @param grid   日期网格
+     */
+    public void drawSelectionBands(RenderTarget target, MonthGrid grid) {
+        if (!selectionBands || grid.getSelectedPosition() < 0) {
+            return;
+        }
+        float radius = selectRadius();
+        for (int row = 0; row < MonthGrid.SIZE / 7; row++) {
+            float centerY = unitHeight * 3 + unitHeight * (row - rowOffset) + unitHeight / 2;
+            int runStart = -1;
+            for (int column = 0; column <= 7; column++) {
+                boolean selected = column < 7 &&
+                        (grid.getFlags(row * 7 + column) & MonthGrid.FLAG_SELECTED) != 0;
+                if (selected && runStart < 0) {
+                    runStart = column;
+                } else if (!selected && runStart >= 0) {
+                    // 两天以上的连续区间，从第一天的中心连接到最后一天的中心
+                    if (column - 1 > runStart) {
+                        target.drawRect(unitWidth * runStart + unitWidth / 2, centerY - radius,
+                                unitWidth * (column - 1) + unitWidth / 2, centerY + radius,
+                                RenderTarget.PAINT_SELECT_BACKGROUND);
+                    }
+                    runStart = -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * 绘制一个日期单元格
+     *
+     * @param target   绘制目标
+     * @param grid     日期网格
+     * @param counts   网格的标记数量
+     * @param loading  标记是否正在加载
+     * @param position 单元格位置
+     * @param flags    单元格标志位
+     */
+    public void drawDateCell(RenderTarget target, MonthGrid grid, int[] counts, boolean loading, int position,
+                             int flags) {
+        float leftPosition = cellLeft(position);
+        float topPosition = cellTop(position);
+        int textPaint;
+        drawnCellCount++;
+
+        // 绘制热力图背景(按等级取出颜色表中的画笔)
+        if (heatmapEnabled && heatLevels[position] >= 0) {
+            float inset = Math.min(unitWidth, unitHeight) / 12;
+            target.drawRect(leftPosition + inset, topPosition + inset, leftPosition + unitWidth - inset,
+                    topPosition + unitHeight - inset, RenderTarget.PAINT_HEATMAP + heatLevels[position]);
+        }
+
+        // 判断当前日期是否是选中日期(默认今日，今日不可选时不显示为选中)
+        boolean disabled = (flags & MonthGrid.FLAG_DISABLED) != 0;
+        if ((flags & MonthGrid.FLAG_SELECTED) != 0 ||
+                (highlightToday && !disabled && (flags & MonthGrid.FLAG_TODAY) != 0)) {
+            // 绘制当前选中日期的背景
+            target.drawCircle(leftPosition + unitWidth / 2, topPosition + unitHeight / 2, selectRadius(),
+                    RenderTarget.PAINT_SELECT_BACKGROUND);
+            textPaint = RenderTarget.PAINT_SELECT_TEXT;
+        }
+        // 设置不可选日期的字体颜色
+        else if (disabled)
+            textPaint = RenderTarget.PAINT_DISABLED_TEXT;
+        // 设置今日的字体颜色
+        else if ((flags & MonthGrid.FLAG_TODAY) != 0)
+            textPaint = RenderTarget.PAINT_TODAY_TEXT;
+        // 设置其他月份的字体颜色
+        else if ((flags & MonthGrid.FLAG_CURRENT_MONTH) == 0)
+            textPaint = RenderTarget.PAINT_OTHER_TEXT;
+        // 设置周末的字体颜色
+        else if ((flags & MonthGrid.FLAG_WEEKEND) != 0)
+            textPaint = RenderTarget.PAINT_WEEKEND_TEXT;
+        // 设置正常日期的字体颜色
+        else
+            textPaint = RenderTarget.PAINT_DATE_TEXT;
+        boolean selected = textPaint == RenderTarget.PAINT_SELECT_TEXT;
+
+        // 绘制日期文字(显示农历时日期文字上移，下方绘制农历)
+        int day = grid.getDay(position);
+        final float textWidth = (unitWidth - dayTextWidths[day]) / 2 + leftPosition;
+        if (lunarCalendar == null) {
+            final float textHeight = (unitHeight - dateBottom + dateTop) / 2 - dateTop + topPosition;
+            target.drawText(DAY_LABELS[day], textWidth, textHeight, textPaint);
+        } else {
+            final float textHeight = unitHeight * 0.36f - (dateBottom + dateTop) / 2 + topPosition;
+            target.drawText(DAY_LABELS[day], textWidth, textHeight, textPaint);
+            drawLunarLabel(target, grid.epochDayOf(position), leftPosition, topPosition, flags, selected, disabled);
+        }
+
+        // 绘制日期标记(加载中时在本月日期下绘制占位圆点，不可选日期的标记跟随文字变灰)
+        if (counts[position] > 0) {
+            drawMarkers(target, leftPosition, topPosition, counts[position], selected ? RenderTarget.PAINT_SELECT_TEXT :
+                    disabled ? RenderTarget.PAINT_DISABLED_TEXT : RenderTarget.PAINT_MARKER);
+        } else if (loading && (flags & MonthGrid.FLAG_CURRENT_MONTH) != 0) {
+            drawMarkers(target, leftPosition, topPosition, 1, RenderTarget.PAINT_MARKER_PLACEHOLDER);
+        }
+    }
+
+    /**
+     * 在日期文字下方绘制农历、节气或节日
+     *
+     * @param target       绘制目标
+     * @param epochDay     纪元日
+     * @param leftPosition 单元格左边
+     * @param topPosition  单元格上边
+     * @param flags        单元格标志位
+     * @param selected     是否为选中日期
+     * @param disabled     是否为不可选日期
+     */
+    private void drawLunarLabel(RenderTarget target, int epochDay, float leftPosition, float topPosition, int flags,
+                                boolean selected, boolean disabled) {
+        int label = lunarCalendar.labelOf(epochDay);
+        if (label < 0) {
+            return;
+        }
+        int paint;
+        if (selected)
+            paint = RenderTarget.PAINT_LUNAR_SELECT_TEXT;
+        else if (disabled)
+            paint = RenderTarget.PAINT_LUNAR_DISABLED_TEXT;
+        else if ((flags & MonthGrid.FLAG_CURRENT_MONTH) == 0)
+            paint = RenderTarget.PAINT_LUNAR_OTHER_TEXT;
+        else if (LunarCalendar.isFestival(label))
+            paint = RenderTarget.PAINT_FESTIVAL_TEXT;
+        else
+            paint = RenderTarget.PAINT_LUNAR_TEXT;
+        final float textWidth = (unitWidth - lunarTextWidths[label]) / 2 + leftPosition;
+        final float textHeight = unitHeight * 0.64f - (lunarBottom + lunarTop) / 2 + topPosition;
+        target.drawText(LunarCalendar.getLabel(label), textWidth, textHeight, paint);
+    }
+
+    /**
+     * 在日期文字下方绘制标记圆点
+     *
+     * @param target       绘制目标
+     * @param leftPosition 单元格左边
+     * @param topPosition  单元格上边
+     * @param count        标记数量
+     * @param paint        圆点画笔角色
+     */
+    private void drawMarkers(RenderTarget target, float leftPosition, float topPosition, int count, int paint) {
+        int dots = count < MAX_MARKER_DOTS ? count : MAX_MARKER_DOTS;
+        float radius = unitHeight / 16;
+        float spacing = radius * 3;
+        float centerX = leftPosition + unitWidth / 2 - spacing * (dots - 1) / 2;
+        float centerY = topPosition + unitHeight * 0.82f;
+        for (int i = 0; i < dots; i++) {
+            target.drawCircle(centerX + spacing * i, centerY, radius, paint);
+        }
+    }
+
+    /**
+     * 选中日期背景的半径
+     *
+     * @return 半径
+     */
+    private float selectRadius() {
+        return unitWidth <= unitHeight ? unitWidth * 2 / 5 : unitHeight * 2 / 5;
+    }
+}
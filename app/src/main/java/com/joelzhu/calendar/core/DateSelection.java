@@ -0,0 +1,298 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 17:50
+ * 作用：以纪元日为键的稀疏位图，保存区间选择和多选的日期
+ * <p>
+ * 每64天为一个字，只保存不为0的字(按字序号排序的两个数组)，跨越多年的几百个日期也只占用很少的内存。
+ * 一个月份网格只有42天，{@link #bitsOf(int, int)}一次查询即可得到整个网格的选中位，
+ * 绘制时逐个单元格判断只需要一次位运算。不是线程安全的，只在主线程中使用。
+ */
+public final class DateSelection {
+    // 每个字的天数
+    private static final int WORD_BITS = 64;
+
+    // 字序号(纪元日 / 64，升序)
+    private int[] keys = new int[4];
+    // 字内容
+    private long[] words = new long[4];
+    // 使用中的字数量
+    private int wordCount;
+    // 选中的天数
+    private int size;
+    // 修改次数
+    private int modCount;
+
+    /**
+     * 选中一天
+     *
+     * @param epochDay 纪元日
+     * @return 是否发生了变化
+     */
+    public boolean add(int epochDay) {
+        int index = indexOrInsert(wordOf(epochDay));
+        long bit = 1L << bitOf(epochDay);
+        if ((words[index] & bit) != 0) {
+            return false;
+        }
+        words[index] |= bit;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * 选中一段连续的日期(包含两端)
+     *
+     * @param fromEpochDay 开始的纪元日
+     * @param toEpochDay   结束的纪元日
+     * @return 是否发生了变化(整段都已经选中时不计入修改次数)
+     */
+    public boolean addRange(int fromEpochDay, int toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            int temp = fromEpochDay;
+            fromEpochDay = toEpochDay;
+            toEpochDay = temp;
+        }
+        int oldSize = size;
+        int fromWord = wordOf(fromEpochDay);
+        int toWord = wordOf(toEpochDay);
+        for (int word = fromWord; word <= toWord; word++) {
+            long mask = -1L;
+            if (word == fromWord) {
+                mask &= -1L << bitOf(fromEpochDay);
+            }
+            if (word == toWord) {
+                mask &= -1L >>> (WORD_BITS - 1 - bitOf(toEpochDay));
+            }
+            int index = indexOrInsert(word);
+            size += Long.bitCount(mask & ~words[index]);
+            words[index] |= mask;
+        }
+        if (size == oldSize) {
+            return false;
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * 取消选中一天
+     *
+     * @param epochDay 纪元日
+     * @return 是否发生了变化
+     */
+    public boolean remove(int epochDay) {
+        int index = indexOf(wordOf(epochDay));
+        long bit = 1L << bitOf(epochDay);
+        if (index < 0 || (words[index] & bit) == 0) {
+            return false;
+        }
+        words[index] &= ~bit;
+        size--;
+        modCount++;
+        // 字变为0时移除，保持稀疏
+        if (words[index] == 0) {
+            System.arraycopy(keys, index + 1, keys, index, wordCount - index - 1);
+            System.arraycopy(words, index + 1, words, index, wordCount - index - 1);
+            wordCount--;
+        }
+        return true;
+    }
+
+    /**
+     * 切换一天的选中状态
+     *
+     * @param epochDay 纪元日
+     * @return 切换后是否选中
+     */
+    public boolean toggle(int epochDay) {
+        if (remove(epochDay)) {
+            return false;
+        }
+        add(epochDay);
+        return true;
+    }
+
+    /**
+     * 清空选择
+     */
+    public void clear() {
+        if (wordCount == 0) {
+            return;
+        }
+        wordCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * 判断一天是否选中
+     *
+     * @param epochDay 纪元日
+     * @return 是否选中
+     */
+    public boolean contains(int epochDay) {
+        int index = indexOf(wordOf(epochDay));
+        return index >= 0 && (words[index] & (1L << bitOf(epochDay))) != 0;
+    }
+
+    /**
+     * 查询一段连续日期的选中位(一个月份网格只需要查询一次)
+     *
+     * @param fromEpochDay 开始的纪元日
+     * @param count        天数(1-64)
+     * @return 第i位表示第fromEpochDay + i天是否选中
+     */
+    public long bitsOf(int fromEpochDay, int count) {
+        if (count <= 0 || count > WORD_BITS) {
+            throw new IllegalArgumentException("count out of range: " + count);
+        }
+        if (wordCount == 0) {
+            return 0;
+        }
+        int word = wordOf(fromEpochDay);
+        int shift = bitOf(fromEpochDay);
+        int index = indexOf(word);
+        long bits = index >= 0 ? words[index] >>> shift : 0;
+        // 跨越到下一个字的部分
+        if (shift != 0 && shift + count > WORD_BITS) {
+            int next = index >= 0 ? index + 1 : -index - 1;
+            if (next < wordCount && keys[next] == word + 1) {
+                bits |= words[next] << (WORD_BITS - shift);
+            }
+        }
+        return count == WORD_BITS ? bits : bits & ((1L << count) - 1);
+    }
+
+    /**
+     * 获取最早的选中日期
+     *
+     * @return 纪元日(没有选中时为Integer.MIN_VALUE)
+     */
+    public int getFirst() {
+        if (wordCount == 0) {
+            return Integer.MIN_VALUE;
+        }
+        return keys[0] * WORD_BITS + Long.numberOfTrailingZeros(words[0]);
+    }
+
+    /**
+     * 获取最晚的选中日期
+     *
+     * @return 纪元日(没有选中时为Integer.MIN_VALUE)
+     */
+    public int getLast() {
+        if (wordCount == 0) {
+            return Integer.MIN_VALUE;
+        }
+        int last = wordCount - 1;
+        return keys[last] * WORD_BITS + WORD_BITS - 1 - Long.numberOfLeadingZeros(words[last]);
+    }
+
+    /**
+     * 按升序复制所有选中日期
+     *
+     * @return 纪元日数组
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i < wordCount; i++) {
+            long word = words[i];
+            while (word != 0) {
+                result[count++] = keys[i] * WORD_BITS + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获取修改次数(用于判断选择是否变化)
+     *
+     * @return 修改次数
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * 查找字的位置，不存在时插入一个空字
+     *
+     * @param word 字序号
+     * @return 字的位置
+     */
+    private int indexOrInsert(int word) {
+        int index = indexOf(word);
+        if (index >= 0) {
+            return index;
+        }
+        index = -index - 1;
+        if (wordCount == keys.length) {
+            int[] newKeys = new int[wordCount * 2];
+            long[] newWords = new long[wordCount * 2];
+            System.arraycopy(keys, 0, newKeys, 0, wordCount);
+            System.arraycopy(words, 0, newWords, 0, wordCount);
+            keys = newKeys;
+            words = newWords;
+        }
+        System.arraycopy(keys, index, keys, index + 1, wordCount - index);
+        System.arraycopy(words, index, words, index + 1, wordCount - index);
+        keys[index] = word;
+        words[index] = 0;
+        wordCount++;
+        return index;
+    }
+
+    /**
+     * 二分查找字的位置
+     *
+     * @param word 字序号
+     * @return 字的位置(不存在时为-(插入位置) - 1)
+     */
+    private int indexOf(int word) {
+        int low = 0;
+        int high = wordCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < word) {
+                low = middle + 1;
+            } else if (keys[middle] > word) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * 计算纪元日所在的字序号
+     *
+     * @param epochDay 纪元日
+     * @return 字序号
+     */
+    private static int wordOf(int epochDay) {
+        return epochDay >> 6;
+    }
+
+    /**
+     * 计算纪元日在字内的位
+     *
+     * @param epochDay 纪元日
+     * @return 位(0-63)
+     */
+    private static int bitOf(int epochDay) {
+        return epochDay & (WORD_BITS - 1);
+    }
+}
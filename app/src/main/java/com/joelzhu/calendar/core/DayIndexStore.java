@@ -0,0 +1,443 @@
+package com.joelzhu.calendar.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 22:30
+ * 作用：以纪元日为下标、映射到内存的日期索引文件(离线保存多年的事件数量和摘要)
+ * <p>
+ * 索引文件由32字节的文件头和每天固定12字节的记录(数量、摘要位置、摘要长度)组成，第n天的记录在
+ * 文件头之后的第n * 12字节，摘要的UTF-8文字依次追加在另一个数据文件(索引文件名加".dat"或".1.dat")中。
+ * 两个文件都通过{@link MappedByteBuffer}读写，查询一个42天的窗口只是按固定步长读取几个页面中的整数，
+ * 不需要把数据读入堆中，也不需要反序列化；摘要只在取用时解码。
+ * 修改摘要时旧的文字留在数据文件中成为垃圾，由{@link #compact()}重新写出有效的摘要并回收空间。
+ * 压缩时把摘要写到另一个数据文件、把新的索引写到临时文件，替换索引文件是唯一的提交点：
+ * 文件头中的代数决定使用哪个数据文件，在任何一步崩溃后打开时都能得到压缩前或压缩后的一致状态。
+ * 所有方法都是线程安全的；同一个文件同时只能由一个实例打开。
+ */
+public final class DayIndexStore implements MarkerDataSource {
+    // 文件标识("JZDI")
+    private static final int MAGIC = 0x4A5A4449;
+    // 文件格式版本
+    private static final int VERSION = 1;
+    // 文件头的长度
+    private static final int HEADER_SIZE = 32;
+    // 文件头：文件标识的位置
+    private static final int HEADER_MAGIC = 0;
+    // 文件头：版本的位置
+    private static final int HEADER_VERSION = 4;
+    // 文件头：第一天纪元日的位置
+    private static final int HEADER_FIRST_EPOCH_DAY = 8;
+    // 文件头：天数的位置
+    private static final int HEADER_DAY_COUNT = 12;
+    // 文件头：数据文件有效长度的位置
+    private static final int HEADER_DATA_LENGTH = 16;
+    // 文件头：数据文件中垃圾长度的位置
+    private static final int HEADER_GARBAGE_LENGTH = 20;
+    // 文件头：压缩的代数的位置(偶数代使用DATA_SUFFIX，奇数代使用ALTERNATE_DATA_SUFFIX)
+    private static final int HEADER_GENERATION = 24;
+    // 每天记录的长度
+    private static final int STRIDE = 12;
+    // 记录：数量的位置
+    private static final int RECORD_COUNT = 0;
+    // 记录：摘要位置的位置
+    private static final int RECORD_SUMMARY_OFFSET = 4;
+    // 记录：摘要长度的位置
+    private static final int RECORD_SUMMARY_LENGTH = 8;
+    // 新文件预留的天数
+    private static final int INITIAL_DAYS = 1024;
+    // 新数据文件预留的长度
+    private static final int INITIAL_DATA_SIZE = 16 * 1024;
+    // 数据文件的后缀
+    private static final String DATA_SUFFIX = ".dat";
+    // 另一个数据文件的后缀(压缩时与DATA_SUFFIX交替使用)
+    private static final String ALTERNATE_DATA_SUFFIX = ".1.dat";
+    // 压缩时新索引的临时文件的后缀
+    private static final String TEMP_SUFFIX = ".tmp";
+    // 摘要的编码
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // 索引文件
+    private final File indexFile;
+    // 数据文件
+    private File dataFile;
+    // 索引文件的读写
+    private RandomAccessFile indexAccess;
+    // 数据文件的读写
+    private RandomAccessFile dataAccess;
+    // 映射的索引(容量可能大于有效的天数)
+    private MappedByteBuffer index;
+    // 映射的数据(容量可能大于有效长度)
+    private MappedByteBuffer data;
+    // 第一天的纪元日
+    private final int firstEpochDay;
+    // 读取摘要的缓冲区
+    private byte[] summaryBytes = new byte[64];
+
+    /**
+     * 构造函数(文件不存在时创建)
+     *
+     * @param file          索引文件
+     * @param firstEpochDay 第一天的纪元日(只在创建新文件时使用，已有的文件使用文件中保存的值)
+     * @throws IOException 文件无法读写或者不是日期索引文件
+     */
+    public DayIndexStore(File file, int firstEpochDay) throws IOException {
+        indexFile = file;
+        File tempFile = new File(file.getPath() + TEMP_SUFFIX);
+        if (tempFile.exists()) {
+            if (!file.exists()) {
+                // 替换索引文件时在删除和改名之间崩溃，临时文件已经完整写出，直接使用
+                if (!tempFile.renameTo(file)) {
+                    throw new IOException("cannot rename " + tempFile);
+                }
+            } else if (!tempFile.delete()) {
+                // 没有提交的压缩留下的临时索引
+                throw new IOException("cannot delete " + tempFile);
+            }
+        }
+        indexAccess = new RandomAccessFile(file, "rw");
+        boolean created = indexAccess.length() == 0;
+        if (created) {
+            indexAccess.setLength(HEADER_SIZE + INITIAL_DAYS * STRIDE);
+        } else if (indexAccess.length() < HEADER_SIZE) {
+            indexAccess.close();
+            throw new IOException("not a day index: " + file);
+        }
+        index = indexAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, indexAccess.length());
+        if (created) {
+            index.putInt(HEADER_MAGIC, MAGIC);
+            index.putInt(HEADER_VERSION, VERSION);
+            index.putInt(HEADER_FIRST_EPOCH_DAY, firstEpochDay);
+        } else if (index.getInt(HEADER_MAGIC) != MAGIC || index.getInt(HEADER_VERSION) != VERSION) {
+            indexAccess.close();
+            throw new IOException("not a day index: " + file);
+        }
+        this.firstEpochDay = index.getInt(HEADER_FIRST_EPOCH_DAY);
+
+        // 另一个数据文件是没有提交的压缩结果或者压缩前的旧文件
+        int generation = index.getInt(HEADER_GENERATION);
+        File unusedFile = dataFileOf(generation + 1);
+        if (unusedFile.exists() && !unusedFile.delete()) {
+            indexAccess.close();
+            throw new IOException("cannot delete " + unusedFile);
+        }
+        dataFile = dataFileOf(generation);
+        dataAccess = new RandomAccessFile(dataFile, "rw");
+        if (dataAccess.length() < getDataLength()) {
+            indexAccess.close();
+            dataAccess.close();
+            throw new IOException("data file truncated: " + dataFile);
+        }
+        if (dataAccess.length() == 0) {
+            dataAccess.setLength(INITIAL_DATA_SIZE);
+        }
+        data = dataAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, dataAccess.length());
+    }
+
+    /**
+     * 添加某一天的事件数量
+     *
+     * @param epochDay 纪元日(不能早于第一天)
+     * @param count    数量
+     * @throws IOException 文件无法扩展
+     */
+    public synchronized void add(int epochDay, int count) throws IOException {
+        int record = recordFor(epochDay);
+        index.putInt(record + RECORD_COUNT, index.getInt(record + RECORD_COUNT) + count);
+    }
+
+    /**
+     * 添加某一天的事件数量并替换摘要
+     *
+     * @param epochDay 纪元日(不能早于第一天)
+     * @param count    数量
+     * @param summary  摘要(为null时不修改，为空字符串时清除)
+     * @throws IOException 文件无法扩展
+     */
+    public synchronized void add(int epochDay, int count, String summary) throws IOException {
+        int record = recordFor(epochDay);
+        index.putInt(record + RECORD_COUNT, index.getInt(record + RECORD_COUNT) + count);
+        if (summary == null) {
+            return;
+        }
+        // 旧的摘要成为垃圾，新的摘要追加到数据文件末尾
+        int oldLength = index.getInt(record + RECORD_SUMMARY_LENGTH);
+        if (oldLength > 0) {
+            index.putInt(HEADER_GARBAGE_LENGTH, index.getInt(HEADER_GARBAGE_LENGTH) + oldLength);
+        }
+        byte[] bytes = summary.getBytes(UTF_8);
+        int offset = getDataLength();
+        if (bytes.length > 0) {
+            ensureDataCapacity(offset + bytes.length);
+            ByteBuffer writer = data.duplicate();
+            writer.position(offset);
+            writer.put(bytes);
+            index.putInt(HEADER_DATA_LENGTH, offset + bytes.length);
+        }
+        index.putInt(record + RECORD_SUMMARY_OFFSET, bytes.length > 0 ? offset : 0);
+        index.putInt(record + RECORD_SUMMARY_LENGTH, bytes.length);
+    }
+
+    /**
+     * 获取某一天的事件数量
+     *
+     * @param epochDay 纪元日
+     * @return 数量
+     */
+    public synchronized int getCount(int epochDay) {
+        int day = epochDay - firstEpochDay;
+        if (day < 0 || day >= getDayCount()) {
+            return 0;
+        }
+        return index.getInt(HEADER_SIZE + day * STRIDE + RECORD_COUNT);
+    }
+
+    @Override
+    public synchronized void getMarkerCounts(int firstEpochDay, int[] counts) {
+        int dayCount = getDayCount();
+        int day = firstEpochDay - this.firstEpochDay;
+        for (int i = 0; i < counts.length; i++, day++) {
+            counts[i] = day >= 0 && day < dayCount ? index.getInt(HEADER_SIZE + day * STRIDE + RECORD_COUNT) : 0;
+        }
+    }
+
+    /**
+     * 获取某一天的摘要
+     *
+     * @param epochDay 纪元日
+     * @return 摘要，没有时为null
+     */
+    public synchronized String getSummary(int epochDay) {
+        int day = epochDay - firstEpochDay;
+        if (day < 0 || day >= getDayCount()) {
+            return null;
+        }
+        return readSummary(HEADER_SIZE + day * STRIDE);
+    }
+
+    /**
+     * 一次取出连续若干天的摘要
+     *
+     * @param firstEpochDay 第一天
+     * @param out           输出：out[i]为firstEpochDay + i的摘要，没有时为null，长度即天数
+     */
+    public synchronized void getSummaries(int firstEpochDay, String[] out) {
+        int dayCount = getDayCount();
+        int day = firstEpochDay - this.firstEpochDay;
+        for (int i = 0; i < out.length; i++, day++) {
+            out[i] = day >= 0 && day < dayCount ? readSummary(HEADER_SIZE + day * STRIDE) : null;
+        }
+    }
+
+    /**
+     * 压缩数据文件：只保留有效的摘要(按日期顺序写出)，并截去两个文件中预留的空间
+     * <p>
+     * 依次写出新的数据文件和新的索引(临时文件)并同步到磁盘，再用新的索引替换索引文件，最后删除旧的数据文件。
+     * 替换之前崩溃时保留压缩前的状态，之后崩溃时为压缩后的状态，多余的文件在下一次打开时删除。
+     *
+     * @throws IOException 文件无法读写
+     */
+    public synchronized void compact() throws IOException {
+        int dayCount = getDayCount();
+        int generation = index.getInt(HEADER_GENERATION) + 1;
+        File newDataFile = dataFileOf(generation);
+        File tempFile = new File(indexFile.getPath() + TEMP_SUFFIX);
+
+        // 新的索引：复制文件头和有效的记录，摘要位置改为在新数据文件中的位置
+        ByteBuffer newIndex = ByteBuffer.allocate(HEADER_SIZE + dayCount * STRIDE);
+        ByteBuffer source = index.duplicate();
+        source.position(0);
+        source.limit(newIndex.capacity());
+        newIndex.put(source);
+        int length = 0;
+        RandomAccessFile temp = new RandomAccessFile(newDataFile, "rw");
+        try {
+            temp.setLength(0);
+            for (int day = 0; day < dayCount; day++) {
+                int record = HEADER_SIZE + day * STRIDE;
+                int summaryLength = index.getInt(record + RECORD_SUMMARY_LENGTH);
+                if (summaryLength == 0) {
+                    newIndex.putInt(record + RECORD_SUMMARY_OFFSET, 0);
+                    continue;
+                }
+                byte[] bytes = readBytes(index.getInt(record + RECORD_SUMMARY_OFFSET), summaryLength);
+                temp.write(bytes, 0, summaryLength);
+                newIndex.putInt(record + RECORD_SUMMARY_OFFSET, length);
+                length += summaryLength;
+            }
+            temp.getFD().sync();
+        } finally {
+            temp.close();
+        }
+        newIndex.putInt(HEADER_DATA_LENGTH, length);
+        newIndex.putInt(HEADER_GARBAGE_LENGTH, 0);
+        newIndex.putInt(HEADER_GENERATION, generation);
+
+        temp = new RandomAccessFile(tempFile, "rw");
+        try {
+            temp.setLength(0);
+            temp.write(newIndex.array(), 0, newIndex.capacity());
+            temp.getFD().sync();
+        } finally {
+            temp.close();
+        }
+
+        // 提交：替换索引文件(POSIX上直接替换；不能覆盖已有文件的系统上先删除)
+        // 失败时保留临时文件，下一次打开时按索引文件是否还在决定丢弃还是使用它
+        if (!tempFile.renameTo(indexFile) && !(indexFile.delete() && tempFile.renameTo(indexFile))) {
+            throw new IOException("cannot replace " + indexFile);
+        }
+        indexAccess.close();
+        dataAccess.close();
+        File oldDataFile = dataFile;
+        indexAccess = new RandomAccessFile(indexFile, "rw");
+        index = indexAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, indexAccess.length());
+        dataFile = newDataFile;
+        dataAccess = new RandomAccessFile(dataFile, "rw");
+        data = dataAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, dataAccess.length());
+        // 旧的数据文件删除失败时，下一次打开会再删除
+        oldDataFile.delete();
+    }
+
+    /**
+     * 把修改写入磁盘
+     */
+    public synchronized void flush() {
+        data.force();
+        index.force();
+    }
+
+    /**
+     * 写入磁盘并关闭文件(之后不能再使用)
+     *
+     * @throws IOException 文件无法关闭
+     */
+    public synchronized void close() throws IOException {
+        flush();
+        dataAccess.close();
+        indexAccess.close();
+    }
+
+    /**
+     * 找到某一天的记录(超过已有的天数时扩展索引)
+     *
+     * @param epochDay 纪元日
+     * @return 记录在索引文件中的位置
+     * @throws IOException 文件无法扩展
+     */
+    private int recordFor(int epochDay) throws IOException {
+        int day = epochDay - firstEpochDay;
+        if (day < 0) {
+            throw new IllegalArgumentException("epochDay < firstEpochDay: " + epochDay);
+        }
+        if (day >= getDayCount()) {
+            long required = HEADER_SIZE + (day + 1L) * STRIDE;
+            if (required > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("epochDay too far: " + epochDay);
+            }
+            if (required > index.capacity()) {
+                // 新增的部分由文件系统填0，即没有事件、没有摘要
+                long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, index.capacity() * 2L));
+                index.force();
+                indexAccess.setLength(capacity);
+                index = indexAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+            index.putInt(HEADER_DAY_COUNT, day + 1);
+        }
+        return HEADER_SIZE + day * STRIDE;
+    }
+
+    /**
+     * 确保数据文件能容纳指定的长度
+     *
+     * @param length 长度
+     * @throws IOException 文件无法扩展
+     */
+    private void ensureDataCapacity(int length) throws IOException {
+        if (length > data.capacity()) {
+            long capacity = Math.min(Integer.MAX_VALUE, Math.max(length, data.capacity() * 2L));
+            data.force();
+            dataAccess.setLength(capacity);
+            data = dataAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    /**
+     * 读取一条记录的摘要
+     *
+     * @param record 记录在索引文件中的位置
+     * @return 摘要，没有时为null
+     */
+    private String readSummary(int record) {
+        int length = index.getInt(record + RECORD_SUMMARY_LENGTH);
+        if (length == 0) {
+            return null;
+        }
+        return new String(readBytes(index.getInt(record + RECORD_SUMMARY_OFFSET), length), 0, length, UTF_8);
+    }
+
+    /**
+     * 从数据文件读取字节(结果放在共用的缓冲区中)
+     *
+     * @param offset 位置
+     * @param length 长度
+     * @return 缓冲区
+     */
+    private byte[] readBytes(int offset, int length) {
+        if (length > summaryBytes.length) {
+            summaryBytes = new byte[Math.max(length, summaryBytes.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            summaryBytes[i] = data.get(offset + i);
+        }
+        return summaryBytes;
+    }
+
+    /**
+     * 获取某一代使用的数据文件
+     *
+     * @param generation 压缩的代数
+     * @return 数据文件
+     */
+    private File dataFileOf(int generation) {
+        return new File(indexFile.getPath() + ((generation & 1) == 0 ? DATA_SUFFIX : ALTERNATE_DATA_SUFFIX));
+    }
+
+    public int getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    /**
+     * 获取已有的天数(从第一天到最后一个有记录的日期)
+     *
+     * @return 天数
+     */
+    public synchronized int getDayCount() {
+        return index.getInt(HEADER_DAY_COUNT);
+    }
+
+    /**
+     * 获取数据文件中垃圾的长度(可以据此决定是否调用{@link #compact()})
+     *
+     * @return 字节数
+     */
+    public synchronized int getGarbageLength() {
+        return index.getInt(HEADER_GARBAGE_LENGTH);
+    }
+
+    /**
+     * 获取数据文件的有效长度
+     *
+     * @return 字节数
+     */
+    private int getDataLength() {
+        return index.getInt(HEADER_DATA_LENGTH);
+    }
+}
@@ -0,0 +1,19 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 23:40
+ * 作用：不可选日期的数据源(业务规则)
+ */
+public interface DisabledDateProvider {
+    /**
+     * 判断某一天是否不可选
+     * <p>
+     * 日历只在显示的网格第一次出现、或调用了刷新方法时，对网格中的每一天调用一次，结果按网格缓存，
+     * 绘制和点击时不再调用。
+     *
+     * @param epochDay 纪元日
+     * @return 是否不可选
+     */
+    boolean isDateDisabled(int epochDay);
+}
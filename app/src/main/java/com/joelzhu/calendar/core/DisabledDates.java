@@ -0,0 +1,170 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 23:45
+ * 作用：不可选的日期(最早、最晚日期和业务规则)，按网格计算为位掩码
+ * <p>
+ * 一个网格的42个单元格对应一个long的低42位，第i位表示第i个单元格不可选。
+ * 超出最早、最晚日期的部分由整数运算直接得到，只有范围内的日期才调用{@link DisabledDateProvider}，
+ * 每个网格的结果按第一个单元格的纪元日缓存最近的几个(当前、相邻的网格)，
+ * 绘制和点击时只读取掩码。规则的数据变化后调用{@link #invalidate()}。只在主线程中使用。
+ */
+public final class DisabledDates {
+    // 没有最早日期
+    public static final int NO_MIN = Integer.MIN_VALUE;
+    // 没有最晚日期
+    public static final int NO_MAX = Integer.MAX_VALUE;
+    // 网格所有单元格的掩码
+    private static final long FULL_MASK = (1L << MonthGrid.SIZE) - 1;
+    // 缓存的网格数量(当前、上一个、下一个，以及周视图中跨月时多出的一个)
+    private static final int CACHE_SIZE = 4;
+
+    // 最早可选的日期(纪元日)
+    private int minEpochDay = NO_MIN;
+    // 最晚可选的日期(纪元日)
+    private int maxEpochDay = NO_MAX;
+    // 业务规则(为null时只按最早、最晚日期判断)
+    private DisabledDateProvider provider;
+
+    // 缓存的网格第一个单元格的纪元日
+    private final int[] cachedFirstDays = new int[CACHE_SIZE];
+    // 缓存的掩码
+    private final long[] cachedMasks = new long[CACHE_SIZE];
+    // 缓存中有效的数量
+    private int cachedCount;
+    // 下一次替换的缓存位置
+    private int nextSlot;
+
+    /**
+     * 设置可选日期的范围
+     *
+     * @param minEpochDay 最早可选的日期(NO_MIN为不限制)
+     * @param maxEpochDay 最晚可选的日期(NO_MAX为不限制)
+     */
+    public void setBounds(int minEpochDay, int maxEpochDay) {
+        if (minEpochDay > maxEpochDay) {
+            throw new IllegalArgumentException("minEpochDay > maxEpochDay");
+        }
+        this.minEpochDay = minEpochDay;
+        this.maxEpochDay = maxEpochDay;
+        invalidate();
+    }
+
+    /**
+     * 设置业务规则
+     *
+     * @param provider 业务规则(为null时取消)
+     */
+    public void setProvider(DisabledDateProvider provider) {
+        this.provider = provider;
+        invalidate();
+    }
+
+    /**
+     * 清空缓存的掩码(业务规则的数据变化后调用)
+     */
+    public void invalidate() {
+        cachedCount = 0;
+        nextSlot = 0;
+    }
+
+    /**
+     * 是否有任何限制(没有限制时所有掩码都为0)
+     *
+     * @return 是否有限制
+     */
+    public boolean hasConstraints() {
+        return minEpochDay != NO_MIN || maxEpochDay != NO_MAX || provider != null;
+    }
+
+    /**
+     * 获取一个网格的不可选掩码(同一个网格只计算一次)
+     *
+     * @param firstEpochDay 网格第一个单元格的纪元日
+     * @return 掩码(第i位对应firstEpochDay + i)
+     */
+    public long maskOf(int firstEpochDay) {
+        if (!hasConstraints()) {
+            return 0;
+        }
+        for (int i = 0; i < cachedCount; i++) {
+            if (cachedFirstDays[i] == firstEpochDay) {
+                return cachedMasks[i];
+            }
+        }
+        long mask = computeMask(firstEpochDay);
+        cachedFirstDays[nextSlot] = firstEpochDay;
+        cachedMasks[nextSlot] = mask;
+        nextSlot = (nextSlot + 1) % CACHE_SIZE;
+        if (cachedCount < CACHE_SIZE) {
+            cachedCount++;
+        }
+        return mask;
+    }
+
+    /**
+     * 计算一个网格的不可选掩码
+     *
+     * @param firstEpochDay 网格第一个单元格的纪元日
+     * @return 掩码
+     */
+    private long computeMask(int firstEpochDay) {
+        // 最早日期之前的单元格数量、最晚日期之后第一个单元格的位置
+        int before = clampToGrid((long) minEpochDay - firstEpochDay);
+        int after = clampToGrid((long) maxEpochDay - firstEpochDay + 1);
+        long mask = ((1L << before) - 1) | (FULL_MASK & ~((1L << after) - 1));
+        if (provider != null) {
+            for (int position = before; position < after; position++) {
+                if (provider.isDateDisabled(firstEpochDay + position)) {
+                    mask |= 1L << position;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 把单元格位置限制在0 ~ 网格大小之间
+     *
+     * @param position 单元格位置(可能超出网格，用long避免纪元日相减时溢出)
+     * @return 限制后的位置(0 ~ MonthGrid.SIZE)
+     */
+    private static int clampToGrid(long position) {
+        return (int) Math.max(0, Math.min(MonthGrid.SIZE, position));
+    }
+
+    /**
+     * 判断某一天是否不可选(不使用缓存，会调用业务规则)
+     *
+     * @param epochDay 纪元日
+     * @return 是否不可选
+     */
+    public boolean isDisabled(int epochDay) {
+        return epochDay < minEpochDay || epochDay > maxEpochDay ||
+                (provider != null && provider.isDateDisabled(epochDay));
+    }
+
+    /**
+     * 判断一段日期是否与可选范围相交(用于判断能否翻到这一段)
+     *
+     * @param firstEpochDay 第一天
+     * @param lastEpochDay  最后一天
+     * @return 是否相交
+     */
+    public boolean overlapsBounds(int firstEpochDay, int lastEpochDay) {
+        return lastEpochDay >= minEpochDay && firstEpochDay <= maxEpochDay;
+    }
+
+    public int getMinEpochDay() {
+        return minEpochDay;
+    }
+
+    public int getMaxEpochDay() {
+        return maxEpochDay;
+    }
+
+    public DisabledDateProvider getProvider() {
+        return provider;
+    }
+}
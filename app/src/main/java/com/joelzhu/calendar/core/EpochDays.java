@@ -0,0 +1,189 @@
+package com.joelzhu.calendar.core;
+
+import java.util.TimeZone;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 11:10
+ * 作用：纪元日(1970年1月1日为第0天)的整数换算
+ * <p>
+ * 全部为整数运算，不创建对象，也不读取默认时区和语言。
+ * 与java.util.GregorianCalendar的默认规则一致：1582年10月15日起为格里历，之前为儒略历(10月4日的下一天是10月15日)，
+ * 因此1583年以前的网格与原来基于Calendar的结果相同。
+ */
+public final class EpochDays {
+    // 一天的毫秒数
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    // 平年每个月的天数
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    // 格里历第一天(1582年10月15日)的纪元日，之前的日期按儒略历计算
+    public static final int GREGORIAN_CUTOVER = -141427;
+    // 格里历开始使用的年份
+    private static final int GREGORIAN_CUTOVER_YEAR = 1582;
+
+    private EpochDays() {
+    }
+
+    /**
+     * 计算某个时点在指定时区中的纪元日
+     *
+     * @param millis 时点(毫秒)
+     * @param zone   时区
+     * @return 纪元日
+     */
+    public static int fromMillis(long millis, TimeZone zone) {
+        long localMillis = millis + zone.getOffset(millis);
+        long days = localMillis / MILLIS_PER_DAY;
+        if (localMillis % MILLIS_PER_DAY < 0) {
+            days--;
+        }
+        return (int) days;
+    }
+
+    /**
+     * 判断是否为闰年(1582年以前按儒略历，每4年一闰)
+     *
+     * @param year 年
+     * @return 是否为闰年
+     */
+    public static boolean isLeapYear(int year) {
+        if (year < GREGORIAN_CUTOVER_YEAR) {
+            return (year & 3) == 0;
+        }
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 计算某个月的天数(与Calendar.getActualMaximum(DAY_OF_MONTH)一致，1582年10月同样为31)
+     *
+     * @param year  年
+     * @param month 月(0-11)
+     * @return 天数
+     */
+    public static int lengthOfMonth(int year, int month) {
+        return month == 1 && isLeapYear(year) ? 29 : DAYS_IN_MONTH[month];
+    }
+
+    /**
+     * 计算某一天的纪元日(1582年10月15日以前按儒略历，10月5日至14日与Calendar一样按儒略历顺延)
+     *
+     * @param year  年
+     * @param month 月(0-11，超出范围时自动进位到相邻的年)
+     * @param date  日(1-31)
+     * @return 纪元日
+     */
+    public static int of(int year, int month, int date) {
+        // 修正溢出的月份
+        int yearOffset = floorDiv(month, 12);
+        year += yearOffset;
+        month -= yearOffset * 12;
+        // 以3月为一年的开始，闰日落在一年的最后
+        int y = month < 2 ? year - 1 : year;
+        int era = floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month < 2 ? month + 10 : month - 2) + 2) / 5 + date - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        int epochDay = era * 146097 + dayOfEra - 719468;
+        if (epochDay >= GREGORIAN_CUTOVER) {
+            return epochDay;
+        }
+        // 儒略历：每4年(1461天)一个周期
+        int cycle = floorDiv(y, 4);
+        int yearOfCycle = y - cycle * 4;
+        return cycle * 1461 + yearOfCycle * 365 + dayOfYear - 719470;
+    }
+
+    /**
+     * 把纪元日换算成年月日(1582年10月15日以前按儒略历)
+     *
+     * @param epochDay 纪元日
+     * @param out      输出：out[0]为年，out[1]为月(0-11)，out[2]为日(1-31)
+     */
+    public static void toDate(int epochDay, int[] out) {
+        long yearAndDay = yearAndDayOfYear(epochDay);
+        int year = (int) (yearAndDay >> 32);
+        int dayOfYear = (int) yearAndDay;
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 2 : shiftedMonth - 10;
+        out[0] = year + (month < 2 ? 1 : 0);
+        out[1] = month;
+        out[2] = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    }
+
+    /**
+     * 计算纪元日所在的月份序号(年 * 12 + 月，相邻的月份序号相差1)
+     *
+     * @param epochDay 纪元日
+     * @return 月份序号(月为0-11)
+     */
+    public static int monthIndexOf(int epochDay) {
+        long yearAndDay = yearAndDayOfYear(epochDay);
+        int year = (int) (yearAndDay >> 32);
+        int dayOfYear = (int) yearAndDay;
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 2 : shiftedMonth - 10;
+        return (year + (month < 2 ? 1 : 0)) * 12 + month;
+    }
+
+    /**
+     * 计算纪元日所在的年(以3月为一年的开始)和在这一年中的第几天(1582年10月15日以前按儒略历)
+     *
+     * @param epochDay 纪元日
+     * @return 高32位为年(1、2月属于上一年)，低32位为从3月1日起的第几天(从0开始)
+     */
+    private static long yearAndDayOfYear(int epochDay) {
+        int year;
+        int dayOfYear;
+        if (epochDay >= GREGORIAN_CUTOVER) {
+            int z = epochDay + 719468;
+            int era = floorDiv(z, 146097);
+            int dayOfEra = z - era * 146097;
+            int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+            dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            year = yearOfEra + era * 400;
+        } else {
+            // 儒略历：每4年(1461天)一个周期
+            int z = epochDay + 719470;
+            int cycle = floorDiv(z, 1461);
+            int dayOfCycle = z - cycle * 1461;
+            int yearOfCycle = (dayOfCycle - dayOfCycle / 1460) / 365;
+            dayOfYear = dayOfCycle - 365 * yearOfCycle;
+            year = yearOfCycle + cycle * 4;
+        }
+        return (long) year << 32 | dayOfYear;
+    }
+
+    /**
+     * 计算纪元日是星期几
+     *
+     * @param epochDay 纪元日
+     * @return 星期几(与Calendar.DAY_OF_WEEK一致，Calendar.SUNDAY为1)
+     */
+    public static int dayOfWeek(int epochDay) {
+        // 1970年1月1日是星期四
+        return floorMod(epochDay + 4, 7) + 1;
+    }
+
+    /**
+     * 向下取整的除法
+     *
+     * @param x 被除数
+     * @param y 除数(正数)
+     * @return 商
+     */
+    static int floorDiv(int x, int y) {
+        int q = x / y;
+        return (x % y != 0 && x < 0) ? q - 1 : q;
+    }
+
+    /**
+     * 向下取整的取模
+     *
+     * @param x 被除数
+     * @param y 除数(正数)
+     * @return 余数(0 ~ y-1)
+     */
+    static int floorMod(int x, int y) {
+        return x - floorDiv(x, y) * y;
+    }
+}
@@ -0,0 +1,87 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 14:40
+ * 作用：动画帧耗时统计
+ * <p>
+ * 记录相邻两帧之间的间隔，统计帧数、平均值、最大值和超过一帧预算(60fps为16.67毫秒)的慢帧数量。
+ * 只保存累计值，记录时不分配对象。
+ */
+public final class FrameStats {
+    // 60fps下一帧的预算(纳秒)
+    public static final long FRAME_BUDGET_NANOS = 16666667L;
+
+    // 统计的帧数
+    private long frameCount;
+    // 帧间隔总和(纳秒)
+    private long totalNanos;
+    // 最长的帧间隔(纳秒)
+    private long maxNanos;
+    // 超过预算的帧数
+    private long slowFrameCount;
+    // 上一帧的时点(纳秒，0表示动画尚未开始)
+    private long lastFrameNanos;
+
+    /**
+     * 记录一帧，与上一帧的间隔计入统计
+     *
+     * @param frameTimeNanos 这一帧的时点(纳秒)
+     */
+    public synchronized void onFrame(long frameTimeNanos) {
+        if (lastFrameNanos != 0) {
+            record(frameTimeNanos - lastFrameNanos);
+        }
+        lastFrameNanos = frameTimeNanos;
+    }
+
+    /**
+     * 动画结束，下一帧不再与这一帧计算间隔
+     */
+    public synchronized void onAnimationEnd() {
+        lastFrameNanos = 0;
+    }
+
+    /**
+     * 直接记录一个帧耗时
+     *
+     * @param frameNanos 帧耗时(纳秒)
+     */
+    public synchronized void record(long frameNanos) {
+        frameCount++;
+        totalNanos += frameNanos;
+        if (frameNanos > maxNanos) {
+            maxNanos = frameNanos;
+        }
+        if (frameNanos > FRAME_BUDGET_NANOS) {
+            slowFrameCount++;
+        }
+    }
+
+    /**
+     * 清空统计
+     */
+    public synchronized void reset() {
+        frameCount = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        slowFrameCount = 0;
+        lastFrameNanos = 0;
+    }
+
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    public synchronized long getSlowFrameCount() {
+        return slowFrameCount;
+    }
+
+    public synchronized double getAverageFrameMillis() {
+        return frameCount == 0 ? 0 : totalNanos / 1e6 / frameCount;
+    }
+
+    public synchronized double getMaxFrameMillis() {
+        return maxNanos / 1e6;
+    }
+}
@@ -0,0 +1,207 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 17:20
+ * 作用：点击和长按的手势状态机(不依赖Android)
+ * <p>
+ * 时间全部来自触摸事件的时点(event.getEventTime())，不再为每次触摸创建Date对象。
+ * 长按由控件在按下时安排的定时回调{@link #onLongPressTimeout(long)}触发，手指仍然按着时就会响应；
+ * 移动超出容差、第二根手指按下、取消事件或控件开始拖动都会取消这一次手势。
+ * 不需要长按时(没有长按监听器)关闭长按，按住多久都在抬起时判定为点击。
+ * 输入只有坐标和时点，可以在JVM上用合成的事件驱动。
+ */
+public final class GestureTracker {
+    // 状态：空闲
+    public static final int STATE_IDLE = 0;
+    // 状态：按下(可能成为点击或长按)
+    public static final int STATE_PRESSED = 1;
+    // 状态：已经触发长按，等待抬起
+    public static final int STATE_LONG_PRESSED = 2;
+    // 状态：已取消，等待抬起
+    public static final int STATE_CANCELLED = 3;
+
+    /**
+     * 手势回调
+     */
+    public interface Callback {
+        /**
+         * 点击
+         *
+         * @param x 按下的X坐标
+         * @param y 按下的Y坐标
+         */
+        void onTap(float x, float y);
+
+        /**
+         * 长按
+         *
+         * @param x 按下的X坐标
+         * @param y 按下的Y坐标
+         */
+        void onLongPress(float x, float y);
+    }
+
+    // 手势回调
+    private final Callback callback;
+    // 长按的时间(毫秒)
+    private final long longPressTimeout;
+    // 是否识别长按
+    private boolean longPressEnabled = true;
+    // X方向的移动容差
+    private float slopX;
+    // Y方向的移动容差
+    private float slopY;
+
+    // 当前状态
+    private int state = STATE_IDLE;
+    // 按下的X坐标
+    private float downX;
+    // 按下的Y坐标
+    private float downY;
+    // 按下的时点(毫秒)
+    private long downTime;
+
+    /**
+     * 构造函数
+     *
+     * @param callback         手势回调
+     * @param longPressTimeout 长按的时间(毫秒)
+     */
+    public GestureTracker(Callback callback, long longPressTimeout) {
+        if (callback == null) {
+            throw new IllegalArgumentException("callback == null");
+        }
+        this.callback = callback;
+        this.longPressTimeout = longPressTimeout;
+    }
+
+    /**
+     * 设置移动容差(超过时手势被取消)
+     *
+     * @param slopX X方向的移动容差
+     * @param slopY Y方向的移动容差
+     */
+    public void setSlop(float slopX, float slopY) {
+        this.slopX = slopX;
+        this.slopY = slopY;
+    }
+
+    /**
+     * 设置是否识别长按(关闭后不触发长按，抬起时总是判定为点击)
+     *
+     * @param enabled 是否识别
+     */
+    public void setLongPressEnabled(boolean enabled) {
+        longPressEnabled = enabled;
+    }
+
+    public boolean isLongPressEnabled() {
+        return longPressEnabled;
+    }
+
+    /**
+     * 按下
+     *
+     * @param x         X坐标
+     * @param y         Y坐标
+     * @param eventTime 事件时点(毫秒)
+     */
+    public void onDown(float x, float y, long eventTime) {
+        state = STATE_PRESSED;
+        downX = x;
+        downY = y;
+        downTime = eventTime;
+    }
+
+    /**
+     * 移动
+     *
+     * @param x         X坐标
+     * @param y         Y坐标
+     * @param eventTime 事件时点(毫秒)
+     */
+    public void onMove(float x, float y, long eventTime) {
+        if (state != STATE_PRESSED) {
+            return;
+        }
+        if (Math.abs(x - downX) >= slopX || Math.abs(y - downY) >= slopY) {
+            state = STATE_CANCELLED;
+            return;
+        }
+        // 定时回调被延迟时，由移动事件补发长按
+        onLongPressTimeout(eventTime);
+    }
+
+    /**
+     * 抬起
+     *
+     * @param eventTime 事件时点(毫秒)
+     */
+    public void onUp(long eventTime) {
+        int lastState = state;
+        state = STATE_IDLE;
+        if (lastState != STATE_PRESSED) {
+            return;
+        }
+        if (longPressEnabled && eventTime - downTime >= longPressTimeout) {
+            callback.onLongPress(downX, downY);
+        } else {
+            callback.onTap(downX, downY);
+        }
+    }
+
+    /**
+     * 第二根手指按下(多点触摸不再是点击或长按)
+     */
+    public void onPointerDown() {
+        cancel();
+    }
+
+    /**
+     * 取消事件，回到空闲状态
+     */
+    public void onCancel() {
+        state = STATE_IDLE;
+    }
+
+    /**
+     * 取消这一次手势(例如控件开始拖动)，直到下一次按下之前不再触发
+     */
+    public void cancel() {
+        if (state != STATE_IDLE) {
+            state = STATE_CANCELLED;
+        }
+    }
+
+    /**
+     * 长按定时回调
+     *
+     * @param now 当前时点(毫秒，与事件时点相同的时钟)
+     * @return 是否触发了长按
+     */
+    public boolean onLongPressTimeout(long now) {
+        if (!longPressEnabled || state != STATE_PRESSED || now - downTime < longPressTimeout) {
+            return false;
+        }
+        state = STATE_LONG_PRESSED;
+        callback.onLongPress(downX, downY);
+        return true;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public long getLongPressTimeout() {
+        return longPressTimeout;
+    }
+
+    public float getDownX() {
+        return downX;
+    }
+
+    public float getDownY() {
+        return downY;
+    }
+}
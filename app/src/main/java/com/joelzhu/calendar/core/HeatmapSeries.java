@@ -0,0 +1,216 @@
+package com.joelzhu.calendar.core;
+
+import java.util.Arrays;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 21:10
+ * 作用：以纪元日为下标的每日数值序列(热力图数据)
+ * <p>
+ * 数值保存在一个从第一天开始连续排列的float数组中，没有数据的日期为NaN，任意一天的读取都是一次下标运算，
+ * 多年的数据也只占每天4个字节。最小值、最大值在追加数据时逐个更新，不需要重新扫描整个数组；
+ * 覆盖已有的数值时范围只会扩大，需要收缩时调用{@link #recomputeRange()}。
+ * 所有方法都是线程安全的，绘制时一次取出整个可见窗口的等级。
+ */
+public final class HeatmapSeries {
+    // 初始容量
+    private static final int INITIAL_CAPACITY = 64;
+
+    // 第一天的纪元日
+    private final int startEpochDay;
+    // 每天的数值(没有数据时为NaN)
+    private float[] values = new float[INITIAL_CAPACITY];
+    // 已有数据的天数(包括中间没有数据的日期)
+    private int size;
+    // 最小值
+    private float min = Float.POSITIVE_INFINITY;
+    // 最大值
+    private float max = Float.NEGATIVE_INFINITY;
+    // 修改次数(控件据此判断绘制的内容是否过期)
+    private int version;
+
+    /**
+     * 构造函数
+     *
+     * @param startEpochDay 第一天的纪元日
+     */
+    public HeatmapSeries(int startEpochDay) {
+        this.startEpochDay = startEpochDay;
+    }
+
+    /**
+     * 追加下一天的数值
+     *
+     * @param value 数值(NaN表示没有数据)
+     */
+    public synchronized void append(float value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+        include(value);
+        version++;
+    }
+
+    /**
+     * 批量追加之后若干天的数值
+     *
+     * @param source 数值数组
+     * @param offset 开始的下标
+     * @param count  天数
+     */
+    public synchronized void append(float[] source, int offset, int count) {
+        checkRange(source.length, offset, count);
+        ensureCapacity(size + count);
+        System.arraycopy(source, offset, values, size, count);
+        for (int i = 0; i < count; i++) {
+            include(source[offset + i]);
+        }
+        size += count;
+        version++;
+    }
+
+    /**
+     * 批量追加之后若干天的数值(按float保存)
+     *
+     * @param source 数值数组
+     * @param offset 开始的下标
+     * @param count  天数
+     */
+    public synchronized void append(double[] source, int offset, int count) {
+        checkRange(source.length, offset, count);
+        ensureCapacity(size + count);
+        for (int i = 0; i < count; i++) {
+            float value = (float) source[offset + i];
+            values[size + i] = value;
+            include(value);
+        }
+        size += count;
+        version++;
+    }
+
+    /**
+     * 设置某一天的数值(超过最后一天时，中间的日期为没有数据)
+     *
+     * @param epochDay 纪元日(不能早于第一天)
+     * @param value    数值(NaN表示没有数据)
+     */
+    public synchronized void set(int epochDay, float value) {
+        int index = epochDay - startEpochDay;
+        if (index < 0) {
+            throw new IllegalArgumentException("epochDay < startEpochDay: " + epochDay);
+        }
+        if (index >= size) {
+            ensureCapacity(index + 1);
+            Arrays.fill(values, size, index, Float.NaN);
+            size = index + 1;
+        }
+        values[index] = value;
+        include(value);
+        version++;
+    }
+
+    /**
+     * 获取某一天的数值
+     *
+     * @param epochDay 纪元日
+     * @return 数值，没有数据时为NaN
+     */
+    public synchronized float get(int epochDay) {
+        int index = epochDay - startEpochDay;
+        return index >= 0 && index < size ? values[index] : Float.NaN;
+    }
+
+    /**
+     * 一次取出连续若干天的等级(按当前的最小值、最大值等分)
+     *
+     * @param firstEpochDay 第一天
+     * @param count         天数
+     * @param levels        等级数量
+     * @param out           输出：每天的等级(0 ~ levels-1)，没有数据时为-1
+     */
+    public synchronized void getLevels(int firstEpochDay, int count, int levels, int[] out) {
+        float scale = max > min ? levels / (max - min) : 0;
+        int index = firstEpochDay - startEpochDay;
+        for (int i = 0; i < count; i++, index++) {
+            float value = index >= 0 && index < size ? values[index] : Float.NaN;
+            if (value != value) {
+                out[i] = -1;
+            } else if (scale == 0) {
+                out[i] = levels - 1;
+            } else {
+                int level = (int) ((value - min) * scale);
+                out[i] = level < 0 ? 0 : level >= levels ? levels - 1 : level;
+            }
+        }
+    }
+
+    /**
+     * 重新扫描全部数据，计算最小值、最大值(覆盖或清除了原来的极值之后使用)
+     */
+    public synchronized void recomputeRange() {
+        min = Float.POSITIVE_INFINITY;
+        max = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            include(values[i]);
+        }
+        version++;
+    }
+
+    /**
+     * 把数值计入最小值、最大值
+     *
+     * @param value 数值
+     */
+    private void include(float value) {
+        // NaN参与比较的结果都是false，不会改变范围
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * 确保数组能容纳指定的天数
+     *
+     * @param capacity 天数
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+
+    /**
+     * 检查数组范围
+     *
+     * @param length 数组长度
+     * @param offset 开始的下标
+     * @param count  数量
+     */
+    private static void checkRange(int length, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > length - count) {
+            throw new IllegalArgumentException("offset " + offset + ", count " + count + ", length " + length);
+        }
+    }
+
+    public int getStartEpochDay() {
+        return startEpochDay;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized float getMin() {
+        return min;
+    }
+
+    public synchronized float getMax() {
+        return max;
+    }
+
+    public synchronized int getVersion() {
+        return version;
+    }
+}
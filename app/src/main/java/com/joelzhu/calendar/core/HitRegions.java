@@ -0,0 +1,101 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 17:10
+ * 作用：日历控件的点击区域表
+ * <p>
+ * 尺寸变化时预先计算月份条、跳转按钮、星期条和日期单元格的边界，
+ * 判定时只做几次比较和一次除法即可得到区域(O(1))，不再为每个区域串联浮点比较。
+ * 日期单元格的区域就是它在{@link MonthGrid}中的位置(0-41)，其他区域为负数。
+ */
+public final class HitRegions {
+    // 区域：不在控件内
+    public static final int REGION_NONE = -1;
+    // 区域：前一个月按钮
+    public static final int REGION_PREVIOUS = -2;
+    // 区域：后一个月按钮
+    public static final int REGION_NEXT = -3;
+    // 区域：月份条(按钮以外的部分)
+    public static final int REGION_MONTH_BAR = -4;
+    // 区域：星期条
+    public static final int REGION_WEEK_BAR = -5;
+
+    // 控件宽度
+    private float width;
+    // 控件高度
+    private float height;
+    // 月份条的底端
+    private float monthBarBottom;
+    // 星期条的底端(日期区域的顶端)
+    private float weekBarBottom;
+    // 前一个月按钮的右边
+    private float previousRight;
+    // 后一个月按钮的左边
+    private float nextLeft;
+    // 单元格宽度的倒数
+    private float inverseUnitWidth;
+    // 单元格高度的倒数
+    private float inverseUnitHeight;
+    // 日期的行数
+    private int rows = MonthGrid.SIZE / MonthGrid.DAYS_OF_WEEK;
+
+    /**
+     * 计算区域表
+     *
+     * @param width          控件宽度
+     * @param height         控件高度
+     * @param monthBarHeight 月份条的高度(跳转按钮是同样大小的正方形)
+     * @param weekBarHeight  星期条的高度
+     * @param unitWidth      单元格宽度
+     * @param unitHeight     单元格高度
+     * @param rows           日期的行数
+     */
+    public void layout(float width, float height, float monthBarHeight, float weekBarHeight,
+                       float unitWidth, float unitHeight, int rows) {
+        this.width = width;
+        this.height = height;
+        this.monthBarBottom = monthBarHeight;
+        this.weekBarBottom = monthBarHeight + weekBarHeight;
+        this.previousRight = monthBarHeight;
+        this.nextLeft = width - monthBarHeight;
+        this.inverseUnitWidth = unitWidth > 0 ? 1 / unitWidth : 0;
+        this.inverseUnitHeight = unitHeight > 0 ? 1 / unitHeight : 0;
+        this.rows = rows;
+    }
+
+    /**
+     * 判定坐标所在的区域
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @return 单元格位置(0-41)或REGION_*常量
+     */
+    public int regionAt(float x, float y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return REGION_NONE;
+        }
+        if (y < monthBarBottom) {
+            return x < previousRight ? REGION_PREVIOUS : x >= nextLeft ? REGION_NEXT : REGION_MONTH_BAR;
+        }
+        if (y < weekBarBottom) {
+            return REGION_WEEK_BAR;
+        }
+        int row = (int) ((y - weekBarBottom) * inverseUnitHeight);
+        int column = (int) (x * inverseUnitWidth);
+        if (row >= rows || column >= MonthGrid.DAYS_OF_WEEK) {
+            return REGION_NONE;
+        }
+        return row * MonthGrid.DAYS_OF_WEEK + column;
+    }
+
+    /**
+     * 判断区域是否为日期单元格
+     *
+     * @param region 区域
+     * @return 是否为日期单元格
+     */
+    public static boolean isCell(int region) {
+        return region >= 0;
+    }
+}
@@ -0,0 +1,336 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 20:40
+ * 作用：农历、节气和节日的查表换算(1900年1月31日 ~ 2100年12月31日)
+ * <p>
+ * 农历每年的大小月和闰月压缩在一个int中，每年的24个节气压缩在一个long中(每个节气2位，
+ * 表示相对于该节气最早日期的偏移)，每年的正月初一在类加载时换算成纪元日。
+ * 换算只做查表和整数运算，不创建对象；显示的文字全部预先生成，绘制时只按下标取用。
+ * 一个实例只在一个线程中使用(内部有换算用的缓冲区)，静态方法可以在任何线程中调用。
+ */
+public final class LunarCalendar {
+    // 支持的第一个农历年
+    public static final int MIN_YEAR = 1900;
+    // 支持的最后一个农历年(节气和公历节日只到这一年的12月31日)
+    public static final int MAX_YEAR = 2100;
+
+    // 文字下标：初一 ~ 三十
+    public static final int LABEL_DAY = 0;
+    // 文字下标：正月 ~ 腊月
+    public static final int LABEL_MONTH = 30;
+    // 文字下标：闰正月 ~ 闰腊月
+    public static final int LABEL_LEAP_MONTH = 42;
+    // 文字下标：小寒 ~ 冬至
+    public static final int LABEL_SOLAR_TERM = 54;
+    // 文字下标：第一个节日(之后全部为节日)
+    public static final int LABEL_FESTIVAL = 78;
+
+    // 农历数据(1900 ~ 2100年)：低4位为闰月(0为无闰月)，第15 ~ 4位依次为1 ~ 12月是否为大月，第16位为闰月是否为大月
+    private static final int[] LUNAR_INFO = {
+            0x04bd8, 0x04ae0, 0x0a570, 0x054d5, 0x0d260, 0x0d950, 0x16554, 0x056a0, 0x09ad0, 0x055d2,
+            0x04ae0, 0x0a5b6, 0x0a4d0, 0x0d250, 0x1d255, 0x0b540, 0x0d6a0, 0x0ada2, 0x095b0, 0x14977,
+            0x04970, 0x0a4b0, 0x0b4b5, 0x06a50, 0x06d40, 0x1ab54, 0x02b60, 0x09570, 0x052f2, 0x04970,
+            0x06566, 0x0d4a0, 0x0ea50, 0x16a95, 0x05ad0, 0x02b60, 0x186e3, 0x092e0, 0x1c8d7, 0x0c950,
+            0x0d4a0, 0x1d8a6, 0x0b550, 0x056a0, 0x1a5b4, 0x025d0, 0x092d0, 0x0d2b2, 0x0a950, 0x0b557,
+            0x06ca0, 0x0b550, 0x15355, 0x04da0, 0x0a5b0, 0x14573, 0x052b0, 0x0a9a8, 0x0e950, 0x06aa0,
+            0x0aea6, 0x0ab50, 0x04b60, 0x0aae4, 0x0a570, 0x05260, 0x0f263, 0x0d950, 0x05b57, 0x056a0,
+            0x096d0, 0x04dd5, 0x04ad0, 0x0a4d0, 0x0d4d4, 0x0d250, 0x0d558, 0x0b540, 0x0b6a0, 0x195a6,
+            0x095b0, 0x049b0, 0x0a974, 0x0a4b0, 0x0b27a, 0x06a50, 0x06d40, 0x0af46, 0x0ab60, 0x09570,
+            0x04af5, 0x04970, 0x064b0, 0x074a3, 0x0ea50, 0x06b58, 0x05ac0, 0x0ab60, 0x096d5, 0x092e0,
+            0x0c960, 0x0d954, 0x0d4a0, 0x0da50, 0x07552, 0x056a0, 0x0abb7, 0x025d0, 0x092d0, 0x0cab5,
+            0x0a950, 0x0b4a0, 0x0baa4, 0x0ad50, 0x055d9, 0x04ba0, 0x0a5b0, 0x15176, 0x052b0, 0x0a930,
+            0x07954, 0x06aa0, 0x0ad50, 0x05b52, 0x04b60, 0x0a6e6, 0x0a4e0, 0x0d260, 0x0ea65, 0x0d530,
+            0x05aa0, 0x076a3, 0x096d0, 0x04afb, 0x04ad0, 0x0a4d0, 0x1d0b6, 0x0d250, 0x0d520, 0x0dd45,
+            0x0b5a0, 0x056d0, 0x055b2, 0x049b0, 0x0a577, 0x0a4b0, 0x0aa50, 0x1b255, 0x06d20, 0x0ada0,
+            0x14b63, 0x09370, 0x049f8, 0x04970, 0x064b0, 0x168a6, 0x0ea50, 0x06aa0, 0x1a6c4, 0x0aae0,
+            0x092e0, 0x0d2e3, 0x0c960, 0x0d557, 0x0d4a0, 0x0da50, 0x05d55, 0x056a0, 0x0a6d0, 0x055d4,
+            0x052d0, 0x0a9b8, 0x0a950, 0x0b4a0, 0x0b6a6, 0x0ad50, 0x055a0, 0x0aba4, 0x0a5b0, 0x052b0,
+            0x0b273, 0x06930, 0x07337, 0x06aa0, 0x0ad50, 0x14b55, 0x04b60, 0x0a570, 0x054e4, 0x0d160,
+            0x0e968, 0x0d520, 0x0daa0, 0x16aa6, 0x056d0, 0x04ae0, 0x0a9d4, 0x0a2d0, 0x0d150, 0x0f252,
+            0x0d520
+    };
+
+    // 节气数据(1900 ~ 2100年)：第2i ~ 2i+1位为第i个节气(0为小寒)相对于TERM_BASE_DAYS[i]的天数
+    private static final long[] SOLAR_TERMS = {
+            0x5aa665a65a56L, 0x6aaaa6aa9a5aL, 0xaaaaaabaaa6aL, 0xaaabbabbafaaL, 0x5aa665a65aabL,
+            0x6aaaa6aa9a5aL, 0xaaaaaaaaaa6aL, 0xaaabbabbafaaL, 0x5aa665a65aabL, 0x6aaaa6aa9a5aL,
+            0xaaaaaaaaaa6aL, 0xaaabbabbafaaL, 0x56a665a65aabL, 0x6aa6a6aa9a56L, 0xaaaaaaaa9a5aL,
+            0xaaabaabaaeaaL, 0x569665a65aaaL, 0x6aa6a6a69a56L, 0x6aaaaaaa9a5aL, 0xaaabaabaaeaaL,
+            0x569665a65aaaL, 0x5aa6a6a65a56L, 0x6aaaaaaa9a5aL, 0xaaabaabaaa6aL, 0x569665a65aaaL,
+            0x5aa6a6a65a56L, 0x6aaaa6aa9a5aL, 0xaaabaabaaa6aL, 0x555665a65aaaL, 0x5aa665a65a56L,
+            0x6aaaa6aa9a5aL, 0xaaaaaabaaa6aL, 0x555665665aaaL, 0x5aa665a65a56L, 0x6aaaa6aa9a5aL,
+            0xaaaaaaaaaa6aL, 0x555665665aaaL, 0x5aa665a65a56L, 0x6aaaa6aa9a5aL, 0xaaaaaaaaaa6aL,
+            0x555665665aaaL, 0x5aa665a65a56L, 0x6aaaa6aa9a5aL, 0xaaaaaaaaaa6aL, 0x555665655aaaL,
+            0x569665a65a56L, 0x6aa6a6aa9a56L, 0xaaaaaaaa9a5aL, 0x5556556559aaL, 0x569665a65a55L,
+            0x6aa6a6a65a56L, 0xaaaaaaaa9a5aL, 0x5556556559aaL, 0x569665a65a55L, 0x5aa6a6a65a56L,
+            0x6aaaa6aa9a5aL, 0x5556556555aaL, 0x569665a65a55L, 0x5aa665a65a56L, 0x6aaaa6aa9a5aL,
+            0x55555565556aL, 0x555665665a55L, 0x5aa665a65a56L, 0x6aaaa6aa9a5aL, 0x55555565556aL,
+            0x555665665a55L, 0x5aa665a65a56L, 0x6aaaa6aa9a5aL, 0x55555555556aL, 0x555665665a55L,
+            0x5aa665a65a56L, 0x6aaaa6aa9a5aL, 0x55555555556aL, 0x555665655a55L, 0x5aa665a65a56L,
+            0x6aa6a6aa9a5aL, 0x55555555456aL, 0x555655655a55L, 0x5a9665a65a56L, 0x6aa6a6a69a56L,
+            0x55555555456aL, 0x555655655a55L, 0x569665a65a56L, 0x6aa6a6a65a56L, 0x55555155455aL,
+            0x555655655955L, 0x569665a65a55L, 0x5aa6a5a65a56L, 0x15555155455aL, 0x555555655555L,
+            0x569665665a55L, 0x5aa665a65a56L, 0x15555155455aL, 0x555555655515L, 0x555665665a55L,
+            0x5aa665a65a56L, 0x15555155455aL, 0x555555555515L, 0x555665665a55L, 0x5aa665a65a56L,
+            0x15555155455aL, 0x555555555515L, 0x555665665a55L, 0x5aa665a65a56L, 0x15555155455aL,
+            0x555555555515L, 0x555655655a55L, 0x5aa665a65a56L, 0x15515155455aL, 0x555555554515L,
+            0x555655655a55L, 0x5a9665a65a56L, 0x15515151455aL, 0x555551554515L, 0x555655655a55L,
+            0x569665a65a56L, 0x155151510556L, 0x555551554505L, 0x555655655955L, 0x569665665a55L,
+            0x155110510556L, 0x155551554505L, 0x555555655555L, 0x569665665a55L, 0x055110510556L,
+            0x155551554505L, 0x555555555515L, 0x555665665a55L, 0x055110510556L, 0x155551554505L,
+            0x555555555515L, 0x555665665a55L, 0x055110510556L, 0x155551554505L, 0x555555555515L,
+            0x555655655a55L, 0x055110510556L, 0x155551554505L, 0x555555555515L, 0x555655655a55L,
+            0x055110510556L, 0x155151514505L, 0x555555554515L, 0x555655655a55L, 0x054110510556L,
+            0x155151510505L, 0x555551554515L, 0x555655655a55L, 0x014110110556L, 0x155110510501L,
+            0x555551554505L, 0x555555655555L, 0x014110110555L, 0x155110510501L, 0x555551554505L,
+            0x555555555555L, 0x014110110555L, 0x055110510501L, 0x155551554505L, 0x555555555555L,
+            0x000110110555L, 0x055110510501L, 0x155551554505L, 0x555555555515L, 0x000110110555L,
+            0x055110510501L, 0x155551554505L, 0x555555555515L, 0x000100100555L, 0x055110510501L,
+            0x155151514505L, 0x555555555515L, 0x000100100555L, 0x054110510501L, 0x155151514505L,
+            0x555551554515L, 0x000100100555L, 0x054110510501L, 0x155150510505L, 0x555551554515L,
+            0x000100100555L, 0x014110110501L, 0x155110510505L, 0x555551554505L, 0x000000100055L,
+            0x014110110500L, 0x155110510501L, 0x555551554505L, 0x000000000055L, 0x014110110500L,
+            0x055110510501L, 0x155551554505L, 0x000000000055L, 0x000110110500L, 0x055110510501L,
+            0x155551554505L, 0x000000000015L, 0x000100110500L, 0x055110510501L, 0x155551554505L,
+            0x555555555515L
+    };
+
+    // 每个节气在这201年中最早的日期(第i个节气在公历i / 2 + 1月)
+    private static final int[] TERM_BASE_DAYS = {
+            4, 19, 3, 18, 4, 19, 4, 19, 4, 20, 4, 20, 6, 22, 6, 22, 6, 22, 7, 22, 6, 21, 6, 21};
+
+    // 农历节日(月 * 100 + 日，除夕另外判断)
+    private static final int[] LUNAR_FESTIVAL_DATES = {101, 115, 505, 707, 715, 815, 909, 1208, 1223};
+    // 公历节日(月 * 100 + 日，月为1-12)
+    private static final int[] SOLAR_FESTIVAL_DATES = {101, 308, 312, 501, 504, 601, 701, 801, 910, 1001};
+    // 文字下标：除夕
+    private static final int LABEL_NEW_YEARS_EVE = LABEL_FESTIVAL + LUNAR_FESTIVAL_DATES.length;
+    // 文字下标：第一个公历节日
+    private static final int LABEL_SOLAR_FESTIVAL = LABEL_NEW_YEARS_EVE + 1;
+
+    // 所有文字(按LABEL_*下标排列)
+    private static final String[] LABELS = {
+            "初一", "初二", "初三", "初四", "初五", "初六", "初七", "初八", "初九", "初十",
+            "十一", "十二", "十三", "十四", "十五", "十六", "十七", "十八", "十九", "二十",
+            "廿一", "廿二", "廿三", "廿四", "廿五", "廿六", "廿七", "廿八", "廿九", "三十",
+            "正月", "二月", "三月", "四月", "五月", "六月", "七月", "八月", "九月", "十月", "冬月", "腊月",
+            "闰正月", "闰二月", "闰三月", "闰四月", "闰五月", "闰六月",
+            "闰七月", "闰八月", "闰九月", "闰十月", "闰冬月", "闰腊月",
+            "小寒", "大寒", "立春", "雨水", "惊蛰", "春分", "清明", "谷雨", "立夏", "小满", "芒种", "夏至",
+            "小暑", "大暑", "立秋", "处暑", "白露", "秋分", "寒露", "霜降", "立冬", "小雪", "大雪", "冬至",
+            "春节", "元宵", "端午", "七夕", "中元", "中秋", "重阳", "腊八", "小年", "除夕",
+            "元旦", "妇女节", "植树节", "劳动节", "青年节", "儿童节", "建党节", "建军节", "教师节", "国庆节"};
+
+    // 每个农历年正月初一的纪元日(最后一个为2101年的正月初一)
+    private static final int[] NEW_YEAR_EPOCH_DAYS = new int[LUNAR_INFO.length + 1];
+    // 支持的第一天
+    private static final int MIN_EPOCH_DAY;
+    // 支持的最后一天
+    private static final int MAX_EPOCH_DAY;
+
+    static {
+        // 1900年的正月初一为1900年1月31日
+        NEW_YEAR_EPOCH_DAYS[0] = EpochDays.of(MIN_YEAR, 0, 31);
+        for (int i = 0; i < LUNAR_INFO.length; i++) {
+            NEW_YEAR_EPOCH_DAYS[i + 1] = NEW_YEAR_EPOCH_DAYS[i] + daysInYear(LUNAR_INFO[i]);
+        }
+        MIN_EPOCH_DAY = NEW_YEAR_EPOCH_DAYS[0];
+        MAX_EPOCH_DAY = EpochDays.of(MAX_YEAR, 11, 31);
+    }
+
+    // 公历换算的缓冲区(年、月(0-11)、日)
+    private final int[] date = new int[3];
+
+    /**
+     * 计算农历年的天数
+     *
+     * @param info 农历数据
+     * @return 天数
+     */
+    private static int daysInYear(int info) {
+        // 12个月按小月计为348天，每个大月多1天
+        int days = 348 + Integer.bitCount(info & 0xfff0);
+        if ((info & 0xf) != 0) {
+            days += (info & 0x10000) != 0 ? 30 : 29;
+        }
+        return days;
+    }
+
+    /**
+     * 把纪元日换算成农历
+     *
+     * @param epochDay 纪元日
+     * @return 压缩的农历日期：第16位起为年的偏移，第8 ~ 11位为月(1-12)，第6位为是否闰月，
+     * 第5位为是否为该月最后一天，第0 ~ 4位为日(1-30)；超出范围时为-1
+     */
+    private static int locate(int epochDay) {
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            return -1;
+        }
+        // 按平均年长估算年份，再按正月初一修正(最多修正一年)
+        int yearIndex = (int) ((epochDay - MIN_EPOCH_DAY) * 4L / 1461);
+        if (yearIndex >= LUNAR_INFO.length || epochDay < NEW_YEAR_EPOCH_DAYS[yearIndex]) {
+            yearIndex--;
+        } else if (epochDay >= NEW_YEAR_EPOCH_DAYS[yearIndex + 1]) {
+            yearIndex++;
+        }
+
+        int info = LUNAR_INFO[yearIndex];
+        int leapMonth = info & 0xf;
+        int offset = epochDay - NEW_YEAR_EPOCH_DAYS[yearIndex];
+        // 依次扣除每个月的天数(闰月紧跟在同名的月份之后，一年最多13个月)
+        for (int month = 1; month <= 12; month++) {
+            int length = (info & (0x10000 >> month)) != 0 ? 30 : 29;
+            if (offset < length) {
+                return pack(yearIndex, month, false, offset, length);
+            }
+            offset -= length;
+            if (month == leapMonth) {
+                length = (info & 0x10000) != 0 ? 30 : 29;
+                if (offset < length) {
+                    return pack(yearIndex, month, true, offset, length);
+                }
+                offset -= length;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 压缩农历日期
+     *
+     * @param yearIndex 年的偏移
+     * @param month     月(1-12)
+     * @param leap      是否闰月
+     * @param offset    该月的第几天(从0开始)
+     * @param length    该月的天数
+     * @return 压缩的农历日期
+     */
+    private static int pack(int yearIndex, int month, boolean leap, int offset, int length) {
+        return yearIndex << 16 | month << 8 | (leap ? 0x40 : 0) | (offset == length - 1 ? 0x20 : 0) | (offset + 1);
+    }
+
+    /**
+     * 把纪元日换算成农历
+     *
+     * @param epochDay 纪元日
+     * @param out      输出：out[0]为农历年，out[1]为月(1-12)，out[2]为日(1-30)，out[3]为1时表示闰月
+     * @return 是否在支持的范围内(超出范围时不修改out)
+     */
+    public static boolean toLunar(int epochDay, int[] out) {
+        int lunar = locate(epochDay);
+        if (lunar < 0) {
+            return false;
+        }
+        out[0] = MIN_YEAR + (lunar >>> 16);
+        out[1] = (lunar >> 8) & 0xf;
+        out[2] = lunar & 0x1f;
+        out[3] = (lunar & 0x40) != 0 ? 1 : 0;
+        return true;
+    }
+
+    /**
+     * 计算公历日期的节气
+     *
+     * @param year  年
+     * @param month 月(0-11)
+     * @param day   日(1-31)
+     * @return 节气(0为小寒，23为冬至)，不是节气时为-1
+     */
+    public static int solarTermOf(int year, int month, int day) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return -1;
+        }
+        long terms = SOLAR_TERMS[year - MIN_YEAR];
+        // 每个月有两个节气
+        for (int term = month * 2; term <= month * 2 + 1; term++) {
+            if (day == TERM_BASE_DAYS[term] + (int) ((terms >>> (term * 2)) & 3)) {
+                return term;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 计算某一天显示的文字
+     * <p>
+     * 优先级为：农历节日、公历节日、节气、农历月份(初一)、农历日。
+     *
+     * @param epochDay 纪元日
+     * @return 文字下标(用{@link #getLabel(int)}取出文字)，超出范围时为-1
+     */
+    public int labelOf(int epochDay) {
+        int lunar = locate(epochDay);
+        if (lunar < 0) {
+            return -1;
+        }
+        int month = (lunar >> 8) & 0xf;
+        int day = lunar & 0x1f;
+        boolean leap = (lunar & 0x40) != 0;
+
+        // 农历节日(闰月不过节)
+        if (!leap) {
+            int lunarDate = month * 100 + day;
+            for (int i = 0; i < LUNAR_FESTIVAL_DATES.length; i++) {
+                if (LUNAR_FESTIVAL_DATES[i] == lunarDate) {
+                    return LABEL_FESTIVAL + i;
+                }
+            }
+            if (month == 12 && (lunar & 0x20) != 0) {
+                return LABEL_NEW_YEARS_EVE;
+            }
+        }
+
+        // 公历节日
+        EpochDays.toDate(epochDay, date);
+        int solarDate = (date[1] + 1) * 100 + date[2];
+        for (int i = 0; i < SOLAR_FESTIVAL_DATES.length; i++) {
+            if (SOLAR_FESTIVAL_DATES[i] == solarDate) {
+                return LABEL_SOLAR_FESTIVAL + i;
+            }
+        }
+
+        // 节气
+        int term = solarTermOf(date[0], date[1], date[2]);
+        if (term >= 0) {
+            return LABEL_SOLAR_TERM + term;
+        }
+
+        // 初一显示月份，其他日期显示日
+        if (day == 1) {
+            return (leap ? LABEL_LEAP_MONTH : LABEL_MONTH) + month - 1;
+        }
+        return LABEL_DAY + day - 1;
+    }
+
+    /**
+     * 获取文字
+     *
+     * @param label 文字下标
+     * @return 文字
+     */
+    public static String getLabel(int label) {
+        return LABELS[label];
+    }
+
+    /**
+     * 获取文字的数量(文字下标为0 ~ 数量-1)
+     *
+     * @return 文字的数量
+     */
+    public static int getLabelCount() {
+        return LABELS.length;
+    }
+
+    /**
+     * 判断文字是否为节日
+     *
+     * @param label 文字下标
+     * @return 是否为节日
+     */
+    public static boolean isFestival(int label) {
+        return label >= LABEL_FESTIVAL;
+    }
+}
@@ -0,0 +1,18 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 11:20
+ * 作用：日期标记(事件数量)的数据源
+ */
+public interface MarkerDataSource {
+    /**
+     * 获取连续若干天的标记数量
+     * <p>
+     * 日历每次切换月份时调用一次，应当在一次范围扫描内完成，并且不分配新对象。
+     *
+     * @param firstEpochDay 第一天的纪元日
+     * @param counts        输出的标记数量，counts[i]对应firstEpochDay + i，长度即天数
+     */
+    void getMarkerCounts(int firstEpochDay, int[] counts);
+}
@@ -0,0 +1,176 @@
+package com.joelzhu.calendar.core;
+
+import java.util.Arrays;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 11:25
+ * 作用：以纪元日为键的日期标记索引
+ * <p>
+ * 数据保存在按纪元日升序排列的两个基本类型数组中(纪元日、数量)，查询一个可见窗口只需要
+ * 一次二分查找加一次顺序扫描。新添加的标记先追加到缓冲区，下一次查询时排序合并，
+ * 因此批量导入几十万条事件时不会逐条移动数组。所有方法都是线程安全的。
+ */
+public final class MarkerIndex implements MarkerDataSource {
+    // 初始容量
+    private static final int INITIAL_CAPACITY = 16;
+
+    // 已合并的纪元日(升序，不重复)
+    private int[] days = new int[INITIAL_CAPACITY];
+    // 已合并的每天标记数量
+    private int[] counts = new int[INITIAL_CAPACITY];
+    // 已合并的天数
+    private int size;
+    // 待合并的标记(高32位为纪元日，低32位为数量)
+    private long[] pending = new long[INITIAL_CAPACITY];
+    // 待合并的标记数量
+    private int pendingSize;
+    // 标记总数
+    private long total;
+
+    /**
+     * 添加一个标记
+     *
+     * @param epochDay 纪元日
+     */
+    public void add(int epochDay) {
+        add(epochDay, 1);
+    }
+
+    /**
+     * 添加若干个同一天的标记
+     *
+     * @param epochDay 纪元日
+     * @param count    数量
+     */
+    public synchronized void add(int epochDay, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (pendingSize == pending.length) {
+            pending = Arrays.copyOf(pending, pendingSize * 2);
+        }
+        pending[pendingSize++] = ((long) epochDay << 32) | count;
+        total += count;
+    }
+
+    /**
+     * 批量添加标记
+     *
+     * @param epochDays 纪元日数组(每个元素表示一个标记)
+     * @param from      开始位置(包含)
+     * @param to        结束位置(不包含)
+     */
+    public synchronized void addAll(int[] epochDays, int from, int to) {
+        int length = to - from;
+        if (pendingSize + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + length));
+        }
+        for (int i = from; i < to; i++) {
+            pending[pendingSize++] = ((long) epochDays[i] << 32) | 1;
+        }
+        total += length;
+    }
+
+    /**
+     * 获取某一天的标记数量
+     *
+     * @param epochDay 纪元日
+     * @return 标记数量
+     */
+    public synchronized int getCount(int epochDay) {
+        merge();
+        int index = Arrays.binarySearch(days, 0, size, epochDay);
+        return index >= 0 ? counts[index] : 0;
+    }
+
+    @Override
+    public synchronized void getMarkerCounts(int firstEpochDay, int[] counts) {
+        merge();
+        Arrays.fill(counts, 0);
+        // 找到第一个不小于起始纪元日的位置，然后顺序扫描到窗口结束
+        int index = Arrays.binarySearch(days, 0, size, firstEpochDay);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        int lastEpochDay = firstEpochDay + counts.length;
+        for (; index < size && days[index] < lastEpochDay; index++) {
+            counts[days[index] - firstEpochDay] = this.counts[index];
+        }
+    }
+
+    /**
+     * 获取有标记的天数
+     *
+     * @return 天数
+     */
+    public synchronized int getDayCount() {
+        merge();
+        return size;
+    }
+
+    /**
+     * 获取标记总数
+     *
+     * @return 标记总数
+     */
+    public synchronized long getTotalCount() {
+        return total;
+    }
+
+    /**
+     * 清空所有标记
+     */
+    public synchronized void clear() {
+        size = 0;
+        pendingSize = 0;
+        total = 0;
+    }
+
+    /**
+     * 把缓冲区中的标记排序后合并到有序数组
+     */
+    private void merge() {
+        if (pendingSize == 0) {
+            return;
+        }
+        // 高32位是纪元日，直接按long排序即为按纪元日排序
+        Arrays.sort(pending, 0, pendingSize);
+        // 把缓冲区压缩为(纪元日, 数量)
+        int compactSize = 0;
+        for (int i = 0; i < pendingSize; i++) {
+            int day = (int) (pending[i] >> 32);
+            int count = (int) pending[i];
+            if (compactSize > 0 && (int) (pending[compactSize - 1] >> 32) == day) {
+                pending[compactSize - 1] += count;
+            } else {
+                pending[compactSize++] = ((long) day << 32) | count;
+            }
+        }
+
+        // 与已合并的有序数组归并(只在数据变化后的第一次查询时发生)
+        int capacity = Math.max(INITIAL_CAPACITY, size + compactSize);
+        int[] newDays = new int[capacity];
+        int[] newCounts = new int[capacity];
+        int i = 0;
+        int j = 0;
+        int newSize = 0;
+        while (i < size || j < compactSize) {
+            int pendingDay = j < compactSize ? (int) (pending[j] >> 32) : Integer.MAX_VALUE;
+            if (j >= compactSize || (i < size && days[i] < pendingDay)) {
+                newDays[newSize] = days[i];
+                newCounts[newSize++] = counts[i++];
+            } else if (i < size && days[i] == pendingDay) {
+                newDays[newSize] = pendingDay;
+                newCounts[newSize++] = counts[i++] + (int) pending[j++];
+            } else {
+                newDays[newSize] = pendingDay;
+                newCounts[newSize++] = (int) pending[j++];
+            }
+        }
+        days = newDays;
+        counts = newCounts;
+        size = newSize;
+        pendingSize = 0;
+    }
+}
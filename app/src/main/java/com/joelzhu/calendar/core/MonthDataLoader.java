@@ -0,0 +1,223 @@
+package com.joelzhu.calendar.core;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 13:30
+ * 作用：异步加载可见窗口(42天)的日期数据
+ * <p>
+ * 每次请求把当前窗口和相邻两个月的窗口提交到后台线程，已经不可见的加载任务会被取消，
+ * 结果通过结果线程(通常是主线程)回调，且只回调当前窗口。加载过的窗口保存在一个小的LRU缓存中。
+ * 后台线程和结果线程都由外部传入，在JVM上可以用同步执行的Executor得到确定的结果。
+ */
+public final class MonthDataLoader {
+    // 缓存的窗口数量
+    private static final int MAX_CACHED_WINDOWS = 6;
+
+    /**
+     * 加载完成的回调
+     */
+    public interface Callback {
+        /**
+         * 当前窗口加载完成(在结果线程中调用)
+         *
+         * @param firstEpochDay 窗口第一天的纪元日
+         * @param counts        每天的标记数量(只读)
+         */
+        void onMonthDataLoaded(int firstEpochDay, int[] counts);
+    }
+
+    // 数据源
+    private final MarkerDataSource dataSource;
+    // 执行加载的后台线程
+    private final Executor loadExecutor;
+    // 执行回调的结果线程
+    private final Executor resultExecutor;
+    // 加载完成的回调
+    private final Callback callback;
+    // 已加载的窗口
+    private final LinkedHashMap<Integer, int[]> loaded;
+    // 正在加载的窗口
+    private final Map<Integer, LoadTask> inFlight = new HashMap<>();
+    // 当前可见窗口
+    private int currentEpochDay = Integer.MIN_VALUE;
+    // 已提交的加载次数
+    private long loadCount;
+    // 已取消的加载次数
+    private long cancelCount;
+
+    /**
+     * 构造函数
+     *
+     * @param dataSource     数据源
+     * @param loadExecutor   执行加载的后台线程
+     * @param resultExecutor 执行回调的结果线程
+     * @param callback       加载完成的回调
+     */
+    public MonthDataLoader(MarkerDataSource dataSource, Executor loadExecutor, Executor resultExecutor,
+                           Callback callback) {
+        this.dataSource = dataSource;
+        this.loadExecutor = loadExecutor;
+        this.resultExecutor = resultExecutor;
+        this.callback = callback;
+        this.loaded = new LinkedHashMap<Integer, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+                return size() > MAX_CACHED_WINDOWS;
+            }
+        };
+    }
+
+    /**
+     * 请求加载可见窗口，并预取相邻的两个窗口
+     *
+     * @param firstEpochDay    可见窗口第一天的纪元日
+     * @param previousEpochDay 上个月窗口第一天的纪元日
+     * @param nextEpochDay     下个月窗口第一天的纪元日
+     * @param out              已经加载过时，复制到这里的标记数量
+     * @return 已经加载过(out中已是结果)时返回true，否则加载完成后回调
+     */
+    public boolean request(int firstEpochDay, int previousEpochDay, int nextEpochDay, int[] out) {
+        boolean hit;
+        synchronized (this) {
+            currentEpochDay = firstEpochDay;
+            // 取消已经不需要的加载
+            Iterator<Map.Entry<Integer, LoadTask>> iterator = inFlight.entrySet().iterator();
+            while (iterator.hasNext()) {
+                int epochDay = iterator.next().getKey();
+                if (epochDay != firstEpochDay && epochDay != previousEpochDay && epochDay != nextEpochDay) {
+                    inFlight.get(epochDay).cancelled = true;
+                    iterator.remove();
+                    cancelCount++;
+                }
+            }
+            int[] counts = loaded.get(firstEpochDay);
+            hit = counts != null;
+            if (hit) {
+                System.arraycopy(counts, 0, out, 0, out.length);
+            }
+        }
+        // 先加载可见窗口，再预取相邻窗口
+        if (!hit) {
+            submit(firstEpochDay, out.length);
+        }
+        submit(previousEpochDay, out.length);
+        submit(nextEpochDay, out.length);
+        return hit;
+    }
+
+    /**
+     * 读取已经加载过的窗口(不触发加载)
+     *
+     * @param firstEpochDay 窗口第一天的纪元日
+     * @param out           已经加载过时，复制到这里的标记数量
+     * @return 是否已经加载过
+     */
+    public synchronized boolean peek(int firstEpochDay, int[] out) {
+        int[] counts = loaded.get(firstEpochDay);
+        if (counts == null) {
+            return false;
+        }
+        System.arraycopy(counts, 0, out, 0, out.length);
+        return true;
+    }
+
+    /**
+     * 取消所有加载，并清空已加载的窗口(数据变化时调用)
+     */
+    public synchronized void clear() {
+        for (LoadTask task : inFlight.values()) {
+            task.cancelled = true;
+            cancelCount++;
+        }
+        inFlight.clear();
+        loaded.clear();
+        currentEpochDay = Integer.MIN_VALUE;
+    }
+
+    public synchronized long getLoadCount() {
+        return loadCount;
+    }
+
+    public synchronized long getCancelCount() {
+        return cancelCount;
+    }
+
+    /**
+     * 提交一个窗口的加载(已加载或正在加载时忽略)
+     *
+     * @param firstEpochDay 窗口第一天的纪元日
+     * @param length        窗口天数
+     */
+    private void submit(int firstEpochDay, int length) {
+        LoadTask task;
+        synchronized (this) {
+            if (loaded.containsKey(firstEpochDay) || inFlight.containsKey(firstEpochDay)) {
+                return;
+            }
+            task = new LoadTask(firstEpochDay, length);
+            inFlight.put(firstEpochDay, task);
+            loadCount++;
+        }
+        loadExecutor.execute(task);
+    }
+
+    /**
+     * 加载完成，缓存结果并回调当前窗口
+     *
+     * @param task 加载任务
+     */
+    private void onLoaded(final LoadTask task) {
+        synchronized (this) {
+            if (task.cancelled) {
+                return;
+            }
+            inFlight.remove(task.firstEpochDay);
+            loaded.put(task.firstEpochDay, task.counts);
+        }
+        resultExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                boolean current;
+                synchronized (MonthDataLoader.this) {
+                    current = !task.cancelled && task.firstEpochDay == currentEpochDay;
+                }
+                if (current) {
+                    callback.onMonthDataLoaded(task.firstEpochDay, task.counts);
+                }
+            }
+        });
+    }
+
+    /**
+     * 一个窗口的加载任务
+     */
+    private final class LoadTask implements Runnable {
+        // 窗口第一天的纪元日
+        private final int firstEpochDay;
+        // 每天的标记数量
+        private final int[] counts;
+        // 是否已取消
+        private volatile boolean cancelled;
+
+        private LoadTask(int firstEpochDay, int length) {
+            this.firstEpochDay = firstEpochDay;
+            this.counts = new int[length];
+        }
+
+        @Override
+        public void run() {
+            // 开始前已被取消(用户继续切换了月份)则直接放弃
+            if (cancelled) {
+                return;
+            }
+            dataSource.getMarkerCounts(firstEpochDay, counts);
+            onLoaded(this);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.joelzhu.calendar.core;
+
+import java.util.Calendar;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 09:20
+ * 作用：月份网格计算引擎(不依赖Android，可在JVM上直接运行)
+ * <p>
+ * 一个月份网格固定为6行7列共42个单元格，每个单元格保存日期数字和一个打包的标志位，
+ * 标志位在一次遍历中同时计算出所属月份、周末、今日和选中状态，绘制与点击判定直接读取即可，
+ * 不可选的日期由{@link DisabledDates}按位标记。
+ * 调用{@link #freeze()}后网格变为只读快照，可以在线程间共享(参见{@link MonthGridCache})。
+ * 日期全部由{@link EpochDays}的整数运算得到，构建时不创建对象。
+ */
+public final class MonthGrid {
+    // 网格的单元格数量(6行7列)
+    public static final int SIZE = 42;
+    // 一周的天数
+    public static final int DAYS_OF_WEEK = 7;
+
+    // 标志位：属于上个月
+    public static final int FLAG_PREVIOUS_MONTH = 1;
+    // 标志位：属于当前月
+    public static final int FLAG_CURRENT_MONTH = 1 << 1;
+    // 标志位：属于下个月
+    public static final int FLAG_NEXT_MONTH = 1 << 2;
+    // 标志位：周末
+    public static final int FLAG_WEEKEND = 1 << 3;
+    // 标志位：今日
+    public static final int FLAG_TODAY = 1 << 4;
+    // 标志位：选中日期
+    public static final int FLAG_SELECTED = 1 << 5;
+    // 标志位：不可选(超出最早、最晚日期，或被业务规则排除)
+    public static final int FLAG_DISABLED = 1 << 6;
+    // 所属月份的标志位掩码
+    public static final int MASK_MONTH = FLAG_PREVIOUS_MONTH | FLAG_CURRENT_MONTH | FLAG_NEXT_MONTH;
+
+    // 每个单元格的日期数字
+    private final int[] days = new int[SIZE];
+    // 每个单元格的标志位
+    private final int[] flags = new int[SIZE];
+
+    // 网格显示的年
+    private int year;
+    // 网格显示的月(0-11)
+    private int month;
+    // 一周的第一天(Calendar.SUNDAY ~ Calendar.SATURDAY)
+    private int firstDayOfWeek = Calendar.SUNDAY;
+    // 本月1号在网格中的位置
+    private int firstPosition;
+    // 本月的天数
+    private int daysInMonth;
+    // 网格第一个单元格的纪元日
+    private int firstEpochDay;
+    // 今日在网格中的位置(不在本月时为-1)
+    private int todayPosition = -1;
+    // 选中日期在网格中的位置(没有选中时为-1，按位标记时为第一个选中的位置)
+    private int selectedPosition = -1;
+    // 是否已经冻结为只读快照
+    private volatile boolean frozen;
+
+    /**
+     * 构建月份网格(不标记今日)
+     *
+     * @param year           年
+     * @param month          月(0-11，超出范围时自动进位到相邻的年)
+     * @param firstDayOfWeek 一周的第一天(Calendar.SUNDAY ~ Calendar.SATURDAY)
+     */
+    public void build(int year, int month, int firstDayOfWeek) {
+        build(year, month, firstDayOfWeek, 0, 0, 0);
+    }
+
+    /**
+     * 构建月份网格
+     *
+     * @param year           年
+     * @param month          月(0-11，超出范围时自动进位到相邻的年)
+     * @param firstDayOfWeek 一周的第一天(Calendar.SUNDAY ~ Calendar.SATURDAY)
+     * @param todayYear      今日的年
+     * @param todayMonth     今日的月(0-11)
+     * @param todayDate      今日的日
+     */
+    public void build(int year, int month, int firstDayOfWeek, int todayYear, int todayMonth, int todayDate) {
+        checkNotFrozen();
+        // 修正溢出的月份
+        int yearOffset = EpochDays.floorDiv(month, 12);
+        this.year = year + yearOffset;
+        this.month = month - yearOffset * 12;
+        this.firstDayOfWeek = firstDayOfWeek;
+        // 得到本月1号是周几、本月的天数和上个月的天数
+        int firstDay = EpochDays.of(this.year, this.month, 1);
+        int dayOfWeek = EpochDays.dayOfWeek(firstDay);
+        daysInMonth = EpochDays.lengthOfMonth(this.year, this.month);
+        int daysInPreviousMonth = this.month == 0 ? 31 : EpochDays.lengthOfMonth(this.year, this.month - 1);
+
+        // 计算1号前需要显示的上个月天数(1号是一周的第一天时，补满上个月的一整周)
+        firstPosition = (dayOfWeek - firstDayOfWeek + DAYS_OF_WEEK) % DAYS_OF_WEEK;
+        if (firstPosition == 0) {
+            firstPosition = DAYS_OF_WEEK;
+        }
+        firstEpochDay = firstDay - firstPosition;
+        // 今日是否在本月
+        int today = todayDate > 0 && todayYear == this.year && todayMonth == this.month ? todayDate : 0;
+        int lastPosition = firstPosition + daysInMonth;
+        todayPosition = -1;
+        selectedPosition = -1;
+
+        // 一次遍历计算出所有单元格的日期和标志位
+        for (int position = 0; position < SIZE; position++) {
+            int day;
+            int flag;
+            if (position < firstPosition) {
+                day = daysInPreviousMonth - firstPosition + position + 1;
+                flag = FLAG_PREVIOUS_MONTH;
+            } else if (position < lastPosition) {
+                day = position - firstPosition + 1;
+                flag = FLAG_CURRENT_MONTH;
+                if (day == today) {
+                    flag |= FLAG_TODAY;
+                    todayPosition = position;
+                }
+            } else {
+                day = position - lastPosition + 1;
+                flag = FLAG_NEXT_MONTH;
+            }
+            if (isWeekendColumn(position % DAYS_OF_WEEK)) {
+                flag |= FLAG_WEEKEND;
+            }
+            days[position] = day;
+            flags[position] = flag;
+        }
+    }
+
+    /**
+     * 复制另一个网格的内容(不分配新对象)
+     *
+     * @param source 复制源
+     */
+    public void copyFrom(MonthGrid source) {
+        checkNotFrozen();
+        System.arraycopy(source.days, 0, days, 0, SIZE);
+        System.arraycopy(source.flags, 0, flags, 0, SIZE);
+        year = source.year;
+        month = source.month;
+        firstDayOfWeek = source.firstDayOfWeek;
+        firstPosition = source.firstPosition;
+        daysInMonth = source.daysInMonth;
+        firstEpochDay = source.firstEpochDay;
+        todayPosition = source.todayPosition;
+        selectedPosition = source.selectedPosition;
+    }
+
+    /**
+     * 判断两个网格的内容是否相同(月份、一周的第一天和每个单元格的标志位，不分配对象)
+     *
+     * @param other 另一个网格
+     * @return 是否相同
+     */
+    public boolean contentEquals(MonthGrid other) {
+        if (year != other.year || month != other.month || firstDayOfWeek != other.firstDayOfWeek ||
+                firstEpochDay != other.firstEpochDay) {
+            return false;
+        }
+        for (int position = 0; position < SIZE; position++) {
+            if (flags[position] != other.flags[position]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 标记今日
+     *
+     * @param todayYear  今日的年
+     * @param todayMonth 今日的月(0-11)
+     * @param todayDate  今日的日
+     */
+    public void markToday(int todayYear, int todayMonth, int todayDate) {
+        checkNotFrozen();
+        // 清除上一次的今日状态
+        if (todayPosition >= 0) {
+            flags[todayPosition] &= ~FLAG_TODAY;
+        }
+        todayPosition = todayYear == year && todayMonth == month ? positionOf(todayDate) : -1;
+        if (todayPosition >= 0) {
+            flags[todayPosition] |= FLAG_TODAY;
+        }
+    }
+
+    /**
+     * 设置选中日期在网格中的位置
+     *
+     * @param position 选中日期的位置(-1表示没有选中)
+     */
+    public void setSelectedPosition(int position) {
+        checkNotFrozen();
+        // 清除上一次的选中状态
+        if (selectedPosition >= 0) {
+            flags[selectedPosition] &= ~FLAG_SELECTED;
+        }
+        selectedPosition = position >= 0 && position < SIZE ? position : -1;
+        if (selectedPosition >= 0) {
+            flags[selectedPosition] |= FLAG_SELECTED;
+        }
+    }
+
+    /**
+     * 按位标记选中的日期(区间选择和多选)
+     *
+     * @param mask 第i位表示第i个单元格是否选中(参见{@link DateSelection#bitsOf(int, int)})
+     */
+    public void setSelectedMask(long mask) {
+        checkNotFrozen();
+        selectedPosition = -1;
+        for (int position = 0; position < SIZE; position++) {
+            if ((mask & (1L << position)) != 0) {
+                flags[position] |= FLAG_SELECTED;
+                if (selectedPosition < 0) {
+                    selectedPosition = position;
+                }
+            } else {
+                flags[position] &= ~FLAG_SELECTED;
+            }
+        }
+    }
+
+    /**
+     * 按位标记不可选的日期
+     *
+     * @param mask 第i位表示第i个单元格是否不可选(参见{@link DisabledDates#maskOf(int)})
+     */
+    public void setDisabledMask(long mask) {
+        checkNotFrozen();
+        for (int position = 0; position < SIZE; position++) {
+            if ((mask & (1L << position)) != 0) {
+                flags[position] |= FLAG_DISABLED;
+            } else {
+                flags[position] &= ~FLAG_DISABLED;
+            }
+        }
+    }
+
+    /**
+     * 冻结网格，之后任何修改都会抛出异常
+     *
+     * @return 网格自身
+     */
+    public MonthGrid freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * 网格是否已经冻结
+     *
+     * @return 是否已经冻结
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * 检查网格是否可以修改
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("MonthGrid is frozen");
+        }
+    }
+
+    /**
+     * 计算某个月份网格第一个单元格的纪元日(不需要构建整个网格)
+     *
+     * @param year           年
+     * @param month          月(0-11，超出范围时自动进位到相邻的年)
+     * @param firstDayOfWeek 一周的第一天
+     * @return 纪元日
+     */
+    public static int firstEpochDayOf(int year, int month, int firstDayOfWeek) {
+        int firstDay = EpochDays.of(year, month, 1);
+        int leading = (EpochDays.dayOfWeek(firstDay) - firstDayOfWeek + DAYS_OF_WEEK) % DAYS_OF_WEEK;
+        return firstDay - (leading == 0 ? DAYS_OF_WEEK : leading);
+    }
+
+    /**
+     * 判断某一列是否为周末(周六或周日)
+     *
+     * @param column 列(0-6)
+     * @return 是否为周末
+     */
+    public boolean isWeekendColumn(int column) {
+        int dayOfWeek = (firstDayOfWeek - 1 + column) % DAYS_OF_WEEK + 1;
+        return dayOfWeek == Calendar.SUNDAY || dayOfWeek == Calendar.SATURDAY;
+    }
+
+    /**
+     * 获取本月某一天在网格中的位置
+     *
+     * @param date 本月的某一天
+     * @return 该天在网格中的位置(不在本月时为-1)
+     */
+    public int positionOf(int date) {
+        return date >= 1 && date <= daysInMonth ? firstPosition + date - 1 : -1;
+    }
+
+    /**
+     * 获取单元格的日期数字
+     *
+     * @param position 单元格位置
+     * @return 日期数字
+     */
+    public int getDay(int position) {
+        return days[position];
+    }
+
+    /**
+     * 获取单元格的标志位
+     *
+     * @param position 单元格位置
+     * @return 标志位
+     */
+    public int getFlags(int position) {
+        return flags[position];
+    }
+
+    /**
+     * 判断单元格是否属于上一个月
+     *
+     * @param position 单元格位置
+     * @return 是否属于上一个月
+     */
+    public boolean isPreviousMonth(int position) {
+        return (flags[position] & FLAG_PREVIOUS_MONTH) != 0;
+    }
+
+    /**
+     * 判断单元格是否属于下一个月
+     *
+     * @param position 单元格位置
+     * @return 是否属于下一个月
+     */
+    public boolean isNextMonth(int position) {
+        return (flags[position] & FLAG_NEXT_MONTH) != 0;
+    }
+
+    /**
+     * 判断单元格是否不可选
+     *
+     * @param position 单元格位置
+     * @return 是否不可选
+     */
+    public boolean isDisabled(int position) {
+        return (flags[position] & FLAG_DISABLED) != 0;
+    }
+
+    /**
+     * 获取单元格相对于本月的月份偏移量
+     *
+     * @param position 单元格位置
+     * @return -1:上个月，0:本月，1:下个月
+     */
+    public int monthOffsetOf(int position) {
+        int flag = flags[position];
+        return (flag & FLAG_PREVIOUS_MONTH) != 0 ? -1 : (flag & FLAG_NEXT_MONTH) != 0 ? 1 : 0;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    public int getFirstPosition() {
+        return firstPosition;
+    }
+
+    public int getDaysInMonth() {
+        return daysInMonth;
+    }
+
+    public int getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    /**
+     * 获取单元格的纪元日
+     * <p>
+     * 单元格的纪元日总是连续的。1582年10月与Calendar一样显示1-31，因此跨过历法切换的网格中日期数字与真实日期不同。
+     *
+     * @param position 单元格位置
+     * @return 纪元日
+     */
+    public int epochDayOf(int position) {
+        return firstEpochDay + position;
+    }
+
+    public int getTodayPosition() {
+        return todayPosition;
+    }
+
+    public int getSelectedPosition() {
+        return selectedPosition;
+    }
+}
@@ -0,0 +1,216 @@
+package com.joelzhu.calendar.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 10:05
+ * 作用：月份网格的LRU缓存
+ * <p>
+ * 以(年, 月, 一周的第一天)为键保存冻结后的{@link MonthGrid}快照，超过容量时淘汰最久未使用的月份。
+ * 快照中不包含今日和选中状态，使用方需要复制到自己的网格后再标记。所有方法都是线程安全的。
+ */
+public final class MonthGridCache {
+    // 默认容量
+    public static final int DEFAULT_MAX_SIZE = 12;
+
+    // 缓存(按访问顺序排列)
+    private final LinkedHashMap<Long, MonthGrid> grids;
+    // 缓存容量
+    private int maxSize;
+    // 命中次数
+    private long hitCount;
+    // 未命中次数
+    private long missCount;
+    // 淘汰次数
+    private long evictionCount;
+
+    /**
+     * 构造函数
+     */
+    public MonthGridCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param maxSize 缓存容量
+     */
+    public MonthGridCache(int maxSize) {
+        checkMaxSize(maxSize);
+        this.maxSize = maxSize;
+        this.grids = new LinkedHashMap<Long, MonthGrid>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MonthGrid> eldest) {
+                if (size() > MonthGridCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取月份网格快照，不存在时计算并放入缓存
+     *
+     * @param year           年
+     * @param month          月(0-11，超出范围时自动进位到相邻的年)
+     * @param firstDayOfWeek 一周的第一天(Calendar.SUNDAY ~ Calendar.SATURDAY)
+     * @return 冻结的月份网格
+     */
+    public MonthGrid get(int year, int month, int firstDayOfWeek) {
+        long key = keyOf(year, month, firstDayOfWeek);
+        synchronized (this) {
+            MonthGrid grid = grids.get(key);
+            if (grid != null) {
+                hitCount++;
+                return grid;
+            }
+            missCount++;
+        }
+        // 在锁外计算，避免阻塞其他线程
+        return putIfAbsent(key, createGrid(year, month, firstDayOfWeek));
+    }
+
+    /**
+     * 在后台预取相邻的月份(上个月和下个月)
+     *
+     * @param year           年
+     * @param month          月(0-11)
+     * @param firstDayOfWeek 一周的第一天
+     * @param executor       执行预取的线程池
+     */
+    public void prefetchNeighbours(final int year, final int month, final int firstDayOfWeek, Executor executor) {
+        for (int offset = -1; offset <= 1; offset += 2) {
+            final int neighbourMonth = month + offset;
+            synchronized (this) {
+                // 已经在缓存中的月份不需要预取
+                if (grids.containsKey(keyOf(year, neighbourMonth, firstDayOfWeek))) {
+                    continue;
+                }
+            }
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    prefetch(year, neighbourMonth, firstDayOfWeek);
+                }
+            });
+        }
+    }
+
+    /**
+     * 预取月份网格(不计入命中和未命中次数)
+     *
+     * @param year           年
+     * @param month          月(0-11，超出范围时自动进位到相邻的年)
+     * @param firstDayOfWeek 一周的第一天
+     */
+    public void prefetch(int year, int month, int firstDayOfWeek) {
+        long key = keyOf(year, month, firstDayOfWeek);
+        synchronized (this) {
+            if (grids.containsKey(key)) {
+                return;
+            }
+        }
+        putIfAbsent(key, createGrid(year, month, firstDayOfWeek));
+    }
+
+    /**
+     * 设置缓存容量，超出的部分立即淘汰
+     *
+     * @param maxSize 缓存容量
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        checkMaxSize(maxSize);
+        this.maxSize = maxSize;
+        while (grids.size() > maxSize) {
+            grids.remove(grids.keySet().iterator().next());
+            evictionCount++;
+        }
+    }
+
+    /**
+     * 清空缓存(不重置统计次数)
+     */
+    public synchronized void clear() {
+        grids.clear();
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int getSize() {
+        return grids.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 放入缓存，已存在时返回已有的快照
+     *
+     * @param key  缓存键
+     * @param grid 月份网格
+     * @return 缓存中的月份网格
+     */
+    private synchronized MonthGrid putIfAbsent(long key, MonthGrid grid) {
+        MonthGrid exist = grids.get(key);
+        if (exist != null) {
+            return exist;
+        }
+        grids.put(key, grid);
+        return grid;
+    }
+
+    /**
+     * 计算并冻结月份网格
+     *
+     * @param year           年
+     * @param month          月
+     * @param firstDayOfWeek 一周的第一天
+     * @return 冻结的月份网格
+     */
+    private static MonthGrid createGrid(int year, int month, int firstDayOfWeek) {
+        MonthGrid grid = new MonthGrid();
+        grid.build(year, month, firstDayOfWeek);
+        return grid.freeze();
+    }
+
+    /**
+     * 计算缓存键(先把溢出的月份进位到年)
+     *
+     * @param year           年
+     * @param month          月
+     * @param firstDayOfWeek 一周的第一天
+     * @return 缓存键
+     */
+    private static long keyOf(int year, int month, int firstDayOfWeek) {
+        int yearOffset = EpochDays.floorDiv(month, 12);
+        return ((long) (year + yearOffset) << 16) | ((month - yearOffset * 12) << 8) | firstDayOfWeek;
+    }
+
+    /**
+     * 检查缓存容量
+     *
+     * @param maxSize 缓存容量
+     */
+    private static void checkMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+    }
+}
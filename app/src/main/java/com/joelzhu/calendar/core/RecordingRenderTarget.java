@@ -0,0 +1,185 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 22:55
+ * 作用：统计并记录绘制操作的绘制目标(在JVM上测量绘制代价、与保存的操作记录比较)
+ * <p>
+ * 按类型(文字、圆、矩形、路径)统计绘制操作的次数；打开记录时，每个操作(包括保存、恢复、裁剪和平移)
+ * 按固定的格式写成一行，例如"text 12 30.5 88.0 DATE_TEXT"，同样的输入总是得到同样的记录。
+ * 不打开记录时只做计数，不分配对象。一个实例只在一个线程中使用。
+ */
+public final class RecordingRenderTarget implements RenderTarget {
+    // 操作类型：文字
+    public static final int OP_TEXT = 0;
+    // 操作类型：圆
+    public static final int OP_CIRCLE = 1;
+    // 操作类型：矩形
+    public static final int OP_RECT = 2;
+    // 操作类型：路径
+    public static final int OP_PATH = 3;
+    // 操作类型的数量
+    private static final int OP_COUNT = 4;
+
+    // 画笔角色的名字(按PAINT_*下标排列，热力图的各个等级另外生成)
+    private static final String[] PAINT_NAMES = {
+            "MONTH_BAR_BACKGROUND", "MONTH_BAR_TEXT", "ARROW", "DATE_BACKGROUND", "DATE_TEXT", "WEEKEND_TEXT",
+            "OTHER_TEXT", "TODAY_TEXT", "SELECT_TEXT", "SELECT_BACKGROUND", "MARKER", "MARKER_PLACEHOLDER",
+            "LUNAR_TEXT", "LUNAR_OTHER_TEXT", "LUNAR_SELECT_TEXT", "FESTIVAL_TEXT", "DISABLED_TEXT",
+            "LUNAR_DISABLED_TEXT"};
+
+    // 每种操作的次数
+    private final int[] counts = new int[OP_COUNT];
+    // 操作记录(为null时不记录)
+    private StringBuilder log;
+    // 当前的保存层数
+    private int saveDepth;
+
+    /**
+     * 设置是否记录每个操作
+     *
+     * @param enabled 是否记录
+     */
+    public void setLogging(boolean enabled) {
+        log = enabled ? new StringBuilder() : null;
+    }
+
+    /**
+     * 清空计数和记录
+     */
+    public void reset() {
+        for (int i = 0; i < OP_COUNT; i++) {
+            counts[i] = 0;
+        }
+        if (log != null) {
+            log.setLength(0);
+        }
+        saveDepth = 0;
+    }
+
+    /**
+     * 获取某种操作的次数
+     *
+     * @param op 操作类型(OP_*)
+     * @return 次数
+     */
+    public int getCount(int op) {
+        return counts[op];
+    }
+
+    /**
+     * 获取绘制操作的总次数(不包括保存、恢复、裁剪和平移)
+     *
+     * @return 次数
+     */
+    public int getDrawCount() {
+        return counts[OP_TEXT] + counts[OP_CIRCLE] + counts[OP_RECT] + counts[OP_PATH];
+    }
+
+    /**
+     * 获取当前的保存层数(每次保存都有对应的恢复时为0)
+     *
+     * @return 层数
+     */
+    public int getSaveDepth() {
+        return saveDepth;
+    }
+
+    /**
+     * 获取操作记录(每行一个操作，以换行结束；没有打开记录时为空字符串)
+     *
+     * @return 操作记录
+     */
+    public String getLog() {
+        return log != null ? log.toString() : "";
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, int paint) {
+        counts[OP_RECT]++;
+        if (log != null) {
+            log.append("rect ").append(left).append(' ').append(top).append(' ').append(right).append(' ')
+                    .append(bottom);
+            appendPaint(paint);
+        }
+    }
+
+    @Override
+    public void drawCircle(float centerX, float centerY, float radius, int paint) {
+        counts[OP_CIRCLE]++;
+        if (log != null) {
+            log.append("circle ").append(centerX).append(' ').append(centerY).append(' ').append(radius);
+            appendPaint(paint);
+        }
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, int paint) {
+        counts[OP_TEXT]++;
+        if (log != null) {
+            log.append("text ").append(text).append(' ').append(x).append(' ').append(y);
+            appendPaint(paint);
+        }
+    }
+
+    @Override
+    public void drawPath(float[] points, int pointCount, int paint) {
+        counts[OP_PATH]++;
+        if (log != null) {
+            log.append("path");
+            for (int i = 0; i < pointCount * 2; i++) {
+                log.append(' ').append(points[i]);
+            }
+            appendPaint(paint);
+        }
+    }
+
+    @Override
+    public void save() {
+        saveDepth++;
+        if (log != null) {
+            log.append("save\n");
+        }
+    }
+
+    @Override
+    public void restore() {
+        if (saveDepth == 0) {
+            throw new IllegalStateException("restore without save");
+        }
+        saveDepth--;
+        if (log != null) {
+            log.append("restore\n");
+        }
+    }
+
+    @Override
+    public void clipRect(float left, float top, float right, float bottom) {
+        if (log != null) {
+            log.append("clip ").append(left).append(' ').append(top).append(' ').append(right).append(' ')
+                    .append(bottom).append('\n');
+        }
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        if (log != null) {
+            log.append("translate ").append(dx).append(' ').append(dy).append('\n');
+        }
+    }
+
+    /**
+     * 在当前行的末尾写入画笔角色的名字并换行
+     *
+     * @param paint 画笔角色
+     */
+    private void appendPaint(int paint) {
+        log.append(' ');
+        if (paint >= PAINT_HEATMAP && paint < PAINT_COUNT) {
+            log.append("HEATMAP_").append(paint - PAINT_HEATMAP);
+        } else {
+            log.append(PAINT_NAMES[paint]);
+        }
+        log.append('\n');
+    }
+}
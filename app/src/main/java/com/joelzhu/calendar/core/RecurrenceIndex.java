@@ -0,0 +1,85 @@
+package com.joelzhu.calendar.core;
+
+import java.util.Arrays;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 21:55
+ * 作用：重复事件的标记数据源(按可见窗口延迟展开重复规则)
+ * <p>
+ * 每个重复事件只保存一个{@link RecurrenceRule}，不预先展开成日期。查询一个窗口时，
+ * 先用基本类型数组(开始日期、最后一天、可能重复的月份)排除与窗口不相交的规则，再由每个规则直接跳到
+ * 窗口中的第一个周期累加次数，因此查询的代价只与规则数量和窗口天数有关，与重复的年数无关。
+ * 所有方法都是线程安全的。
+ */
+public final class RecurrenceIndex implements MarkerDataSource {
+    // 初始容量
+    private static final int INITIAL_CAPACITY = 16;
+
+    // 重复规则
+    private RecurrenceRule[] rules = new RecurrenceRule[INITIAL_CAPACITY];
+    // 每个规则的开始日期
+    private int[] starts = new int[INITIAL_CAPACITY];
+    // 每个规则最后一次可能的日期
+    private int[] lasts = new int[INITIAL_CAPACITY];
+    // 每个规则可能重复的月份
+    private int[] months = new int[INITIAL_CAPACITY];
+    // 规则数量
+    private int size;
+
+    /**
+     * 添加一个重复事件
+     *
+     * @param rule 重复规则
+     */
+    public synchronized void add(RecurrenceRule rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("rule == null");
+        }
+        if (size == rules.length) {
+            rules = Arrays.copyOf(rules, size * 2);
+            starts = Arrays.copyOf(starts, size * 2);
+            lasts = Arrays.copyOf(lasts, size * 2);
+            months = Arrays.copyOf(months, size * 2);
+        }
+        rules[size] = rule;
+        starts[size] = rule.getStartEpochDay();
+        lasts[size] = rule.getLastEpochDay();
+        months[size] = rule.getActiveMonths();
+        size++;
+    }
+
+    @Override
+    public synchronized void getMarkerCounts(int firstEpochDay, int[] counts) {
+        Arrays.fill(counts, 0);
+        int lastEpochDay = firstEpochDay + counts.length - 1;
+        // 窗口经过的月份
+        int windowMonths = 0;
+        int lastMonthIndex = EpochDays.monthIndexOf(lastEpochDay);
+        for (int monthIndex = EpochDays.monthIndexOf(firstEpochDay); monthIndex <= lastMonthIndex; monthIndex++) {
+            windowMonths |= 1 << EpochDays.floorMod(monthIndex, 12);
+        }
+        for (int i = 0; i < size; i++) {
+            if (starts[i] <= lastEpochDay && lasts[i] >= firstEpochDay && (months[i] & windowMonths) != 0) {
+                rules[i].addOccurrences(firstEpochDay, counts);
+            }
+        }
+    }
+
+    /**
+     * 获取重复事件的数量
+     *
+     * @return 数量
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 清空所有重复事件
+     */
+    public synchronized void clear() {
+        Arrays.fill(rules, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,671 @@
+package com.joelzhu.calendar.core;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 21:40
+ * 作用：重复规则(RFC 5545 RRULE的常用子集)
+ * <p>
+ * 支持FREQ(DAILY、WEEKLY、MONTHLY、YEARLY)、INTERVAL、BYDAY(MONTHLY可以带序号，例如2MO、-1FR)、
+ * BYMONTHDAY(MONTHLY)、COUNT、UNTIL、WKST，以及排除的日期(EXDATE)。只处理日期，不处理时间和时区。
+ * 规则不会整体展开：{@link #addOccurrences(int, int[])}按周期直接跳到窗口中的第一个周期，
+ * 只计算窗口内的日期。COUNT在创建时换算成最后一次的日期(只计算一次)。
+ * 与RFC不同，开始日期本身不符合规则时不算作一次重复。规则创建后不再修改，可以在任何线程中使用。
+ */
+public final class RecurrenceRule {
+    // 频率：每天
+    public static final int DAILY = 0;
+    // 频率：每周
+    public static final int WEEKLY = 1;
+    // 频率：每月
+    public static final int MONTHLY = 2;
+    // 频率：每年
+    public static final int YEARLY = 3;
+
+    // 换算COUNT时最多向后查找的天数(约400年，规则永远不重复时停止)
+    private static final int COUNT_SEARCH_DAYS = 146097;
+    // 换算COUNT时第一次查找的天数(之后每次加倍)
+    private static final int COUNT_FIRST_WINDOW = 64;
+    // 换算COUNT时每次查找的最大天数
+    private static final int COUNT_MAX_WINDOW = 4096;
+    // 全部12个月
+    private static final int ALL_MONTHS = 0xfff;
+    // 没有排除的日期
+    private static final int[] NO_EXCEPTIONS = new int[0];
+    // RRULE中星期的写法(按Calendar.SUNDAY ~ Calendar.SATURDAY索引)
+    private static final String[] WEEKDAY_CODES = {"", "SU", "MO", "TU", "WE", "TH", "FR", "SA"};
+
+    // 频率
+    private final int frequency;
+    // 间隔(每几个周期)
+    private final int interval;
+    // 开始日期的纪元日
+    private final int startEpochDay;
+    // 开始日期所在的月份序号
+    private final int startMonthIndex;
+    // 开始日期是几号
+    private final int startDayOfMonth;
+    // 一周的第一天(WKST，决定WEEKLY的周期)
+    private final int weekStart;
+    // 星期掩码(第k位为从WKST开始的第k天，DAILY、WEEKLY使用)
+    private final int weekdayMask;
+    // MONTHLY的星期(与monthlyOrdinals一一对应)
+    private final int[] monthlyWeekdays;
+    // MONTHLY的星期序号(0为每个，正数为第几个，负数为倒数第几个)
+    private final int[] monthlyOrdinals;
+    // MONTHLY的日期(正数为几号，负数为倒数第几天)
+    private final int[] monthDays;
+    // 排除的日期(升序)
+    private final int[] exceptions;
+    // 重复次数(0为不限)
+    private final int count;
+    // 最后一次可能的日期(由UNTIL和COUNT决定)
+    private final int lastEpochDay;
+    // 可能重复的月份(第0 ~ 11位)
+    private final int activeMonths;
+
+    /**
+     * 构造函数
+     *
+     * @param builder 构建器
+     */
+    private RecurrenceRule(Builder builder) {
+        frequency = builder.frequency;
+        interval = builder.interval;
+        startEpochDay = builder.startEpochDay;
+        startMonthIndex = EpochDays.monthIndexOf(startEpochDay);
+        startDayOfMonth = startEpochDay - EpochDays.of(0, startMonthIndex, 1) + 1;
+        weekStart = builder.weekStart;
+        monthlyWeekdays = Arrays.copyOf(builder.monthlyWeekdays, builder.monthlyWeekdayCount);
+        monthlyOrdinals = Arrays.copyOf(builder.monthlyOrdinals, builder.monthlyWeekdayCount);
+        monthDays = Arrays.copyOf(builder.monthDays, builder.monthDayCount);
+        exceptions = Arrays.copyOf(builder.exceptions, builder.exceptionCount);
+        Arrays.sort(exceptions);
+        count = builder.count;
+
+        // 星期只用于DAILY、WEEKLY时为掩码；WEEKLY没有指定星期时为开始日期的星期
+        int mask = 0;
+        if (frequency == DAILY || frequency == WEEKLY) {
+            for (int i = 0; i < monthlyWeekdays.length; i++) {
+                if (monthlyOrdinals[i] != 0) {
+                    throw new IllegalArgumentException("BYDAY ordinal only allowed for MONTHLY");
+                }
+                mask |= 1 << EpochDays.floorMod(monthlyWeekdays[i] - weekStart, 7);
+            }
+            if (frequency == WEEKLY && mask == 0) {
+                mask = 1 << EpochDays.floorMod(EpochDays.dayOfWeek(startEpochDay) - weekStart, 7);
+            }
+        } else if (frequency == YEARLY && monthlyWeekdays.length > 0) {
+            throw new IllegalArgumentException("BYDAY not supported for YEARLY");
+        }
+        if (frequency != MONTHLY && monthDays.length > 0) {
+            throw new IllegalArgumentException("BYMONTHDAY only supported for MONTHLY");
+        }
+        weekdayMask = mask;
+        activeMonths = activeMonthsOf(frequency, interval, EpochDays.floorMod(startMonthIndex, 12));
+
+        // COUNT换算成最后一次的日期
+        int last = builder.untilEpochDay;
+        if (count > 0) {
+            last = Math.min(last, findCountLimit());
+        }
+        lastEpochDay = last;
+    }
+
+    /**
+     * 解析RRULE(例如"FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20261231")
+     *
+     * @param rule          规则文字(可以带"RRULE:"前缀)
+     * @param startEpochDay 开始日期的纪元日(DTSTART)
+     * @return 重复规则
+     */
+    public static RecurrenceRule parse(String rule, int startEpochDay) {
+        if (rule.startsWith("RRULE:")) {
+            rule = rule.substring(6);
+        }
+        Builder builder = null;
+        int interval = 1;
+        int count = 0;
+        int until = Integer.MAX_VALUE;
+        int weekStart = Calendar.MONDAY;
+        String byDay = null;
+        String byMonthDay = null;
+        for (String part : rule.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("invalid rule part: " + part);
+            }
+            String name = part.substring(0, equals);
+            String value = part.substring(equals + 1);
+            if ("FREQ".equals(name)) {
+                builder = new Builder(parseFrequency(value), startEpochDay);
+            } else if ("INTERVAL".equals(name)) {
+                interval = Integer.parseInt(value);
+            } else if ("COUNT".equals(name)) {
+                count = Integer.parseInt(value);
+            } else if ("UNTIL".equals(name)) {
+                until = parseDate(value);
+            } else if ("WKST".equals(name)) {
+                weekStart = parseWeekday(value);
+            } else if ("BYDAY".equals(name)) {
+                byDay = value;
+            } else if ("BYMONTHDAY".equals(name)) {
+                byMonthDay = value;
+            } else {
+                throw new IllegalArgumentException("unsupported rule part: " + name);
+            }
+        }
+        if (builder == null) {
+            throw new IllegalArgumentException("FREQ missing: " + rule);
+        }
+        builder.setInterval(interval).setWeekStart(weekStart).setUntil(until);
+        if (count > 0) {
+            builder.setCount(count);
+        }
+        if (byDay != null) {
+            for (String day : byDay.split(",")) {
+                int length = day.length();
+                int ordinal = length > 2 ? Integer.parseInt(day.substring(0, length - 2).replace("+", "")) : 0;
+                builder.addWeekday(ordinal, parseWeekday(day.substring(length - 2)));
+            }
+        }
+        if (byMonthDay != null) {
+            for (String day : byMonthDay.split(",")) {
+                builder.addMonthDay(Integer.parseInt(day));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 解析频率
+     *
+     * @param value FREQ的值
+     * @return 频率
+     */
+    private static int parseFrequency(String value) {
+        if ("DAILY".equals(value)) {
+            return DAILY;
+        } else if ("WEEKLY".equals(value)) {
+            return WEEKLY;
+        } else if ("MONTHLY".equals(value)) {
+            return MONTHLY;
+        } else if ("YEARLY".equals(value)) {
+            return YEARLY;
+        }
+        throw new IllegalArgumentException("unsupported FREQ: " + value);
+    }
+
+    /**
+     * 解析星期
+     *
+     * @param value 星期的写法(SU ~ SA)
+     * @return Calendar.SUNDAY ~ Calendar.SATURDAY
+     */
+    private static int parseWeekday(String value) {
+        for (int day = Calendar.SUNDAY; day <= Calendar.SATURDAY; day++) {
+            if (WEEKDAY_CODES[day].equals(value)) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("invalid weekday: " + value);
+    }
+
+    /**
+     * 解析日期(yyyyMMdd，后面的时间部分忽略)
+     *
+     * @param value 日期
+     * @return 纪元日
+     */
+    private static int parseDate(String value) {
+        if (value.length() < 8) {
+            throw new IllegalArgumentException("invalid date: " + value);
+        }
+        int year = Integer.parseInt(value.substring(0, 4));
+        int month = Integer.parseInt(value.substring(4, 6));
+        int date = Integer.parseInt(value.substring(6, 8));
+        return EpochDays.of(year, month - 1, date);
+    }
+
+    /**
+     * 在计数数组中累加窗口内的每一次重复
+     * <p>
+     * 直接跳到窗口中的第一个周期，只计算与窗口相交的周期，不分配对象。
+     *
+     * @param firstEpochDay 窗口的第一天
+     * @param counts        计数数组，counts[i]对应firstEpochDay + i，长度即窗口的天数
+     */
+    public void addOccurrences(int firstEpochDay, int[] counts) {
+        int low = Math.max(firstEpochDay, startEpochDay);
+        int high = Math.min(firstEpochDay + counts.length - 1, lastEpochDay);
+        enumerate(low, high, firstEpochDay, counts, exceptions);
+    }
+
+    /**
+     * 按频率累加[low, high]中的重复
+     *
+     * @param low           第一天(不早于开始日期)
+     * @param high          最后一天(包含)
+     * @param firstEpochDay 计数数组第一个元素对应的纪元日
+     * @param counts        计数数组(为null时只计次数)
+     * @param excluded      排除的日期(升序)
+     * @return 重复的次数
+     */
+    private int enumerate(int low, int high, int firstEpochDay, int[] counts, int[] excluded) {
+        if (low > high) {
+            return 0;
+        }
+        switch (frequency) {
+            case DAILY:
+                return addDaily(low, high, firstEpochDay, counts, excluded);
+            case WEEKLY:
+                return addWeekly(low, high, firstEpochDay, counts, excluded);
+            case MONTHLY:
+                return addMonthly(low, high, firstEpochDay, counts, excluded);
+            default:
+                return addYearly(low, high, firstEpochDay, counts, excluded);
+        }
+    }
+
+    /**
+     * DAILY：从low之后的第一个周期开始按间隔前进，星期按间隔递推
+     */
+    private int addDaily(int low, int high, int firstEpochDay, int[] counts, int[] excluded) {
+        int day = startEpochDay + (low - startEpochDay + interval - 1) / interval * interval;
+        if (weekdayMask == 0) {
+            int found = 0;
+            for (; day <= high; day += interval) {
+                found += mark(day, low, high, firstEpochDay, counts, excluded);
+            }
+            return found;
+        }
+        int found = 0;
+        int offset = EpochDays.floorMod(EpochDays.dayOfWeek(day) - weekStart, 7);
+        int step = interval % 7;
+        for (; day <= high; day += interval) {
+            if ((weekdayMask & (1 << offset)) != 0) {
+                found += mark(day, low, high, firstEpochDay, counts, excluded);
+            }
+            offset += step;
+            if (offset >= 7) {
+                offset -= 7;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * WEEKLY：从low所在的周对齐到下一个符合间隔的周，每周按星期掩码取日期
+     */
+    private int addWeekly(int low, int high, int firstEpochDay, int[] counts, int[] excluded) {
+        int anchorWeek = weekStartOf(startEpochDay);
+        int week = weekStartOf(low);
+        int remainder = (week - anchorWeek) / 7 % interval;
+        if (remainder != 0) {
+            week += (interval - remainder) * 7;
+        }
+        int found = 0;
+        for (; week <= high; week += interval * 7) {
+            for (int days = weekdayMask; days != 0; days &= days - 1) {
+                found += mark(week + Integer.numberOfTrailingZeros(days), low, high, firstEpochDay, counts, excluded);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * MONTHLY：从low所在的月对齐到下一个符合间隔的月
+     * <p>
+     * 每个月先算出符合规则的日期掩码(第d - 1位为d号)，同一天只计一次；同时指定了BYMONTHDAY和BYDAY时
+     * 取两者的交集(与RFC 5545一致)。
+     */
+    private int addMonthly(int low, int high, int firstEpochDay, int[] counts, int[] excluded) {
+        int monthIndex = EpochDays.monthIndexOf(low);
+        int remainder = (monthIndex - startMonthIndex) % interval;
+        if (remainder != 0) {
+            monthIndex += interval - remainder;
+        }
+        int found = 0;
+        for (; ; monthIndex += interval) {
+            int monthFirst = EpochDays.of(0, monthIndex, 1);
+            if (monthFirst > high) {
+                return found;
+            }
+            int length = EpochDays.lengthOfMonth(EpochDays.floorDiv(monthIndex, 12),
+                    EpochDays.floorMod(monthIndex, 12));
+            int days = monthMask(monthFirst, length);
+            while (days != 0) {
+                int day = Integer.numberOfTrailingZeros(days);
+                days &= days - 1;
+                found += mark(monthFirst + day, low, high, firstEpochDay, counts, excluded);
+            }
+        }
+    }
+
+    /**
+     * 计算一个月中符合MONTHLY规则的日期
+     *
+     * @param monthFirst 这个月第一天的纪元日
+     * @param length     这个月的天数
+     * @return 日期掩码(第d - 1位为d号)
+     */
+    private int monthMask(int monthFirst, int length) {
+        if (monthlyWeekdays.length == 0 && monthDays.length == 0) {
+            // 与开始日期同一天(这个月没有这一天时跳过)
+            return startDayOfMonth <= length ? 1 << (startDayOfMonth - 1) : 0;
+        }
+        int byMonthDay = 0;
+        for (int i = 0; i < monthDays.length; i++) {
+            int day = monthDays[i] > 0 ? monthDays[i] : length + monthDays[i] + 1;
+            if (day >= 1 && day <= length) {
+                byMonthDay |= 1 << (day - 1);
+            }
+        }
+        int byDay = 0;
+        int firstDayOfWeek = EpochDays.dayOfWeek(monthFirst);
+        for (int i = 0; i < monthlyWeekdays.length; i++) {
+            // 这个月第一个、最后一个该星期的日期(从0开始)
+            int first = EpochDays.floorMod(monthlyWeekdays[i] - firstDayOfWeek, 7);
+            int last = first + (length - 1 - first) / 7 * 7;
+            int ordinal = monthlyOrdinals[i];
+            if (ordinal == 0) {
+                for (int day = first; day <= last; day += 7) {
+                    byDay |= 1 << day;
+                }
+            } else {
+                int day = ordinal > 0 ? first + (ordinal - 1) * 7 : last + (ordinal + 1) * 7;
+                if (day >= first && day <= last) {
+                    byDay |= 1 << day;
+                }
+            }
+        }
+        if (monthDays.length == 0) {
+            return byDay;
+        }
+        return monthlyWeekdays.length == 0 ? byMonthDay : byMonthDay & byDay;
+    }
+
+    /**
+     * YEARLY：与开始日期同月同日(这一年没有这一天时跳过，例如2月29日)
+     */
+    private int addYearly(int low, int high, int firstEpochDay, int[] counts, int[] excluded) {
+        int startYear = EpochDays.floorDiv(startMonthIndex, 12);
+        int startMonth = startMonthIndex - startYear * 12;
+        int year = EpochDays.floorDiv(EpochDays.monthIndexOf(low), 12);
+        int remainder = (year - startYear) % interval;
+        if (remainder != 0) {
+            year += interval - remainder;
+        }
+        int found = 0;
+        for (; ; year += interval) {
+            int monthFirst = EpochDays.of(year, startMonth, 1);
+            if (monthFirst > high) {
+                return found;
+            }
+            if (startDayOfMonth <= EpochDays.lengthOfMonth(year, startMonth)) {
+                found += mark(monthFirst + startDayOfMonth - 1, low, high, firstEpochDay, counts, excluded);
+            }
+        }
+    }
+
+    /**
+     * 累加一次重复(不在范围内或被排除时忽略；计数数组为null时只计次数)
+     *
+     * @return 是否累加(1或0)
+     */
+    private int mark(int day, int low, int high, int firstEpochDay, int[] counts, int[] excluded) {
+        if (day < low || day > high) {
+            return 0;
+        }
+        if (excluded.length > 0 && Arrays.binarySearch(excluded, day) >= 0) {
+            return 0;
+        }
+        if (counts != null) {
+            counts[day - firstEpochDay]++;
+        }
+        return 1;
+    }
+
+    /**
+     * 计算某一天所在的周的第一天(按WKST)
+     *
+     * @param epochDay 纪元日
+     * @return 周的第一天
+     */
+    private int weekStartOf(int epochDay) {
+        return epochDay - EpochDays.floorMod(EpochDays.dayOfWeek(epochDay) - weekStart, 7);
+    }
+
+    /**
+     * 计算可能重复的月份
+     *
+     * @param frequency  频率
+     * @param interval   间隔
+     * @param startMonth 开始日期的月(0-11)
+     * @return 月份掩码(第0 ~ 11位)
+     */
+    private static int activeMonthsOf(int frequency, int interval, int startMonth) {
+        int step;
+        if (frequency == MONTHLY) {
+            // 每interval个月重复时，12个月中只有间隔gcd(interval, 12)的月份
+            step = 12;
+            for (int b = interval % 12; b != 0; ) {
+                int t = step % b;
+                step = b;
+                b = t;
+            }
+        } else if (frequency == YEARLY) {
+            step = 12;
+        } else {
+            return ALL_MONTHS;
+        }
+        int months = 0;
+        for (int month = startMonth % step; month < 12; month += step) {
+            months |= 1 << month;
+        }
+        return months;
+    }
+
+    /**
+     * 查找第COUNT次重复的日期(创建时调用一次，排除的日期同样计入次数)
+     * <p>
+     * 先按逐渐加倍的范围只数次数，找到包含第COUNT次的范围后再逐日定位。
+     *
+     * @return 纪元日
+     */
+    private int findCountLimit() {
+        int remaining = count;
+        int end = startEpochDay + COUNT_SEARCH_DAYS;
+        int window = COUNT_FIRST_WINDOW;
+        for (int first = startEpochDay; first < end; first += window, window = Math.min(window * 2, COUNT_MAX_WINDOW)) {
+            int last = first + window - 1;
+            int found = enumerate(first, last, first, null, NO_EXCEPTIONS);
+            if (found < remaining) {
+                remaining -= found;
+                continue;
+            }
+            int[] days = new int[window];
+            enumerate(first, last, first, days, NO_EXCEPTIONS);
+            for (int i = 0; i < window; i++) {
+                remaining -= days[i];
+                if (remaining <= 0) {
+                    return first + i;
+                }
+            }
+        }
+        return end;
+    }
+
+    public int getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getStartEpochDay() {
+        return startEpochDay;
+    }
+
+    /**
+     * 获取最后一次可能的日期(不限次数时为Integer.MAX_VALUE)
+     *
+     * @return 纪元日
+     */
+    public int getLastEpochDay() {
+        return lastEpochDay;
+    }
+
+    /**
+     * 获取可能重复的月份(例如每年重复的规则只有开始日期的月份)
+     *
+     * @return 月份掩码(第0 ~ 11位对应1 ~ 12月)
+     */
+    public int getActiveMonths() {
+        return activeMonths;
+    }
+
+    /**
+     * 重复规则构建器
+     */
+    public static final class Builder {
+        private final int frequency;
+        private final int startEpochDay;
+        private int interval = 1;
+        private int weekStart = Calendar.MONDAY;
+        private int count;
+        private int untilEpochDay = Integer.MAX_VALUE;
+        private int[] monthlyWeekdays = new int[7];
+        private int[] monthlyOrdinals = new int[7];
+        private int monthlyWeekdayCount;
+        private int[] monthDays = new int[4];
+        private int monthDayCount;
+        private int[] exceptions = new int[4];
+        private int exceptionCount;
+
+        /**
+         * 构造函数
+         *
+         * @param frequency     频率({@link #DAILY}、{@link #WEEKLY}、{@link #MONTHLY}或{@link #YEARLY})
+         * @param startEpochDay 开始日期的纪元日(DTSTART)
+         */
+        public Builder(int frequency, int startEpochDay) {
+            if (frequency < DAILY || frequency > YEARLY) {
+                throw new IllegalArgumentException("frequency out of range: " + frequency);
+            }
+            this.frequency = frequency;
+            this.startEpochDay = startEpochDay;
+        }
+
+        public Builder setInterval(int interval) {
+            if (interval < 1) {
+                throw new IllegalArgumentException("interval < 1: " + interval);
+            }
+            this.interval = interval;
+            return this;
+        }
+
+        public Builder setWeekStart(int weekStart) {
+            if (weekStart < Calendar.SUNDAY || weekStart > Calendar.SATURDAY) {
+                throw new IllegalArgumentException("weekStart out of range: " + weekStart);
+            }
+            this.weekStart = weekStart;
+            return this;
+        }
+
+        public Builder setCount(int count) {
+            if (count < 1) {
+                throw new IllegalArgumentException("count < 1: " + count);
+            }
+            this.count = count;
+            return this;
+        }
+
+        /**
+         * 设置最后一天(包含)
+         *
+         * @param untilEpochDay 纪元日
+         * @return 构建器
+         */
+        public Builder setUntil(int untilEpochDay) {
+            this.untilEpochDay = untilEpochDay;
+            return this;
+        }
+
+        /**
+         * 添加星期(BYDAY)
+         *
+         * @param dayOfWeek Calendar.SUNDAY ~ Calendar.SATURDAY
+         * @return 构建器
+         */
+        public Builder addWeekday(int dayOfWeek) {
+            return addWeekday(0, dayOfWeek);
+        }
+
+        /**
+         * 添加带序号的星期(BYDAY，只用于MONTHLY，例如第二个星期二为(2, Calendar.TUESDAY))
+         *
+         * @param ordinal   序号(0为每个，1 ~ 5为第几个，-1 ~ -5为倒数第几个)
+         * @param dayOfWeek Calendar.SUNDAY ~ Calendar.SATURDAY
+         * @return 构建器
+         */
+        public Builder addWeekday(int ordinal, int dayOfWeek) {
+            if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+                throw new IllegalArgumentException("dayOfWeek out of range: " + dayOfWeek);
+            }
+            if (ordinal < -5 || ordinal > 5) {
+                throw new IllegalArgumentException("ordinal out of range: " + ordinal);
+            }
+            if (monthlyWeekdayCount == monthlyWeekdays.length) {
+                monthlyWeekdays = Arrays.copyOf(monthlyWeekdays, monthlyWeekdayCount * 2);
+                monthlyOrdinals = Arrays.copyOf(monthlyOrdinals, monthlyWeekdayCount * 2);
+            }
+            monthlyWeekdays[monthlyWeekdayCount] = dayOfWeek;
+            monthlyOrdinals[monthlyWeekdayCount++] = ordinal;
+            return this;
+        }
+
+        /**
+         * 添加日期(BYMONTHDAY，只用于MONTHLY)
+         *
+         * @param day 1 ~ 31为几号，-1 ~ -31为倒数第几天
+         * @return 构建器
+         */
+        public Builder addMonthDay(int day) {
+            if (day == 0 || day < -31 || day > 31) {
+                throw new IllegalArgumentException("month day out of range: " + day);
+            }
+            if (monthDayCount == monthDays.length) {
+                monthDays = Arrays.copyOf(monthDays, monthDayCount * 2);
+            }
+            monthDays[monthDayCount++] = day;
+            return this;
+        }
+
+        /**
+         * 添加排除的日期(EXDATE)
+         *
+         * @param epochDay 纪元日
+         * @return 构建器
+         */
+        public Builder addException(int epochDay) {
+            if (exceptionCount == exceptions.length) {
+                exceptions = Arrays.copyOf(exceptions, exceptionCount * 2);
+            }
+            exceptions[exceptionCount++] = epochDay;
+            return this;
+        }
+
+        /**
+         * 创建规则
+         *
+         * @return 重复规则
+         */
+        public RecurrenceRule build() {
+            return new RecurrenceRule(this);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 22:50
+ * 作用：绘制目标(日历的布局和绘制只通过这个接口输出)
+ * <p>
+ * 画笔以角色下标(PAINT_*)表示，由实现类映射到真正的画笔，因此接口本身不依赖Android。
+ * 控件中的实现直接转发给Canvas；{@link RecordingRenderTarget}只统计和记录绘制操作，
+ * 可以在JVM上测量绘制的代价，或者与保存的操作记录逐行比较。
+ */
+public interface RenderTarget {
+    // 画笔：月份条背景
+    int PAINT_MONTH_BAR_BACKGROUND = 0;
+    // 画笔：月份条文字
+    int PAINT_MONTH_BAR_TEXT = 1;
+    // 画笔：月份跳转按钮
+    int PAINT_ARROW = 2;
+    // 画笔：日历区域背景
+    int PAINT_DATE_BACKGROUND = 3;
+    // 画笔：日期文字
+    int PAINT_DATE_TEXT = 4;
+    // 画笔：周始周末文字
+    int PAINT_WEEKEND_TEXT = 5;
+    // 画笔：其他月份文字
+    int PAINT_OTHER_TEXT = 6;
+    // 画笔：今日文字
+    int PAINT_TODAY_TEXT = 7;
+    // 画笔：选中日期文字
+    int PAINT_SELECT_TEXT = 8;
+    // 画笔：选中日期背景
+    int PAINT_SELECT_BACKGROUND = 9;
+    // 画笔：日期标记
+    int PAINT_MARKER = 10;
+    // 画笔：日期标记加载中的占位
+    int PAINT_MARKER_PLACEHOLDER = 11;
+    // 画笔：农历文字
+    int PAINT_LUNAR_TEXT = 12;
+    // 画笔：其他月份农历文字
+    int PAINT_LUNAR_OTHER_TEXT = 13;
+    // 画笔：选中日期农历文字
+    int PAINT_LUNAR_SELECT_TEXT = 14;
+    // 画笔：节日文字
+    int PAINT_FESTIVAL_TEXT = 15;
+    // 画笔：不可选日期文字
+    int PAINT_DISABLED_TEXT = 16;
+    // 画笔：不可选日期农历文字
+    int PAINT_LUNAR_DISABLED_TEXT = 17;
+    // 画笔：热力图第0级(之后依次为各个等级)
+    int PAINT_HEATMAP = 18;
+    // 热力图的等级数量
+    int HEATMAP_LEVELS = 8;
+    // 画笔角色的数量
+    int PAINT_COUNT = PAINT_HEATMAP + HEATMAP_LEVELS;
+
+    /**
+     * 绘制矩形
+     *
+     * @param left   左边
+     * @param top    上边
+     * @param right  右边
+     * @param bottom 下边
+     * @param paint  画笔角色
+     */
+    void drawRect(float left, float top, float right, float bottom, int paint);
+
+    /**
+     * 绘制圆
+     *
+     * @param centerX 圆心X坐标
+     * @param centerY 圆心Y坐标
+     * @param radius  半径
+     * @param paint   画笔角色
+     */
+    void drawCircle(float centerX, float centerY, float radius, int paint);
+
+    /**
+     * 绘制文字
+     *
+     * @param text  文字
+     * @param x     左边的X坐标
+     * @param y     基线的Y坐标
+     * @param paint 画笔角色
+     */
+    void drawText(String text, float x, float y, int paint);
+
+    /**
+     * 绘制折线路径
+     *
+     * @param points     顶点坐标(x0, y0, x1, y1, ...)
+     * @param pointCount 顶点数量
+     * @param paint      画笔角色
+     */
+    void drawPath(float[] points, int pointCount, int paint);
+
+    /**
+     * 保存当前的裁剪区域和坐标变换
+     */
+    void save();
+
+    /**
+     * 恢复到上一次保存的裁剪区域和坐标变换
+     */
+    void restore();
+
+    /**
+     * 与矩形求交集作为新的裁剪区域
+     *
+     * @param left   左边
+     * @param top    上边
+     * @param right  右边
+     * @param bottom 下边
+     */
+    void clipRect(float left, float top, float right, float bottom);
+
+    /**
+     * 平移坐标
+     *
+     * @param dx 水平偏移
+     * @param dy 垂直偏移
+     */
+    void translate(float dx, float dy);
+}
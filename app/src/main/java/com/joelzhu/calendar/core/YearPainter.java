@@ -0,0 +1,294 @@
+package com.joelzhu.calendar.core;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 10:30
+ * 作用：年视图(3列4行共12个迷你月份)的布局与绘制
+ * <p>
+ * 12个月份网格一次性构建，绘制时按角色(标题、普通日期、周末、今日)分批进行，
+ * 每个画笔角色每帧只使用一批。迷你月份只绘制本月日期。设置了热力图时，先按每个月一次取出的等级绘制日期背景。
+ * 月份标题、普通日期、周末和今日分别使用PAINT_MONTH_BAR_TEXT、PAINT_DATE_TEXT、PAINT_WEEKEND_TEXT和
+ * PAINT_TODAY_TEXT角色，由年视图自己的绘制目标映射到迷你月份的画笔。字体度量和文字宽度由控件测量后传入，
+ * 因此可以在JVM上用{@link RecordingRenderTarget}统计绘制操作。一个实例只在一个线程中使用。
+ */
+public final class YearPainter {
+    // 月份数量
+    public static final int MONTHS = 12;
+    // 列数
+    private static final int COLUMNS = 3;
+    // 行数
+    private static final int ROWS = 4;
+
+    // 12个月份网格
+    private final MonthGrid[] grids = new MonthGrid[MONTHS];
+    // 日期文字宽度表(按日期数字索引)
+    private int[] dayTextWidths;
+    // 月份标题
+    private final String[] titles = new String[MONTHS];
+    // 月份标题宽度表
+    private final int[] titleWidths = new int[MONTHS];
+    // 日期文字的字体度量
+    private int dateTop;
+    private int dateBottom;
+    // 月份标题的字体度量
+    private int titleTop;
+    private int titleBottom;
+    // 热力图数据(为null时不绘制)
+    private HeatmapSeries heatmapSeries;
+    // 一个月份网格的热力图等级
+    private final int[] heatLevels = new int[MonthGrid.SIZE];
+
+    // 显示的年
+    private int year = Integer.MIN_VALUE;
+    // 一周的第一天
+    private int firstDayOfWeek;
+    // 年视图区域的顶端
+    private float top;
+    // 每个迷你月份的宽度
+    private float blockWidth;
+    // 每个迷你月份的高度
+    private float blockHeight;
+    // 迷你月份的内边距
+    private float padding;
+    // 迷你月份标题的高度
+    private float titleHeight;
+    // 迷你日期单元格的宽度
+    private float cellWidth;
+    // 迷你日期单元格的高度
+    private float cellHeight;
+
+    /**
+     * 构造函数
+     */
+    public YearPainter() {
+        for (int i = 0; i < MONTHS; i++) {
+            grids[i] = new MonthGrid();
+        }
+    }
+
+    /**
+     * 设置月份标题
+     *
+     * @param month 月份(0-11)
+     * @param title 标题
+     * @param width 标题宽度
+     */
+    public void setTitle(int month, String title, int width) {
+        titles[month] = title;
+        titleWidths[month] = width;
+    }
+
+    /**
+     * 设置字体度量(FontMetricsInt的top和bottom)
+     *
+     * @param dateTop     日期文字的top
+     * @param dateBottom  日期文字的bottom
+     * @param titleTop    月份标题的top
+     * @param titleBottom 月份标题的bottom
+     */
+    public void setFontMetrics(int dateTop, int dateBottom, int titleTop, int titleBottom) {
+        this.dateTop = dateTop;
+        this.dateBottom = dateBottom;
+        this.titleTop = titleTop;
+        this.titleBottom = titleBottom;
+    }
+
+    /**
+     * 设置日期文字宽度表
+     *
+     * @param dayTextWidths 宽度表(按日期数字索引)
+     */
+    public void setDayTextWidths(int[] dayTextWidths) {
+        this.dayTextWidths = dayTextWidths;
+    }
+
+    /**
+     * 设置热力图
+     *
+     * @param series 热力图数据(为null时不绘制)
+     */
+    public void setHeatmap(HeatmapSeries series) {
+        heatmapSeries = series;
+    }
+
+    /**
+     * 一次性构建一整年的月份网格(年份不变时不重新构建)
+     *
+     * @param year           年
+     * @param firstDayOfWeek 一周的第一天
+     * @param cache          月份网格缓存
+     * @param todayYear      今日的年
+     * @param todayMonth     今日的月(0-11)
+     * @param todayDate      今日的日
+     */
+    public void build(int year, int firstDayOfWeek, MonthGridCache cache, int todayYear, int todayMonth,
+                      int todayDate) {
+        if (this.year == year && this.firstDayOfWeek == firstDayOfWeek) {
+            // 只有今日可能变化
+            for (int month = 0; month < MONTHS; month++) {
+                grids[month].markToday(todayYear, todayMonth, todayDate);
+            }
+            return;
+        }
+        this.year = year;
+        this.firstDayOfWeek = firstDayOfWeek;
+        for (int month = 0; month < MONTHS; month++) {
+            grids[month].copyFrom(cache.get(year, month, firstDayOfWeek));
+            grids[month].markToday(todayYear, todayMonth, todayDate);
+        }
+    }
+
+    /**
+     * 计算布局
+     *
+     * @param width  控件宽度
+     * @param top    年视图区域的顶端
+     * @param bottom 年视图区域的底端
+     */
+    public void layout(float width, float top, float bottom) {
+        this.top = top;
+        blockWidth = width / COLUMNS;
+        blockHeight = (bottom - top) / ROWS;
+        padding = blockWidth / 20;
+        cellWidth = (blockWidth - padding * 2) / MonthGrid.DAYS_OF_WEEK;
+        titleHeight = blockHeight / 5;
+        cellHeight = (blockHeight - titleHeight - padding) / 6;
+    }
+
+    /**
+     * 获取迷你日期单元格的高度(决定日期字体大小)
+     *
+     * @return 高度
+     */
+    public float getCellHeight() {
+        return cellHeight;
+    }
+
+    /**
+     * 获取迷你月份标题的高度(决定标题字体大小)
+     *
+     * @return 高度
+     */
+    public float getTitleHeight() {
+        return titleHeight;
+    }
+
+    /**
+     * 绘制年视图(按角色分批绘制)
+     *
+     * @param target 绘制目标
+     */
+    public void draw(RenderTarget target) {
+        // 月份标题
+        final float titleBaseline = (titleHeight - titleBottom + titleTop) / 2 - titleTop;
+        for (int month = 0; month < MONTHS; month++) {
+            float left = blockLeft(month) + (blockWidth - titleWidths[month]) / 2;
+            target.drawText(titles[month], left, blockTop(month) + titleBaseline, RenderTarget.PAINT_MONTH_BAR_TEXT);
+        }
+
+        // 热力图背景
+        if (heatmapSeries != null) {
+            drawHeatmap(target);
+        }
+
+        // 日期按角色分批
+        drawCells(target, RenderTarget.PAINT_DATE_TEXT, MonthGrid.FLAG_WEEKEND | MonthGrid.FLAG_TODAY, 0);
+        drawCells(target, RenderTarget.PAINT_WEEKEND_TEXT, MonthGrid.FLAG_WEEKEND | MonthGrid.FLAG_TODAY,
+                MonthGrid.FLAG_WEEKEND);
+        drawCells(target, RenderTarget.PAINT_TODAY_TEXT, MonthGrid.FLAG_TODAY, MonthGrid.FLAG_TODAY);
+    }
+
+    /**
+     * 绘制12个月份中本月日期的热力图背景
+     *
+     * @param target 绘制目标
+     */
+    private void drawHeatmap(RenderTarget target) {
+        float inset = Math.min(cellWidth, cellHeight) / 12;
+        for (int month = 0; month < MONTHS; month++) {
+            MonthGrid grid = grids[month];
+            heatmapSeries.getLevels(grid.getFirstEpochDay(), MonthGrid.SIZE, RenderTarget.HEATMAP_LEVELS, heatLevels);
+            float left = blockLeft(month) + padding;
+            float top = blockTop(month) + titleHeight;
+            int first = grid.getFirstPosition();
+            int last = first + grid.getDaysInMonth();
+            for (int position = first; position < last; position++) {
+                int level = heatLevels[position];
+                if (level < 0) {
+                    continue;
+                }
+                float x = left + cellWidth * (position % 7);
+                float y = top + cellHeight * (position / 7);
+                target.drawRect(x + inset, y + inset, x + cellWidth - inset, y + cellHeight - inset,
+                        RenderTarget.PAINT_HEATMAP + level);
+            }
+        }
+    }
+
+    /**
+     * 用同一个画笔角色绘制12个月份中(flags & mask) == value的本月日期
+     *
+     * @param target 绘制目标
+     * @param paint  画笔角色
+     * @param mask   标志位掩码
+     * @param value  标志位的值
+     */
+    private void drawCells(RenderTarget target, int paint, int mask, int value) {
+        final float baseline = (cellHeight - dateBottom + dateTop) / 2 - dateTop;
+        for (int month = 0; month < MONTHS; month++) {
+            MonthGrid grid = grids[month];
+            float left = blockLeft(month) + padding;
+            float top = blockTop(month) + titleHeight;
+            int first = grid.getFirstPosition();
+            int last = first + grid.getDaysInMonth();
+            for (int position = first; position < last; position++) {
+                if ((grid.getFlags(position) & mask) != value) {
+                    continue;
+                }
+                int day = grid.getDay(position);
+                float x = left + cellWidth * (position % 7) + (cellWidth - dayTextWidths[day]) / 2;
+                float y = top + cellHeight * (position / 7) + baseline;
+                target.drawText(CalendarPainter.getDayLabel(day), x, y, paint);
+            }
+        }
+    }
+
+    /**
+     * 判断点击了哪个迷你月份
+     *
+     * @param x 点击的X坐标
+     * @param y 点击的Y坐标
+     * @return 月份(0-11)，没有点中时为-1
+     */
+    public int hitTest(float x, float y) {
+        if (y < top || blockWidth <= 0 || blockHeight <= 0) {
+            return -1;
+        }
+        int column = (int) (x / blockWidth);
+        int row = (int) ((y - top) / blockHeight);
+        if (column < 0 || column >= COLUMNS || row >= ROWS) {
+            return -1;
+        }
+        return row * COLUMNS + column;
+    }
+
+    /**
+     * 迷你月份的左边
+     *
+     * @param month 月份(0-11)
+     * @return 左边坐标
+     */
+    private float blockLeft(int month) {
+        return (month % COLUMNS) * blockWidth;
+    }
+
+    /**
+     * 迷你月份的上边
+     *
+     * @param month 月份(0-11)
+     * @return 上边坐标
+     */
+    private float blockTop(int month) {
+        return top + (month / COLUMNS) * blockHeight;
+    }
+}
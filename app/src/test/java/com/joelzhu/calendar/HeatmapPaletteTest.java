@@ -0,0 +1,30 @@
+package com.joelzhu.calendar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 20:15
+ * 作用：热力图颜色混合的测试(只测试不依赖画笔的blend)
+ */
+public class HeatmapPaletteTest {
+    private static final int FROM = 0x20ff8000;
+    private static final int TO = 0xff0040c8;
+
+    @Test
+    public void blendEndsAreExact() {
+        assertEquals(FROM, HeatmapPalette.blend(FROM, TO, 0));
+        assertEquals(TO, HeatmapPalette.blend(FROM, TO, 1));
+        assertEquals(TO, HeatmapPalette.blend(TO, FROM, 0));
+        assertEquals(FROM, HeatmapPalette.blend(TO, FROM, 1));
+    }
+
+    @Test
+    public void blendInterpolatesEachChannel() {
+        // 每个通道分别插值并四舍五入，alpha通道不受符号位影响
+        assertEquals(0x90806064, HeatmapPalette.blend(FROM, TO, 0.5f));
+        assertEquals(0xffffffff, HeatmapPalette.blend(0xffffffff, 0xffffffff, 0.3f));
+    }
+}
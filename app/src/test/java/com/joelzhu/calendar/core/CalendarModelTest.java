@@ -0,0 +1,202 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 18:40
+ * 作用：共享日历模型的测试(调度器只记录回调，由测试手动执行一帧，验证同一帧内的修改合并为一次分发)
+ */
+public class CalendarModelTest {
+    // 测试使用的日期(2026年10月18日)
+    private static final int DAY = EpochDays.of(2026, 9, 18);
+
+    private CapturingScheduler scheduler;
+    private CalendarModel model;
+    private RecordingListener listener;
+
+    @Before
+    public void setUp() {
+        scheduler = new CapturingScheduler();
+        model = new CalendarModel(scheduler);
+        model.setVisibleMonth(2026, 9);
+        model.setToday(DAY);
+        runFrame();
+        listener = new RecordingListener();
+        model.addListener(listener);
+        scheduler.count = 0;
+    }
+
+    @Test
+    public void burstOfChangesDispatchesOnce() {
+        model.setVisibleMonth(2027, 0);
+        model.moveVisibleMonth(1);
+        model.moveVisibleMonth(-3);
+        model.selectRange(DAY, DAY + 5);
+        model.selectRange(DAY + 2, DAY + 9);
+        model.setSelectedDate(DAY + 1);
+
+        assertEquals(1, scheduler.count);
+        assertEquals(0, listener.changes.size());
+        assertEquals(CalendarModel.CHANGE_VISIBLE_MONTH | CalendarModel.CHANGE_SELECTION,
+                model.getPendingChanges());
+
+        runFrame();
+        assertEquals(1, listener.changes.size());
+        assertEquals(CalendarModel.CHANGE_VISIBLE_MONTH | CalendarModel.CHANGE_SELECTION,
+                (int) listener.changes.get(0));
+        assertSame(model, listener.model);
+        assertEquals(2026, model.getVisibleYear());
+        assertEquals(10, model.getVisibleMonth());
+        assertEquals(8, model.getSelection().size());
+        assertEquals(0, model.getPendingChanges());
+    }
+
+    @Test
+    public void nextFrameSchedulesAgain() {
+        model.moveVisibleMonth(1);
+        runFrame();
+        model.setToday(DAY + 1);
+
+        assertEquals(2, scheduler.count);
+        runFrame();
+        assertEquals(2, listener.changes.size());
+        assertEquals(CalendarModel.CHANGE_TODAY, (int) listener.changes.get(1));
+    }
+
+    @Test
+    public void unchangedValuesScheduleNothing() {
+        model.selectRange(DAY, DAY + 5);
+        model.setSelectedDate(DAY);
+        runFrame();
+        scheduler.count = 0;
+
+        model.setVisibleMonth(2026, 9);
+        model.setVisibleMonth(2025, 21);
+        model.moveVisibleMonth(0);
+        model.setToday(DAY);
+        model.setSelectedDate(DAY);
+        model.selectRange(DAY + 5, DAY);
+        model.getSelection().addRange(DAY + 1, DAY + 3);
+        model.notifySelectionChanged();
+
+        assertEquals(0, scheduler.count);
+        assertNull(scheduler.callback);
+        assertEquals(1, listener.changes.size());
+    }
+
+    @Test
+    public void listenerRemovedDuringDispatchStillReceivesIt() {
+        final RecordingListener second = new RecordingListener();
+        model.addListener(new CalendarModel.Listener() {
+            @Override
+            public void onModelChanged(CalendarModel model, int changes) {
+                model.removeListener(second);
+                model.removeListener(this);
+            }
+        });
+        model.addListener(second);
+
+        model.moveVisibleMonth(1);
+        runFrame();
+        assertEquals(1, listener.changes.size());
+        assertEquals(1, second.changes.size());
+
+        // 下一次分发使用删除后的数组
+        model.moveVisibleMonth(1);
+        runFrame();
+        assertEquals(2, listener.changes.size());
+        assertEquals(1, second.changes.size());
+    }
+
+    @Test
+    public void changeDuringDispatchGoesToNextFrame() {
+        model.addListener(new CalendarModel.Listener() {
+            @Override
+            public void onModelChanged(CalendarModel model, int changes) {
+                if ((changes & CalendarModel.CHANGE_VISIBLE_MONTH) != 0) {
+                    model.setSelectedDate(DAY);
+                }
+            }
+        });
+
+        model.moveVisibleMonth(1);
+        runFrame();
+        assertEquals(2, scheduler.count);
+        assertEquals(1, listener.changes.size());
+        runFrame();
+        assertEquals(CalendarModel.CHANGE_SELECTION, (int) listener.changes.get(1));
+    }
+
+    @Test
+    public void addingTheSameListenerTwiceDispatchesOnce() {
+        int dispatchCount = model.getDispatchCount();
+        model.addListener(listener);
+        model.moveVisibleMonth(1);
+        runFrame();
+
+        assertEquals(1, listener.changes.size());
+        assertEquals(dispatchCount + 1, model.getDispatchCount());
+    }
+
+    @Test
+    public void withoutSchedulerEveryChangeDispatchesImmediately() {
+        CalendarModel immediate = new CalendarModel(null);
+        RecordingListener recording = new RecordingListener();
+        immediate.addListener(recording);
+
+        // 构造时今日为当前日期，换一个不可能是今天的日期
+        immediate.setToday(EpochDays.of(1999, 0, 1));
+        immediate.setSelectedDate(DAY);
+        assertEquals(2, recording.changes.size());
+        assertEquals(CalendarModel.CHANGE_TODAY, (int) recording.changes.get(0));
+        assertEquals(CalendarModel.CHANGE_SELECTION, (int) recording.changes.get(1));
+    }
+
+    /**
+     * 执行调度器记录的回调(相当于下一帧到来)
+     */
+    private void runFrame() {
+        Runnable callback = scheduler.callback;
+        scheduler.callback = null;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * 记录回调的调度器
+     */
+    private static final class CapturingScheduler implements CalendarModel.FrameScheduler {
+        Runnable callback;
+        int count;
+
+        @Override
+        public void scheduleFrame(Runnable callback) {
+            this.callback = callback;
+            count++;
+        }
+    }
+
+    /**
+     * 记录每次回调的变化
+     */
+    private static final class RecordingListener implements CalendarModel.Listener {
+        final List<Integer> changes = new ArrayList<>();
+        CalendarModel model;
+
+        @Override
+        public void onModelChanged(CalendarModel model, int changes) {
+            this.model = model;
+            this.changes.add(changes);
+        }
+    }
+}
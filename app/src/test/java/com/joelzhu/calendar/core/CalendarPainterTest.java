@@ -0,0 +1,179 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 09:20
+ * 作用：月视图绘制的测试(与保存的操作记录比较，并检查选中日期变化时的绘制操作数量)
+ * <p>
+ * 保存的操作记录在src/test/resources中，绘制的顺序、坐标或画笔角色有意改变时，
+ * 用{@link RecordingRenderTarget#getLog()}的输出替换对应的文件。
+ */
+public class CalendarPainterTest {
+    // 一个单元格最多的绘制操作(选中背景、日期文字、3个标记圆点)
+    private static final int MAX_OPS_PER_CELL = 5;
+
+    private CalendarPainter painter;
+    private MonthGrid grid;
+    private int[] counts;
+    private RecordingRenderTarget target;
+
+    @Before
+    public void setUp() {
+        painter = PainterFixtures.createPainter(null);
+        grid = PainterFixtures.createGrid();
+        counts = PainterFixtures.createMarkerCounts();
+        target = new RecordingRenderTarget();
+        grid.setSelectedPosition(grid.positionOf(20));
+    }
+
+    @Test
+    public void drawMonthMatchesGolden() throws IOException {
+        target.setLogging(true);
+        painter.drawMonth(target, grid, counts, false);
+        assertLogEquals("month_2026_10.golden", target.getLog());
+    }
+
+    @Test
+    public void drawMonthWithLunarMatchesGolden() throws IOException {
+        painter = PainterFixtures.createPainter(new LunarCalendar());
+        target.setLogging(true);
+        painter.drawMonth(target, grid, counts, false);
+        assertLogEquals("month_2026_10_lunar.golden", target.getLog());
+    }
+
+    @Test
+    public void fullClipDrawsEveryCell() {
+        painter.clearClip();
+        painter.drawDateCells(target, grid, counts, false, 0, MonthGrid.SIZE);
+        assertEquals(MonthGrid.SIZE, painter.getDrawnCellCount());
+        assertTrue(painter.isMonthBarInClip());
+        assertTrue(painter.isWeekBarInClip());
+    }
+
+    @Test
+    public void selectionChangeRedrawsOnlyDirtyCells() {
+        // 18日(今日)、20日(原来选中)、21日(新选中)在同一行，合并后的区域包含18日到21日的4个单元格
+        selectAndClipDirtyCells(grid.positionOf(21));
+        assertFalse(painter.isMonthBarInClip());
+        assertFalse(painter.isWeekBarInClip());
+
+        painter.drawDateBackground(target, PainterFixtures.UNIT_HEIGHT * 9);
+        painter.drawSelectionBands(target, grid);
+        painter.drawDateCells(target, grid, counts, false, 0, MonthGrid.SIZE);
+        assertEquals(4, painter.getDrawnCellCount());
+        assertTrue("ops: " + target.getDrawCount(), target.getDrawCount() <= 1 + 4 * MAX_OPS_PER_CELL);
+    }
+
+    @Test
+    public void selectionChangeOverLayerCacheRedrawsTodayAndSelection() {
+        selectAndClipDirtyCells(grid.positionOf(21));
+
+        painter.drawDateOverlay(target, grid, counts, false);
+        assertEquals(2, painter.getDrawnCellCount());
+        assertTrue("ops: " + target.getDrawCount(), target.getDrawCount() <= 2 * MAX_OPS_PER_CELL);
+    }
+
+    @Test
+    public void dirtyRectCoversChangedCells() {
+        painter.clearDirtyRect();
+        assertFalse(painter.hasDirtyRect());
+        painter.addDirtyCell(-1);
+        assertFalse(painter.hasDirtyRect());
+
+        int position = grid.positionOf(20);
+        painter.addDirtyCell(position);
+        int[] rect = painter.getDirtyRect();
+        assertEquals((int) painter.cellLeft(position), rect[0]);
+        assertEquals((int) painter.cellTop(position), rect[1]);
+        assertEquals((int) Math.ceil(painter.cellLeft(position) + PainterFixtures.UNIT_WIDTH), rect[2]);
+        assertEquals((int) Math.ceil(painter.cellTop(position) + PainterFixtures.UNIT_HEIGHT), rect[3]);
+
+        // 合并下一行的单元格后，区域扩展到两行
+        painter.addDirtyCell(position + MonthGrid.DAYS_OF_WEEK);
+        assertEquals((int) Math.ceil(painter.cellTop(position) + PainterFixtures.UNIT_HEIGHT * 2), rect[3]);
+    }
+
+    @Test
+    public void dirtyRectSkipsHiddenRowsInWeekMode() {
+        int position = grid.positionOf(20);
+        painter.setRowOffset(position / MonthGrid.DAYS_OF_WEEK);
+        painter.setVisibleRowCount(1);
+        painter.clearDirtyRect();
+        painter.addDirtyCell(grid.positionOf(1));
+        assertFalse(painter.hasDirtyRect());
+
+        // 显示的一行画在日期区域的第一行
+        painter.addDirtyCell(position);
+        assertTrue(painter.hasDirtyRect());
+        assertEquals((int) (PainterFixtures.UNIT_HEIGHT * 3), painter.getDirtyRect()[1]);
+    }
+
+    /**
+     * 按控件的方式改变选中日期：合并前后的选中日期和今日，再以合并的区域作为裁剪区域
+     *
+     * @param position 新选中的位置
+     */
+    private void selectAndClipDirtyCells(int position) {
+        int lastSelectedPosition = grid.getSelectedPosition();
+        grid.setSelectedPosition(position);
+        painter.clearDirtyRect();
+        painter.addDirtyCell(lastSelectedPosition);
+        painter.addDirtyCell(grid.getTodayPosition());
+        painter.addDirtyCell(grid.getSelectedPosition());
+        assertTrue(painter.hasDirtyRect());
+        int[] rect = painter.getDirtyRect();
+        painter.setClip(rect[0], rect[1], rect[2], rect[3]);
+        painter.resetDrawnCellCount();
+        target.reset();
+    }
+
+    /**
+     * 逐行比较操作记录和保存的文件
+     *
+     * @param name 文件名(与测试类在同一个包中)
+     * @param log  操作记录
+     */
+    private void assertLogEquals(String name, String log) throws IOException {
+        String[] expected = readResource(name).split("\n");
+        String[] actual = log.split("\n");
+        for (int i = 0; i < Math.min(expected.length, actual.length); i++) {
+            assertEquals(name + " line " + (i + 1), expected[i], actual[i]);
+        }
+        assertEquals(name + " line count", expected.length, actual.length);
+        assertEquals(0, target.getSaveDepth());
+    }
+
+    /**
+     * 读取测试资源(UTF-8)
+     *
+     * @param name 文件名
+     * @return 内容
+     */
+    private String readResource(String name) throws IOException {
+        InputStream in = getClass().getResourceAsStream(name);
+        assertNotNull(name, in);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = in.read(buffer)) > 0) {
+                out.write(buffer, 0, length);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 18:10
+ * 作用：稀疏位图选择的测试(重点是字边界、负数纪元日和修改次数)
+ */
+public class DateSelectionTest {
+    // 一个字的开始(64的倍数)
+    private static final int WORD = 64 * 300;
+
+    private final DateSelection selection = new DateSelection();
+
+    @Test
+    public void bitsOfWithinOneWord() {
+        selection.add(WORD + 3);
+        selection.add(WORD + 10);
+
+        assertEquals(1L << 3 | 1L << 10, selection.bitsOf(WORD, 42));
+        assertEquals(1L | 1L << 7, selection.bitsOf(WORD + 3, 42));
+        // 只取count位
+        assertEquals(1L, selection.bitsOf(WORD + 3, 7));
+        assertEquals(0, selection.bitsOf(WORD + 11, 42));
+    }
+
+    @Test
+    public void bitsOfAcrossWordBoundary() {
+        selection.add(WORD + 60);
+        selection.add(WORD + 63);
+        selection.add(WORD + 64);
+        selection.add(WORD + 80);
+
+        // 从第60位开始：第一个字剩4位，其余来自下一个字
+        long expected = 1L | 1L << 3 | 1L << 4 | 1L << 20;
+        assertEquals(expected, selection.bitsOf(WORD + 60, 42));
+        assertEquals(expected & ((1L << 21) - 1), selection.bitsOf(WORD + 60, 21));
+        assertEquals(expected & ((1L << 20) - 1), selection.bitsOf(WORD + 60, 20));
+    }
+
+    @Test
+    public void bitsOfWithMissingFirstWord() {
+        // 第一个字不存在、下一个字存在(-index - 1是下一个字的位置)
+        selection.add(WORD - 64 * 5);
+        selection.add(WORD + 64);
+        selection.add(WORD + 64 + 5);
+
+        assertEquals(1L << 22 | 1L << 27, selection.bitsOf(WORD + 42, 42));
+        assertEquals(0, selection.bitsOf(WORD + 10, 42));
+    }
+
+    @Test
+    public void bitsOfIgnoresNonAdjacentNextWord() {
+        selection.add(WORD + 50);
+        // 相隔一个字，不能被拼接进来
+        selection.add(WORD + 128);
+
+        assertEquals(1L, selection.bitsOf(WORD + 50, 42));
+    }
+
+    @Test
+    public void bitsOfFullWord() {
+        selection.addRange(WORD + 32, WORD + 95);
+
+        assertEquals(-1L, selection.bitsOf(WORD + 32, 64));
+        assertEquals(-1L << 32, selection.bitsOf(WORD, 64));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bitsOfRejectsCountOverWord() {
+        selection.bitsOf(0, 65);
+    }
+
+    @Test
+    public void addRangeSpanningSeveralWords() {
+        assertTrue(selection.addRange(WORD + 250, WORD + 5));
+
+        assertEquals(246, selection.size());
+        assertEquals(WORD + 5, selection.getFirst());
+        assertEquals(WORD + 250, selection.getLast());
+        assertFalse(selection.contains(WORD + 4));
+        assertTrue(selection.contains(WORD + 5));
+        assertTrue(selection.contains(WORD + 63));
+        assertTrue(selection.contains(WORD + 64));
+        assertTrue(selection.contains(WORD + 250));
+        assertFalse(selection.contains(WORD + 251));
+    }
+
+    @Test
+    public void addRangeEndingOnWordEdges() {
+        selection.addRange(WORD, WORD + 63);
+        assertEquals(64, selection.size());
+        assertEquals(-1L, selection.bitsOf(WORD, 64));
+        assertFalse(selection.contains(WORD + 64));
+
+        selection.addRange(WORD + 63, WORD + 64);
+        assertEquals(65, selection.size());
+    }
+
+    @Test
+    public void addRangeCountsModificationsOnlyOnChange() {
+        selection.addRange(WORD, WORD + 100);
+        int modCount = selection.getModCount();
+
+        assertFalse(selection.addRange(WORD + 10, WORD + 90));
+        assertEquals(modCount, selection.getModCount());
+        assertFalse(selection.add(WORD + 50));
+        assertEquals(modCount, selection.getModCount());
+        assertTrue(selection.addRange(WORD + 90, WORD + 101));
+        assertEquals(modCount + 1, selection.getModCount());
+        assertEquals(102, selection.size());
+    }
+
+    @Test
+    public void removeAndToggleEmptyAWord() {
+        selection.add(WORD + 1);
+        selection.add(WORD + 70);
+        selection.add(WORD + 200);
+
+        assertTrue(selection.remove(WORD + 70));
+        assertFalse(selection.remove(WORD + 70));
+        // 中间的字被移除后，相邻的字查询仍然正确
+        assertEquals(0, selection.bitsOf(WORD + 64, 64));
+        assertEquals(1L << 8, selection.bitsOf(WORD + 192, 42));
+        assertFalse(selection.toggle(WORD + 1));
+        assertEquals(WORD + 200, selection.getFirst());
+        assertTrue(selection.toggle(WORD + 1));
+        assertEquals(WORD + 1, selection.getFirst());
+        assertArrayEquals(new int[]{WORD + 1, WORD + 200}, selection.toArray());
+
+        assertFalse(selection.toggle(WORD + 1));
+        assertFalse(selection.toggle(WORD + 200));
+        assertTrue(selection.isEmpty());
+        assertEquals(Integer.MIN_VALUE, selection.getFirst());
+        assertEquals(Integer.MIN_VALUE, selection.getLast());
+        assertEquals(0, selection.bitsOf(WORD, 64));
+    }
+
+    @Test
+    public void negativeEpochDays() {
+        // 1970年以前：-1在字-1的第63位，-64在字-1的第0位，-65在字-2
+        selection.add(-1);
+        selection.add(-64);
+        selection.add(-65);
+        selection.add(0);
+
+        assertEquals(-65, selection.getFirst());
+        assertEquals(0, selection.getLast());
+        assertArrayEquals(new int[]{-65, -64, -1, 0}, selection.toArray());
+        assertEquals(1L | 1L << 1, selection.bitsOf(-65, 64));
+        assertEquals(1L | 1L << 63, selection.bitsOf(-64, 64));
+        assertEquals(1L << 1 | 1L << 2, selection.bitsOf(-2, 42));
+        assertTrue(selection.contains(-64));
+        assertFalse(selection.contains(-63));
+
+        selection.addRange(-130, -60);
+        assertEquals(73, selection.size());
+        assertEquals(-130, selection.getFirst());
+        assertTrue(selection.remove(-1));
+        assertFalse(selection.contains(-1));
+    }
+
+    @Test
+    public void clearResetsEverything() {
+        selection.addRange(WORD, WORD + 10);
+        int modCount = selection.getModCount();
+        selection.clear();
+
+        assertEquals(0, selection.size());
+        assertEquals(modCount + 1, selection.getModCount());
+        selection.clear();
+        assertEquals(modCount + 1, selection.getModCount());
+    }
+
+    @Test
+    public void randomOperationsMatchTreeSet() {
+        Random random = new Random(7);
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            int day = random.nextInt(2000) - 1000;
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(reference.add(day), selection.add(day));
+                    break;
+                case 1:
+                    assertEquals(reference.remove(day), selection.remove(day));
+                    break;
+                case 2:
+                    assertEquals(!reference.contains(day), selection.toggle(day));
+                    if (!reference.remove(day)) {
+                        reference.add(day);
+                    }
+                    break;
+                default:
+                    int to = day + random.nextInt(150);
+                    for (int d = day; d <= to; d++) {
+                        reference.add(d);
+                    }
+                    selection.addRange(day, to);
+                    break;
+            }
+            assertEquals(reference.size(), selection.size());
+            int from = random.nextInt(2200) - 1100;
+            int count = 1 + random.nextInt(64);
+            long expected = 0;
+            for (int bit = 0; bit < count; bit++) {
+                if (reference.contains(from + bit)) {
+                    expected |= 1L << bit;
+                }
+            }
+            assertEquals(from + "+" + count, expected, selection.bitsOf(from, count));
+        }
+        assertEquals((int) reference.first(), selection.getFirst());
+        assertEquals((int) reference.last(), selection.getLast());
+    }
+}
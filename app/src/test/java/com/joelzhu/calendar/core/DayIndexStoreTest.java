@@ -0,0 +1,294 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 17:10
+ * 作用：映射到内存的日期索引文件的测试(追加、重新打开、扩展、压缩和压缩中途崩溃后的恢复)
+ */
+public class DayIndexStoreTest {
+    // 第一天(2020年1月1日)
+    private static final int FIRST_DAY = EpochDays.of(2020, 0, 1);
+    // 新文件预留的天数
+    private static final int INITIAL_DAYS = 1024;
+    // 新数据文件预留的长度
+    private static final int INITIAL_DATA_SIZE = 16 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private DayIndexStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(folder.getRoot(), "markers.idx");
+        store = new DayIndexStore(file, FIRST_DAY);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void appendCountsAndSummaries() throws IOException {
+        store.add(FIRST_DAY, 2);
+        store.add(FIRST_DAY, 1, "会议");
+        store.add(FIRST_DAY + 3, 4, "生日 🎂");
+
+        assertEquals(3, store.getCount(FIRST_DAY));
+        assertEquals(4, store.getCount(FIRST_DAY + 3));
+        assertEquals(0, store.getCount(FIRST_DAY + 1));
+        assertEquals(0, store.getCount(FIRST_DAY - 1));
+        assertEquals(4, store.getDayCount());
+        assertEquals("会议", store.getSummary(FIRST_DAY));
+        assertEquals("生日 🎂", store.getSummary(FIRST_DAY + 3));
+        assertNull(store.getSummary(FIRST_DAY + 1));
+        assertNull(store.getSummary(FIRST_DAY + 100));
+
+        int[] counts = new int[6];
+        store.getMarkerCounts(FIRST_DAY - 1, counts);
+        assertArrayEquals(new int[]{0, 3, 0, 0, 4, 0}, counts);
+        String[] summaries = new String[3];
+        store.getSummaries(FIRST_DAY + 2, summaries);
+        assertArrayEquals(new String[]{null, "生日 🎂", null}, summaries);
+    }
+
+    @Test
+    public void replacingSummaryLeavesGarbage() throws IOException {
+        store.add(FIRST_DAY, 0, "abc");
+        store.add(FIRST_DAY, 0, "defgh");
+        assertEquals(3, store.getGarbageLength());
+        assertEquals("defgh", store.getSummary(FIRST_DAY));
+
+        // 空字符串清除摘要，null不修改
+        store.add(FIRST_DAY, 1, null);
+        assertEquals("defgh", store.getSummary(FIRST_DAY));
+        store.add(FIRST_DAY, 0, "");
+        assertNull(store.getSummary(FIRST_DAY));
+        assertEquals(8, store.getGarbageLength());
+    }
+
+    @Test
+    public void reopenKeepsDataAndFirstDay() throws IOException {
+        store.add(FIRST_DAY + 10, 7, "复诊");
+        store.close();
+
+        // 已有的文件使用文件中保存的第一天
+        store = new DayIndexStore(file, FIRST_DAY + 500);
+        assertEquals(FIRST_DAY, store.getFirstEpochDay());
+        assertEquals(7, store.getCount(FIRST_DAY + 10));
+        assertEquals("复诊", store.getSummary(FIRST_DAY + 10));
+        assertEquals(11, store.getDayCount());
+    }
+
+    @Test
+    public void growsPastInitialReservation() throws IOException {
+        long initialIndexLength = file.length();
+        int lastDay = FIRST_DAY + INITIAL_DAYS * 3 + 17;
+        // 摘要总长超过预留的16KB
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            summary.append('x');
+        }
+        for (int day = FIRST_DAY; day < lastDay; day += 7) {
+            store.add(day, day - FIRST_DAY + 1, summary + String.valueOf(day));
+        }
+        store.add(lastDay, 1);
+        assertTrue(file.length() > initialIndexLength);
+        assertTrue(dataFile(".dat").length() > INITIAL_DATA_SIZE);
+
+        store.close();
+        store = new DayIndexStore(file, FIRST_DAY);
+        assertEquals(lastDay - FIRST_DAY + 1, store.getDayCount());
+        for (int day = FIRST_DAY; day < lastDay; day += 7) {
+            assertEquals(day - FIRST_DAY + 1, store.getCount(day));
+            assertEquals(summary + String.valueOf(day), store.getSummary(day));
+            assertEquals(0, store.getCount(day + 1));
+        }
+        assertEquals(1, store.getCount(lastDay));
+    }
+
+    @Test
+    public void compactDropsGarbageAndAlternatesDataFiles() throws IOException {
+        for (int day = 0; day < 200; day++) {
+            store.add(FIRST_DAY + day, 1, "old " + day);
+            store.add(FIRST_DAY + day, 0, day % 3 == 0 ? "" : "new " + day);
+        }
+        assertTrue(store.getGarbageLength() > 0);
+
+        store.compact();
+        assertEquals(0, store.getGarbageLength());
+        assertFalse(dataFile(".dat").exists());
+        assertTrue(dataFile(".1.dat").exists());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        assertSummaries();
+
+        // 压缩之后继续追加
+        store.add(FIRST_DAY + 300, 2, "after");
+        assertEquals("after", store.getSummary(FIRST_DAY + 300));
+        store.close();
+        store = new DayIndexStore(file, FIRST_DAY);
+        assertSummaries();
+        assertEquals("after", store.getSummary(FIRST_DAY + 300));
+
+        // 第二次压缩换回原来的数据文件名
+        store.compact();
+        assertTrue(dataFile(".dat").exists());
+        assertFalse(dataFile(".1.dat").exists());
+        store.close();
+        store = new DayIndexStore(file, FIRST_DAY);
+        assertSummaries();
+        assertEquals(301, store.getDayCount());
+    }
+
+    @Test
+    public void compactWithoutSummaries() throws IOException {
+        store.add(FIRST_DAY + 5, 3);
+        store.compact();
+        store.add(FIRST_DAY + 6, 1, "first");
+        store.close();
+
+        store = new DayIndexStore(file, FIRST_DAY);
+        assertEquals(3, store.getCount(FIRST_DAY + 5));
+        assertEquals("first", store.getSummary(FIRST_DAY + 6));
+    }
+
+    @Test
+    public void crashBeforeCommitKeepsOldState() throws IOException {
+        store.add(FIRST_DAY, 1, "kept");
+        store.close();
+        store = null;
+        // 模拟压缩写出了新的数据文件和临时索引，但还没有替换索引文件
+        writeJunk(dataFile(".1.dat"));
+        writeJunk(new File(file.getPath() + ".tmp"));
+
+        store = new DayIndexStore(file, FIRST_DAY);
+        assertEquals("kept", store.getSummary(FIRST_DAY));
+        assertFalse(dataFile(".1.dat").exists());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void crashAfterCommitDeletesOldDataFile() throws IOException {
+        store.add(FIRST_DAY, 1, "a");
+        store.add(FIRST_DAY, 0, "compacted");
+        store.compact();
+        store.close();
+        store = null;
+        // 模拟替换索引文件之后、删除旧数据文件之前崩溃
+        writeJunk(dataFile(".dat"));
+
+        store = new DayIndexStore(file, FIRST_DAY);
+        assertEquals("compacted", store.getSummary(FIRST_DAY));
+        assertFalse(dataFile(".dat").exists());
+    }
+
+    @Test
+    public void crashBetweenDeleteAndRenameRecoversFromTempIndex() throws IOException {
+        store.add(FIRST_DAY, 1, "a");
+        store.add(FIRST_DAY, 0, "compacted");
+        store.compact();
+        store.close();
+        store = null;
+        // 模拟不能覆盖文件的系统上，删除了索引文件但还没有把临时索引改名
+        assertTrue(file.renameTo(new File(file.getPath() + ".tmp")));
+
+        store = new DayIndexStore(file, FIRST_DAY);
+        assertEquals("compacted", store.getSummary(FIRST_DAY));
+        assertEquals(0, store.getGarbageLength());
+    }
+
+    @Test
+    public void rejectsForeignFile() throws IOException {
+        store.close();
+        store = null;
+        File foreign = folder.newFile("foreign.idx");
+        writeJunk(foreign);
+        try {
+            new DayIndexStore(foreign, FIRST_DAY);
+            fail();
+        } catch (IOException expected) {
+            // 不是日期索引文件
+        }
+    }
+
+    @Test
+    public void rejectsTruncatedDataFile() throws IOException {
+        store.add(FIRST_DAY, 1, "some summary");
+        store.close();
+        store = null;
+        RandomAccessFile access = new RandomAccessFile(dataFile(".dat"), "rw");
+        try {
+            access.setLength(4);
+        } finally {
+            access.close();
+        }
+        try {
+            new DayIndexStore(file, FIRST_DAY);
+            fail();
+        } catch (IOException expected) {
+            // 数据文件比索引中记录的短
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDayBeforeFirstDay() throws IOException {
+        store.add(FIRST_DAY - 1, 1);
+    }
+
+    /**
+     * 检查compactDropsGarbageAndAlternatesDataFiles写入的摘要
+     */
+    private void assertSummaries() {
+        for (int day = 0; day < 200; day++) {
+            assertEquals(1, store.getCount(FIRST_DAY + day));
+            assertEquals(day % 3 == 0 ? null : "new " + day, store.getSummary(FIRST_DAY + day));
+        }
+    }
+
+    /**
+     * 获取索引文件对应的数据文件
+     *
+     * @param suffix 后缀
+     * @return 数据文件
+     */
+    private File dataFile(String suffix) {
+        return new File(file.getPath() + suffix);
+    }
+
+    /**
+     * 写入一段不是日期索引的内容
+     *
+     * @param target 文件
+     */
+    private static void writeJunk(File target) throws IOException {
+        FileOutputStream out = new FileOutputStream(target);
+        try {
+            out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23,
+                    24, 25, 26, 27, 28, 29, 30, 31, 32, 33});
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 19:10
+ * 作用：不可选日期掩码的测试(最早、最晚日期的截取，业务规则的调用范围和网格缓存)
+ */
+public class DisabledDatesTest {
+    // 网格第一个单元格的纪元日
+    private static final int FIRST = EpochDays.of(2026, 8, 27);
+    // 网格最后一个单元格的纪元日
+    private static final int LAST = FIRST + MonthGrid.SIZE - 1;
+    // 所有单元格的掩码
+    private static final long FULL = (1L << MonthGrid.SIZE) - 1;
+
+    private DisabledDates dates;
+    private CountingProvider provider;
+
+    @Before
+    public void setUp() {
+        dates = new DisabledDates();
+        provider = new CountingProvider();
+    }
+
+    @Test
+    public void noConstraintsMeansEmptyMask() {
+        assertFalse(dates.hasConstraints());
+        assertEquals(0, dates.maskOf(FIRST));
+        dates.setBounds(DisabledDates.NO_MIN, DisabledDates.NO_MAX);
+        assertFalse(dates.hasConstraints());
+        assertEquals(0, dates.maskOf(FIRST));
+    }
+
+    @Test
+    public void boundsInsideGrid() {
+        dates.setBounds(FIRST + 5, FIRST + 30);
+
+        assertEquals(maskOf(0, 5) | maskOf(31, MonthGrid.SIZE), dates.maskOf(FIRST));
+        assertTrue(dates.isDisabled(FIRST + 4));
+        assertFalse(dates.isDisabled(FIRST + 5));
+        assertFalse(dates.isDisabled(FIRST + 30));
+        assertTrue(dates.isDisabled(FIRST + 31));
+    }
+
+    @Test
+    public void boundsOnFirstAndLastCell() {
+        dates.setBounds(FIRST, LAST);
+        assertEquals(0, dates.maskOf(FIRST));
+
+        dates.setBounds(FIRST + 1, LAST - 1);
+        assertEquals(1L | 1L << (MonthGrid.SIZE - 1), dates.maskOf(FIRST));
+    }
+
+    @Test
+    public void boundsOutsideGrid() {
+        // 范围包含整个网格
+        dates.setBounds(FIRST - 100, LAST + 100);
+        assertEquals(0, dates.maskOf(FIRST));
+        // 整个网格在最晚日期之后
+        dates.setBounds(FIRST - 100, FIRST - 1);
+        assertEquals(FULL, dates.maskOf(FIRST));
+        // 最早日期在网格最后一个单元格之后
+        dates.setBounds(LAST + 1, LAST + 100);
+        assertEquals(FULL, dates.maskOf(FIRST));
+        dates.setBounds(LAST, LAST + 100);
+        assertEquals(maskOf(0, MonthGrid.SIZE - 1), dates.maskOf(FIRST));
+    }
+
+    @Test
+    public void openBounds() {
+        dates.setBounds(DisabledDates.NO_MIN, FIRST + 10);
+        assertEquals(maskOf(11, MonthGrid.SIZE), dates.maskOf(FIRST));
+        assertFalse(dates.isDisabled(Integer.MIN_VALUE));
+
+        dates.setBounds(FIRST + 10, DisabledDates.NO_MAX);
+        assertEquals(maskOf(0, 10), dates.maskOf(FIRST));
+        assertFalse(dates.isDisabled(Integer.MAX_VALUE));
+        // 网格位于极端的纪元日时相减不能溢出
+        assertEquals(FULL, dates.maskOf(Integer.MIN_VALUE));
+        assertEquals(0, dates.maskOf(Integer.MAX_VALUE - MonthGrid.SIZE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvertedBounds() {
+        dates.setBounds(FIRST + 1, FIRST);
+    }
+
+    @Test
+    public void providerCalledOnlyForInBoundsCells() {
+        provider.disabled.add(FIRST + 2);
+        provider.disabled.add(FIRST + 12);
+        provider.disabled.add(FIRST + 40);
+        dates.setBounds(FIRST + 10, FIRST + 20);
+        dates.setProvider(provider);
+
+        assertEquals(maskOf(0, 10) | 1L << 12 | maskOf(21, MonthGrid.SIZE), dates.maskOf(FIRST));
+        assertEquals(11, provider.calls.size());
+        for (int epochDay : provider.calls) {
+            assertTrue(epochDay >= FIRST + 10 && epochDay <= FIRST + 20);
+        }
+    }
+
+    @Test
+    public void providerCalledOncePerGridUntilInvalidate() {
+        dates.setProvider(provider);
+        provider.disabled.add(FIRST + 3);
+
+        assertEquals(1L << 3, dates.maskOf(FIRST));
+        assertEquals(1L << 3, dates.maskOf(FIRST));
+        assertEquals(MonthGrid.SIZE, provider.calls.size());
+
+        // 规则的数据变化，invalidate之后重新计算
+        provider.disabled.add(FIRST + 4);
+        assertEquals(1L << 3, dates.maskOf(FIRST));
+        dates.invalidate();
+        assertEquals(1L << 3 | 1L << 4, dates.maskOf(FIRST));
+        assertEquals(MonthGrid.SIZE * 2, provider.calls.size());
+    }
+
+    @Test
+    public void cacheKeepsFourGrids() {
+        dates.setProvider(provider);
+        for (int i = 0; i < 4; i++) {
+            dates.maskOf(FIRST + i * 35);
+        }
+        assertEquals(MonthGrid.SIZE * 4, provider.calls.size());
+        for (int i = 0; i < 4; i++) {
+            dates.maskOf(FIRST + i * 35);
+        }
+        assertEquals(MonthGrid.SIZE * 4, provider.calls.size());
+
+        // 第五个网格替换最早放入的网格
+        dates.maskOf(FIRST + 4 * 35);
+        assertEquals(MonthGrid.SIZE * 5, provider.calls.size());
+        dates.maskOf(FIRST + 35);
+        assertEquals(MonthGrid.SIZE * 5, provider.calls.size());
+        dates.maskOf(FIRST);
+        assertEquals(MonthGrid.SIZE * 6, provider.calls.size());
+    }
+
+    @Test
+    public void settersInvalidateCache() {
+        dates.setProvider(provider);
+        dates.maskOf(FIRST);
+        dates.setBounds(FIRST, LAST);
+        dates.maskOf(FIRST);
+        assertEquals(MonthGrid.SIZE * 2, provider.calls.size());
+
+        dates.setProvider(null);
+        assertTrue(dates.hasConstraints());
+        assertEquals(0, dates.maskOf(FIRST));
+        assertEquals(MonthGrid.SIZE * 2, provider.calls.size());
+    }
+
+    @Test
+    public void overlapsBounds() {
+        dates.setBounds(FIRST + 10, FIRST + 20);
+
+        assertTrue(dates.overlapsBounds(FIRST, FIRST + 10));
+        assertTrue(dates.overlapsBounds(FIRST + 20, LAST));
+        assertFalse(dates.overlapsBounds(FIRST, FIRST + 9));
+        assertFalse(dates.overlapsBounds(FIRST + 21, LAST));
+    }
+
+    /**
+     * 计算从from到to(不包含)的单元格掩码
+     *
+     * @param from 第一个单元格
+     * @param to   最后一个单元格的下一个
+     * @return 掩码
+     */
+    private static long maskOf(int from, int to) {
+        long mask = 0;
+        for (int position = from; position < to; position++) {
+            mask |= 1L << position;
+        }
+        return mask;
+    }
+
+    /**
+     * 记录每次调用的业务规则
+     */
+    private static final class CountingProvider implements DisabledDateProvider {
+        final List<Integer> disabled = new ArrayList<>();
+        final List<Integer> calls = new ArrayList<>();
+
+        @Override
+        public boolean isDateDisabled(int epochDay) {
+            calls.add(epochDay);
+            return disabled.contains(epochDay);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 09:40
+ * 作用：绘制过程不分配对象的测试(重复绘制很多帧，统计当前线程分配的字节数)
+ * <p>
+ * 控件的onDraw只把Canvas交给{@link CalendarPainter}，因此在JVM上用只计数的绘制目标重复绘制，
+ * 就能发现绘制路径中新增的分配。先预热使类加载和JIT编译完成，测量期间分配的字节数必须为0。
+ */
+public class DrawAllocationTest {
+    // 预热的帧数
+    private static final int WARMUP_FRAMES = 20000;
+    // 测量的帧数
+    private static final int MEASURED_FRAMES = 5000;
+
+    private com.sun.management.ThreadMXBean threadBean;
+    private MonthGrid grid;
+    private int[] counts;
+    private RecordingRenderTarget target;
+
+    @Before
+    public void setUp() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        // 只有支持统计线程分配字节数的JVM才能执行
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        grid = PainterFixtures.createGrid();
+        counts = PainterFixtures.createMarkerCounts();
+        target = new RecordingRenderTarget();
+    }
+
+    @Test
+    public void drawMonthDoesNotAllocate() {
+        assertNoAllocation(PainterFixtures.createPainter(null));
+    }
+
+    @Test
+    public void drawMonthWithLunarDoesNotAllocate() {
+        assertNoAllocation(PainterFixtures.createPainter(new LunarCalendar()));
+    }
+
+    @Test
+    public void drawMonthWithHeatmapAndBandsDoesNotAllocate() {
+        CalendarPainter painter = PainterFixtures.createPainter(null);
+        painter.setSelectionStyle(true, false);
+        painter.setHeatmapEnabled(true);
+        int[] levels = painter.getHeatLevels();
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = i % (RenderTarget.HEATMAP_LEVELS + 1) - 1;
+        }
+        assertNoAllocation(painter);
+    }
+
+    /**
+     * 预热后重复绘制，断言测量期间没有分配
+     *
+     * @param painter 绘制
+     */
+    private void assertNoAllocation(CalendarPainter painter) {
+        drawFrames(painter, WARMUP_FRAMES);
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        drawFrames(painter, MEASURED_FRAMES);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        assertEquals("bytes allocated in " + MEASURED_FRAMES + " frames", 0, allocated);
+    }
+
+    /**
+     * 绘制多帧(每帧移动选中日期，交替绘制整个月份和局部刷新的单元格)
+     *
+     * @param painter 绘制
+     * @param frames  帧数
+     */
+    private void drawFrames(CalendarPainter painter, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            grid.setSelectedPosition(frame % MonthGrid.SIZE);
+            target.reset();
+            painter.resetDrawnCellCount();
+            if (frame % 2 == 0) {
+                painter.clearClip();
+                painter.drawMonth(target, grid, counts, frame % 4 == 0);
+            } else {
+                painter.clearDirtyRect();
+                painter.addDirtyCell(grid.getSelectedPosition());
+                painter.addDirtyCell(grid.getTodayPosition());
+                int[] rect = painter.getDirtyRect();
+                painter.setClip(rect[0], rect[1], rect[2], rect[3]);
+                painter.drawDateCells(target, grid, counts, false, 0, MonthGrid.SIZE);
+                painter.drawDateOverlay(target, grid, counts, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 15:10
+ * 作用：纪元日换算的测试(逐日对照java.util.GregorianCalendar，覆盖1年至9999年和1582年的历法切换)
+ */
+public class EpochDaysTest {
+    // 一天的毫秒数
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    @Test
+    public void everyDayMatchesGregorianCalendar() {
+        Calendar calendar = newCalendar();
+        calendar.set(1, Calendar.JANUARY, 1);
+        int[] out = new int[3];
+        int expectedEpochDay = epochDayOf(calendar);
+        while (calendar.get(Calendar.YEAR) <= 9999) {
+            int year = calendar.get(Calendar.YEAR);
+            int month = calendar.get(Calendar.MONTH);
+            int date = calendar.get(Calendar.DAY_OF_MONTH);
+            String label = year + "-" + (month + 1) + "-" + date;
+
+            assertEquals(label, expectedEpochDay, EpochDays.of(year, month, date));
+            EpochDays.toDate(expectedEpochDay, out);
+            assertEquals(label, year, out[0]);
+            assertEquals(label, month, out[1]);
+            assertEquals(label, date, out[2]);
+            assertEquals(label, year * 12 + month, EpochDays.monthIndexOf(expectedEpochDay));
+            assertEquals(label, calendar.get(Calendar.DAY_OF_WEEK), EpochDays.dayOfWeek(expectedEpochDay));
+
+            calendar.add(Calendar.DATE, 1);
+            expectedEpochDay++;
+        }
+    }
+
+    @Test
+    public void monthLengthsMatchActualMaximum() {
+        Calendar calendar = newCalendar();
+        for (int year = 1; year <= 9999; year++) {
+            assertEquals(String.valueOf(year), ((GregorianCalendar) calendar).isLeapYear(year),
+                    EpochDays.isLeapYear(year));
+            for (int month = 0; month < 12; month++) {
+                calendar.clear();
+                calendar.set(year, month, 1);
+                assertEquals(year + "-" + (month + 1), calendar.getActualMaximum(Calendar.DAY_OF_MONTH),
+                        EpochDays.lengthOfMonth(year, month));
+            }
+        }
+    }
+
+    @Test
+    public void cutoverSkipsTenDays() {
+        assertEquals(EpochDays.GREGORIAN_CUTOVER, EpochDays.of(1582, Calendar.OCTOBER, 15));
+        assertEquals(EpochDays.GREGORIAN_CUTOVER - 1, EpochDays.of(1582, Calendar.OCTOBER, 4));
+        // 不存在的10月5日至14日与Calendar一样按儒略历顺延
+        Calendar calendar = newCalendar();
+        for (int date = 5; date <= 14; date++) {
+            calendar.clear();
+            calendar.set(1582, Calendar.OCTOBER, date);
+            assertEquals(String.valueOf(date), epochDayOf(calendar), EpochDays.of(1582, Calendar.OCTOBER, date));
+        }
+    }
+
+    @Test
+    public void overflowingMonthRollsIntoAdjacentYear() {
+        assertEquals(EpochDays.of(1999, Calendar.DECEMBER, 1), EpochDays.of(2000, -1, 1));
+        assertEquals(EpochDays.of(2001, Calendar.JANUARY, 1), EpochDays.of(2000, 12, 1));
+        assertEquals(EpochDays.of(1499, Calendar.DECEMBER, 31), EpochDays.of(1500, -1, 31));
+    }
+
+    @Test
+    public void fromMillisUsesZoneOffset() {
+        TimeZone shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+        long millis = EpochDays.of(2026, Calendar.OCTOBER, 18) * MILLIS_PER_DAY;
+
+        assertEquals(EpochDays.of(2026, Calendar.OCTOBER, 18), EpochDays.fromMillis(millis, shanghai));
+        assertEquals(EpochDays.of(2026, Calendar.OCTOBER, 19), EpochDays.fromMillis(millis + 16 * 3600000L, shanghai));
+        assertEquals(-1, EpochDays.fromMillis(-1, TimeZone.getTimeZone("UTC")));
+    }
+
+    /**
+     * 创建UTC时区、默认历法切换日期的日历
+     *
+     * @return 日历
+     */
+    static Calendar newCalendar() {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        return calendar;
+    }
+
+    /**
+     * 计算日历当前日期的纪元日
+     *
+     * @param calendar UTC时区的日历
+     * @return 纪元日
+     */
+    static int epochDayOf(Calendar calendar) {
+        long millis = calendar.getTimeInMillis();
+        return (int) Math.floor(millis / (double) MILLIS_PER_DAY);
+    }
+}
@@ -0,0 +1,192 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 14:20
+ * 作用：手势状态机的测试(用合成的坐标和时点驱动，不需要MotionEvent)
+ */
+public class GestureTrackerTest {
+    // 长按的时间(毫秒)
+    private static final long TIMEOUT = 500;
+    // 移动容差
+    private static final float SLOP = 10;
+    // 按下的时点
+    private static final long DOWN = 1000;
+
+    private RecordingCallback callback;
+    private GestureTracker tracker;
+
+    @Before
+    public void setUp() {
+        callback = new RecordingCallback();
+        tracker = new GestureTracker(callback, TIMEOUT);
+        tracker.setSlop(SLOP, SLOP);
+    }
+
+    @Test
+    public void tapWhenReleasedBeforeTimeout() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.onMove(105, 195, DOWN + 50);
+        tracker.onUp(DOWN + 100);
+
+        assertEquals("tap 100.0,200.0", callback.single());
+        assertEquals(GestureTracker.STATE_IDLE, tracker.getState());
+    }
+
+    @Test
+    public void dragBeyondSlopCancelsTap() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.onMove(100 + SLOP, 200, DOWN + 50);
+        assertEquals(GestureTracker.STATE_CANCELLED, tracker.getState());
+
+        // 移回原处也不再恢复
+        tracker.onMove(100, 200, DOWN + 80);
+        tracker.onUp(DOWN + 100);
+
+        assertTrue(callback.events.isEmpty());
+        assertEquals(GestureTracker.STATE_IDLE, tracker.getState());
+    }
+
+    @Test
+    public void dragBeyondSlopCancelsLongPress() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.onMove(100, 200 - SLOP, DOWN + 50);
+
+        assertFalse(tracker.onLongPressTimeout(DOWN + TIMEOUT));
+        tracker.onUp(DOWN + TIMEOUT + 100);
+        assertTrue(callback.events.isEmpty());
+    }
+
+    @Test
+    public void longPressFiresOnTimeoutWhileHeld() {
+        tracker.onDown(100, 200, DOWN);
+
+        assertFalse(tracker.onLongPressTimeout(DOWN + TIMEOUT - 1));
+        assertTrue(callback.events.isEmpty());
+        assertTrue(tracker.onLongPressTimeout(DOWN + TIMEOUT));
+        assertEquals("long 100.0,200.0", callback.single());
+        assertEquals(GestureTracker.STATE_LONG_PRESSED, tracker.getState());
+
+        // 抬起时不再补发点击或第二次长按
+        tracker.onUp(DOWN + TIMEOUT + 300);
+        assertEquals(1, callback.events.size());
+        assertEquals(GestureTracker.STATE_IDLE, tracker.getState());
+    }
+
+    @Test
+    public void longPressFiresOnceWhenTimeoutRepeats() {
+        tracker.onDown(100, 200, DOWN);
+        assertTrue(tracker.onLongPressTimeout(DOWN + TIMEOUT));
+        assertFalse(tracker.onLongPressTimeout(DOWN + TIMEOUT + 10));
+        tracker.onMove(101, 200, DOWN + TIMEOUT + 20);
+
+        assertEquals(1, callback.events.size());
+    }
+
+    @Test
+    public void delayedTimeoutIsCaughtByMove() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.onMove(102, 201, DOWN + TIMEOUT);
+
+        assertEquals("long 100.0,200.0", callback.single());
+    }
+
+    @Test
+    public void delayedTimeoutIsCaughtByUp() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.onUp(DOWN + TIMEOUT);
+
+        assertEquals("long 100.0,200.0", callback.single());
+    }
+
+    @Test
+    public void cancelEventDropsGesture() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.onCancel();
+        assertEquals(GestureTracker.STATE_IDLE, tracker.getState());
+
+        assertFalse(tracker.onLongPressTimeout(DOWN + TIMEOUT));
+        tracker.onUp(DOWN + 100);
+        assertTrue(callback.events.isEmpty());
+    }
+
+    @Test
+    public void secondPointerDownCancelsGesture() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.onPointerDown();
+        assertEquals(GestureTracker.STATE_CANCELLED, tracker.getState());
+
+        assertFalse(tracker.onLongPressTimeout(DOWN + TIMEOUT));
+        tracker.onUp(DOWN + 100);
+        assertTrue(callback.events.isEmpty());
+        assertEquals(GestureTracker.STATE_IDLE, tracker.getState());
+    }
+
+    @Test
+    public void secondPointerDownWhileIdleStaysIdle() {
+        tracker.onPointerDown();
+
+        assertEquals(GestureTracker.STATE_IDLE, tracker.getState());
+    }
+
+    @Test
+    public void nextDownStartsNewGestureAfterCancel() {
+        tracker.onDown(100, 200, DOWN);
+        tracker.cancel();
+        tracker.onUp(DOWN + 100);
+
+        tracker.onDown(300, 400, DOWN + 200);
+        tracker.onUp(DOWN + 300);
+        assertEquals("tap 300.0,400.0", callback.single());
+    }
+
+    @Test
+    public void disabledLongPressAlwaysTaps() {
+        tracker.setLongPressEnabled(false);
+        tracker.onDown(100, 200, DOWN);
+
+        assertFalse(tracker.onLongPressTimeout(DOWN + TIMEOUT * 4));
+        tracker.onMove(101, 200, DOWN + TIMEOUT * 5);
+        assertEquals(GestureTracker.STATE_PRESSED, tracker.getState());
+        tracker.onUp(DOWN + TIMEOUT * 6);
+
+        assertEquals("tap 100.0,200.0", callback.single());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullCallbackIsRejected() {
+        new GestureTracker(null, TIMEOUT);
+    }
+
+    /**
+     * 按顺序记录回调
+     */
+    private static final class RecordingCallback implements GestureTracker.Callback {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onTap(float x, float y) {
+            events.add("tap " + x + "," + y);
+        }
+
+        @Override
+        public void onLongPress(float x, float y) {
+            events.add("long " + x + "," + y);
+        }
+
+        String single() {
+            assertEquals(events.toString(), 1, events.size());
+            return events.get(0);
+        }
+    }
+}
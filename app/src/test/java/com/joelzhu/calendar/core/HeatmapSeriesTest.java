@@ -0,0 +1,162 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 20:05
+ * 作用：热力图数据的测试(逐个更新的范围、中间没有数据的日期、等级的划分和范围的重新计算)
+ */
+public class HeatmapSeriesTest {
+    // 第一天的纪元日
+    private static final int START = EpochDays.of(2026, 0, 1);
+    // 等级数量
+    private static final int LEVELS = 5;
+
+    @Test
+    public void appendUpdatesRangeIncrementally() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        assertEquals(Float.POSITIVE_INFINITY, series.getMin(), 0);
+        assertEquals(Float.NEGATIVE_INFINITY, series.getMax(), 0);
+
+        series.append(3);
+        assertRange(series, 3, 3);
+        series.append(new float[]{9, 1, Float.NaN, 5}, 1, 2);
+        assertRange(series, 1, 3);
+        series.append(new double[]{7, 2}, 0, 2);
+        assertRange(series, 1, 7);
+        series.append(Float.NaN);
+        assertRange(series, 1, 7);
+
+        assertEquals(6, series.size());
+        assertEquals(1, series.get(START + 1), 0);
+        assertEquals(7, series.get(START + 3), 0);
+        assertTrue(Float.isNaN(series.get(START + 5)));
+        assertTrue(Float.isNaN(series.get(START - 1)));
+        assertTrue(Float.isNaN(series.get(START + 6)));
+    }
+
+    @Test
+    public void appendGrowsPastInitialCapacity() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        for (int i = 0; i < 200; i++) {
+            series.append(i);
+        }
+        assertEquals(200, series.size());
+        assertEquals(150, series.get(START + 150), 0);
+        assertRange(series, 0, 199);
+    }
+
+    @Test
+    public void setPastEndFillsGapWithNaN() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        series.append(4);
+        series.set(START + 100, 8);
+
+        assertEquals(101, series.size());
+        for (int day = START + 1; day < START + 100; day++) {
+            assertTrue(Float.isNaN(series.get(day)));
+        }
+        assertEquals(8, series.get(START + 100), 0);
+        assertRange(series, 4, 8);
+
+        int[] levels = new int[4];
+        series.getLevels(START - 1, 4, LEVELS, levels);
+        assertArrayEquals(new int[]{-1, 0, -1, -1}, levels);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setBeforeStartRejected() {
+        new HeatmapSeries(START).set(START - 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void appendOutOfRangeRejected() {
+        new HeatmapSeries(START).append(new float[3], 2, 2);
+    }
+
+    @Test
+    public void levelsSplitRangeEvenly() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        series.append(new float[]{0, 1, 2, 3, 4, 5, 10}, 0, 7);
+
+        int[] levels = new int[7];
+        series.getLevels(START, 7, LEVELS, levels);
+        // 每个等级占2，最大值属于最高等级
+        assertArrayEquals(new int[]{0, 0, 1, 1, 2, 2, 4}, levels);
+    }
+
+    @Test
+    public void flatRangeMapsToTopLevel() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        series.append(new float[]{6, Float.NaN, 6}, 0, 3);
+
+        int[] levels = new int[3];
+        series.getLevels(START, 3, LEVELS, levels);
+        assertArrayEquals(new int[]{LEVELS - 1, -1, LEVELS - 1}, levels);
+    }
+
+    @Test
+    public void overwriteOnlyWidensRange() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        series.append(new float[]{0, 5, 10}, 0, 3);
+
+        // 覆盖最大值后范围不收缩，原来的最大值仍然计入等级的划分
+        series.set(START + 2, 4);
+        assertRange(series, 0, 10);
+        int[] levels = new int[3];
+        series.getLevels(START, 3, LEVELS, levels);
+        assertArrayEquals(new int[]{0, 2, 2}, levels);
+
+        // 覆盖为超出范围的数值时范围扩大
+        series.set(START + 1, 20);
+        series.set(START, -20);
+        assertRange(series, -20, 20);
+        series.getLevels(START, 3, LEVELS, levels);
+        assertArrayEquals(new int[]{0, LEVELS - 1, 3}, levels);
+    }
+
+    @Test
+    public void recomputeRangeShrinks() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        series.append(new float[]{0, 5, 10}, 0, 3);
+        series.set(START, 2);
+        series.set(START + 2, Float.NaN);
+        assertRange(series, 0, 10);
+
+        int version = series.getVersion();
+        series.recomputeRange();
+        assertRange(series, 2, 5);
+        assertTrue(series.getVersion() > version);
+
+        int[] levels = new int[3];
+        series.getLevels(START, 3, LEVELS, levels);
+        assertArrayEquals(new int[]{0, LEVELS - 1, -1}, levels);
+    }
+
+    @Test
+    public void versionChangesOnEveryWrite() {
+        HeatmapSeries series = new HeatmapSeries(START);
+        series.append(1);
+        series.append(new float[]{2}, 0, 1);
+        series.append(new double[]{3}, 0, 1);
+        series.set(START, 4);
+        assertEquals(4, series.getVersion());
+    }
+
+    /**
+     * 检查最小值、最大值
+     *
+     * @param series 热力图数据
+     * @param min    最小值
+     * @param max    最大值
+     */
+    private static void assertRange(HeatmapSeries series, float min, float max) {
+        assertEquals(min, series.getMin(), 0);
+        assertEquals(max, series.getMax(), 0);
+    }
+}
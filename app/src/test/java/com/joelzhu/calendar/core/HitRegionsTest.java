@@ -0,0 +1,108 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 14:40
+ * 作用：点击区域表的测试(重点是单元格边界上的判定)
+ */
+public class HitRegionsTest {
+    // 单元格宽度
+    private static final float UNIT_WIDTH = 160;
+    // 单元格高度
+    private static final float UNIT_HEIGHT = 120;
+    // 月份条和星期条的高度
+    private static final float BAR_HEIGHT = UNIT_HEIGHT * 1.5f;
+    // 控件宽度
+    private static final float WIDTH = UNIT_WIDTH * MonthGrid.DAYS_OF_WEEK;
+    // 日期区域的顶端
+    private static final float CELLS_TOP = BAR_HEIGHT * 2;
+    // 行数
+    private static final int ROWS = 6;
+    // 控件高度
+    private static final float HEIGHT = CELLS_TOP + UNIT_HEIGHT * ROWS;
+
+    private HitRegions regions;
+
+    @Before
+    public void setUp() {
+        regions = new HitRegions();
+        regions.layout(WIDTH, HEIGHT, BAR_HEIGHT, BAR_HEIGHT, UNIT_WIDTH, UNIT_HEIGHT, ROWS);
+    }
+
+    @Test
+    public void monthBarButtons() {
+        assertEquals(HitRegions.REGION_PREVIOUS, regions.regionAt(0, 0));
+        assertEquals(HitRegions.REGION_PREVIOUS, regions.regionAt(BAR_HEIGHT - 0.5f, BAR_HEIGHT - 0.5f));
+        assertEquals(HitRegions.REGION_MONTH_BAR, regions.regionAt(BAR_HEIGHT, 0));
+        assertEquals(HitRegions.REGION_MONTH_BAR, regions.regionAt(WIDTH - BAR_HEIGHT - 0.5f, 10));
+        assertEquals(HitRegions.REGION_NEXT, regions.regionAt(WIDTH - BAR_HEIGHT, 10));
+        assertEquals(HitRegions.REGION_NEXT, regions.regionAt(WIDTH - 0.5f, BAR_HEIGHT - 0.5f));
+    }
+
+    @Test
+    public void weekBarBoundaries() {
+        assertEquals(HitRegions.REGION_WEEK_BAR, regions.regionAt(10, BAR_HEIGHT));
+        assertEquals(HitRegions.REGION_WEEK_BAR, regions.regionAt(10, CELLS_TOP - 0.5f));
+        assertEquals(0, regions.regionAt(10, CELLS_TOP));
+    }
+
+    @Test
+    public void cellBoundariesBelongToNextCell() {
+        // 左上边界属于本单元格，右下边界属于下一个单元格
+        assertEquals(0, regions.regionAt(0, CELLS_TOP));
+        assertEquals(0, regions.regionAt(UNIT_WIDTH - 0.01f, CELLS_TOP + UNIT_HEIGHT - 0.01f));
+        assertEquals(1, regions.regionAt(UNIT_WIDTH, CELLS_TOP));
+        assertEquals(MonthGrid.DAYS_OF_WEEK, regions.regionAt(0, CELLS_TOP + UNIT_HEIGHT));
+        assertEquals(MonthGrid.DAYS_OF_WEEK + 1, regions.regionAt(UNIT_WIDTH, CELLS_TOP + UNIT_HEIGHT));
+    }
+
+    @Test
+    public void everyCellCenterAndCorner() {
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < MonthGrid.DAYS_OF_WEEK; column++) {
+                int expected = row * MonthGrid.DAYS_OF_WEEK + column;
+                float left = column * UNIT_WIDTH;
+                float top = CELLS_TOP + row * UNIT_HEIGHT;
+                assertEquals(expected, regions.regionAt(left, top));
+                assertEquals(expected, regions.regionAt(left + UNIT_WIDTH / 2, top + UNIT_HEIGHT / 2));
+                assertEquals(expected, regions.regionAt(left + UNIT_WIDTH - 0.01f, top + UNIT_HEIGHT - 0.01f));
+            }
+        }
+    }
+
+    @Test
+    public void lastCellAndOutsideEdges() {
+        assertEquals(MonthGrid.SIZE - 1, regions.regionAt(WIDTH - 0.01f, HEIGHT - 0.01f));
+        assertEquals(HitRegions.REGION_NONE, regions.regionAt(WIDTH, HEIGHT - 1));
+        assertEquals(HitRegions.REGION_NONE, regions.regionAt(10, HEIGHT));
+        assertEquals(HitRegions.REGION_NONE, regions.regionAt(-0.01f, CELLS_TOP));
+        assertEquals(HitRegions.REGION_NONE, regions.regionAt(10, -0.01f));
+    }
+
+    @Test
+    public void rowsBeyondVisibleRowCountAreNone() {
+        // 周视图只有一行，控件下方剩余的部分不属于任何单元格
+        regions.layout(WIDTH, HEIGHT, BAR_HEIGHT, BAR_HEIGHT, UNIT_WIDTH, UNIT_HEIGHT, 1);
+
+        assertEquals(MonthGrid.DAYS_OF_WEEK - 1, regions.regionAt(WIDTH - 1, CELLS_TOP + UNIT_HEIGHT - 0.01f));
+        assertEquals(HitRegions.REGION_NONE, regions.regionAt(10, CELLS_TOP + UNIT_HEIGHT));
+    }
+
+    @Test
+    public void isCellSeparatesCellsFromBars() {
+        assertTrue(HitRegions.isCell(0));
+        assertTrue(HitRegions.isCell(MonthGrid.SIZE - 1));
+        assertFalse(HitRegions.isCell(HitRegions.REGION_NONE));
+        assertFalse(HitRegions.isCell(HitRegions.REGION_PREVIOUS));
+        assertFalse(HitRegions.isCell(HitRegions.REGION_NEXT));
+        assertFalse(HitRegions.isCell(HitRegions.REGION_MONTH_BAR));
+        assertFalse(HitRegions.isCell(HitRegions.REGION_WEEK_BAR));
+    }
+}
@@ -0,0 +1,191 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 16:20
+ * 作用：农历换算和节气的测试(1900-2100年逐日对照独立生成的参考数据lunar_1900_2100.txt)
+ */
+public class LunarCalendarTest {
+    // 参考数据(每个公历年一行)
+    private static final List<YearRow> ROWS = new ArrayList<>();
+
+    @BeforeClass
+    public static void loadFixture() throws IOException {
+        InputStream in = LunarCalendarTest.class.getResourceAsStream("lunar_1900_2100.txt");
+        assertNotNull(in);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    ROWS.add(new YearRow(line));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        assertEquals(LunarCalendar.MAX_YEAR - LunarCalendar.MIN_YEAR + 1, ROWS.size());
+    }
+
+    @Test
+    public void everyDayMatchesFixture() {
+        int lastEpochDay = EpochDays.of(LunarCalendar.MAX_YEAR, 11, 31);
+        int[] out = new int[4];
+        for (YearRow row : ROWS) {
+            int epochDay = row.newYearEpochDay;
+            int month = 1;
+            boolean leap = false;
+            for (int i = 0; i < row.monthLengths.length && epochDay <= lastEpochDay; i++) {
+                for (int day = 1; day <= row.monthLengths[i] && epochDay <= lastEpochDay; day++) {
+                    String label = row.year + (leap ? "/闰" : "/") + month + "/" + day;
+                    assertTrue(label, LunarCalendar.toLunar(epochDay, out));
+                    assertEquals(label, row.year, out[0]);
+                    assertEquals(label, month, out[1]);
+                    assertEquals(label, day, out[2]);
+                    assertEquals(label, leap ? 1 : 0, out[3]);
+                    epochDay++;
+                }
+                if (month == row.leapMonth && !leap) {
+                    leap = true;
+                } else {
+                    leap = false;
+                    month++;
+                }
+            }
+            // 农历年的最后一天紧接着下一年的正月初一
+            if (row.year < LunarCalendar.MAX_YEAR) {
+                assertEquals(String.valueOf(row.year), ROWS.get(row.year - LunarCalendar.MIN_YEAR + 1).newYearEpochDay,
+                        epochDay);
+            }
+        }
+    }
+
+    @Test
+    public void newYearAndEveLabels() {
+        LunarCalendar lunar = new LunarCalendar();
+        for (YearRow row : ROWS) {
+            assertEquals(String.valueOf(row.year), LunarCalendar.LABEL_FESTIVAL, lunar.labelOf(row.newYearEpochDay));
+            if (row.year > LunarCalendar.MIN_YEAR) {
+                assertEquals("除夕",
+                        LunarCalendar.getLabel(lunar.labelOf(row.newYearEpochDay - 1)));
+            }
+        }
+    }
+
+    @Test
+    public void leapMonthsMatchFixture() {
+        int[] out = new int[4];
+        LunarCalendar lunar = new LunarCalendar();
+        int[] date = new int[3];
+        for (YearRow row : ROWS) {
+            if (row.leapMonth == 0) {
+                continue;
+            }
+            // 闰月初一：前面的各月(包括同名的月份)依次排列
+            int epochDay = row.newYearEpochDay;
+            for (int i = 0; i < row.leapMonth; i++) {
+                epochDay += row.monthLengths[i];
+            }
+            String label = row.year + "/闰" + row.leapMonth;
+            assertTrue(label, LunarCalendar.toLunar(epochDay, out));
+            assertEquals(label, row.leapMonth, out[1]);
+            assertEquals(label, 1, out[2]);
+            assertEquals(label, 1, out[3]);
+            // 闰月初一显示"闰X月"(与节气或公历节日重合时让位)
+            EpochDays.toDate(epochDay, date);
+            int text = lunar.labelOf(epochDay);
+            if (LunarCalendar.solarTermOf(date[0], date[1], date[2]) < 0 && !LunarCalendar.isFestival(text)) {
+                assertEquals(label, LunarCalendar.LABEL_LEAP_MONTH + row.leapMonth - 1, text);
+            }
+        }
+    }
+
+    @Test
+    public void everyDaySolarTermMatchesFixture() {
+        int[] date = new int[3];
+        for (YearRow row : ROWS) {
+            int first = EpochDays.of(row.year, 0, 1);
+            int last = EpochDays.of(row.year, 11, 31);
+            for (int epochDay = first; epochDay <= last; epochDay++) {
+                EpochDays.toDate(epochDay, date);
+                int expected = -1;
+                for (int term = date[1] * 2; term <= date[1] * 2 + 1; term++) {
+                    if (row.termDays[term] == date[2]) {
+                        expected = term;
+                    }
+                }
+                String label = date[0] + "-" + (date[1] + 1) + "-" + date[2];
+                assertEquals(label, expected, LunarCalendar.solarTermOf(date[0], date[1], date[2]));
+            }
+        }
+    }
+
+    @Test
+    public void solarTermLabels() {
+        LunarCalendar lunar = new LunarCalendar();
+        // 2026年：清明4月5日，冬至12月22日
+        assertEquals("清明", LunarCalendar.getLabel(lunar.labelOf(EpochDays.of(2026, 3, 5))));
+        assertEquals("冬至", LunarCalendar.getLabel(lunar.labelOf(EpochDays.of(2026, 11, 22))));
+        // 公历节日优先于节气、农历节日优先于公历节日
+        assertEquals("国庆节", LunarCalendar.getLabel(lunar.labelOf(EpochDays.of(2026, 9, 1))));
+        assertEquals("中秋", LunarCalendar.getLabel(lunar.labelOf(EpochDays.of(2025, 9, 6))));
+    }
+
+    @Test
+    public void outOfRange() {
+        int[] out = {7, 7, 7, 7};
+        LunarCalendar lunar = new LunarCalendar();
+        int first = ROWS.get(0).newYearEpochDay;
+        int last = EpochDays.of(LunarCalendar.MAX_YEAR, 11, 31);
+
+        assertFalse(LunarCalendar.toLunar(first - 1, out));
+        assertEquals(7, out[0]);
+        assertFalse(LunarCalendar.toLunar(last + 1, out));
+        assertEquals(-1, lunar.labelOf(first - 1));
+        assertEquals(-1, lunar.labelOf(last + 1));
+        assertEquals(-1, LunarCalendar.solarTermOf(LunarCalendar.MIN_YEAR - 1, 0, 6));
+        assertEquals(-1, LunarCalendar.solarTermOf(LunarCalendar.MAX_YEAR + 1, 0, 5));
+    }
+
+    /**
+     * 参考数据的一行
+     */
+    private static final class YearRow {
+        final int year;
+        final int newYearEpochDay;
+        final int leapMonth;
+        final int[] monthLengths;
+        final int[] termDays = new int[24];
+
+        YearRow(String line) {
+            String[] fields = line.split(" ");
+            year = Integer.parseInt(fields[0]);
+            int month = Integer.parseInt(fields[1].substring(0, 2)) - 1;
+            newYearEpochDay = EpochDays.of(year, month, Integer.parseInt(fields[1].substring(2)));
+            leapMonth = Integer.parseInt(fields[2]);
+            monthLengths = new int[fields[3].length()];
+            for (int i = 0; i < monthLengths.length; i++) {
+                monthLengths[i] = fields[3].charAt(i) == '1' ? 30 : 29;
+            }
+            String[] terms = fields[4].split(",");
+            for (int i = 0; i < termDays.length; i++) {
+                termDays[i] = Integer.parseInt(terms[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 20:40
+ * 作用：标记索引的测试(与HashMap逐天对照：缓冲区的合并、重复的日期和跨越首尾的窗口)
+ */
+public class MarkerIndexTest {
+    // 第一个有标记的纪元日
+    private static final int FIRST = EpochDays.of(2026, 0, 1);
+
+    @Test
+    public void duplicatesAreSummed() {
+        MarkerIndex index = new MarkerIndex();
+        index.add(FIRST);
+        index.add(FIRST, 3);
+        index.addAll(new int[]{FIRST, FIRST + 1, FIRST}, 0, 3);
+        // 数量不大于0时忽略
+        index.add(FIRST + 2, 0);
+        index.add(FIRST + 2, -1);
+
+        assertEquals(6, index.getCount(FIRST));
+        assertEquals(1, index.getCount(FIRST + 1));
+        assertEquals(0, index.getCount(FIRST + 2));
+        assertEquals(2, index.getDayCount());
+        assertEquals(7, index.getTotalCount());
+    }
+
+    @Test
+    public void pendingMergesIntoMergedDays() {
+        MarkerIndex index = new MarkerIndex();
+        index.addAll(new int[]{FIRST + 20, FIRST, FIRST + 10}, 0, 3);
+        assertEquals(3, index.getDayCount());
+
+        // 合并后再次添加：与已有的日期相加，或插入到前面、中间、后面
+        index.add(FIRST + 10, 2);
+        index.add(FIRST - 5);
+        index.add(FIRST + 15);
+        index.add(FIRST + 30);
+        assertEquals(3, index.getCount(FIRST + 10));
+        assertEquals(6, index.getDayCount());
+
+        int[] counts = new int[MonthGrid.SIZE];
+        index.getMarkerCounts(FIRST - 5, counts);
+        int[] expected = new int[MonthGrid.SIZE];
+        expected[0] = 1;
+        expected[5] = 1;
+        expected[15] = 3;
+        expected[20] = 1;
+        expected[25] = 1;
+        expected[35] = 1;
+        assertArrayEquals(expected, counts);
+    }
+
+    @Test
+    public void windowsStraddlingFirstAndLastDay() {
+        MarkerIndex index = new MarkerIndex();
+        int last = FIRST + 100;
+        index.add(FIRST, 2);
+        index.add(FIRST + 50);
+        index.add(last, 4);
+
+        int[] counts = new int[MonthGrid.SIZE];
+        // 窗口从第一天之前开始
+        index.getMarkerCounts(FIRST - 10, counts);
+        assertEquals(2, counts[10]);
+        assertEquals(2, sum(counts));
+        // 窗口的最后一个单元格是第一天
+        index.getMarkerCounts(FIRST - MonthGrid.SIZE + 1, counts);
+        assertEquals(2, counts[MonthGrid.SIZE - 1]);
+        assertEquals(2, sum(counts));
+        // 窗口在第一天之前结束
+        index.getMarkerCounts(FIRST - MonthGrid.SIZE, counts);
+        assertEquals(0, sum(counts));
+        // 窗口跨越最后一天
+        index.getMarkerCounts(last - 10, counts);
+        assertEquals(4, counts[10]);
+        assertEquals(4, sum(counts));
+        // 窗口的第一个单元格是最后一天
+        index.getMarkerCounts(last, counts);
+        assertEquals(4, counts[0]);
+        assertEquals(4, sum(counts));
+        // 窗口在最后一天之后开始
+        index.getMarkerCounts(last + 1, counts);
+        assertEquals(0, sum(counts));
+    }
+
+    @Test
+    public void clearDropsMergedAndPending() {
+        MarkerIndex index = new MarkerIndex();
+        index.add(FIRST);
+        index.getDayCount();
+        index.add(FIRST + 1);
+        index.clear();
+
+        assertEquals(0, index.getDayCount());
+        assertEquals(0, index.getTotalCount());
+        assertEquals(0, index.getCount(FIRST));
+    }
+
+    @Test
+    public void matchesHashMapReference() {
+        Random random = new Random(7);
+        MarkerIndex index = new MarkerIndex();
+        Map<Integer, Integer> reference = new HashMap<>();
+        long total = 0;
+        int span = 400;
+        int[] counts = new int[MonthGrid.SIZE];
+        for (int round = 0; round < 50; round++) {
+            // 每轮向缓冲区添加一批标记(包括纪元日为负数的日期和重复的日期)，然后查询
+            int batch = random.nextInt(100);
+            int[] epochDays = new int[batch];
+            for (int i = 0; i < batch; i++) {
+                epochDays[i] = -span / 2 + random.nextInt(span);
+            }
+            if (random.nextBoolean()) {
+                index.addAll(epochDays, 0, batch);
+                for (int i = 0; i < batch; i++) {
+                    put(reference, epochDays[i], 1);
+                }
+                total += batch;
+            } else {
+                for (int i = 0; i < batch; i++) {
+                    int count = 1 + random.nextInt(3);
+                    index.add(epochDays[i], count);
+                    put(reference, epochDays[i], count);
+                    total += count;
+                }
+            }
+
+            assertEquals(total, index.getTotalCount());
+            assertEquals(reference.size(), index.getDayCount());
+            for (int first = -span / 2 - MonthGrid.SIZE; first <= span / 2; first += 1 + random.nextInt(20)) {
+                index.getMarkerCounts(first, counts);
+                for (int position = 0; position < MonthGrid.SIZE; position++) {
+                    Integer expected = reference.get(first + position);
+                    assertEquals(expected == null ? 0 : expected, counts[position]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 在对照表中累加数量
+     *
+     * @param reference 对照表
+     * @param epochDay  纪元日
+     * @param count     数量
+     */
+    private static void put(Map<Integer, Integer> reference, int epochDay, int count) {
+        Integer exist = reference.get(epochDay);
+        reference.put(epochDay, exist == null ? count : exist + count);
+    }
+
+    /**
+     * 求和
+     *
+     * @param counts 数量
+     * @return 总数
+     */
+    private static int sum(int[] counts) {
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+}
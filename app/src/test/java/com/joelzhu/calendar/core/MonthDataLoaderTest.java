@@ -0,0 +1,212 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 10:10
+ * 作用：异步加载可见窗口的测试(后台线程和结果线程都是手动执行的队列，结果是确定的)
+ */
+public class MonthDataLoaderTest {
+    // 窗口天数
+    private static final int LENGTH = MonthGrid.SIZE;
+    // 测试使用的窗口(相邻的窗口相隔35天)
+    private static final int WINDOW = 20000;
+
+    private QueuedExecutor loadExecutor;
+    private QueuedExecutor resultExecutor;
+    private RecordingDataSource dataSource;
+    private RecordingCallback callback;
+    private MonthDataLoader loader;
+    private int[] out;
+
+    @Before
+    public void setUp() {
+        loadExecutor = new QueuedExecutor();
+        resultExecutor = new QueuedExecutor();
+        dataSource = new RecordingDataSource();
+        callback = new RecordingCallback();
+        loader = new MonthDataLoader(dataSource, loadExecutor, resultExecutor, callback);
+        out = new int[LENGTH];
+    }
+
+    @Test
+    public void requestLoadsVisibleWindowFirstAndPrefetchesNeighbours() {
+        assertFalse(requestWindow(WINDOW));
+        assertEquals(3, loadExecutor.size());
+        loadExecutor.runAll();
+        assertEquals(windows(WINDOW, WINDOW - 35, WINDOW + 35), dataSource.requested);
+    }
+
+    @Test
+    public void callbackOnlyForVisibleWindow() {
+        requestWindow(WINDOW);
+        loadExecutor.runAll();
+        // 三个窗口都加载完成，但只回调可见的窗口
+        assertEquals(3, resultExecutor.size());
+        resultExecutor.runAll();
+        assertEquals(windows(WINDOW), callback.loaded);
+        assertArrayEquals(expectedCounts(WINDOW), callback.lastCounts);
+    }
+
+    @Test
+    public void staleWindowsAreCancelledBeforeLoading() {
+        requestWindow(WINDOW);
+        // 加载开始之前跳到很远的月份，之前的三个窗口都不再需要
+        int farWindow = WINDOW + 35 * 10;
+        requestWindow(farWindow);
+        assertEquals(3, loader.getCancelCount());
+        loadExecutor.runAll();
+        resultExecutor.runAll();
+        assertEquals(windows(farWindow, farWindow - 35, farWindow + 35), dataSource.requested);
+        assertEquals(windows(farWindow), callback.loaded);
+    }
+
+    @Test
+    public void resultOfWindowNoLongerVisibleIsNotDelivered() {
+        requestWindow(WINDOW);
+        loadExecutor.runAll();
+        // 加载完成但回调还没有执行时翻到下个月(下个月已经预取过，直接从缓存中得到结果)
+        assertTrue(requestWindow(WINDOW + 35));
+        assertArrayEquals(expectedCounts(WINDOW + 35), out);
+        // 原来可见的窗口不再回调
+        resultExecutor.runAll();
+        assertFalse(callback.loaded.contains(WINDOW));
+    }
+
+    @Test
+    public void loadedWindowIsReusedWithoutLoading() {
+        requestWindow(WINDOW);
+        loadExecutor.runAll();
+        resultExecutor.runAll();
+        long loads = loader.getLoadCount();
+
+        assertTrue(requestWindow(WINDOW));
+        assertArrayEquals(expectedCounts(WINDOW), out);
+        assertEquals(loads, loader.getLoadCount());
+        assertEquals(0, loadExecutor.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedWindowIsEvicted() {
+        // 只请求单个窗口(相邻窗口与可见窗口相同)，依次加载6个窗口
+        for (int i = 0; i < 6; i++) {
+            loadSingleWindow(WINDOW + 35 * i);
+        }
+        // 使用第一个窗口后，最久没有使用的是第二个窗口
+        assertTrue(loader.peek(WINDOW, out));
+        loadSingleWindow(WINDOW + 35 * 6);
+        assertTrue(loader.peek(WINDOW, out));
+        assertFalse(loader.peek(WINDOW + 35, out));
+        for (int i = 2; i <= 6; i++) {
+            assertTrue(loader.peek(WINDOW + 35 * i, out));
+        }
+    }
+
+    @Test
+    public void clearCancelsLoadsAndDropsCache() {
+        loadSingleWindow(WINDOW);
+        requestWindow(WINDOW + 35 * 10);
+        loader.clear();
+        loadExecutor.runAll();
+        resultExecutor.runAll();
+        assertFalse(loader.peek(WINDOW, out));
+        assertEquals(windows(WINDOW), dataSource.requested);
+        assertEquals(windows(WINDOW), callback.loaded);
+    }
+
+    /**
+     * 请求一个窗口及其相邻的两个窗口
+     */
+    private boolean requestWindow(int firstEpochDay) {
+        return loader.request(firstEpochDay, firstEpochDay - 35, firstEpochDay + 35, out);
+    }
+
+    /**
+     * 请求并加载完一个窗口(不预取相邻窗口)
+     */
+    private void loadSingleWindow(int firstEpochDay) {
+        loader.request(firstEpochDay, firstEpochDay, firstEpochDay, out);
+        loadExecutor.runAll();
+        resultExecutor.runAll();
+    }
+
+    /**
+     * 数据源为某个窗口返回的标记数量
+     */
+    private static int[] expectedCounts(int firstEpochDay) {
+        int[] counts = new int[LENGTH];
+        new RecordingDataSource().getMarkerCounts(firstEpochDay, counts);
+        return counts;
+    }
+
+    private static List<Integer> windows(int... firstEpochDays) {
+        List<Integer> list = new ArrayList<>();
+        for (int firstEpochDay : firstEpochDays) {
+            list.add(firstEpochDay);
+        }
+        return list;
+    }
+
+    /**
+     * 手动执行的任务队列
+     */
+    private static final class QueuedExecutor implements Executor {
+        private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        int size() {
+            return queue.size();
+        }
+
+        void runAll() {
+            while (!queue.isEmpty()) {
+                queue.poll().run();
+            }
+        }
+    }
+
+    /**
+     * 记录加载顺序的数据源(标记数量由纪元日计算)
+     */
+    private static final class RecordingDataSource implements MarkerDataSource {
+        private final List<Integer> requested = new ArrayList<>();
+
+        @Override
+        public void getMarkerCounts(int firstEpochDay, int[] counts) {
+            requested.add(firstEpochDay);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = (firstEpochDay + i) % 5;
+            }
+        }
+    }
+
+    /**
+     * 记录回调的窗口
+     */
+    private static final class RecordingCallback implements MonthDataLoader.Callback {
+        private final List<Integer> loaded = new ArrayList<>();
+        private int[] lastCounts;
+
+        @Override
+        public void onMonthDataLoaded(int firstEpochDay, int[] counts) {
+            loaded.add(firstEpochDay);
+            lastCounts = counts.clone();
+        }
+    }
+}
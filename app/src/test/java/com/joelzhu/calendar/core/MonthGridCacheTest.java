@@ -0,0 +1,143 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 19:40
+ * 作用：月份网格LRU缓存的测试(统计次数、淘汰顺序、容量调整、缓存键的进位和预取)
+ */
+public class MonthGridCacheTest {
+    private static final int SUNDAY = Calendar.SUNDAY;
+    private static final int MONDAY = Calendar.MONDAY;
+
+    @Test
+    public void countsHitsAndMisses() {
+        MonthGridCache cache = new MonthGridCache(4);
+        MonthGrid grid = cache.get(2026, 9, SUNDAY);
+
+        assertTrue(grid.isFrozen());
+        assertSame(grid, cache.get(2026, 9, SUNDAY));
+        assertNotSame(grid, cache.get(2026, 9, MONDAY));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        MonthGridCache cache = new MonthGridCache(3);
+        MonthGrid january = cache.get(2026, 0, SUNDAY);
+        cache.get(2026, 1, SUNDAY);
+        cache.get(2026, 2, SUNDAY);
+        // 访问一月后，二月变为最久未使用
+        cache.get(2026, 0, SUNDAY);
+        cache.get(2026, 3, SUNDAY);
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.getSize());
+        assertSame(january, cache.get(2026, 0, SUNDAY));
+        long misses = cache.getMissCount();
+        cache.get(2026, 1, SUNDAY);
+        assertEquals(misses + 1, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void setMaxSizeEvictsImmediately() {
+        MonthGridCache cache = new MonthGridCache(5);
+        for (int month = 0; month < 5; month++) {
+            cache.get(2026, month, SUNDAY);
+        }
+        MonthGrid first = cache.get(2026, 0, SUNDAY);
+
+        cache.setMaxSize(2);
+        assertEquals(2, cache.getMaxSize());
+        assertEquals(2, cache.getSize());
+        assertEquals(3, cache.getEvictionCount());
+        // 保留最近使用的一月和五月
+        assertSame(first, cache.get(2026, 0, SUNDAY));
+        long misses = cache.getMissCount();
+        cache.get(2026, 4, SUNDAY);
+        cache.get(2026, 1, SUNDAY);
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    public void clearKeepsCounters() {
+        MonthGridCache cache = new MonthGridCache();
+        cache.get(2026, 9, SUNDAY);
+        cache.get(2026, 9, SUNDAY);
+        cache.clear();
+
+        assertEquals(0, cache.getSize());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(MonthGridCache.DEFAULT_MAX_SIZE, cache.getMaxSize());
+    }
+
+    @Test
+    public void overflowingMonthsShareKeyWithNextYear() {
+        MonthGridCache cache = new MonthGridCache();
+        MonthGrid january = cache.get(2027, 0, SUNDAY);
+        assertSame(january, cache.get(2026, 12, SUNDAY));
+        assertSame(january, cache.get(2025, 24, SUNDAY));
+
+        MonthGrid december = cache.get(2025, 11, SUNDAY);
+        assertSame(december, cache.get(2026, -1, SUNDAY));
+        assertSame(december, cache.get(2027, -13, SUNDAY));
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+    }
+
+    @Test
+    public void prefetchDoesNotCountAsMiss() {
+        MonthGridCache cache = new MonthGridCache();
+        CountingExecutor executor = new CountingExecutor();
+        cache.prefetchNeighbours(2026, 0, SUNDAY, executor);
+
+        assertEquals(2, executor.count);
+        assertEquals(2, cache.getSize());
+        assertEquals(0, cache.getMissCount());
+        // 上个月进位到上一年
+        cache.get(2025, 11, SUNDAY);
+        cache.get(2026, 1, SUNDAY);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+
+        // 已经在缓存中的月份不再提交预取
+        cache.prefetchNeighbours(2026, 0, SUNDAY, executor);
+        assertEquals(2, executor.count);
+        cache.prefetch(2026, 1, SUNDAY);
+        assertEquals(2, cache.getSize());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveMaxSize() {
+        new MonthGridCache().setMaxSize(0);
+    }
+
+    /**
+     * 在调用线程中直接执行并记录次数的线程池
+     */
+    private static final class CountingExecutor implements Executor {
+        int count;
+
+        @Override
+        public void execute(Runnable command) {
+            count++;
+            command.run();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 15:30
+ * 作用：月份网格的测试(1年至9999年的每个月、每种一周的第一天都与原来基于java.util.Calendar的网格逐格对照)
+ */
+public class MonthGridTest {
+    // 对照的第一年
+    private static final int FIRST_YEAR = 1;
+    // 对照的最后一年
+    private static final int LAST_YEAR = 9999;
+
+    @Test
+    public void everyMonthMatchesCalendarGrid() {
+        Calendar calendar = EpochDaysTest.newCalendar();
+        MonthGrid grid = new MonthGrid();
+        LegacyGrid legacy = new LegacyGrid();
+        int[] out = new int[3];
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            // 包括溢出的月份(-1和12)，进位后超出对照范围的跳过
+            for (int month = -1; month <= 12; month++) {
+                int normalizedYear = year + EpochDays.floorDiv(month, 12);
+                if (normalizedYear < FIRST_YEAR || normalizedYear > LAST_YEAR) {
+                    continue;
+                }
+                for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+                    legacy.build(calendar, year, month, firstDayOfWeek);
+                    grid.build(year, month, firstDayOfWeek);
+                    String label = year + "/" + month + "/" + firstDayOfWeek;
+
+                    assertEquals(label, legacy.year, grid.getYear());
+                    assertEquals(label, legacy.month, grid.getMonth());
+                    assertEquals(label, legacy.firstPosition, grid.getFirstPosition());
+                    assertEquals(label, legacy.daysInMonth, grid.getDaysInMonth());
+                    for (int position = 0; position < MonthGrid.SIZE; position++) {
+                        assertEquals(label + "@" + position, legacy.days[position], grid.getDay(position));
+                        assertEquals(label + "@" + position, legacy.flags[position], grid.getFlags(position));
+                    }
+                    // 1号的纪元日与Calendar相同
+                    EpochDays.toDate(grid.epochDayOf(grid.getFirstPosition()), out);
+                    assertArrayEquals(label, new int[]{grid.getYear(), grid.getMonth(), 1}, out);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void cellEpochDaysFollowCalendarDates() {
+        Calendar calendar = EpochDaysTest.newCalendar();
+        MonthGrid grid = new MonthGrid();
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            for (int month = 0; month < 12; month++) {
+                grid.build(year, month, Calendar.SUNDAY);
+                // 跨过历法切换的网格沿用Calendar的连续日期数字(10月显示1-31)，日期数字与真实日期不同
+                int lastEpochDay = grid.epochDayOf(MonthGrid.SIZE - 1);
+                boolean spansCutover = grid.getFirstEpochDay() < EpochDays.GREGORIAN_CUTOVER &&
+                        lastEpochDay >= EpochDays.GREGORIAN_CUTOVER;
+                calendar.clear();
+                calendar.set(year, month, 1);
+                calendar.add(Calendar.DATE, -grid.getFirstPosition());
+                for (int position = 0; position < MonthGrid.SIZE; position++) {
+                    String label = year + "/" + month + "@" + position;
+                    assertEquals(label, EpochDaysTest.epochDayOf(calendar), grid.epochDayOf(position));
+                    if (!spansCutover) {
+                        assertEquals(label, calendar.get(Calendar.DAY_OF_MONTH), grid.getDay(position));
+                    }
+                    calendar.add(Calendar.DATE, 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void julianLeapYearBeforeCutover() {
+        MonthGrid grid = new MonthGrid();
+        // 1500年按儒略历是闰年，按格里历不是
+        grid.build(1500, Calendar.FEBRUARY, Calendar.SUNDAY);
+        assertEquals(29, grid.getDaysInMonth());
+        grid.build(1700, Calendar.FEBRUARY, Calendar.SUNDAY);
+        assertEquals(28, grid.getDaysInMonth());
+    }
+
+    @Test
+    public void firstEpochDayOfMatchesBuild() {
+        MonthGrid grid = new MonthGrid();
+        for (int year = 1580; year <= 1585; year++) {
+            for (int month = 0; month < 12; month++) {
+                for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+                    grid.build(year, month, firstDayOfWeek);
+                    assertEquals(grid.getFirstEpochDay(), MonthGrid.firstEpochDayOf(year, month, firstDayOfWeek));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void todayAndSelectionFlags() {
+        MonthGrid grid = new MonthGrid();
+        grid.build(2026, Calendar.OCTOBER, Calendar.SUNDAY, 2026, Calendar.OCTOBER, 18);
+        int today = grid.positionOf(18);
+
+        assertEquals(today, grid.getTodayPosition());
+        assertTrue((grid.getFlags(today) & MonthGrid.FLAG_TODAY) != 0);
+        grid.setSelectedPosition(today + 1);
+        assertEquals(today + 1, grid.getSelectedPosition());
+        grid.markToday(2026, Calendar.NOVEMBER, 1);
+        assertEquals(-1, grid.getTodayPosition());
+        assertEquals(0, grid.getFlags(today) & MonthGrid.FLAG_TODAY);
+    }
+
+    /**
+     * 原来基于Calendar的网格计算(修改前MonthGrid.build的逐行复制，作为对照)
+     */
+    private static final class LegacyGrid {
+        final int[] days = new int[MonthGrid.SIZE];
+        final int[] flags = new int[MonthGrid.SIZE];
+        int year;
+        int month;
+        int firstPosition;
+        int daysInMonth;
+
+        void build(Calendar calendar, int year, int month, int firstDayOfWeek) {
+            calendar.clear();
+            calendar.set(year, month, 1);
+            this.year = calendar.get(Calendar.YEAR);
+            this.month = calendar.get(Calendar.MONTH);
+            int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+            daysInMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+            calendar.add(Calendar.MONTH, -1);
+            int daysInPreviousMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+
+            firstPosition = (dayOfWeek - firstDayOfWeek + MonthGrid.DAYS_OF_WEEK) % MonthGrid.DAYS_OF_WEEK;
+            if (firstPosition == 0) {
+                firstPosition = MonthGrid.DAYS_OF_WEEK;
+            }
+            int lastPosition = firstPosition + daysInMonth;
+            for (int position = 0; position < MonthGrid.SIZE; position++) {
+                int flag;
+                if (position < firstPosition) {
+                    days[position] = daysInPreviousMonth - firstPosition + position + 1;
+                    flag = MonthGrid.FLAG_PREVIOUS_MONTH;
+                } else if (position < lastPosition) {
+                    days[position] = position - firstPosition + 1;
+                    flag = MonthGrid.FLAG_CURRENT_MONTH;
+                } else {
+                    days[position] = position - lastPosition + 1;
+                    flag = MonthGrid.FLAG_NEXT_MONTH;
+                }
+                int columnDayOfWeek = (firstDayOfWeek - 1 + position % MonthGrid.DAYS_OF_WEEK)
+                        % MonthGrid.DAYS_OF_WEEK + 1;
+                if (columnDayOfWeek == Calendar.SUNDAY || columnDayOfWeek == Calendar.SATURDAY) {
+                    flag |= MonthGrid.FLAG_WEEKEND;
+                }
+                flags[position] = flag;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.joelzhu.calendar.core;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 09:10
+ * 作用：绘制相关测试共用的固定输入(尺寸、字体度量、文字宽度和月份)
+ * <p>
+ * 所有数值都是固定的(相当于1120像素宽的屏幕)，同样的输入总是得到同样的绘制记录。
+ */
+final class PainterFixtures {
+    // 控件宽度
+    static final float WIDTH = 1120;
+    // 单元格宽度
+    static final float UNIT_WIDTH = WIDTH / 7;
+    // 单元格高度
+    static final float UNIT_HEIGHT = 120;
+    // 显示的年月(2026年10月，1日为周四)
+    static final int YEAR = 2026;
+    static final int MONTH = Calendar.OCTOBER;
+    // 今日
+    static final int TODAY = 18;
+
+    private PainterFixtures() {
+    }
+
+    /**
+     * 创建使用固定尺寸和字体度量的绘制
+     *
+     * @param lunarCalendar 农历换算(为null时不显示农历)
+     * @return 绘制
+     */
+    static CalendarPainter createPainter(LunarCalendar lunarCalendar) {
+        CalendarPainter painter = new CalendarPainter();
+        painter.setSize(WIDTH, UNIT_WIDTH, UNIT_HEIGHT);
+        painter.setFontMetrics(-48, 12, -40, 10, -28, 7);
+        painter.setDayTextWidths(filledWidths(CalendarPainter.getDayLabelCount(), 30));
+        painter.setLabels(CalendarLabels.of(Locale.CHINA), filledWidths(8, 36));
+        painter.setMonthText("2026年10月", 200);
+        painter.setLunar(lunarCalendar, lunarCalendar != null ? filledWidths(LunarCalendar.getLabelCount(), 48) : null);
+        painter.setSelectionStyle(false, true);
+        return painter;
+    }
+
+    /**
+     * 创建2026年10月的网格(周日为一周的第一天，标记今日)
+     *
+     * @return 网格
+     */
+    static MonthGrid createGrid() {
+        MonthGrid grid = new MonthGrid();
+        grid.build(YEAR, MONTH, Calendar.SUNDAY, YEAR, MONTH, TODAY);
+        return grid;
+    }
+
+    /**
+     * 创建标记数量(按位置循环0~4个)
+     *
+     * @return 标记数量
+     */
+    static int[] createMarkerCounts() {
+        int[] counts = new int[MonthGrid.SIZE];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = i % 5;
+        }
+        return counts;
+    }
+
+    /**
+     * 生成所有文字宽度相同的宽度表
+     *
+     * @param length 长度
+     * @param width  文字宽度
+     * @return 宽度表
+     */
+    private static int[] filledWidths(int length, int width) {
+        int[] widths = new int[length];
+        Arrays.fill(widths, width);
+        return widths;
+    }
+}
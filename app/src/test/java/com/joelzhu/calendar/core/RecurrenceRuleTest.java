@@ -0,0 +1,478 @@
+package com.joelzhu.calendar.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月19日 21:10
+ * 作用：重复规则的测试(按窗口跳跃的展开与逐日判断的参照实现对照，以及规则文字的解析)
+ */
+public class RecurrenceRuleTest {
+    // 窗口的天数
+    private static final int WINDOW = MonthGrid.SIZE;
+    // 对照的窗口从开始日期之前多少天开始
+    private static final int SWEEP_BEFORE = 100;
+    // 对照的窗口到开始日期之后多少天结束
+    private static final int SWEEP_AFTER = 1200;
+
+    @Test
+    public void dailyWithInterval() {
+        int start = EpochDays.of(2026, 0, 5);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3", start),
+                new Reference(RecurrenceRule.DAILY, start).interval(3));
+    }
+
+    @Test
+    public void dailyWithIntervalAndWeekdays() {
+        int start = EpochDays.of(2026, 0, 5);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=DAILY;INTERVAL=4;BYDAY=MO,WE,SA", start),
+                new Reference(RecurrenceRule.DAILY, start).interval(4)
+                        .weekday(0, Calendar.MONDAY).weekday(0, Calendar.WEDNESDAY).weekday(0, Calendar.SATURDAY));
+    }
+
+    @Test
+    public void weeklyDefaultsToStartWeekday() {
+        int start = EpochDays.of(2026, 1, 11);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=3", start),
+                new Reference(RecurrenceRule.WEEKLY, start).interval(3)
+                        .weekday(0, EpochDays.dayOfWeek(start)));
+    }
+
+    @Test
+    public void weeklyWeekStartDecidesPeriod() {
+        // 2026年1月6日是星期二；间隔两周时，星期日属于哪一周由WKST决定
+        int start = EpochDays.of(2026, 0, 6);
+        RecurrenceRule monday = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=SU,TU", start);
+        RecurrenceRule sunday = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=SU,TU;WKST=SU", start);
+        assertMatchesReference(monday, new Reference(RecurrenceRule.WEEKLY, start).interval(2)
+                .weekday(0, Calendar.SUNDAY).weekday(0, Calendar.TUESDAY));
+        assertMatchesReference(sunday, new Reference(RecurrenceRule.WEEKLY, start).interval(2)
+                .weekday(0, Calendar.SUNDAY).weekday(0, Calendar.TUESDAY).weekStart(Calendar.SUNDAY));
+
+        int[] mondayCounts = countsOf(monday, start);
+        int[] sundayCounts = countsOf(sunday, start);
+        // 星期一开始的周：1月11日(星期日)与开始日期同一周；星期日开始的周：1月18日与之后的星期二同一周
+        assertEquals(1, mondayCounts[5]);
+        assertEquals(0, mondayCounts[12]);
+        assertEquals(0, sundayCounts[5]);
+        assertEquals(1, sundayCounts[12]);
+    }
+
+    @Test
+    public void monthlyDefaultsToStartDaySkippingShortMonths() {
+        int start = EpochDays.of(2026, 0, 31);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=MONTHLY", start),
+                new Reference(RecurrenceRule.MONTHLY, start).monthDay(31));
+    }
+
+    @Test
+    public void monthlyLastFridayWithInterval() {
+        int start = EpochDays.of(2026, 0, 1);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=2;BYDAY=-1FR", start),
+                new Reference(RecurrenceRule.MONTHLY, start).interval(2).weekday(-1, Calendar.FRIDAY));
+    }
+
+    @Test
+    public void monthlySecondMondayAndFifthWeekday() {
+        int start = EpochDays.of(2026, 2, 20);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=2MO,+5TH,-5SU", start),
+                new Reference(RecurrenceRule.MONTHLY, start).weekday(2, Calendar.MONDAY)
+                        .weekday(5, Calendar.THURSDAY).weekday(-5, Calendar.SUNDAY));
+    }
+
+    @Test
+    public void monthlyEveryWeekday() {
+        int start = EpochDays.of(2026, 0, 1);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=3;BYDAY=WE", start),
+                new Reference(RecurrenceRule.MONTHLY, start).interval(3).weekday(0, Calendar.WEDNESDAY));
+    }
+
+    @Test
+    public void monthlyNegativeMonthDays() {
+        int start = EpochDays.of(2026, 0, 1);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=-1,15,-30", start),
+                new Reference(RecurrenceRule.MONTHLY, start).monthDay(-1).monthDay(15).monthDay(-30));
+    }
+
+    @Test
+    public void monthlyMonthDayAndWeekdayIntersect() {
+        // 13号的星期五
+        int start = EpochDays.of(2026, 0, 1);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=13;BYDAY=FR", start),
+                new Reference(RecurrenceRule.MONTHLY, start).monthDay(13).weekday(0, Calendar.FRIDAY));
+    }
+
+    @Test
+    public void yearlyLeapDayWithInterval() {
+        int start = EpochDays.of(2024, 1, 29);
+        assertMatchesReference(RecurrenceRule.parse("FREQ=YEARLY;INTERVAL=2", start),
+                new Reference(RecurrenceRule.YEARLY, start).interval(2));
+        assertMatchesReference(RecurrenceRule.parse("FREQ=YEARLY", start),
+                new Reference(RecurrenceRule.YEARLY, start));
+    }
+
+    @Test
+    public void untilInsideWindow() {
+        int start = EpochDays.of(2026, 0, 5);
+        int until = EpochDays.of(2026, 2, 10);
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=DAILY;INTERVAL=2;UNTIL=20260310T235959Z", start);
+        assertEquals(until, rule.getLastEpochDay());
+        assertMatchesReference(rule, new Reference(RecurrenceRule.DAILY, start).interval(2).until(until));
+
+        // 3月10日是最后一次，之后的日期没有重复
+        int[] counts = countsOf(rule, until - 20);
+        for (int i = 0; i < WINDOW; i++) {
+            int epochDay = until - 20 + i;
+            assertEquals(epochDay <= until && (epochDay - start) % 2 == 0 ? 1 : 0, counts[i]);
+        }
+    }
+
+    @Test
+    public void countIncludesExcludedDates() {
+        int start = EpochDays.of(2026, 0, 6);
+        int[] exdates = {start + 2, start + 7, start + 100};
+        RecurrenceRule.Builder builder = new RecurrenceRule.Builder(RecurrenceRule.WEEKLY, start)
+                .addWeekday(Calendar.TUESDAY).addWeekday(Calendar.THURSDAY).setCount(10);
+        for (int exdate : exdates) {
+            builder.addException(exdate);
+        }
+        RecurrenceRule rule = builder.build();
+        Reference reference = new Reference(RecurrenceRule.WEEKLY, start)
+                .weekday(0, Calendar.TUESDAY).weekday(0, Calendar.THURSDAY).count(10).exceptions(exdates);
+        assertMatchesReference(rule, reference);
+
+        // 第10次是第5周的星期四，排除的两天仍然占用次数
+        assertEquals(start + 4 * 7 + 2, rule.getLastEpochDay());
+        assertEquals(8, sum(countsOf(rule, start)));
+    }
+
+    @Test
+    public void countWithMonthlyInterval() {
+        int start = EpochDays.of(2026, 0, 1);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=2;BYDAY=2MO,-1FR;COUNT=7", start);
+        assertMatchesReference(rule, new Reference(RecurrenceRule.MONTHLY, start).interval(2)
+                .weekday(2, Calendar.MONDAY).weekday(-1, Calendar.FRIDAY).count(7));
+    }
+
+    @Test
+    public void windowBeforeStartIsEmpty() {
+        int start = EpochDays.of(2026, 0, 5);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY", start);
+        assertEquals(0, sum(countsOf(rule, start - WINDOW)));
+
+        int[] counts = countsOf(rule, start - 10);
+        assertEquals(0, sum(Arrays.copyOf(counts, 10)));
+        assertEquals(WINDOW - 10, sum(counts));
+    }
+
+    @Test
+    public void startCountsOnlyWhenMatchingRule() {
+        // 与RFC 5545不同：开始日期(星期三)不符合BYDAY时不算作一次重复，也不占用COUNT
+        int start = EpochDays.of(2026, 0, 7);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO;COUNT=3", start);
+        int[] counts = countsOf(rule, start);
+        assertEquals(0, counts[0]);
+        assertEquals(1, counts[5]);
+        assertEquals(1, counts[12]);
+        assertEquals(1, counts[19]);
+        assertEquals(3, sum(counts));
+        assertEquals(start + 19, rule.getLastEpochDay());
+
+        // 开始日期符合规则时计入
+        counts = countsOf(RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=WE;COUNT=3", start), start);
+        assertEquals(1, counts[0]);
+        assertEquals(3, sum(counts));
+    }
+
+    @Test
+    public void activeMonths() {
+        int start = EpochDays.of(2026, 1, 10);
+        assertEquals(1 << 1, RecurrenceRule.parse("FREQ=YEARLY", start).getActiveMonths());
+        assertEquals(1 << 1 | 1 << 5 | 1 << 9,
+                RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=4", start).getActiveMonths());
+        assertEquals(0xfff, RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=5", start).getActiveMonths());
+        assertEquals(0xfff, RecurrenceRule.parse("FREQ=WEEKLY", start).getActiveMonths());
+    }
+
+    @Test
+    public void indexSumsMatchingRules() {
+        int start = EpochDays.of(2026, 0, 1);
+        RecurrenceRule[] rules = {
+                RecurrenceRule.parse("FREQ=YEARLY", EpochDays.of(2025, 6, 4)),
+                RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=-1", start),
+                RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,FR;UNTIL=20260301", start),
+                RecurrenceRule.parse("FREQ=DAILY;COUNT=40", EpochDays.of(2026, 5, 1)),
+        };
+        RecurrenceIndex index = new RecurrenceIndex();
+        for (RecurrenceRule rule : rules) {
+            index.add(rule);
+        }
+        assertEquals(rules.length, index.size());
+
+        int[] actual = new int[WINDOW];
+        for (int first = start - SWEEP_BEFORE; first < start + 800; first += 11) {
+            int[] expected = new int[WINDOW];
+            for (RecurrenceRule rule : rules) {
+                rule.addOccurrences(first, expected);
+            }
+            index.getMarkerCounts(first, actual);
+            assertArrayEquals("window " + first, expected, actual);
+        }
+
+        index.clear();
+        index.getMarkerCounts(start, actual);
+        assertEquals(0, sum(actual));
+    }
+
+    @Test
+    public void parseRejectsMalformedRules() {
+        int start = EpochDays.of(2026, 0, 1);
+        String[] rules = {
+                "",
+                "FREQ",
+                "=DAILY",
+                "INTERVAL=2",
+                "FREQ=HOURLY",
+                "FREQ=DAILY;BYSECOND=1",
+                "FREQ=DAILY;INTERVAL=0",
+                "FREQ=DAILY;INTERVAL=x",
+                "FREQ=DAILY;UNTIL=2026",
+                "FREQ=WEEKLY;BYDAY=XX",
+                "FREQ=WEEKLY;BYDAY=1MO",
+                "FREQ=MONTHLY;BYDAY=6MO",
+                "FREQ=MONTHLY;BYMONTHDAY=0",
+                "FREQ=MONTHLY;BYMONTHDAY=32",
+                "FREQ=DAILY;BYMONTHDAY=1",
+                "FREQ=YEARLY;BYDAY=MO",
+                "FREQ=DAILY;WKST=XY",
+        };
+        for (String rule : rules) {
+            try {
+                RecurrenceRule.parse(rule, start);
+                fail("accepted: " + rule);
+            } catch (IllegalArgumentException expected) {
+                // 期望的异常
+            }
+        }
+    }
+
+    /**
+     * 在开始日期前后依次移动窗口，与参照实现逐天对照
+     *
+     * @param rule      重复规则
+     * @param reference 参照实现
+     */
+    private static void assertMatchesReference(RecurrenceRule rule, Reference reference) {
+        int start = reference.start;
+        boolean any = false;
+        for (int first = start - SWEEP_BEFORE; first < start + SWEEP_AFTER; first += 13) {
+            int[] actual = countsOf(rule, first);
+            int[] expected = new int[WINDOW];
+            for (int i = 0; i < WINDOW; i++) {
+                expected[i] = reference.occursOn(first + i) ? 1 : 0;
+                any |= expected[i] != 0;
+            }
+            assertArrayEquals("window " + first, expected, actual);
+        }
+        // 参照实现至少有一次重复，避免两边都为空时通过
+        assertTrue("no occurrence", any);
+    }
+
+    /**
+     * 展开一个窗口
+     *
+     * @param rule          重复规则
+     * @param firstEpochDay 窗口的第一天
+     * @return 每天的次数
+     */
+    private static int[] countsOf(RecurrenceRule rule, int firstEpochDay) {
+        int[] counts = new int[WINDOW];
+        rule.addOccurrences(firstEpochDay, counts);
+        return counts;
+    }
+
+    /**
+     * 求和
+     *
+     * @param counts 次数
+     * @return 总数
+     */
+    private static int sum(int[] counts) {
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+
+    /**
+     * 逐日判断的参照实现(不跳跃周期，COUNT从开始日期逐日数起)
+     */
+    private static final class Reference {
+        private final int frequency;
+        private final int start;
+        private final int[] startDate = new int[3];
+        private int interval = 1;
+        private int weekStart = Calendar.MONDAY;
+        private int until = Integer.MAX_VALUE;
+        private int count;
+        private int[] weekdays = new int[0];
+        private int[] ordinals = new int[0];
+        private int[] monthDays = new int[0];
+        private int[] exceptions = new int[0];
+
+        Reference(int frequency, int start) {
+            this.frequency = frequency;
+            this.start = start;
+            EpochDays.toDate(start, startDate);
+        }
+
+        Reference interval(int interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        Reference weekStart(int weekStart) {
+            this.weekStart = weekStart;
+            return this;
+        }
+
+        Reference until(int until) {
+            this.until = until;
+            return this;
+        }
+
+        Reference count(int count) {
+            this.count = count;
+            return this;
+        }
+
+        Reference weekday(int ordinal, int dayOfWeek) {
+            weekdays = Arrays.copyOf(weekdays, weekdays.length + 1);
+            ordinals = Arrays.copyOf(ordinals, ordinals.length + 1);
+            weekdays[weekdays.length - 1] = dayOfWeek;
+            ordinals[ordinals.length - 1] = ordinal;
+            return this;
+        }
+
+        Reference monthDay(int day) {
+            monthDays = Arrays.copyOf(monthDays, monthDays.length + 1);
+            monthDays[monthDays.length - 1] = day;
+            return this;
+        }
+
+        Reference exceptions(int[] exceptions) {
+            this.exceptions = exceptions;
+            return this;
+        }
+
+        /**
+         * 判断某一天是否重复(考虑UNTIL、COUNT和排除的日期)
+         *
+         * @param epochDay 纪元日
+         * @return 是否重复
+         */
+        boolean occursOn(int epochDay) {
+            if (epochDay > until || !matches(epochDay)) {
+                return false;
+            }
+            for (int exception : exceptions) {
+                if (exception == epochDay) {
+                    return false;
+                }
+            }
+            if (count == 0) {
+                return true;
+            }
+            // 排除的日期同样占用次数
+            int index = 0;
+            for (int day = start; day <= epochDay; day++) {
+                if (matches(day)) {
+                    index++;
+                }
+            }
+            return index <= count;
+        }
+
+        /**
+         * 判断某一天是否符合频率、间隔和BY*条件
+         *
+         * @param epochDay 纪元日
+         * @return 是否符合
+         */
+        private boolean matches(int epochDay) {
+            if (epochDay < start) {
+                return false;
+            }
+            int[] date = new int[3];
+            EpochDays.toDate(epochDay, date);
+            int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+            int length = EpochDays.lengthOfMonth(date[0], date[1]);
+            int months = (date[0] - startDate[0]) * 12 + date[1] - startDate[1];
+            switch (frequency) {
+                case RecurrenceRule.DAILY:
+                    return (epochDay - start) % interval == 0 && (weekdays.length == 0 || containsWeekday(dayOfWeek));
+                case RecurrenceRule.WEEKLY:
+                    int weeks = (weekOf(epochDay) - weekOf(start)) / 7;
+                    return weeks % interval == 0 && containsWeekday(dayOfWeek);
+                case RecurrenceRule.MONTHLY:
+                    if (months % interval != 0) {
+                        return false;
+                    }
+                    if (weekdays.length == 0 && monthDays.length == 0) {
+                        return date[2] == startDate[2];
+                    }
+                    return (monthDays.length == 0 || matchesMonthDay(date[2], length))
+                            && (weekdays.length == 0 || matchesOrdinalWeekday(dayOfWeek, date[2], length));
+                default:
+                    return date[1] == startDate[1] && date[2] == startDate[2]
+                            && (date[0] - startDate[0]) % interval == 0;
+            }
+        }
+
+        private int weekOf(int epochDay) {
+            return epochDay - EpochDays.floorMod(EpochDays.dayOfWeek(epochDay) - weekStart, 7);
+        }
+
+        private boolean containsWeekday(int dayOfWeek) {
+            for (int weekday : weekdays) {
+                if (weekday == dayOfWeek) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesMonthDay(int dayOfMonth, int length) {
+            for (int day : monthDays) {
+                if (day == dayOfMonth || length + day + 1 == dayOfMonth) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesOrdinalWeekday(int dayOfWeek, int dayOfMonth, int length) {
+            for (int i = 0; i < weekdays.length; i++) {
+                if (weekdays[i] != dayOfWeek) {
+                    continue;
+                }
+                int ordinal = ordinals[i];
+                if (ordinal == 0
+                        || ordinal == (dayOfMonth - 1) / 7 + 1
+                        || ordinal == -((length - dayOfMonth) / 7 + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.joelzhu.calendar.benchmark;
+
+import com.joelzhu.calendar.core.HitRegions;
+import com.joelzhu.calendar.core.MonthGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 19:10
+ * 作用：点击判定和上下月单元格判定的基准测试
+ * <p>
+ * 点击坐标预先随机生成(覆盖月份条、星期条和日期区域)，控件尺寸为336x324。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitTestBenchmark {
+    // 控件尺寸
+    private static final float WIDTH = 336;
+    private static final float HEIGHT = 324;
+    private static final float UNIT_WIDTH = WIDTH / 7;
+    private static final float UNIT_HEIGHT = HEIGHT / 9;
+    // 预先生成的点击数量
+    private static final int POINTS = 1024;
+
+    // 点击坐标
+    private final float[] xs = new float[POINTS];
+    private final float[] ys = new float[POINTS];
+    // 点击区域表
+    private HitRegions hitRegions;
+    // 最初版本的日期数组
+    private LegacyMonth legacyMonth;
+    // 引擎的网格
+    private MonthGrid grid;
+    // 当前点击的序号
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = random.nextFloat() * WIDTH;
+            ys[i] = random.nextFloat() * HEIGHT;
+        }
+        hitRegions = new HitRegions();
+        hitRegions.layout(WIDTH, HEIGHT, UNIT_HEIGHT * 1.5f, UNIT_HEIGHT * 1.5f, UNIT_WIDTH, UNIT_HEIGHT, 6);
+        legacyMonth = new LegacyMonth();
+        legacyMonth.getCalendarMonth(0, 0);
+        grid = new MonthGrid();
+        Calendar calendar = Calendar.getInstance();
+        grid.build(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH), Calendar.SUNDAY);
+    }
+
+    @Benchmark
+    public int legacyHitTest() {
+        int i = nextIndex();
+        return LegacyMonth.hitTest(xs[i], ys[i], WIDTH, HEIGHT, UNIT_WIDTH, UNIT_HEIGHT);
+    }
+
+    @Benchmark
+    public int hitRegions() {
+        int i = nextIndex();
+        return hitRegions.regionAt(xs[i], ys[i]);
+    }
+
+    @Benchmark
+    public int legacyAdjacentMonthCells() {
+        int result = 0;
+        for (int position = 0; position < MonthGrid.SIZE; position++) {
+            result += legacyMonth.isPreviousMonth(position) ? -1 : legacyMonth.isNextMonth(position) ? 1 : 0;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int monthGridAdjacentMonthCells() {
+        int result = 0;
+        for (int position = 0; position < MonthGrid.SIZE; position++) {
+            result += grid.monthOffsetOf(position);
+        }
+        return result;
+    }
+
+    /**
+     * 下一个点击的序号
+     *
+     * @return 序号
+     */
+    private int nextIndex() {
+        index = (index + 1) & (POINTS - 1);
+        return index;
+    }
+}
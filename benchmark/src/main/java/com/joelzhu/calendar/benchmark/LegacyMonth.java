@@ -0,0 +1,109 @@
+package com.joelzhu.calendar.benchmark;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 18:50
+ * 作用：最初版本的月份计算和点击判定(JZCalendar.getCalendarMonth等)，作为基准测试的对照
+ */
+final class LegacyMonth {
+    // 当前显示的日期
+    final List<Integer> date = new ArrayList<Integer>();
+    // 今日的日期坐标
+    int todayPosition;
+    // 当前显示的日期坐标
+    int selectedPosition;
+    // 本月是第几个月
+    int monthOfYear;
+    // 今年
+    int thisYear;
+
+    /**
+     * 获取本月需要显示的日期(与最初版本的getCalendarMonth相同)
+     *
+     * @param showMonthOffset 月份偏差
+     * @param dateSelected    点击事件选择的日期
+     */
+    void getCalendarMonth(int showMonthOffset, int dateSelected) {
+        date.clear();
+        Calendar calendar = Calendar.getInstance();
+        todayPosition = calendar.get(Calendar.DAY_OF_MONTH) - 1;
+        calendar.set(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + showMonthOffset, 1);
+        int dateOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+        monthOfYear = calendar.get(Calendar.MONTH);
+        thisYear = calendar.get(Calendar.YEAR);
+
+        if (dateOfWeek == 1) {
+            dateOfWeek = 8;
+        }
+
+        calendar.add(Calendar.DATE, -dateOfWeek);
+        int sundayDate = calendar.get(Calendar.DATE);
+        for (int i = 1; i < dateOfWeek; i++) {
+            date.add(sundayDate + i);
+            todayPosition++;
+        }
+
+        calendar.add(Calendar.DATE, dateOfWeek);
+        int maxDate = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        for (int i = 1; i <= maxDate; i++) {
+            if (i == dateSelected) {
+                selectedPosition = (i + dateOfWeek - 1) - 1;
+            }
+            date.add(i);
+        }
+
+        for (int nextMonth = 1; date.size() < 42; nextMonth++) {
+            date.add(nextMonth);
+        }
+    }
+
+    /**
+     * 判断数组中的某一天是否属于上一个月
+     *
+     * @param position 数组中的某一天
+     * @return 该天是否属于上一个月
+     */
+    boolean isPreviousMonth(int position) {
+        return position <= 13 && date.get(position) > 13;
+    }
+
+    /**
+     * 判断数组中的某一天是否属于下一个月
+     *
+     * @param position 数组中的某一天
+     * @return 该天是否属于下一个月
+     */
+    boolean isNextMonth(int position) {
+        return position > 28 && date.get(position) <= 21;
+    }
+
+    /**
+     * 最初版本的点击区域判定(串联的浮点比较)
+     *
+     * @param clickX        点击的X坐标
+     * @param clickY        点击的Y坐标
+     * @param width         控件宽度
+     * @param height        控件高度
+     * @param minUnitWidth  单元格宽度
+     * @param minUnitHeight 单元格高度
+     * @return -2:前一个月按钮，-3:后一个月按钮，0-41:日期单元格，-1:其他
+     */
+    static int hitTest(float clickX, float clickY, float width, float height, float minUnitWidth,
+                       float minUnitHeight) {
+        if (clickX > 0 && clickX < minUnitHeight * 1.5f && clickY > 0 && clickY < minUnitHeight * 1.5f) {
+            return -2;
+        } else if (clickX > width - minUnitHeight * 1.5f && clickX < width &&
+                clickY > 0 && clickY < minUnitHeight * 1.5f) {
+            return -3;
+        } else if (clickY > minUnitHeight * 3 && clickY < height) {
+            int xPosition = (int) (clickX / minUnitWidth);
+            int yPosition = (int) ((clickY - minUnitHeight * 3) / minUnitHeight);
+            return yPosition * 7 + xPosition;
+        }
+        return -1;
+    }
+}
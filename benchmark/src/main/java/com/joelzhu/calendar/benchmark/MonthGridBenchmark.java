@@ -0,0 +1,97 @@
+package com.joelzhu.calendar.benchmark;
+
+import com.joelzhu.calendar.core.MonthGrid;
+import com.joelzhu.calendar.core.MonthGridCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 19:00
+ * 作用：月份网格计算的基准测试(最初版本的算法、MonthGrid引擎、经过缓存的网格)
+ * <p>
+ * 每次调用切换到下一个月份(24个月循环)，模拟连续翻页。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonthGridBenchmark {
+    // 循环的月份数量
+    private static final int MONTHS = 24;
+
+    // 最初版本的算法
+    private LegacyMonth legacyMonth;
+    // 引擎的网格
+    private MonthGrid grid;
+    // 复制缓存用的网格
+    private MonthGrid copy;
+    // 月份网格缓存
+    private MonthGridCache cache;
+    // 今日
+    private int todayYear;
+    private int todayMonth;
+    private int todayDate;
+    // 月份偏差
+    private int offset;
+
+    @Setup
+    public void setUp() {
+        legacyMonth = new LegacyMonth();
+        grid = new MonthGrid();
+        copy = new MonthGrid();
+        cache = new MonthGridCache(MONTHS);
+        Calendar calendar = Calendar.getInstance();
+        todayYear = calendar.get(Calendar.YEAR);
+        todayMonth = calendar.get(Calendar.MONTH);
+        todayDate = calendar.get(Calendar.DAY_OF_MONTH);
+    }
+
+    @Benchmark
+    public int legacyGetCalendarMonth() {
+        legacyMonth.getCalendarMonth(nextOffset(), 0);
+        return legacyMonth.date.size() + legacyMonth.todayPosition;
+    }
+
+    @Benchmark
+    public int monthGridBuild() {
+        grid.build(todayYear, todayMonth + nextOffset(), Calendar.SUNDAY, todayYear, todayMonth, todayDate);
+        return grid.getFirstPosition() + grid.getTodayPosition();
+    }
+
+    @Benchmark
+    public int monthGridCached() {
+        copy.copyFrom(cache.get(todayYear, todayMonth + nextOffset(), Calendar.SUNDAY));
+        copy.markToday(todayYear, todayMonth, todayDate);
+        return copy.getFirstPosition() + copy.getTodayPosition();
+    }
+
+    @Benchmark
+    public int firstEpochDayOf() {
+        return MonthGrid.firstEpochDayOf(todayYear, todayMonth + nextOffset(), Calendar.SUNDAY);
+    }
+
+    /**
+     * 下一个月份偏差
+     *
+     * @return 月份偏差
+     */
+    private int nextOffset() {
+        offset = offset == MONTHS - 1 ? 0 : offset + 1;
+        return offset;
+    }
+}
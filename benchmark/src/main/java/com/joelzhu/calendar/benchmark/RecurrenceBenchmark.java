@@ -0,0 +1,119 @@
+package com.joelzhu.calendar.benchmark;
+
+import com.joelzhu.calendar.core.EpochDays;
+import com.joelzhu.calendar.core.MonthGrid;
+import com.joelzhu.calendar.core.RecurrenceIndex;
+import com.joelzhu.calendar.core.RecurrenceRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 22:05
+ * 作用：重复事件按可见窗口(42天)展开的基准测试
+ * <p>
+ * 重复事件的开始日期随机分布在2000年至2029年之间，频率、间隔、星期、结束条件随机组合，
+ * 约一半的事件不限次数，一直重复到查询的窗口。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+    // 数据范围的第一天
+    private static final int FIRST_DAY = EpochDays.of(2000, 0, 1);
+    // 数据范围的天数
+    private static final int DAYS = EpochDays.of(2030, 0, 1) - FIRST_DAY;
+    // 预先生成的窗口数量
+    private static final int WINDOWS = 256;
+
+    // 重复事件数量
+    @Param({"1000", "50000"})
+    public int seriesCount;
+
+    // 重复事件索引
+    private RecurrenceIndex recurrenceIndex;
+    // 查询结果
+    private final int[] counts = new int[MonthGrid.SIZE];
+    // 窗口的第一天
+    private final int[] windows = new int[WINDOWS];
+    // 当前窗口的序号
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        recurrenceIndex = new RecurrenceIndex();
+        for (int i = 0; i < seriesCount; i++) {
+            recurrenceIndex.add(randomRule(random));
+        }
+        for (int i = 0; i < WINDOWS; i++) {
+            windows[i] = FIRST_DAY + random.nextInt(DAYS - MonthGrid.SIZE);
+        }
+    }
+
+    /**
+     * 随机生成一个重复规则
+     *
+     * @param random 随机数
+     * @return 重复规则
+     */
+    private static RecurrenceRule randomRule(Random random) {
+        int frequency = random.nextInt(4);
+        RecurrenceRule.Builder builder = new RecurrenceRule.Builder(frequency, FIRST_DAY + random.nextInt(DAYS))
+                .setInterval(1 + random.nextInt(3));
+        if (frequency == RecurrenceRule.WEEKLY) {
+            builder.addWeekday(Calendar.SUNDAY + random.nextInt(7)).addWeekday(Calendar.SUNDAY + random.nextInt(7));
+        } else if (frequency == RecurrenceRule.MONTHLY && random.nextBoolean()) {
+            builder.addWeekday(random.nextBoolean() ? -1 : 1 + random.nextInt(4), Calendar.SUNDAY + random.nextInt(7));
+        }
+        switch (random.nextInt(4)) {
+            case 0:
+                builder.setCount(1 + random.nextInt(50));
+                break;
+            case 1:
+                builder.setUntil(FIRST_DAY + random.nextInt(DAYS));
+                break;
+            default:
+                break;
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public int[] recurrenceCountsForWindow() {
+        recurrenceIndex.getMarkerCounts(nextWindow(), counts);
+        return counts;
+    }
+
+    @Benchmark
+    public RecurrenceRule parseRule() {
+        return RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=2;BYDAY=-1FR;COUNT=24", nextWindow());
+    }
+
+    /**
+     * 下一个窗口的第一天
+     *
+     * @return 纪元日
+     */
+    private int nextWindow() {
+        index = (index + 1) & (WINDOWS - 1);
+        return windows[index];
+    }
+}
@@ -0,0 +1,178 @@
+package com.joelzhu.calendar.benchmark;
+
+import com.joelzhu.calendar.core.CalendarLabels;
+import com.joelzhu.calendar.core.CalendarPainter;
+import com.joelzhu.calendar.core.LunarCalendar;
+import com.joelzhu.calendar.core.MonthGrid;
+import com.joelzhu.calendar.core.MonthGridCache;
+import com.joelzhu.calendar.core.RecordingRenderTarget;
+import com.joelzhu.calendar.core.YearPainter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 23:20
+ * 作用：月视图和年视图绘制的基准测试(布局和绘制输出到只计数的绘制目标，不需要Android)
+ * <p>
+ * 尺寸、字体度量和文字宽度使用固定的数值(相当于1080像素宽的屏幕)，月视图每次调用切换到下一个月份(24个月循环)，
+ * 年视图每次绘制一整年的12个迷你月份(目标是一帧4毫秒以内)。
+ * 测量的是布局计算和绘制调用本身的代价，不包括光栅化。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    // 循环的月份数量
+    private static final int MONTHS = 24;
+    // 控件宽度
+    private static final float WIDTH = 1080;
+    // 年视图的控件高度
+    private static final float YEAR_HEIGHT = 1620;
+
+    // 月份网格缓存
+    private MonthGridCache cache;
+    // 正在绘制的网格
+    private MonthGrid grid;
+    // 每个日期的标记数量
+    private int[] counts;
+    // 不显示农历的绘制
+    private CalendarPainter painter;
+    // 显示农历的绘制
+    private CalendarPainter lunarPainter;
+    // 年视图的绘制
+    private YearPainter yearPainter;
+    // 只计数的绘制目标
+    private RecordingRenderTarget target;
+    // 今日
+    private int todayYear;
+    private int todayMonth;
+    private int todayDate;
+    // 月份偏差
+    private int offset;
+
+    @Setup
+    public void setUp() {
+        cache = new MonthGridCache(MONTHS);
+        grid = new MonthGrid();
+        counts = new int[MonthGrid.SIZE];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = i % 5;
+        }
+        painter = createPainter(null);
+        lunarPainter = createPainter(new LunarCalendar());
+        target = new RecordingRenderTarget();
+        Calendar calendar = Calendar.getInstance();
+        todayYear = calendar.get(Calendar.YEAR);
+        todayMonth = calendar.get(Calendar.MONTH);
+        todayDate = calendar.get(Calendar.DAY_OF_MONTH);
+        yearPainter = createYearPainter();
+        yearPainter.build(todayYear, Calendar.SUNDAY, cache, todayYear, todayMonth, todayDate);
+    }
+
+    @Benchmark
+    public int drawMonth() {
+        return draw(painter);
+    }
+
+    @Benchmark
+    public int drawMonthWithLunar() {
+        return draw(lunarPainter);
+    }
+
+    @Benchmark
+    public int drawYearOverview() {
+        target.reset();
+        yearPainter.draw(target);
+        return target.getDrawCount();
+    }
+
+    /**
+     * 切换到下一个月份并绘制一整页的月视图
+     *
+     * @param calendarPainter 绘制
+     * @return 绘制操作的次数
+     */
+    private int draw(CalendarPainter calendarPainter) {
+        grid.copyFrom(cache.get(todayYear, todayMonth + nextOffset(), Calendar.SUNDAY));
+        grid.markToday(todayYear, todayMonth, todayDate);
+        target.reset();
+        calendarPainter.drawMonth(target, grid, counts, false);
+        return target.getDrawCount();
+    }
+
+    /**
+     * 创建使用固定尺寸和字体度量的绘制
+     *
+     * @param lunarCalendar 农历换算(为null时不显示农历)
+     * @return 绘制
+     */
+    private static CalendarPainter createPainter(LunarCalendar lunarCalendar) {
+        CalendarPainter calendarPainter = new CalendarPainter();
+        calendarPainter.setSize(WIDTH, WIDTH / 7, WIDTH / 7 * 3 / 4);
+        calendarPainter.setFontMetrics(-48, 12, -40, 10, -28, 7);
+        calendarPainter.setDayTextWidths(filledWidths(CalendarPainter.getDayLabelCount(), 30));
+        calendarPainter.setLabels(CalendarLabels.of(Locale.CHINA), filledWidths(8, 36));
+        calendarPainter.setMonthText("2026年10月", 200);
+        calendarPainter.setLunar(lunarCalendar,
+                lunarCalendar != null ? filledWidths(LunarCalendar.getLabelCount(), 48) : null);
+        return calendarPainter;
+    }
+
+    /**
+     * 创建使用固定尺寸和字体度量的年视图绘制
+     *
+     * @return 年视图的绘制
+     */
+    private static YearPainter createYearPainter() {
+        YearPainter yearPainter = new YearPainter();
+        yearPainter.layout(WIDTH, WIDTH / 7 * 3 / 4 * 1.5f, YEAR_HEIGHT);
+        yearPainter.setFontMetrics(-20, 5, -24, 6);
+        yearPainter.setDayTextWidths(filledWidths(CalendarPainter.getDayLabelCount(), 14));
+        CalendarLabels labels = CalendarLabels.of(Locale.CHINA);
+        for (int month = 0; month < YearPainter.MONTHS; month++) {
+            yearPainter.setTitle(month, labels.getShortMonthLabel(month), 40);
+        }
+        return yearPainter;
+    }
+
+    /**
+     * 生成所有文字宽度相同的宽度表
+     *
+     * @param length 长度
+     * @param width  文字宽度
+     * @return 宽度表
+     */
+    private static int[] filledWidths(int length, int width) {
+        int[] widths = new int[length];
+        Arrays.fill(widths, width);
+        return widths;
+    }
+
+    /**
+     * 下一个月份偏差
+     *
+     * @return 月份偏差
+     */
+    private int nextOffset() {
+        offset = offset == MONTHS - 1 ? 0 : offset + 1;
+        return offset;
+    }
+}
@@ -0,0 +1,173 @@
+package com.joelzhu.calendar.benchmark;
+
+import com.joelzhu.calendar.core.DateSelection;
+import com.joelzhu.calendar.core.DayIndexStore;
+import com.joelzhu.calendar.core.EpochDays;
+import com.joelzhu.calendar.core.HeatmapSeries;
+import com.joelzhu.calendar.core.LunarCalendar;
+import com.joelzhu.calendar.core.MarkerIndex;
+import com.joelzhu.calendar.core.MonthGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作者：JoelZhu
+ * 时间：2026年10月18日 19:20
+ * 作用：可见窗口(一个月份网格的42天)的标记、选择、农历、热力图查询，以及纪元日换算的基准测试
+ * <p>
+ * 标记随机分布在2020年至2029年之间，同时写入内存中的索引和临时目录中的日期索引文件，
+ * 100万条时平均每天约270条，可见窗口中的每一天都有标记；
+ * 选择由若干段区间和零散的日期组成；热力图覆盖这10年的每一天。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WindowLookupBenchmark {
+    // 数据范围的第一天
+    private static final int FIRST_DAY = EpochDays.of(2020, 0, 1);
+    // 数据范围的天数
+    private static final int DAYS = EpochDays.of(2030, 0, 1) - FIRST_DAY;
+    // 预先生成的窗口数量
+    private static final int WINDOWS = 256;
+
+    // 标记数量
+    @Param({"1000", "100000", "1000000"})
+    public int eventCount;
+
+    // 标记索引
+    private MarkerIndex markerIndex;
+    // 日期索引文件
+    private File dayIndexFile;
+    // 映射到内存的日期索引
+    private DayIndexStore dayIndexStore;
+    // 选择
+    private DateSelection selection;
+    // 热力图数据
+    private HeatmapSeries heatmap;
+    // 热力图等级
+    private final int[] levels = new int[MonthGrid.SIZE];
+    // 查询结果
+    private final int[] counts = new int[MonthGrid.SIZE];
+    // 换算结果
+    private final int[] date = new int[3];
+    // 农历换算
+    private final LunarCalendar lunarCalendar = new LunarCalendar();
+    // 窗口的第一天
+    private final int[] windows = new int[WINDOWS];
+    // 当前窗口的序号
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        markerIndex = new MarkerIndex();
+        dayIndexFile = File.createTempFile("day-index", ".idx");
+        dayIndexFile.delete();
+        dayIndexStore = new DayIndexStore(dayIndexFile, FIRST_DAY);
+        for (int i = 0; i < eventCount; i++) {
+            int epochDay = FIRST_DAY + random.nextInt(DAYS);
+            markerIndex.add(epochDay);
+            dayIndexStore.add(epochDay, 1);
+        }
+        selection = new DateSelection();
+        for (int i = 0; i < 50; i++) {
+            int start = FIRST_DAY + random.nextInt(DAYS);
+            selection.addRange(start, start + random.nextInt(14));
+            selection.add(FIRST_DAY + random.nextInt(DAYS));
+        }
+        heatmap = new HeatmapSeries(FIRST_DAY);
+        for (int i = 0; i < DAYS; i++) {
+            heatmap.append(random.nextFloat() * 100);
+        }
+        for (int i = 0; i < WINDOWS; i++) {
+            windows[i] = FIRST_DAY + random.nextInt(DAYS - MonthGrid.SIZE);
+        }
+    }
+
+    @Benchmark
+    public int[] markerCountsForWindow() {
+        markerIndex.getMarkerCounts(nextWindow(), counts);
+        return counts;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        dayIndexStore.close();
+        dayIndexFile.delete();
+        new File(dayIndexFile.getPath() + ".dat").delete();
+    }
+
+    @Benchmark
+    public int[] dayIndexCountsForWindow() {
+        dayIndexStore.getMarkerCounts(nextWindow(), counts);
+        return counts;
+    }
+
+    @Benchmark
+    public long selectionBitsForWindow() {
+        return selection.bitsOf(nextWindow(), MonthGrid.SIZE);
+    }
+
+    @Benchmark
+    public int selectionContainsPerCell() {
+        int first = nextWindow();
+        int result = 0;
+        for (int position = 0; position < MonthGrid.SIZE; position++) {
+            if (selection.contains(first + position)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int lunarLabelsForWindow() {
+        int first = nextWindow();
+        int result = 0;
+        for (int position = 0; position < MonthGrid.SIZE; position++) {
+            result += lunarCalendar.labelOf(first + position);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] heatmapLevelsForWindow() {
+        heatmap.getLevels(nextWindow(), MonthGrid.SIZE, 8, levels);
+        return levels;
+    }
+
+    @Benchmark
+    public int epochDayRoundTrip() {
+        EpochDays.toDate(nextWindow(), date);
+        return EpochDays.of(date[0], date[1], date[2]);
+    }
+
+    /**
+     * 下一个窗口的第一天
+     *
+     * @return 纪元日
+     */
+    private int nextWindow() {
+        index = (index + 1) & (WINDOWS - 1);
+        return windows[index];
+    }
+}